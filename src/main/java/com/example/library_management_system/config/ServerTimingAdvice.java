@@ -0,0 +1,34 @@
+package com.example.library_management_system.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+// Adds the request's SQL totals as a Server-Timing entry. This runs just before the body is
+// written, which is the last point where headers can still be set.
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    SqlStats stats = SqlStats.current();
+    if (stats != null) {
+      response.getHeaders().add("Server-Timing", String.format(Locale.ROOT,
+              "sql;dur=%.1f;desc=\"%s\"", stats.getMillis(), stats));
+    }
+    return body;
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.library_management_system.config;
+
+// JDBC work done by the current thread while a scope is open: one scope per HTTP request, or one
+// per measured block in tests. Nested scopes roll their counts up into the enclosing one on close.
+public final class SqlStats implements AutoCloseable {
+
+  private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+  private final SqlStats enclosing;
+  private int statements;
+  private int roundTrips;
+  private long rows;
+  private long nanos;
+
+  private SqlStats(SqlStats enclosing) {
+    this.enclosing = enclosing;
+  }
+
+  public static SqlStats open() {
+    SqlStats stats = new SqlStats(CURRENT.get());
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  // Null when nothing is being measured on this thread
+  public static SqlStats current() {
+    return CURRENT.get();
+  }
+
+  static void recordExecution(int statementCount, long elapsedNanos) {
+    SqlStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.statements += statementCount;
+      stats.roundTrips++;
+      stats.nanos += elapsedNanos;
+    }
+  }
+
+  static void recordRow() {
+    SqlStats stats = CURRENT.get();
+    if (stats != null) {
+      stats.rows++;
+    }
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public int getRoundTrips() {
+    return roundTrips;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public double getMillis() {
+    return nanos / 1_000_000.0;
+  }
+
+  @Override
+  public void close() {
+    if (enclosing != null) {
+      enclosing.statements += statements;
+      enclosing.roundTrips += roundTrips;
+      enclosing.rows += rows;
+      enclosing.nanos += nanos;
+      CURRENT.set(enclosing);
+    } else {
+      CURRENT.remove();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return statements + " statements, " + roundTrips + " round trips, " + rows + " rows";
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.library_management_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Off unless app.sql-stats.enabled=true: every JDBC call then goes through a reflective proxy,
+// which is meant for development, load tests and the SQL budget tests rather than production
+@Configuration
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true")
+public class SqlStatsConfiguration {
+
+  // Static so the post-processor is registered before the DataSource is created
+  @Bean
+  public static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatsDataSource)) {
+          return new SqlStatsDataSource(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+
+  // Ahead of the security filter chain so token and user lookups are counted too
+  @Bean
+  public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(
+          MeterRegistry meterRegistry,
+          @Value("${app.sql-stats.statement-budget:25}") int statementBudget,
+          @Value("${app.sql-stats.row-budget:5000}") long rowBudget) {
+    FilterRegistrationBean<SqlStatsFilter> registration =
+            new FilterRegistrationBean<>(new SqlStatsFilter(meterRegistry, statementBudget, rowBudget));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.library_management_system.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Wraps connections so that every statement execution and every fetched row is reported to
+// SqlStats. Every call on a connection, statement or result set, down to each ResultSet getter,
+// goes through a dynamic proxy and a reflective Method.invoke, whether or not a scope is open.
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+  public SqlStatsDataSource(DataSource target) {
+    super(target);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(Connection.class, super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(Connection.class, super.getConnection(username, password));
+  }
+
+  private static <T> T wrap(Class<T> type, T target) {
+    return type.cast(Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+            new Class<?>[]{type}, new Handler(target)));
+  }
+
+  private static final class Handler implements InvocationHandler {
+
+    private final Object target;
+    private int pendingBatch;
+
+    private Handler(Object target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.equals("equals")) {
+        return proxy == args[0];
+      }
+      if (name.equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+      if (target instanceof Statement && name.equals("addBatch")) {
+        pendingBatch++;
+      }
+
+      boolean execution = target instanceof Statement && name.startsWith("execute");
+      long start = execution ? System.nanoTime() : 0;
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      } finally {
+        if (execution) {
+          // A batch is one round trip carrying every statement added since the last execute
+          boolean batch = name.equals("executeBatch") || name.equals("executeLargeBatch");
+          SqlStats.recordExecution(batch ? Math.max(pendingBatch, 1) : 1, System.nanoTime() - start);
+          if (batch) {
+            pendingBatch = 0;
+          }
+        }
+      }
+
+      if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+        SqlStats.recordRow();
+      }
+      return wrapResult(result);
+    }
+
+    // Proxies the most specific JDBC type of the object itself, not the declared return type:
+    // callers cast ResultSet.getStatement() back to PreparedStatement
+    private static Object wrapResult(Object result) {
+      if (result instanceof CallableStatement statement) {
+        return wrap(CallableStatement.class, statement);
+      }
+      if (result instanceof PreparedStatement statement) {
+        return wrap(PreparedStatement.class, statement);
+      }
+      if (result instanceof Statement statement) {
+        return wrap(Statement.class, statement);
+      }
+      if (result instanceof ResultSet resultSet) {
+        return wrap(ResultSet.class, resultSet);
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.library_management_system.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Opens a SqlStats scope around each request, records the totals per route and warns about
+// requests that go over the statement or row budget
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+  private final MeterRegistry meterRegistry;
+  private final int statementBudget;
+  private final long rowBudget;
+
+  public SqlStatsFilter(MeterRegistry meterRegistry, int statementBudget, long rowBudget) {
+    this.meterRegistry = meterRegistry;
+    this.statementBudget = statementBudget;
+    this.rowBudget = rowBudget;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    SqlStats stats = SqlStats.open();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      stats.close();
+      record(request, stats);
+    }
+  }
+
+  private void record(HttpServletRequest request, SqlStats stats) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+    String method = request.getMethod();
+
+    summary("library.sql.statements", "SQL statements per request", method, uri).record(stats.getStatements());
+    summary("library.sql.round.trips", "JDBC round trips per request", method, uri).record(stats.getRoundTrips());
+    summary("library.sql.rows", "Rows fetched per request", method, uri).record(stats.getRows());
+
+    if (stats.getStatements() > statementBudget || stats.getRows() > rowBudget) {
+      Counter.builder("library.sql.budget.exceeded")
+              .description("Requests over the SQL statement or row budget")
+              .tags("method", method, "uri", uri)
+              .register(meterRegistry)
+              .increment();
+      log.warn("{} {} issued {} (budget {} statements, {} rows)",
+              method, request.getRequestURI(), stats, statementBudget, rowBudget);
+    }
+  }
+
+  private DistributionSummary summary(String name, String description, String method, String uri) {
+    return DistributionSummary.builder(name)
+            .description(description)
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry);
+  }
+}
@@ -2,8 +2,11 @@ package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.auth.AuthResponseDTO;
 import com.example.library_management_system.dto.auth.LoginRequestDTO;
+import com.example.library_management_system.dto.auth.RefreshRequestDTO;
 import com.example.library_management_system.dto.auth.RegisterRequestDTO;
 import com.example.library_management_system.service.AuthService;
+import com.example.library_management_system.service.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +20,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
   private final AuthService authService;
+  private final LoginThrottle loginThrottle;
 
-  public AuthController(AuthService authService) {
+  public AuthController(AuthService authService, LoginThrottle loginThrottle) {
     this.authService = authService;
+    this.loginThrottle = loginThrottle;
   }
 
   @PostMapping("/register")
@@ -29,8 +34,23 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
+  public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request,
+                                               HttpServletRequest httpRequest) {
+    // Throttled before the user is loaded or the password hashed
+    loginThrottle.acquire(request.getUsername(), httpRequest.getRemoteAddr());
     AuthResponseDTO response = authService.login(request);
     return ResponseEntity.ok(response);
   }
+
+  @PostMapping("/refresh")
+  public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshRequestDTO request) {
+    AuthResponseDTO response = authService.refresh(request);
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequestDTO request) {
+    authService.logout(request);
+    return ResponseEntity.noContent().build();
+  }
 }
@@ -2,6 +2,7 @@ package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.book.BookCreateRequestDTO;
 import com.example.library_management_system.dto.book.BookImportDTO;
+import com.example.library_management_system.dto.book.BookRecommendationDTO;
 import com.example.library_management_system.dto.book.BookResponseDTO;
 import com.example.library_management_system.dto.book.BookUpdateRequestDTO;
 import com.example.library_management_system.service.BookService;
@@ -42,6 +43,13 @@ public class BookController {
     return ResponseEntity.ok(book);
   }
 
+  @GetMapping("/{id}/recommendations")
+  public ResponseEntity<List<BookRecommendationDTO>> getRecommendations(@PathVariable Long id,
+                                                                        @RequestParam(defaultValue = "10") int limit) {
+    List<BookRecommendationDTO> recommendations = bookService.getRecommendations(id, limit);
+    return ResponseEntity.ok(recommendations);
+  }
+
   @PutMapping("/{id}")
   @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
   public ResponseEntity<BookResponseDTO> updateBook(@PathVariable Long id,
@@ -0,0 +1,45 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.hold.HoldCreateRequestDTO;
+import com.example.library_management_system.dto.hold.HoldResponseDTO;
+import com.example.library_management_system.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/books/{bookId}/holds")
+public class HoldController {
+
+  private final HoldService holdService;
+
+  public HoldController(HoldService holdService) {
+    this.holdService = holdService;
+  }
+
+  @PostMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<HoldResponseDTO> placeHold(@PathVariable Long bookId,
+                                                   @Valid @RequestBody HoldCreateRequestDTO request) {
+    HoldResponseDTO hold = holdService.placeHold(bookId, request);
+    return new ResponseEntity<>(hold, HttpStatus.CREATED);
+  }
+
+  @GetMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<List<HoldResponseDTO>> getBookHolds(@PathVariable Long bookId) {
+    List<HoldResponseDTO> holds = holdService.getBookHolds(bookId);
+    return ResponseEntity.ok(holds);
+  }
+
+  @DeleteMapping("/{holdId}")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<Void> cancelHold(@PathVariable Long bookId, @PathVariable Long holdId) {
+    holdService.cancelHold(bookId, holdId);
+    return ResponseEntity.noContent().build();
+  }
+}
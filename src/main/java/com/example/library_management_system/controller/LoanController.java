@@ -3,12 +3,16 @@ package com.example.library_management_system.controller;
 import com.example.library_management_system.dto.loan.LoanCreateRequestDTO;
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
 import com.example.library_management_system.dto.loan.LoanReturnRequestDTO;
+import com.example.library_management_system.service.IdempotencyService;
+import com.example.library_management_system.service.LoanEventBroadcaster;
 import com.example.library_management_system.service.LoanService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,24 +21,50 @@ import java.util.List;
 public class LoanController {
 
   private final LoanService loanService;
+  private final IdempotencyService idempotencyService;
+  private final LoanEventBroadcaster loanEventBroadcaster;
 
-  public LoanController(LoanService loanService) {
+  public LoanController(LoanService loanService, IdempotencyService idempotencyService,
+                        LoanEventBroadcaster loanEventBroadcaster) {
     this.loanService = loanService;
+    this.idempotencyService = idempotencyService;
+    this.loanEventBroadcaster = loanEventBroadcaster;
   }
 
   @PostMapping
   @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
-  public ResponseEntity<LoanResponseDTO> borrowBook(@Valid @RequestBody LoanCreateRequestDTO request) {
-    LoanResponseDTO loan = loanService.borrowBook(request);
-    return new ResponseEntity<>(loan, HttpStatus.CREATED);
+  public ResponseEntity<LoanResponseDTO> borrowBook(
+          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+          @Valid @RequestBody LoanCreateRequestDTO request) {
+    return idempotencyService.execute("POST /api/loans", idempotencyKey, request, LoanResponseDTO.class, () -> {
+      LoanResponseDTO loan = loanService.borrowBook(request);
+      return new ResponseEntity<>(loan, HttpStatus.CREATED);
+    });
   }
 
   @PatchMapping("/{id}/return")
   @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
-  public ResponseEntity<LoanResponseDTO> returnBook(@PathVariable Long id,
-                                                      @RequestBody(required = false) LoanReturnRequestDTO request) {
-    LoanResponseDTO returned = loanService.returnBook(id, request);
-    return ResponseEntity.ok(returned);
+  public ResponseEntity<LoanResponseDTO> returnBook(
+          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+          @PathVariable Long id,
+          @RequestBody(required = false) LoanReturnRequestDTO request) {
+    return idempotencyService.execute("PATCH /api/loans/" + id + "/return", idempotencyKey, request,
+            LoanResponseDTO.class, () -> {
+              LoanResponseDTO returned = loanService.returnBook(id, request);
+              return ResponseEntity.ok(returned);
+            });
+  }
+
+  @PostMapping("/{id}/renew")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<LoanResponseDTO> renewLoan(
+          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+          @PathVariable Long id) {
+    return idempotencyService.execute("POST /api/loans/" + id + "/renew", idempotencyKey, null,
+            LoanResponseDTO.class, () -> {
+              LoanResponseDTO renewed = loanService.renewLoan(id);
+              return ResponseEntity.ok(renewed);
+            });
   }
 
   @GetMapping("/overdue")
@@ -50,4 +80,15 @@ public class LoanController {
     List<LoanResponseDTO> activeLoans = loanService.getActiveLoansList();
     return ResponseEntity.ok(activeLoans);
   }
+
+  // Server-Sent Events: borrow, return, renew and overdue events as they are published.
+  // Reconnecting clients send Last-Event-ID to pick up where they left off.
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<SseEmitter> streamEvents(
+          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    SseEmitter emitter = loanEventBroadcaster.subscribe(lastEventId);
+    // Stops nginx-style proxies from buffering the stream
+    return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+  }
 }
@@ -1,14 +1,18 @@
 package com.example.library_management_system.controller;
 
-import com.example.library_management_system.dto.loan.LoanResponseDTO;
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.member.MemberCreateRequestDTO;
 import com.example.library_management_system.dto.member.MemberResponseDTO;
 import com.example.library_management_system.service.MemberService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -52,8 +56,26 @@ public class MemberController {
 
   @GetMapping("/{id}/loans")
   @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'MEMBER')")
-  public ResponseEntity<List<LoanResponseDTO>> getMemberLoanHistory(@PathVariable Long id) {
-    List<LoanResponseDTO> loans = memberService.getMemberLoanHistory(id);
+  public ResponseEntity<LoanPageResponseDTO> getMemberLoanHistory(@PathVariable Long id,
+                                                                  @Valid LoanHistoryRequestDTO request) {
+    LoanPageResponseDTO loans = memberService.getMemberLoanHistory(id, request);
     return ResponseEntity.ok(loans);
   }
+
+  @GetMapping(value = "/{id}/loans/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'MEMBER')")
+  public ResponseEntity<StreamingResponseBody> exportMemberLoanHistory(@PathVariable Long id,
+                                                                       @Valid LoanHistoryRequestDTO request) {
+    StreamingResponseBody body = memberService.exportMemberLoanHistory(id, request);
+    return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+  }
+
+  @GetMapping("/{id}/fines/balance")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN', 'MEMBER')")
+  public ResponseEntity<FineBalanceResponseDTO> getMemberFineBalance(@PathVariable Long id) {
+    FineBalanceResponseDTO balance = memberService.getMemberFineBalance(id);
+    return ResponseEntity.ok(balance);
+  }
 }
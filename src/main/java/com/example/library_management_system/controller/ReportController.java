@@ -0,0 +1,53 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.report.ReportJobResponseDTO;
+import com.example.library_management_system.service.ReportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+  private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+  private final ReportService reportService;
+
+  public ReportController(ReportService reportService) {
+    this.reportService = reportService;
+  }
+
+  @PostMapping("/{type}")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<ReportJobResponseDTO> submitReport(@PathVariable String type) {
+    ReportJobResponseDTO job = reportService.submit(type);
+    return ResponseEntity.accepted()
+            .location(URI.create("/api/reports/" + job.getId()))
+            .body(job);
+  }
+
+  // 202 with the job status while it is queued or running, the gzipped NDJSON once it is done
+  @GetMapping("/{id}")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<?> getReport(@PathVariable String id) {
+    ReportJobResponseDTO job = reportService.getJob(id);
+    if ("DONE".equals(job.getStatus())) {
+      return ResponseEntity.ok()
+              .contentType(GZIP)
+              .header(HttpHeaders.CONTENT_DISPOSITION,
+                      "attachment; filename=\"" + job.getType() + "-" + id + ".ndjson.gz\"")
+              .body(new FileSystemResource(reportService.getResultFile(id)));
+    }
+    if ("FAILED".equals(job.getStatus())) {
+      return ResponseEntity.ok(job);
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+  }
+}
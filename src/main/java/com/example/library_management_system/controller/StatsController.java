@@ -0,0 +1,35 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.stats.CirculationBackfillResponseDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsRequestDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsResponseDTO;
+import com.example.library_management_system.service.CirculationStatsService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+  private final CirculationStatsService circulationStatsService;
+
+  public StatsController(CirculationStatsService circulationStatsService) {
+    this.circulationStatsService = circulationStatsService;
+  }
+
+  @GetMapping("/circulation")
+  @PreAuthorize("hasAnyRole('ADMIN', 'LIBRARIAN')")
+  public ResponseEntity<CirculationStatsResponseDTO> getCirculation(@Valid CirculationStatsRequestDTO request) {
+    CirculationStatsResponseDTO stats = circulationStatsService.getCirculation(request);
+    return ResponseEntity.ok(stats);
+  }
+
+  @PostMapping("/circulation/backfill")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<CirculationBackfillResponseDTO> backfillCirculation() {
+    CirculationBackfillResponseDTO result = circulationStatsService.backfill();
+    return ResponseEntity.ok(result);
+  }
+}
@@ -1,11 +1,13 @@
 package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.user.PasswordChangeRequestDTO;
+import com.example.library_management_system.dto.user.UserPageResponseDTO;
 import com.example.library_management_system.dto.user.UserResponseDTO;
+import com.example.library_management_system.dto.user.UserSearchRequestDTO;
 import com.example.library_management_system.dto.user.UserUpdateRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.UnauthorizedException;
-import com.example.library_management_system.model.User;
-import com.example.library_management_system.repository.UserRepository;
+import com.example.library_management_system.service.UserCredentialsCache;
 import com.example.library_management_system.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -14,7 +16,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,17 +23,17 @@ import java.util.Map;
 public class UserController {
 
   private final UserService userService;
-  private final UserRepository userRepository;
+  private final UserCredentialsCache userCredentialsCache;
 
-  public UserController(UserService userService, UserRepository userRepository) {
+  public UserController(UserService userService, UserCredentialsCache userCredentialsCache) {
     this.userService = userService;
-    this.userRepository = userRepository;
+    this.userCredentialsCache = userCredentialsCache;
   }
 
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public ResponseEntity<List<UserResponseDTO>> findAllUsers() {
-    List<UserResponseDTO> users = userService.findAllUsers();
+  public ResponseEntity<UserPageResponseDTO> findUsers(@Valid UserSearchRequestDTO request) {
+    UserPageResponseDTO users = userService.findUsers(request);
     return ResponseEntity.ok(users);
   }
 
@@ -57,7 +58,7 @@ public class UserController {
                                                       @RequestBody Map<String, String> request) {
     String role = request.get("role");
     if (role == null || role.isBlank()) {
-      throw new IllegalArgumentException("Role cannot be blank");
+      throw new BadRequestException("Role cannot be blank");
     }
     UserResponseDTO updated = userService.updateRole(id, role);
     return ResponseEntity.ok(updated);
@@ -75,10 +76,10 @@ public class UserController {
 
     if (!isAdmin) {
       // Not admin - verify they're changing their own password
-      User currentUser = userRepository.findByUsername(currentUsername)
+      UserCredentialsCache.Credentials currentUser = userCredentialsCache.find(currentUsername)
               .orElseThrow(() -> new UnauthorizedException("User not found"));
 
-      if (!currentUser.getId().equals(id)) {
+      if (!currentUser.id().equals(id)) {
         throw new UnauthorizedException("You can only change your own password");
       }
     }
@@ -5,6 +5,7 @@ public class AuthResponseDTO {
   private String token;
   private String username;
   private String role;
+  private String refreshToken;
 
   public AuthResponseDTO() {
   }
@@ -15,6 +16,11 @@ public class AuthResponseDTO {
     this.role = role;
   }
 
+  public AuthResponseDTO(String token, String username, String role, String refreshToken) {
+    this(token, username, role);
+    this.refreshToken = refreshToken;
+  }
+
   public String getToken() {
     return token;
   }
@@ -38,4 +44,12 @@ public class AuthResponseDTO {
   public void setRole(String role) {
     this.role = role;
   }
+
+  public String getRefreshToken() {
+    return refreshToken;
+  }
+
+  public void setRefreshToken(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
 }
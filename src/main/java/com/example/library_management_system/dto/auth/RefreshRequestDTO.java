@@ -0,0 +1,24 @@
+package com.example.library_management_system.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class RefreshRequestDTO {
+
+  @NotBlank(message = "Refresh token cannot be blank")
+  private String refreshToken;
+
+  public RefreshRequestDTO() {
+  }
+
+  public RefreshRequestDTO(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+
+  public String getRefreshToken() {
+    return refreshToken;
+  }
+
+  public void setRefreshToken(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+}
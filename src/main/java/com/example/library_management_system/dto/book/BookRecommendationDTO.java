@@ -0,0 +1,51 @@
+package com.example.library_management_system.dto.book;
+
+public class BookRecommendationDTO {
+
+  private Long bookId;
+  private String title;
+  private String author;
+  private int score;
+
+  public BookRecommendationDTO() {
+  }
+
+  public BookRecommendationDTO(Long bookId, String title, String author, int score) {
+    this.bookId = bookId;
+    this.title = title;
+    this.author = author;
+    this.score = score;
+  }
+
+  public Long getBookId() {
+    return bookId;
+  }
+
+  public void setBookId(Long bookId) {
+    this.bookId = bookId;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  public void setAuthor(String author) {
+    this.author = author;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public void setScore(int score) {
+    this.score = score;
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.library_management_system.dto.fine;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class FineBalanceResponseDTO {
+
+  private Long memberId;
+  private BigDecimal balance;
+  private LocalDateTime updatedAt;
+
+  public FineBalanceResponseDTO() {
+  }
+
+  public FineBalanceResponseDTO(Long memberId, BigDecimal balance, LocalDateTime updatedAt) {
+    this.memberId = memberId;
+    this.balance = balance;
+    this.updatedAt = updatedAt;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public void setMemberId(Long memberId) {
+    this.memberId = memberId;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
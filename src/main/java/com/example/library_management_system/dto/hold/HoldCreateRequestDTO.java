@@ -0,0 +1,24 @@
+package com.example.library_management_system.dto.hold;
+
+import jakarta.validation.constraints.NotNull;
+
+public class HoldCreateRequestDTO {
+
+  @NotNull(message = "Member ID cannot be null")
+  private Long memberId;
+
+  public HoldCreateRequestDTO() {
+  }
+
+  public HoldCreateRequestDTO(Long memberId) {
+    this.memberId = memberId;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public void setMemberId(Long memberId) {
+    this.memberId = memberId;
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.library_management_system.dto.hold;
+
+import java.time.LocalDateTime;
+
+public class HoldResponseDTO {
+
+  private Long id;
+  private Long memberId;
+  private Long bookId;
+  private String memberName;
+  private String bookTitle;
+  private String status;
+  private LocalDateTime createdAt;
+  private LocalDateTime readyAt;
+
+  public HoldResponseDTO() {
+  }
+
+  public HoldResponseDTO(Long id, Long memberId, Long bookId, String memberName, String bookTitle,
+                         String status, LocalDateTime createdAt, LocalDateTime readyAt) {
+    this.id = id;
+    this.memberId = memberId;
+    this.bookId = bookId;
+    this.memberName = memberName;
+    this.bookTitle = bookTitle;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.readyAt = readyAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public void setMemberId(Long memberId) {
+    this.memberId = memberId;
+  }
+
+  public Long getBookId() {
+    return bookId;
+  }
+
+  public void setBookId(Long bookId) {
+    this.bookId = bookId;
+  }
+
+  public String getMemberName() {
+    return memberName;
+  }
+
+  public void setMemberName(String memberName) {
+    this.memberName = memberName;
+  }
+
+  public String getBookTitle() {
+    return bookTitle;
+  }
+
+  public void setBookTitle(String bookTitle) {
+    this.bookTitle = bookTitle;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getReadyAt() {
+    return readyAt;
+  }
+
+  public void setReadyAt(LocalDateTime readyAt) {
+    this.readyAt = readyAt;
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.library_management_system.dto.loan;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class LoanHistoryRequestDTO {
+
+  private String status; // Optional: "active" or "returned", defaults to both
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime from; // Optional: inclusive lower bound on borrow date
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime to; // Optional: exclusive upper bound on borrow date
+
+  private String cursor; // Optional: nextCursor from the previous page
+
+  @Min(value = 1, message = "Size must be at least 1")
+  @Max(value = 200, message = "Size cannot be more than 200")
+  private Integer size;
+
+  public LoanHistoryRequestDTO() {
+  }
+
+  public LoanHistoryRequestDTO(String status, LocalDateTime from, LocalDateTime to, String cursor, Integer size) {
+    this.status = status;
+    this.from = from;
+    this.to = to;
+    this.cursor = cursor;
+    this.size = size;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDateTime from) {
+    this.from = from;
+  }
+
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDateTime to) {
+    this.to = to;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public Integer getSize() {
+    return size;
+  }
+
+  public void setSize(Integer size) {
+    this.size = size;
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.library_management_system.dto.loan;
+
+import java.util.List;
+
+public class LoanPageResponseDTO {
+
+  private List<LoanResponseDTO> loans;
+  private String nextCursor;
+  private boolean hasMore;
+
+  public LoanPageResponseDTO() {
+  }
+
+  public LoanPageResponseDTO(List<LoanResponseDTO> loans, String nextCursor, boolean hasMore) {
+    this.loans = loans;
+    this.nextCursor = nextCursor;
+    this.hasMore = hasMore;
+  }
+
+  public List<LoanResponseDTO> getLoans() {
+    return loans;
+  }
+
+  public void setLoans(List<LoanResponseDTO> loans) {
+    this.loans = loans;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
@@ -13,6 +13,7 @@ public class LoanResponseDTO {
   private LocalDateTime dueDate;
   private LocalDateTime returnDate;
   private boolean isOverdue;
+  private int renewalCount;
 
   public LoanResponseDTO() {
   }
@@ -102,4 +103,12 @@ public class LoanResponseDTO {
   public void setOverdue(boolean overdue) {
     isOverdue = overdue;
   }
+
+  public int getRenewalCount() {
+    return renewalCount;
+  }
+
+  public void setRenewalCount(int renewalCount) {
+    this.renewalCount = renewalCount;
+  }
 }
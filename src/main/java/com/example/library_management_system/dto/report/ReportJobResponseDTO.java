@@ -0,0 +1,84 @@
+package com.example.library_management_system.dto.report;
+
+import java.time.LocalDateTime;
+
+public class ReportJobResponseDTO {
+
+  private String id;
+  private String type;
+  private String status;
+  private LocalDateTime createdAt;
+  private LocalDateTime completedAt;
+  private Long rowCount;
+  private String error;
+
+  public ReportJobResponseDTO() {
+  }
+
+  public ReportJobResponseDTO(String id, String type, String status, LocalDateTime createdAt,
+                              LocalDateTime completedAt, Long rowCount, String error) {
+    this.id = id;
+    this.type = type;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.completedAt = completedAt;
+    this.rowCount = rowCount;
+    this.error = error;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setCompletedAt(LocalDateTime completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  public Long getRowCount() {
+    return rowCount;
+  }
+
+  public void setRowCount(Long rowCount) {
+    this.rowCount = rowCount;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
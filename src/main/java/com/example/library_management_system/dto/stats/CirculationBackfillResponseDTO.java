@@ -0,0 +1,43 @@
+package com.example.library_management_system.dto.stats;
+
+import java.time.LocalDateTime;
+
+public class CirculationBackfillResponseDTO {
+
+  private long loansScanned;
+  private int bucketsWritten;
+  private LocalDateTime cutoff;
+
+  public CirculationBackfillResponseDTO() {
+  }
+
+  public CirculationBackfillResponseDTO(long loansScanned, int bucketsWritten, LocalDateTime cutoff) {
+    this.loansScanned = loansScanned;
+    this.bucketsWritten = bucketsWritten;
+    this.cutoff = cutoff;
+  }
+
+  public long getLoansScanned() {
+    return loansScanned;
+  }
+
+  public void setLoansScanned(long loansScanned) {
+    this.loansScanned = loansScanned;
+  }
+
+  public int getBucketsWritten() {
+    return bucketsWritten;
+  }
+
+  public void setBucketsWritten(int bucketsWritten) {
+    this.bucketsWritten = bucketsWritten;
+  }
+
+  public LocalDateTime getCutoff() {
+    return cutoff;
+  }
+
+  public void setCutoff(LocalDateTime cutoff) {
+    this.cutoff = cutoff;
+  }
+}
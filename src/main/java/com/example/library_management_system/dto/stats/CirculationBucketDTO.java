@@ -0,0 +1,43 @@
+package com.example.library_management_system.dto.stats;
+
+import java.time.LocalDateTime;
+
+public class CirculationBucketDTO {
+
+  private LocalDateTime bucketStart;
+  private long borrows;
+  private long returns;
+
+  public CirculationBucketDTO() {
+  }
+
+  public CirculationBucketDTO(LocalDateTime bucketStart, long borrows, long returns) {
+    this.bucketStart = bucketStart;
+    this.borrows = borrows;
+    this.returns = returns;
+  }
+
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  public void setBucketStart(LocalDateTime bucketStart) {
+    this.bucketStart = bucketStart;
+  }
+
+  public long getBorrows() {
+    return borrows;
+  }
+
+  public void setBorrows(long borrows) {
+    this.borrows = borrows;
+  }
+
+  public long getReturns() {
+    return returns;
+  }
+
+  public void setReturns(long returns) {
+    this.returns = returns;
+  }
+}
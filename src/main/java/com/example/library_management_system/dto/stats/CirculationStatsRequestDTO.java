@@ -0,0 +1,52 @@
+package com.example.library_management_system.dto.stats;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public class CirculationStatsRequestDTO {
+
+  @NotNull(message = "From is required")
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime from; // Inclusive
+
+  @NotNull(message = "To is required")
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime to; // Exclusive
+
+  private String granularity; // Optional: "hour" or "day", defaults to "day"
+
+  public CirculationStatsRequestDTO() {
+  }
+
+  public CirculationStatsRequestDTO(LocalDateTime from, LocalDateTime to, String granularity) {
+    this.from = from;
+    this.to = to;
+    this.granularity = granularity;
+  }
+
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDateTime from) {
+    this.from = from;
+  }
+
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDateTime to) {
+    this.to = to;
+  }
+
+  public String getGranularity() {
+    return granularity;
+  }
+
+  public void setGranularity(String granularity) {
+    this.granularity = granularity;
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.library_management_system.dto.stats;
+
+import java.util.List;
+
+public class CirculationStatsResponseDTO {
+
+  private String granularity;
+  private List<CirculationBucketDTO> buckets;
+
+  public CirculationStatsResponseDTO() {
+  }
+
+  public CirculationStatsResponseDTO(String granularity, List<CirculationBucketDTO> buckets) {
+    this.granularity = granularity;
+    this.buckets = buckets;
+  }
+
+  public String getGranularity() {
+    return granularity;
+  }
+
+  public void setGranularity(String granularity) {
+    this.granularity = granularity;
+  }
+
+  public List<CirculationBucketDTO> getBuckets() {
+    return buckets;
+  }
+
+  public void setBuckets(List<CirculationBucketDTO> buckets) {
+    this.buckets = buckets;
+  }
+}
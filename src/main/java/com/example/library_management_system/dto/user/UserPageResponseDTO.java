@@ -0,0 +1,43 @@
+package com.example.library_management_system.dto.user;
+
+import java.util.List;
+
+public class UserPageResponseDTO {
+
+  private List<UserResponseDTO> users;
+  private String nextCursor;
+  private boolean hasMore;
+
+  public UserPageResponseDTO() {
+  }
+
+  public UserPageResponseDTO(List<UserResponseDTO> users, String nextCursor, boolean hasMore) {
+    this.users = users;
+    this.nextCursor = nextCursor;
+    this.hasMore = hasMore;
+  }
+
+  public List<UserResponseDTO> getUsers() {
+    return users;
+  }
+
+  public void setUsers(List<UserResponseDTO> users) {
+    this.users = users;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.library_management_system.dto.user;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+public class UserSearchRequestDTO {
+
+  private String role; // Optional: only users with this role
+
+  @Size(max = 100, message = "Username prefix cannot be more than 100 characters")
+  private String username; // Optional: case-insensitive username prefix
+
+  private String cursor; // Optional: nextCursor from the previous page
+
+  @Min(value = 1, message = "Size must be at least 1")
+  @Max(value = 200, message = "Size cannot be more than 200")
+  private Integer size;
+
+  public UserSearchRequestDTO() {
+  }
+
+  public UserSearchRequestDTO(String role, String username, String cursor, Integer size) {
+    this.role = role;
+    this.username = username;
+    this.cursor = cursor;
+    this.size = size;
+  }
+
+  public String getRole() {
+    return role;
+  }
+
+  public void setRole(String role) {
+    this.role = role;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public Integer getSize() {
+    return size;
+  }
+
+  public void setSize(Integer size) {
+    this.size = size;
+  }
+}
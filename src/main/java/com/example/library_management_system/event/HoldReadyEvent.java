@@ -0,0 +1,26 @@
+package com.example.library_management_system.event;
+
+public class HoldReadyEvent {
+
+  private final Long holdId;
+  private final Long memberId;
+  private final Long bookId;
+
+  public HoldReadyEvent(Long holdId, Long memberId, Long bookId) {
+    this.holdId = holdId;
+    this.memberId = memberId;
+    this.bookId = bookId;
+  }
+
+  public Long getHoldId() {
+    return holdId;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public Long getBookId() {
+    return bookId;
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.library_management_system.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+public class OutboxMessage {
+
+  private final Long id;
+  private final String aggregateType;
+  private final Long aggregateId;
+  private final String eventType;
+  private final String payload;
+  private final LocalDateTime createdAt;
+
+  public OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType,
+                       String payload, LocalDateTime createdAt) {
+    this.id = id;
+    this.aggregateType = aggregateType;
+    this.aggregateId = aggregateId;
+    this.eventType = eventType;
+    this.payload = payload;
+    this.createdAt = createdAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getAggregateType() {
+    return aggregateType;
+  }
+
+  public Long getAggregateId() {
+    return aggregateId;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  // Already JSON; written inline rather than as an escaped string
+  @JsonRawValue
+  public String getPayload() {
+    return payload;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+}
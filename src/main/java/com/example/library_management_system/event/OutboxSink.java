@@ -0,0 +1,10 @@
+package com.example.library_management_system.event;
+
+import java.util.List;
+
+// Destination for relayed outbox rows. A sink that throws leaves the batch unpublished,
+// so every message may be delivered more than once and consumers must deduplicate by id.
+public interface OutboxSink {
+
+  void publish(List<OutboxMessage> batch) throws Exception;
+}
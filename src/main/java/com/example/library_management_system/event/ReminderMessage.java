@@ -0,0 +1,70 @@
+package com.example.library_management_system.event;
+
+import com.example.library_management_system.model.ReminderType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Every loan of one member covered by a reminder run, so each member gets a single message
+public class ReminderMessage {
+
+  private final ReminderType type;
+  private final Long memberId;
+  private final String memberName;
+  private final String memberEmail;
+  private final List<Item> loans;
+
+  public ReminderMessage(ReminderType type, Long memberId, String memberName, String memberEmail,
+                         List<Item> loans) {
+    this.type = type;
+    this.memberId = memberId;
+    this.memberName = memberName;
+    this.memberEmail = memberEmail;
+    this.loans = loans;
+  }
+
+  public ReminderType getType() {
+    return type;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public String getMemberName() {
+    return memberName;
+  }
+
+  public String getMemberEmail() {
+    return memberEmail;
+  }
+
+  public List<Item> getLoans() {
+    return loans;
+  }
+
+  public static class Item {
+
+    private final Long loanId;
+    private final String bookTitle;
+    private final LocalDateTime dueDate;
+
+    public Item(Long loanId, String bookTitle, LocalDateTime dueDate) {
+      this.loanId = loanId;
+      this.bookTitle = bookTitle;
+      this.dueDate = dueDate;
+    }
+
+    public Long getLoanId() {
+      return loanId;
+    }
+
+    public String getBookTitle() {
+      return bookTitle;
+    }
+
+    public LocalDateTime getDueDate() {
+      return dueDate;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.library_management_system.event;
+
+// Delivers one reminder to one member. Called concurrently from virtual threads; a notifier
+// that throws only fails that member's reminder.
+public interface ReminderNotifier {
+
+  void send(ReminderMessage message) throws Exception;
+}
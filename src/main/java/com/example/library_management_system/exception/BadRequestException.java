@@ -0,0 +1,10 @@
+package com.example.library_management_system.exception;
+
+// A request parameter the client got wrong (unknown role, malformed cursor, range too large).
+// Mapped to 400; any other IllegalArgumentException is an internal fault and stays a 500.
+public class BadRequestException extends IllegalArgumentException {
+
+  public BadRequestException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.library_management_system.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+// Tells which unique index or constraint a failed insert or update ran into, so a service can turn
+// a lost race into its own domain exception and rethrow anything else
+public final class ConstraintViolations {
+
+  private ConstraintViolations() {
+  }
+
+  public static boolean violates(DataIntegrityViolationException e, String constraint) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+        return violation.getConstraintName().toLowerCase().contains(constraint);
+      }
+    }
+    return false;
+  }
+}
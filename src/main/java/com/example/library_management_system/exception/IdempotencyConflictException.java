@@ -0,0 +1,12 @@
+package com.example.library_management_system.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+  public IdempotencyConflictException(String message) {
+    super(message);
+  }
+
+  public IdempotencyConflictException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.library_management_system.mapper;
+
+import com.example.library_management_system.dto.hold.HoldResponseDTO;
+import com.example.library_management_system.model.Hold;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HoldMapper {
+
+  public HoldResponseDTO toResponseDTO(Hold hold) {
+    return new HoldResponseDTO(
+            hold.getId(),
+            hold.getMember().getId(),
+            hold.getBook().getId(),
+            hold.getMember().getName(),
+            hold.getBook().getTitle(),
+            hold.getStatus().name(),
+            hold.getCreatedAt(),
+            hold.getReadyAt()
+    );
+  }
+}
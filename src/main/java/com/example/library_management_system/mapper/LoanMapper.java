@@ -1,6 +1,7 @@
 package com.example.library_management_system.mapper;
 
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
+import com.example.library_management_system.model.ArchivedLoan;
 import com.example.library_management_system.model.Loan;
 import org.springframework.stereotype.Component;
 
@@ -8,7 +9,7 @@ import org.springframework.stereotype.Component;
 public class LoanMapper {
 
   public LoanResponseDTO toResponseDTO(Loan loan) {
-    return new LoanResponseDTO(
+    LoanResponseDTO dto = new LoanResponseDTO(
             loan.getId(),
             loan.getMember().getId(),
             loan.getBook().getId(),
@@ -19,5 +20,21 @@ public class LoanMapper {
             loan.getReturnDate(),
             loan.isOverdue()
     );
+    dto.setRenewalCount(loan.getRenewalCount());
+    return dto;
+  }
+
+  public LoanResponseDTO toResponseDTO(ArchivedLoan loan) {
+    return new LoanResponseDTO(
+            loan.getId(),
+            loan.getMember().getId(),
+            loan.getBook().getId(),
+            loan.getMember().getName(),
+            loan.getBook().getTitle(),
+            loan.getBorrowDate(),
+            loan.getDueDate(),
+            loan.getReturnDate(),
+            false
+    );
   }
 }
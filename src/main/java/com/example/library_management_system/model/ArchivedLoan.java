@@ -0,0 +1,113 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "loan_archive", indexes = {
+        @Index(name = "idx_loan_archive_member_borrow_date", columnList = "member_id, borrow_date DESC, id DESC")
+})
+public class ArchivedLoan {
+
+  // Same id the loan had in the hot table; rows are copied, never generated here
+  @Id
+  private Long id;
+
+  @ManyToOne
+  @JoinColumn(name = "member_id", nullable = false)
+  private Member member;
+
+  @ManyToOne
+  @JoinColumn(name = "book_id", nullable = false)
+  private Book book;
+
+  @Column(nullable = false)
+  private LocalDateTime borrowDate;
+
+  @Column(nullable = false)
+  private LocalDateTime dueDate;
+
+  @Column(nullable = false)
+  private LocalDateTime returnDate;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+
+  public ArchivedLoan() {
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Member getMember() {
+    return member;
+  }
+
+  public void setMember(Member member) {
+    this.member = member;
+  }
+
+  public Book getBook() {
+    return book;
+  }
+
+  public void setBook(Book book) {
+    this.book = book;
+  }
+
+  public LocalDateTime getBorrowDate() {
+    return borrowDate;
+  }
+
+  public void setBorrowDate(LocalDateTime borrowDate) {
+    this.borrowDate = borrowDate;
+  }
+
+  public LocalDateTime getDueDate() {
+    return dueDate;
+  }
+
+  public void setDueDate(LocalDateTime dueDate) {
+    this.dueDate = dueDate;
+  }
+
+  public LocalDateTime getReturnDate() {
+    return returnDate;
+  }
+
+  public void setReturnDate(LocalDateTime returnDate) {
+    this.returnDate = returnDate;
+  }
+
+  public LocalDateTime getArchivedAt() {
+    return archivedAt;
+  }
+
+  public void setArchivedAt(LocalDateTime archivedAt) {
+    this.archivedAt = archivedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "{ArchivedLoan id=" + id + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof ArchivedLoan that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
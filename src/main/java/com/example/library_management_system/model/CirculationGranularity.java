@@ -0,0 +1,18 @@
+package com.example.library_management_system.model;
+
+import java.time.temporal.ChronoUnit;
+
+public enum CirculationGranularity {
+  HOUR(ChronoUnit.HOURS),
+  DAY(ChronoUnit.DAYS);
+
+  private final ChronoUnit unit;
+
+  CirculationGranularity(ChronoUnit unit) {
+    this.unit = unit;
+  }
+
+  public ChronoUnit getUnit() {
+    return unit;
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "circulation_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_circulation_stats_bucket", columnNames = {"granularity", "bucket_start"})
+})
+public class CirculationStat {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  private CirculationGranularity granularity;
+
+  // Start of the hour or day this row counts, in server local time
+  @Column(nullable = false)
+  private LocalDateTime bucketStart;
+
+  @Column(nullable = false)
+  private long borrows;
+
+  @Column(nullable = false)
+  private long returns;
+
+  public CirculationStat() {
+  }
+
+  public CirculationStat(CirculationGranularity granularity, LocalDateTime bucketStart, long borrows, long returns) {
+    this.granularity = granularity;
+    this.bucketStart = bucketStart;
+    this.borrows = borrows;
+    this.returns = returns;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public CirculationGranularity getGranularity() {
+    return granularity;
+  }
+
+  public void setGranularity(CirculationGranularity granularity) {
+    this.granularity = granularity;
+  }
+
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  public void setBucketStart(LocalDateTime bucketStart) {
+    this.bucketStart = bucketStart;
+  }
+
+  public long getBorrows() {
+    return borrows;
+  }
+
+  public void setBorrows(long borrows) {
+    this.borrows = borrows;
+  }
+
+  public long getReturns() {
+    return returns;
+  }
+
+  public void setReturns(long returns) {
+    this.returns = returns;
+  }
+
+  @Override
+  public String toString() {
+    return "{CirculationStat " + granularity + " " + bucketStart + ", borrows=" + borrows + ", returns=" + returns + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CirculationStat that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
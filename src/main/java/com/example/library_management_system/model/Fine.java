@@ -0,0 +1,117 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Append-only ledger of fine charges. Loan and member are plain ids rather than associations so
+// loans can still be moved to loan_archive once returned.
+@Entity
+@Table(name = "fine", indexes = {
+        @Index(name = "idx_fine_member", columnList = "member_id, id"),
+        @Index(name = "idx_fine_run_loan", columnList = "run_id, loan_id")
+})
+public class Fine {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "loan_id", nullable = false)
+  private Long loanId;
+
+  @Column(name = "member_id", nullable = false)
+  private Long memberId;
+
+  // Accrual run that wrote this row
+  @Column(name = "run_id", nullable = false, length = 36)
+  private String runId;
+
+  // Overdue days charged by this row
+  @Column(nullable = false)
+  private int days;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal amount;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  public Fine() {
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getLoanId() {
+    return loanId;
+  }
+
+  public void setLoanId(Long loanId) {
+    this.loanId = loanId;
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public void setMemberId(Long memberId) {
+    this.memberId = memberId;
+  }
+
+  public String getRunId() {
+    return runId;
+  }
+
+  public void setRunId(String runId) {
+    this.runId = runId;
+  }
+
+  public int getDays() {
+    return days;
+  }
+
+  public void setDays(int days) {
+    this.days = days;
+  }
+
+  public BigDecimal getAmount() {
+    return amount;
+  }
+
+  public void setAmount(BigDecimal amount) {
+    this.amount = amount;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  @Override
+  public String toString() {
+    return "{Fine id=" + id + ", loanId=" + loanId + ", days=" + days + ", amount=" + amount + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Fine fine)) return false;
+    return Objects.equals(id, fine.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Watermark of the fine accrual job: the asOf of the last run that processed every candidate.
+// The next run only looks at loans returned since then, plus loans that are still open.
+@Entity
+@Table(name = "fine_accrual_checkpoint")
+public class FineAccrualCheckpoint {
+
+  // Single row
+  public static final String ID = "FINES";
+
+  @Id
+  @Column(length = 20)
+  private String id;
+
+  @Column(nullable = false)
+  private LocalDateTime lastAsOf;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  public FineAccrualCheckpoint() {
+  }
+
+  public FineAccrualCheckpoint(LocalDateTime lastAsOf) {
+    this.id = ID;
+    this.lastAsOf = lastAsOf;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public LocalDateTime getLastAsOf() {
+    return lastAsOf;
+  }
+
+  public void setLastAsOf(LocalDateTime lastAsOf) {
+    this.lastAsOf = lastAsOf;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public String toString() {
+    return "{FineAccrualCheckpoint lastAsOf=" + lastAsOf + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof FineAccrualCheckpoint that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -0,0 +1,116 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "hold", indexes = {
+        @Index(name = "idx_hold_book_status", columnList = "book_id, status, id"),
+        @Index(name = "idx_hold_member_book", columnList = "member_id, book_id")
+})
+public class Hold {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne
+  @JoinColumn(name = "member_id", nullable = false)
+  private Member member;
+
+  @ManyToOne
+  @JoinColumn(name = "book_id", nullable = false)
+  private Book book;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private HoldStatus status;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  // Set when a returned copy is allocated to this hold
+  @Column(nullable = true)
+  private LocalDateTime readyAt;
+
+  public Hold() {
+  }
+
+  public Hold(Member member, Book book) {
+    this.member = member;
+    this.book = book;
+    this.status = HoldStatus.WAITING;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Member getMember() {
+    return member;
+  }
+
+  public void setMember(Member member) {
+    this.member = member;
+  }
+
+  public Book getBook() {
+    return book;
+  }
+
+  public void setBook(Book book) {
+    this.book = book;
+  }
+
+  public HoldStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(HoldStatus status) {
+    this.status = status;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getReadyAt() {
+    return readyAt;
+  }
+
+  public void setReadyAt(LocalDateTime readyAt) {
+    this.readyAt = readyAt;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    this.createdAt = LocalDateTime.now();
+  }
+
+  @Override
+  public String toString() {
+    return "{Hold id=" + id + ", status=" + status + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Hold hold)) return false;
+    return Objects.equals(id, hold.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
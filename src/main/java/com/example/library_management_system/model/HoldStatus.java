@@ -0,0 +1,5 @@
+package com.example.library_management_system.model;
+
+public enum HoldStatus {
+  WAITING, READY, FULFILLED, CANCELLED, EXPIRED
+}
@@ -0,0 +1,118 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+  // Operation scope plus the client's Idempotency-Key, e.g. "POST /api/loans:3f2a..."
+  @Id
+  @Column(length = 300)
+  private String id;
+
+  // SHA-256 of the request, so a key reused for a different request is rejected
+  @Column(nullable = false, length = 64)
+  private String fingerprint;
+
+  // Null while the first request is still running
+  @Column(nullable = true)
+  private Integer responseStatus;
+
+  @Column(nullable = true, length = 4000)
+  private String responseBody;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  public IdempotencyRecord() {
+  }
+
+  public IdempotencyRecord(String id, String fingerprint, LocalDateTime expiresAt) {
+    this.id = id;
+    this.fingerprint = fingerprint;
+    this.expiresAt = expiresAt;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public void setFingerprint(String fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
+  public Integer getResponseStatus() {
+    return responseStatus;
+  }
+
+  public void setResponseStatus(Integer responseStatus) {
+    this.responseStatus = responseStatus;
+  }
+
+  public String getResponseBody() {
+    return responseBody;
+  }
+
+  public void setResponseBody(String responseBody) {
+    this.responseBody = responseBody;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public boolean isCompleted() {
+    return responseStatus != null;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    this.createdAt = LocalDateTime.now();
+  }
+
+  @Override
+  public String toString() {
+    return "{IdempotencyRecord id=" + id + ", responseStatus=" + responseStatus + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof IdempotencyRecord that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -6,9 +6,17 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "loan")
+@Table(name = "loan", indexes = {
+        @Index(name = "idx_loan_member_borrow_date", columnList = "member_id, borrow_date DESC, id DESC"),
+        @Index(name = "idx_loan_due_date_member", columnList = "due_date, member_id"),
+        @Index(name = "idx_loan_return_due", columnList = "return_date, due_date, id")
+})
 public class Loan {
 
+  // Unique index on (member_id, book_id) for open loans. Partial indexes are outside JPA, so it is
+  // created by db/postgresql/loan_active_unique.sql (src/test/resources/import.sql on H2).
+  public static final String ACTIVE_LOAN_INDEX = "uq_loan_active_member_book";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -30,6 +38,17 @@ public class Loan {
   @Column(nullable = true)
   private LocalDateTime returnDate;
 
+  // Overdue days already charged to the fine ledger; the accrual job only charges the difference
+  @Column(nullable = false, columnDefinition = "integer default 0")
+  private int fineAccruedDays;
+
+  @Column(nullable = false, columnDefinition = "integer default 0")
+  private int renewalCount;
+
+  // Set once a LoanOverdue event has been written for this loan
+  @Column(nullable = false, columnDefinition = "boolean default false")
+  private boolean overdueNotified;
+
   public Loan() {
   }
 
@@ -87,6 +106,30 @@ public class Loan {
             LocalDateTime.now().isAfter(dueDate);
   }
 
+  public int getFineAccruedDays() {
+    return fineAccruedDays;
+  }
+
+  public void setFineAccruedDays(int fineAccruedDays) {
+    this.fineAccruedDays = fineAccruedDays;
+  }
+
+  public int getRenewalCount() {
+    return renewalCount;
+  }
+
+  public void setRenewalCount(int renewalCount) {
+    this.renewalCount = renewalCount;
+  }
+
+  public boolean isOverdueNotified() {
+    return overdueNotified;
+  }
+
+  public void setOverdueNotified(boolean overdueNotified) {
+    this.overdueNotified = overdueNotified;
+  }
+
   @PrePersist
   public void onCreate() {
     this.borrowDate = LocalDateTime.now();
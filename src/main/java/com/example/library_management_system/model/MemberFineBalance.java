@@ -0,0 +1,67 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Running total of a member's fines, maintained by the accrual job alongside the ledger
+@Entity
+@Table(name = "member_fine_balance")
+public class MemberFineBalance {
+
+  @Id
+  @Column(name = "member_id")
+  private Long memberId;
+
+  @Column(nullable = false, precision = 12, scale = 2)
+  private BigDecimal balance;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  public MemberFineBalance() {
+  }
+
+  public Long getMemberId() {
+    return memberId;
+  }
+
+  public void setMemberId(Long memberId) {
+    this.memberId = memberId;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "{MemberFineBalance memberId=" + memberId + ", balance=" + balance + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof MemberFineBalance that)) return false;
+    return Objects.equals(memberId, that.memberId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(memberId);
+  }
+}
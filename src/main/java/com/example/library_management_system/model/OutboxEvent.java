@@ -0,0 +1,126 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_published_at", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_event_created", columnList = "aggregate_type, created_at, id")
+})
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 30)
+  private String aggregateType;
+
+  @Column(nullable = false)
+  private Long aggregateId;
+
+  @Column(nullable = false, length = 50)
+  private String eventType;
+
+  // Compact JSON body; consumers needing more detail go back to the API
+  @Column(nullable = false, length = 4000)
+  private String payload;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  // Null until the relay has handed the row to every sink
+  @Column(nullable = true)
+  private LocalDateTime publishedAt;
+
+  public OutboxEvent() {
+  }
+
+  public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+    this.aggregateType = aggregateType;
+    this.aggregateId = aggregateId;
+    this.eventType = eventType;
+    this.payload = payload;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getAggregateType() {
+    return aggregateType;
+  }
+
+  public void setAggregateType(String aggregateType) {
+    this.aggregateType = aggregateType;
+  }
+
+  public Long getAggregateId() {
+    return aggregateId;
+  }
+
+  public void setAggregateId(Long aggregateId) {
+    this.aggregateId = aggregateId;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public void setEventType(String eventType) {
+    this.eventType = eventType;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public void setPayload(String payload) {
+    this.payload = payload;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getPublishedAt() {
+    return publishedAt;
+  }
+
+  public void setPublishedAt(LocalDateTime publishedAt) {
+    this.publishedAt = publishedAt;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    this.createdAt = LocalDateTime.now();
+  }
+
+  @Override
+  public String toString() {
+    return "{OutboxEvent id=" + id + ", " + aggregateType + "/" + aggregateId + ", " + eventType + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof OutboxEvent that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
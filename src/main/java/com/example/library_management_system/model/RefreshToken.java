@@ -0,0 +1,127 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// One refresh token. Only its SHA-256 is stored. Every rotation adds a row to the same family and
+// marks the presented one used; used rows are kept until they expire so a replay can be detected.
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 64)
+  private String tokenHash;
+
+  // Shared by every token descended from one login
+  @Column(nullable = false, length = 36)
+  private String familyId;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  @Column(nullable = false)
+  private LocalDateTime issuedAt;
+
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  // Set when the token is exchanged; presenting it again means it was copied
+  @Column(nullable = true)
+  private LocalDateTime usedAt;
+
+  public RefreshToken() {
+  }
+
+  public RefreshToken(String tokenHash, String familyId, Long userId,
+                      LocalDateTime issuedAt, LocalDateTime expiresAt) {
+    this.tokenHash = tokenHash;
+    this.familyId = familyId;
+    this.userId = userId;
+    this.issuedAt = issuedAt;
+    this.expiresAt = expiresAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  public void setTokenHash(String tokenHash) {
+    this.tokenHash = tokenHash;
+  }
+
+  public String getFamilyId() {
+    return familyId;
+  }
+
+  public void setFamilyId(String familyId) {
+    this.familyId = familyId;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(Long userId) {
+    this.userId = userId;
+  }
+
+  public LocalDateTime getIssuedAt() {
+    return issuedAt;
+  }
+
+  public void setIssuedAt(LocalDateTime issuedAt) {
+    this.issuedAt = issuedAt;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public LocalDateTime getUsedAt() {
+    return usedAt;
+  }
+
+  public void setUsedAt(LocalDateTime usedAt) {
+    this.usedAt = usedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "{RefreshToken id=" + id + ", family=" + familyId + ", userId=" + userId + ", usedAt=" + usedAt + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof RefreshToken that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -0,0 +1,142 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Progress of one reminder run (one type, one day). Members are processed in id order, so
+// lastMemberId is where a restarted run picks up.
+@Entity
+@Table(name = "reminder_checkpoint")
+public class ReminderCheckpoint {
+
+  // Type plus run date, e.g. "OVERDUE:2024-03-02"
+  @Id
+  @Column(length = 40)
+  private String id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private ReminderType type;
+
+  @Column(nullable = false)
+  private LocalDate runDate;
+
+  @Column(nullable = false)
+  private long lastMemberId;
+
+  @Column(nullable = false)
+  private long sent;
+
+  @Column(nullable = false)
+  private long failed;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  // Null until every chunk has been processed
+  @Column(nullable = true)
+  private LocalDateTime completedAt;
+
+  public ReminderCheckpoint() {
+  }
+
+  public ReminderCheckpoint(ReminderType type, LocalDate runDate) {
+    this.id = key(type, runDate);
+    this.type = type;
+    this.runDate = runDate;
+  }
+
+  public static String key(ReminderType type, LocalDate runDate) {
+    return type + ":" + runDate;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public ReminderType getType() {
+    return type;
+  }
+
+  public void setType(ReminderType type) {
+    this.type = type;
+  }
+
+  public LocalDate getRunDate() {
+    return runDate;
+  }
+
+  public void setRunDate(LocalDate runDate) {
+    this.runDate = runDate;
+  }
+
+  public long getLastMemberId() {
+    return lastMemberId;
+  }
+
+  public void setLastMemberId(long lastMemberId) {
+    this.lastMemberId = lastMemberId;
+  }
+
+  public long getSent() {
+    return sent;
+  }
+
+  public void setSent(long sent) {
+    this.sent = sent;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public void setFailed(long failed) {
+    this.failed = failed;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setCompletedAt(LocalDateTime completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public String toString() {
+    return "{ReminderCheckpoint id=" + id + ", lastMemberId=" + lastMemberId + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof ReminderCheckpoint that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.library_management_system.model;
+
+public enum ReportStatus {
+  QUEUED,
+  RUNNING,
+  DONE,
+  FAILED
+}
@@ -0,0 +1,6 @@
+package com.example.library_management_system.model;
+
+public enum ReportType {
+  ACTIVE_LOANS,
+  OVERDUE_LOANS
+}
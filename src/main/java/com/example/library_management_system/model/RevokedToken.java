@@ -0,0 +1,89 @@
+package com.example.library_management_system.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// One revocation: either a single token ("jti:<id>") or every token a user was issued before
+// revokedAt ("user:<username>"). Rows are append-only so nodes can follow them by revokedAt.
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_key", columnList = "token_key"),
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 150)
+  private String tokenKey;
+
+  @Column(nullable = false)
+  private LocalDateTime revokedAt;
+
+  // Once every token it could match has expired the row can be pruned
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  public RevokedToken() {
+  }
+
+  public RevokedToken(String tokenKey, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+    this.tokenKey = tokenKey;
+    this.revokedAt = revokedAt;
+    this.expiresAt = expiresAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getTokenKey() {
+    return tokenKey;
+  }
+
+  public void setTokenKey(String tokenKey) {
+    this.tokenKey = tokenKey;
+  }
+
+  public LocalDateTime getRevokedAt() {
+    return revokedAt;
+  }
+
+  public void setRevokedAt(LocalDateTime revokedAt) {
+    this.revokedAt = revokedAt;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  @Override
+  public String toString() {
+    return "{RevokedToken id=" + id + ", " + tokenKey + ", revokedAt=" + revokedAt + "}";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof RevokedToken that)) return false;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
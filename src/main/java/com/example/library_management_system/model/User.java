@@ -7,8 +7,15 @@ import jakarta.validation.constraints.Size;
 import java.util.Objects;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_id", columnList = "role, id")
+})
 public class User {
+
+  // Unique index on lower(username). Expression indexes are outside JPA, so it is created by
+  // db/postgresql/users_username_unique.sql (src/test/resources/import.sql on H2).
+  public static final String USERNAME_INDEX = "uq_users_username_lower";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -0,0 +1,45 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.ArchivedLoan;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+  // Same keyset walk as LoanRepository.findMemberLoanPage; archived loans are always returned
+  @Query("SELECT a FROM ArchivedLoan a JOIN FETCH a.member JOIN FETCH a.book " +
+          "WHERE a.member.id = :memberId " +
+          "AND a.borrowDate >= :from AND a.borrowDate < :to " +
+          "AND a.borrowDate <= :cursorDate " +
+          "AND (a.borrowDate < :cursorDate OR a.id < :cursorId) " +
+          "ORDER BY a.borrowDate DESC, a.id DESC")
+  List<ArchivedLoan> findMemberArchivePage(@Param("memberId") Long memberId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("cursorDate") LocalDateTime cursorDate,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
+
+  @Query("SELECT a.id, a.borrowDate, a.returnDate FROM ArchivedLoan a WHERE a.id > :afterId ORDER BY a.id")
+  List<Object[]> findCirculationPage(@Param("afterId") Long afterId, Limit limit);
+
+  @Query("SELECT a.id, a.member.id, a.book.id FROM ArchivedLoan a WHERE a.id > :afterId ORDER BY a.id")
+  List<Object[]> findCoBorrowPage(@Param("afterId") Long afterId, Limit limit);
+
+  // Distinct [memberId, bookId] for the given members
+  @Query("SELECT DISTINCT a.member.id, a.book.id FROM ArchivedLoan a WHERE a.member.id IN :memberIds")
+  List<Object[]> findMemberBookIds(@Param("memberIds") Collection<Long> memberIds);
+
+  @Modifying
+  @Query(value = "INSERT INTO loan_archive (id, member_id, book_id, borrow_date, due_date, return_date, archived_at) " +
+          "SELECT l.id, l.member_id, l.book_id, l.borrow_date, l.due_date, l.return_date, :archivedAt " +
+          "FROM loan l WHERE l.id IN (:ids)", nativeQuery = true)
+  int copyFromLoans(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,34 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.CirculationGranularity;
+import com.example.library_management_system.model.CirculationStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CirculationStatRepository extends JpaRepository<CirculationStat, Long> {
+
+  @Query("SELECT s FROM CirculationStat s " +
+          "WHERE s.granularity = :granularity AND s.bucketStart >= :from AND s.bucketStart < :to " +
+          "ORDER BY s.bucketStart")
+  List<CirculationStat> findSeries(@Param("granularity") CirculationGranularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+  // Adds to an existing bucket; zero means the row does not exist yet and must be inserted
+  @Modifying
+  @Query("UPDATE CirculationStat s SET s.borrows = s.borrows + :borrows, s.returns = s.returns + :returns " +
+          "WHERE s.granularity = :granularity AND s.bucketStart = :bucketStart")
+  int increment(@Param("granularity") CirculationGranularity granularity,
+                @Param("bucketStart") LocalDateTime bucketStart,
+                @Param("borrows") long borrows,
+                @Param("returns") long returns);
+
+  @Modifying
+  @Query("DELETE FROM CirculationStat s WHERE s.bucketStart < :cutoff")
+  int deleteBucketsBefore(@Param("cutoff") LocalDateTime cutoff);
+}
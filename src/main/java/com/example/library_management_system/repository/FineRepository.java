@@ -0,0 +1,32 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.Fine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FineRepository extends JpaRepository<Fine, Long> {
+
+  // Calendar days a loan has been late as of :asOf (or until it was returned), capped at :maxDays
+  String CHARGEABLE_DAYS = "LEAST((CAST(COALESCE(l.returnDate, :asOf) AS LocalDate) " +
+          "- CAST(l.dueDate AS LocalDate)) BY DAY, :maxDays)";
+
+  // One INSERT ... SELECT per page of candidate loans: charges only the days not yet accrued on each loan
+  @Modifying
+  @Query("INSERT INTO Fine (loanId, memberId, runId, days, amount, createdAt) " +
+          "SELECT l.id, l.member.id, :runId, " + CHARGEABLE_DAYS + " - l.fineAccruedDays, " +
+          "(" + CHARGEABLE_DAYS + " - l.fineAccruedDays) * CAST(:dailyRate AS BigDecimal), :asOf " +
+          "FROM Loan l " +
+          "WHERE l.id IN :ids AND l.dueDate < :asOf " +
+          "AND " + CHARGEABLE_DAYS + " > l.fineAccruedDays")
+  int insertCharges(@Param("runId") String runId,
+                    @Param("asOf") LocalDateTime asOf,
+                    @Param("maxDays") int maxDays,
+                    @Param("dailyRate") BigDecimal dailyRate,
+                    @Param("ids") List<Long> ids);
+}
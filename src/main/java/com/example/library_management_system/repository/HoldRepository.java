@@ -0,0 +1,45 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.Hold;
+import com.example.library_management_system.model.HoldStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+  List<Hold> findByBookIdAndStatusInOrderByIdAsc(Long bookId, Collection<HoldStatus> statuses);
+
+  // Head of a book's queue, served by idx_hold_book_status
+  Optional<Hold> findFirstByBookIdAndStatusOrderByIdAsc(Long bookId, HoldStatus status);
+
+  boolean existsByBookIdAndStatus(Long bookId, HoldStatus status);
+
+  boolean existsByMemberIdAndBookIdAndStatusIn(Long memberId, Long bookId, Collection<HoldStatus> statuses);
+
+  List<Hold> findByStatusAndReadyAtBefore(HoldStatus status, LocalDateTime readyAt);
+
+  // Conditional transitions: a zero result means another request got there first
+
+  @Modifying
+  @Query("UPDATE Hold h SET h.status = com.example.library_management_system.model.HoldStatus.READY, " +
+          "h.readyAt = :readyAt " +
+          "WHERE h.id = :id AND h.status = com.example.library_management_system.model.HoldStatus.WAITING")
+  int markReady(@Param("id") Long id, @Param("readyAt") LocalDateTime readyAt);
+
+  @Modifying
+  @Query("UPDATE Hold h SET h.status = com.example.library_management_system.model.HoldStatus.FULFILLED " +
+          "WHERE h.member.id = :memberId AND h.book.id = :bookId " +
+          "AND h.status = com.example.library_management_system.model.HoldStatus.READY")
+  int markFulfilled(@Param("memberId") Long memberId, @Param("bookId") Long bookId);
+
+  @Modifying
+  @Query("UPDATE Hold h SET h.status = :to WHERE h.id = :id AND h.status = :from")
+  int transition(@Param("id") Long id, @Param("from") HoldStatus from, @Param("to") HoldStatus to);
+}
@@ -0,0 +1,42 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  // Plain INSERT so a concurrent claim of the same key fails on the primary key instead of merging
+  @Modifying
+  @Query(value = "INSERT INTO idempotency_record (id, fingerprint, created_at, expires_at) " +
+          "VALUES (:id, :fingerprint, :createdAt, :expiresAt)", nativeQuery = true)
+  int claim(@Param("id") String id,
+            @Param("fingerprint") String fingerprint,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Modifying
+  @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseBody = :body " +
+          "WHERE r.id = :id AND r.responseStatus IS NULL")
+  int complete(@Param("id") String id, @Param("status") int status, @Param("body") String body);
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.responseStatus IS NULL")
+  int release(@Param("id") String id);
+
+  // Frees a claim whose owner died mid-request, or an expired completed record
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id " +
+          "AND ((r.responseStatus IS NULL AND r.createdAt < :staleBefore) OR r.expiresAt < :now)")
+  int releaseStale(@Param("id") String id,
+                   @Param("staleBefore") LocalDateTime staleBefore,
+                   @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,17 +1,41 @@
 package com.example.library_management_system.repository;
 
 import com.example.library_management_system.model.Loan;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
-  List<Loan> findByMemberId(Long memberId);
+  // Keyset page of a member's loans, newest first. The redundant "borrowDate <= :cursorDate"
+  // bound lets idx_loan_member_borrow_date seek straight to the cursor position.
+  @Query("SELECT l FROM Loan l JOIN FETCH l.member JOIN FETCH l.book " +
+          "WHERE l.member.id = :memberId " +
+          "AND l.borrowDate >= :from AND l.borrowDate < :to " +
+          "AND l.borrowDate <= :cursorDate " +
+          "AND (l.borrowDate < :cursorDate OR l.id < :cursorId) " +
+          "AND ((:includeActive = true AND l.returnDate IS NULL) " +
+          "OR (:includeReturned = true AND l.returnDate IS NOT NULL)) " +
+          "ORDER BY l.borrowDate DESC, l.id DESC")
+  List<Loan> findMemberLoanPage(@Param("memberId") Long memberId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("cursorDate") LocalDateTime cursorDate,
+                                @Param("cursorId") Long cursorId,
+                                @Param("includeActive") boolean includeActive,
+                                @Param("includeReturned") boolean includeReturned,
+                                Limit limit);
 
-  List<Loan> findByMemberIdAndReturnDateIsNull(Long memberId);
+  // [memberId, activeLoans] for every member with at least one open loan
+  @Query("SELECT l.member.id, COUNT(l) FROM Loan l WHERE l.returnDate IS NULL GROUP BY l.member.id")
+  List<Object[]> countActiveLoansByMember();
 
   Optional<Loan> findByMemberIdAndBookIdAndReturnDateIsNull(Long memberId, Long bookId);
 
@@ -20,4 +44,105 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
   List<Loan> findByReturnDateIsNull();
 
   boolean existsByMemberIdAndBookIdAndReturnDateIsNull(Long memberId, Long bookId);
+
+  boolean existsByMemberIdAndReturnDateIsNull(Long memberId);
+
+  // [id, borrowDate, returnDate] in id order, for rebuilding circulation stats
+  @Query("SELECT l.id, l.borrowDate, l.returnDate FROM Loan l WHERE l.id > :afterId ORDER BY l.id")
+  List<Object[]> findCirculationPage(@Param("afterId") Long afterId, Limit limit);
+
+  // Keyset page of open loans due before :dueBefore, in id order, for report jobs
+  @Query("SELECT l FROM Loan l JOIN FETCH l.member JOIN FETCH l.book " +
+          "WHERE l.returnDate IS NULL AND l.dueDate < :dueBefore AND l.id > :afterId " +
+          "ORDER BY l.id")
+  List<Loan> findOpenLoanPage(@Param("afterId") Long afterId,
+                              @Param("dueBefore") LocalDateTime dueBefore,
+                              Limit limit);
+
+  // [id, memberId, bookId] in id order, for rebuilding co-borrow recommendations
+  @Query("SELECT l.id, l.member.id, l.book.id FROM Loan l WHERE l.id > :afterId ORDER BY l.id")
+  List<Object[]> findCoBorrowPage(@Param("afterId") Long afterId, Limit limit);
+
+  // [memberId, bookId, id] for every loan of the given members, for applying queued borrows
+  @Query("SELECT l.member.id, l.book.id, l.id FROM Loan l WHERE l.member.id IN :memberIds")
+  List<Object[]> findMemberBookLoans(@Param("memberIds") Collection<Long> memberIds);
+
+  // Fine accrual candidates, part 1: keyset page of open loans due in [:dueFrom, :asOf), walked
+  // by (dueDate, id). Open loans due before :dueFrom reached max-days in an earlier run.
+  // Served by idx_loan_return_due (return_date IS NULL, then the due_date range).
+  @Query("SELECT l.id, l.dueDate FROM Loan l " +
+          "WHERE l.returnDate IS NULL AND l.dueDate >= :afterDue AND l.dueDate < :asOf " +
+          "AND (l.dueDate > :afterDue OR l.id > :afterId) " +
+          "ORDER BY l.dueDate, l.id")
+  List<Object[]> findOpenOverduePage(@Param("afterDue") LocalDateTime afterDue,
+                                     @Param("afterId") Long afterId,
+                                     @Param("asOf") LocalDateTime asOf,
+                                     Limit limit);
+
+  // Fine accrual candidates, part 2: keyset page of loans returned late since :since, walked by
+  // (returnDate, id). Served by idx_loan_return_due (the return_date range).
+  @Query("SELECT l.id, l.returnDate FROM Loan l " +
+          "WHERE l.returnDate >= :afterReturn AND l.dueDate < l.returnDate " +
+          "AND (l.returnDate > :afterReturn OR l.id > :afterId) " +
+          "ORDER BY l.returnDate, l.id")
+  List<Object[]> findReturnedLatePage(@Param("afterReturn") LocalDateTime afterReturn,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+
+  // Pairs with FineRepository.insertCharges: records the days that statement just charged
+  @Modifying
+  @Query("UPDATE Loan l SET l.fineAccruedDays = " + FineRepository.CHARGEABLE_DAYS + " " +
+          "WHERE l.id IN :ids AND l.dueDate < :asOf " +
+          "AND " + FineRepository.CHARGEABLE_DAYS + " > l.fineAccruedDays")
+  int advanceFineAccruedDays(@Param("asOf") LocalDateTime asOf,
+                             @Param("maxDays") int maxDays,
+                             @Param("ids") List<Long> ids);
+
+  // Reminder candidates: open loans due in [from, to), walked by member id so that all of a
+  // member's loans land in the same chunk
+  @Query("SELECT DISTINCT l.member.id FROM Loan l " +
+          "WHERE l.returnDate IS NULL AND l.dueDate >= :from AND l.dueDate < :to " +
+          "AND l.member.id > :afterMemberId " +
+          "ORDER BY l.member.id")
+  List<Long> findReminderMemberIds(@Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("afterMemberId") Long afterMemberId,
+                                   Limit limit);
+
+  @Query("SELECT l FROM Loan l JOIN FETCH l.member JOIN FETCH l.book " +
+          "WHERE l.member.id IN :memberIds " +
+          "AND l.returnDate IS NULL AND l.dueDate >= :from AND l.dueDate < :to " +
+          "ORDER BY l.member.id, l.id")
+  List<Loan> findReminderLoans(@Param("memberIds") List<Long> memberIds,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+  // Renewal in one statement: the loan must be open, not yet due, under the renewal limit and
+  // the book must have nobody waiting in its hold queue. Zero rows means the renewal was refused.
+  @Modifying
+  @Query("UPDATE Loan l SET l.dueDate = l.dueDate + :days day, l.renewalCount = l.renewalCount + 1 " +
+          "WHERE l.id = :id AND l.returnDate IS NULL AND l.dueDate > :now " +
+          "AND l.renewalCount < :maxRenewals " +
+          "AND NOT EXISTS (SELECT h.id FROM Hold h WHERE h.book.id = l.book.id " +
+          "AND h.status = com.example.library_management_system.model.HoldStatus.WAITING)")
+  int renew(@Param("id") Long id,
+            @Param("days") long days,
+            @Param("maxRenewals") int maxRenewals,
+            @Param("now") LocalDateTime now);
+
+  // Open loans past due that have not had a LoanOverdue event yet (idx_loan_overdue_pending)
+  @Query("SELECT l FROM Loan l WHERE l.returnDate IS NULL AND l.overdueNotified = false " +
+          "AND l.dueDate < :now ORDER BY l.dueDate, l.id")
+  List<Loan> findNewlyOverdue(@Param("now") LocalDateTime now, Limit limit);
+
+  @Modifying
+  @Query("UPDATE Loan l SET l.overdueNotified = true WHERE l.id IN :ids AND l.overdueNotified = false")
+  int markOverdueNotified(@Param("ids") List<Long> ids);
+
+  @Query("SELECT l.id FROM Loan l WHERE l.returnDate < :cutoff ORDER BY l.id")
+  List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+  @Modifying
+  @Query("DELETE FROM Loan l WHERE l.id IN :ids")
+  int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,35 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.MemberFineBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MemberFineBalanceRepository extends JpaRepository<MemberFineBalance, Long> {
+
+  // Adds the charges a run wrote for one page of loans to members that already have a balance row
+  @Modifying
+  @Query("UPDATE MemberFineBalance b SET b.updatedAt = :now, b.balance = b.balance + " +
+          "(SELECT SUM(f.amount) FROM Fine f " +
+          "WHERE f.runId = :runId AND f.loanId IN :loanIds AND f.memberId = b.memberId) " +
+          "WHERE b.memberId IN (SELECT f.memberId FROM Fine f " +
+          "WHERE f.runId = :runId AND f.loanId IN :loanIds)")
+  int addCharges(@Param("runId") String runId,
+                 @Param("loanIds") List<Long> loanIds,
+                 @Param("now") LocalDateTime now);
+
+  // Creates balance rows for members charged for the first time; run after addCharges
+  @Modifying
+  @Query("INSERT INTO MemberFineBalance (memberId, balance, updatedAt) " +
+          "SELECT f.memberId, SUM(f.amount), :now FROM Fine f " +
+          "WHERE f.runId = :runId AND f.loanId IN :loanIds " +
+          "AND f.memberId NOT IN (SELECT b.memberId FROM MemberFineBalance b) " +
+          "GROUP BY f.memberId")
+  int insertBalances(@Param("runId") String runId,
+                     @Param("loanIds") List<Long> loanIds,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+  List<OutboxEvent> findUnpublished(Limit limit);
+
+  // Keyset page of one aggregate's rows by (createdAt, id), published or not (idx_outbox_event_created)
+  @Query("SELECT e FROM OutboxEvent e WHERE e.aggregateType = :aggregateType " +
+          "AND e.createdAt >= :afterCreatedAt AND (e.createdAt > :afterCreatedAt OR e.id > :afterId) " +
+          "ORDER BY e.createdAt, e.id")
+  List<OutboxEvent> findCreatedAfter(@Param("aggregateType") String aggregateType,
+                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+  int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+  @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt < :cutoff ORDER BY e.id")
+  List<Long> findPublishedIdsBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+  @Modifying
+  @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+  int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,32 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  // Only one of two concurrent exchanges of the same token can succeed
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL")
+  int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+  int deleteByFamilyId(@Param("familyId") String familyId);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.userId = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
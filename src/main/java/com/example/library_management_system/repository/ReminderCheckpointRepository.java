@@ -0,0 +1,7 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, String> {
+}
@@ -0,0 +1,29 @@
+package com.example.library_management_system.repository;
+
+import com.example.library_management_system.model.RevokedToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+  @Query("SELECT r FROM RevokedToken r WHERE r.id > :afterId ORDER BY r.id")
+  List<RevokedToken> findAfter(@Param("afterId") Long afterId, Limit limit);
+
+  // Keyset over the rows revoked since a point in time, served by idx_revoked_token_revoked_at
+  @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt >= :since AND r.id > :afterId ORDER BY r.id")
+  List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                      Limit limit);
+
+  @Query("SELECT MAX(r.revokedAt) FROM RevokedToken r WHERE r.tokenKey = :tokenKey AND r.expiresAt > :now")
+  LocalDateTime findLatestRevokedAt(@Param("tokenKey") String tokenKey, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,11 +1,32 @@
 package com.example.library_management_system.repository;
 
+import com.example.library_management_system.dto.user.UserResponseDTO;
+import com.example.library_management_system.model.Role;
 import com.example.library_management_system.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-  Optional<User> findByUsername(String username);
+  // Matches the uq_users_username_lower expression index
+  @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+  Optional<User> findByUsernameIgnoreCase(@Param("username") String username);
+
+  // Keyset page in id order, selecting only the response columns so password hashes are never
+  // loaded. :usernamePattern is a lower-cased LIKE pattern escaped with '!'.
+  @Query("SELECT new com.example.library_management_system.dto.user.UserResponseDTO(" +
+          "u.id, u.username, CAST(u.role AS String)) FROM User u " +
+          "WHERE u.id > :afterId AND u.role IN :roles " +
+          "AND LOWER(u.username) LIKE :usernamePattern ESCAPE '!' " +
+          "ORDER BY u.id")
+  List<UserResponseDTO> findUserPage(@Param("afterId") Long afterId,
+                                     @Param("roles") Collection<Role> roles,
+                                     @Param("usernamePattern") String usernamePattern,
+                                     Limit limit);
 }
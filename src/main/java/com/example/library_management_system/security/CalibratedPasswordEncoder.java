@@ -0,0 +1,102 @@
+package com.example.library_management_system.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt with a work factor chosen for the hardware it runs on. Matching accepts hashes of any cost;
+// upgradeEncoding reports only hashes below a floor, so they can be re-hashed after a successful
+// login. Hashes are never moved down, and never between costs at or above the floor: nodes on
+// different hardware calibrate to different costs, and would otherwise re-hash the same users back
+// and forth forever.
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+  private static final Logger log = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+  private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+  private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+  private final BCryptPasswordEncoder delegate;
+  private final int strength;
+  private final int rehashBelow;
+  private final Duration hashTime;
+
+  private CalibratedPasswordEncoder(int strength, int rehashBelow, Duration hashTime) {
+    this.delegate = new BCryptPasswordEncoder(strength);
+    this.strength = strength;
+    this.rehashBelow = rehashBelow;
+    this.hashTime = hashTime;
+  }
+
+  // A cost pinned for the whole fleet, which is also the floor
+  public static CalibratedPasswordEncoder withStrength(int strength) {
+    return new CalibratedPasswordEncoder(strength, strength, time(new BCryptPasswordEncoder(strength)));
+  }
+
+  // Raises the cost from minStrength, one doubling at a time, until a hash takes about the target
+  // time; the result lands within a factor of sqrt(2) of it unless a bound is hit first. The floor
+  // is minStrength, which every node shares whatever it calibrates to.
+  public static CalibratedPasswordEncoder calibrate(Duration target, int minStrength, int maxStrength) {
+    long targetNanos = target.toNanos();
+    long limitNanos = (long) (targetNanos / Math.sqrt(2));
+    // The first hashes include JIT warm-up
+    time(new BCryptPasswordEncoder(4));
+
+    int strength = minStrength;
+    Duration hashTime = time(new BCryptPasswordEncoder(strength));
+    while (strength < maxStrength && hashTime.toNanos() < limitNanos) {
+      strength++;
+      hashTime = time(new BCryptPasswordEncoder(strength));
+    }
+
+    log.info("BCrypt cost calibrated to {} ({} ms per hash, target {} ms)",
+            strength, hashTime.toMillis(), target.toMillis());
+    return new CalibratedPasswordEncoder(strength, minStrength, hashTime);
+  }
+
+  // Fastest of two runs, so a GC pause or a busy neighbour does not skew the choice
+  private static Duration time(BCryptPasswordEncoder encoder) {
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < 2; i++) {
+      long start = System.nanoTime();
+      encoder.encode(CALIBRATION_PASSWORD);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return Duration.ofNanos(best);
+  }
+
+  public int getStrength() {
+    return strength;
+  }
+
+  public int getRehashBelow() {
+    return rehashBelow;
+  }
+
+  public Duration getHashTime() {
+    return hashTime;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return delegate.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+    return matcher.matches() && Integer.parseInt(matcher.group(2)) < rehashBelow;
+  }
+}
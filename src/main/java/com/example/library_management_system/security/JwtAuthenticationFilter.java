@@ -1,26 +1,37 @@
 package com.example.library_management_system.security;
 
+import com.example.library_management_system.service.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtUtil jwtUtil;
+  private final VerifiedTokenCache tokenCache;
+  private final TokenRevocationService revocationService;
+  private final boolean buildDetails;
+  private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
-  public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+  public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                 VerifiedTokenCache tokenCache,
+                                 TokenRevocationService revocationService,
+                                 @Value("${app.jwt.authentication-details.enabled:true}") boolean buildDetails) {
     this.jwtUtil = jwtUtil;
+    this.tokenCache = tokenCache;
+    this.revocationService = revocationService;
+    this.buildDetails = buildDetails;
   }
 
   @Override
@@ -30,35 +41,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     final String authorizationHeader = request.getHeader("Authorization");
 
-    String username = null;
-    String jwt = null;
-
-    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-      jwt = authorizationHeader.substring(7);
+    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+            && SecurityContextHolder.getContext().getAuthentication() == null) {
+      VerifiedTokenAuthentication cached = null;
       try {
-        username = jwtUtil.extractUsername(jwt);
-      } catch (Exception e) {
-        logger.error("Error extracting username from JWT: " + e.getMessage());
+        cached = tokenCache.get(authorizationHeader.substring(7), this::verify);
+      } catch (JwtException | IllegalArgumentException e) {
+        logger.error("Error verifying JWT: " + e.getMessage());
       }
-    }
-
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      if (jwtUtil.validateToken(jwt)) {
-        String role = jwtUtil.extractRole(jwt);
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
 
-        UsernamePasswordAuthenticationToken authenticationToken =
-                new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        Collections.singletonList(authority)
-                );
-
-        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+      // Checked on every request rather than cached, so a revocation applies to cached tokens too
+      if (cached != null && !revocationService.isRevoked(cached.getToken())) {
+        SecurityContextHolder.getContext().setAuthentication(authenticationFor(cached, request));
       }
     }
 
     filterChain.doFilter(request, response);
   }
+
+  // Without details the cached authentication is used as is, so a cache hit allocates nothing here;
+  // it is immutable, so concurrent requests can share it. Nothing in the application reads the
+  // details (remote address and session id).
+  private Authentication authenticationFor(VerifiedTokenAuthentication cached, HttpServletRequest request) {
+    if (!buildDetails) {
+      return cached;
+    }
+    return cached.withDetails(detailsSource.buildDetails(request));
+  }
+
+  // One parse checks the signature and expiry and yields every claim the filter needs
+  private VerifiedTokenAuthentication verify(String jwt) {
+    return new VerifiedTokenAuthentication(jwtUtil.verify(jwt));
+  }
 }
@@ -1,7 +1,9 @@
 package com.example.library_management_system.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,20 +13,23 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-  @Value("${app.jwt.secret}")
-  private String secret;
+  // Both are immutable and thread-safe, so they are built once instead of per call
+  private final Key signingKey;
+  private final JwtParser parser;
+  private final long expiration;
 
-  @Value("${app.jwt.expiration}")
-  private Long expiration;
-
-  private Key getSigningKey() {
-    byte[] keyBytes = secret.getBytes();
-    return Keys.hmacShaKeyFor(keyBytes);
+  public JwtUtil(@Value("${app.jwt.secret}") String secret,
+                 @Value("${app.jwt.expiration}") long expiration) {
+    this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+    this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+    this.expiration = expiration;
   }
 
   public String generateToken(String username, String role) {
@@ -36,51 +41,26 @@ public class JwtUtil {
   private String createToken(Map<String, Object> claims, String subject) {
     return Jwts.builder()
             .setClaims(claims)
+            .setId(UUID.randomUUID().toString())
             .setSubject(subject)
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
   }
 
-  public boolean validateToken(String token) {
-    try {
-      Jwts.parserBuilder()
-              .setSigningKey(getSigningKey())
-              .build()
-              .parseClaimsJws(token);
-      return !isTokenExpired(token);
-    } catch (Exception e) {
-      return false;
+  // Checks the signature and expiry and reads the claims in a single parse. Throws JwtException
+  // (or IllegalArgumentException for a blank token) when the token cannot be trusted.
+  public VerifiedToken verify(String token) {
+    Claims claims = parser.parseClaimsJws(token).getBody();
+    if (claims.getSubject() == null || claims.getExpiration() == null) {
+      throw new MalformedJwtException("Token has no subject or expiration");
     }
-  }
-
-  public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
-  }
-
-  public String extractRole(String token) {
-    return extractClaim(token, claims -> claims.get("role", String.class));
-  }
-
-  public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
-
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
-  }
-
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-  }
-
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+    return new VerifiedToken(
+            claims.getId(),
+            claims.getSubject(),
+            claims.get("role", String.class),
+            claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+            claims.getExpiration().toInstant());
   }
 }
@@ -0,0 +1,43 @@
+package com.example.library_management_system.security;
+
+import com.example.library_management_system.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// One immutable authority list per Role, built once, so resolving a token's role claim neither
+// concatenates "ROLE_" nor allocates an authority. Every authentication of the same role shares
+// the same list.
+public final class RoleAuthorities {
+
+  private static final Role[] ROLES = Role.values();
+  private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+  static {
+    for (Role role : ROLES) {
+      AUTHORITIES.put(role, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
+  }
+
+  private RoleAuthorities() {
+  }
+
+  public static List<GrantedAuthority> of(Role role) {
+    return AUTHORITIES.get(role);
+  }
+
+  // Resolves the role claim of a token. A claim that names no Role still gets its own authority,
+  // as it did before, rather than failing the request.
+  public static List<GrantedAuthority> ofClaim(String role) {
+    for (Role candidate : ROLES) {
+      if (candidate.name().equals(role)) {
+        return AUTHORITIES.get(candidate);
+      }
+    }
+    return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+  }
+}
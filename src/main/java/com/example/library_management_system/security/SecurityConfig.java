@@ -1,15 +1,17 @@
 package com.example.library_management_system.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -21,9 +23,18 @@ public class SecurityConfig {
     this.jwtAuthenticationFilter = jwtAuthenticationFilter;
   }
 
+  // app.auth.bcrypt.strength fixes the cost; left at 0 it is calibrated at startup so one hash
+  // takes about app.auth.bcrypt.target-time on this machine. Stored hashes are only upgraded to the
+  // fixed cost or to app.auth.bcrypt.min-strength, never moved between calibrated costs.
   @Bean
-  public BCryptPasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public CalibratedPasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:0}") int strength,
+                                                   @Value("${app.auth.bcrypt.target-time:100ms}") Duration targetTime,
+                                                   @Value("${app.auth.bcrypt.min-strength:10}") int minStrength,
+                                                   @Value("${app.auth.bcrypt.max-strength:14}") int maxStrength) {
+    if (strength > 0) {
+      return CalibratedPasswordEncoder.withStrength(strength);
+    }
+    return CalibratedPasswordEncoder.calibrate(targetTime, minStrength, maxStrength);
   }
 
   @Bean
@@ -31,7 +42,8 @@ public class SecurityConfig {
     http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/auth/register", "/auth/login").permitAll()
+                    .requestMatchers("/auth/register", "/auth/login", "/auth/refresh").permitAll()
+                    .requestMatchers("/auth/logout").authenticated()
                     .requestMatchers("/api/**").authenticated()
                     .anyRequest().permitAll()
             )
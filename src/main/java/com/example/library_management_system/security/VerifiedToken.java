@@ -0,0 +1,7 @@
+package com.example.library_management_system.security;
+
+import java.time.Instant;
+
+// The claims of a bearer token whose signature and expiry have been checked
+public record VerifiedToken(String id, String username, String role, Instant issuedAt, Instant expiresAt) {
+}
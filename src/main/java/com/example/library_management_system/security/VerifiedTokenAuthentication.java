@@ -0,0 +1,75 @@
+package com.example.library_management_system.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+// The authentication for a verified bearer token. VerifiedTokenCache shares one instance between
+// every request presenting the same token, so it cannot be changed: details go on a copy made by
+// withDetails, and setAuthenticated is rejected.
+public final class VerifiedTokenAuthentication implements Authentication {
+
+  private final VerifiedToken token;
+  private final List<GrantedAuthority> authorities;
+  private final Object details;
+
+  public VerifiedTokenAuthentication(VerifiedToken token) {
+    this(token, RoleAuthorities.ofClaim(token.role()), null);
+  }
+
+  private VerifiedTokenAuthentication(VerifiedToken token, List<GrantedAuthority> authorities, Object details) {
+    this.token = token;
+    this.authorities = authorities;
+    this.details = details;
+  }
+
+  public VerifiedToken getToken() {
+    return token;
+  }
+
+  public VerifiedTokenAuthentication withDetails(Object details) {
+    return new VerifiedTokenAuthentication(token, authorities, details);
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public Object getCredentials() {
+    return null;
+  }
+
+  @Override
+  public Object getDetails() {
+    return details;
+  }
+
+  @Override
+  public Object getPrincipal() {
+    return token.username();
+  }
+
+  @Override
+  public boolean isAuthenticated() {
+    return true;
+  }
+
+  @Override
+  public void setAuthenticated(boolean authenticated) {
+    throw new IllegalArgumentException("The authentication of a verified token cannot be changed");
+  }
+
+  @Override
+  public String getName() {
+    return token.username();
+  }
+
+  @Override
+  public String toString() {
+    return "VerifiedTokenAuthentication[principal=" + token.username() + ", authorities=" + authorities + "]";
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.library_management_system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+// Remembers the authentication resolved for a bearer token until the token expires, so a client
+// reusing its token pays for one SHA-256 and a map lookup instead of HMAC verification and JSON
+// parsing. Entries are keyed by the token's digest rather than the token itself, and the cache is
+// bounded by app.jwt.cache.max-size.
+@Component
+public class VerifiedTokenCache {
+
+  private final boolean enabled;
+  private final Cache<String, VerifiedTokenAuthentication> cache;
+
+  public VerifiedTokenCache(MeterRegistry meterRegistry,
+                            @Value("${app.jwt.cache.enabled:true}") boolean enabled,
+                            @Value("${app.jwt.cache.max-size:10000}") long maxSize) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+
+    if (enabled) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-tokens");
+      meterRegistry.gauge("library.jwt.cache.hit.ratio", cache, c -> c.stats().hitRate());
+    }
+  }
+
+  // Returns the cached authentication for the token, or resolves it with the verifier and keeps it
+  // until the token's expiry. Exceptions from the verifier propagate and nothing is cached.
+  public VerifiedTokenAuthentication get(String token, Function<String, VerifiedTokenAuthentication> verifier) {
+    if (!enabled) {
+      return verifier.apply(token);
+    }
+    return cache.get(digest(token), key -> verifier.apply(token));
+  }
+
+  long size() {
+    cache.cleanUp();
+    return cache.estimatedSize();
+  }
+
+  private static String digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static final class UntilTokenExpiry implements Expiry<String, VerifiedTokenAuthentication> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedTokenAuthentication authentication, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), authentication.getToken().expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedTokenAuthentication authentication, long currentTime,
+                                  long currentDuration) {
+      return expireAfterCreate(key, authentication, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedTokenAuthentication authentication, long currentTime,
+                                long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
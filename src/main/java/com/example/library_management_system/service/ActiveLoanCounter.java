@@ -0,0 +1,162 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Active loans per member, kept in memory so the borrow limit is checked without a COUNT query.
+// Loaded with one GROUP BY on first use and reconciled against the loan table on a schedule to
+// correct any drift (for example loans changed by another node or directly in the database).
+@Component
+public class ActiveLoanCounter {
+
+  private static final Logger log = LoggerFactory.getLogger(ActiveLoanCounter.class);
+
+  private final LoanRepository loanRepository;
+  private final ConcurrentHashMap<Long, Slot> counts = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+
+  public ActiveLoanCounter(LoanRepository loanRepository) {
+    this.loanRepository = loanRepository;
+  }
+
+  public int activeLoans(Long memberId) {
+    return slot(memberId).count();
+  }
+
+  // Reserves a slot immediately so concurrent borrows cannot both pass the limit; the
+  // reservation is given back if the borrowing transaction rolls back
+  boolean tryIncrement(Long memberId, int limit) {
+    Slot slot = slot(memberId);
+    if (!slot.tryReserve(limit)) {
+      return false;
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          slot.complete(status == STATUS_COMMITTED);
+        }
+      });
+    } else {
+      slot.complete(true);
+    }
+    return true;
+  }
+
+  void decrement(Long memberId) {
+    Slot slot = slot(memberId);
+    TransactionHooks.afterCommit(slot::release);
+  }
+
+  // The snapshot cannot see borrows and returns that commit on this node while it is read, so a
+  // member whose slot changed in the meantime, or still has a borrow in flight, is left alone
+  // until the next run rather than reset to a stale value
+  @Scheduled(fixedDelayString = "${app.loans.counter-reconcile-interval:PT10M}")
+  public void reconcile() {
+    if (!loaded) {
+      return;
+    }
+
+    Map<Long, Long> versions = new HashMap<>(counts.size() * 2);
+    counts.forEach((memberId, slot) -> versions.put(memberId, slot.version()));
+
+    Map<Long, Integer> actual = loadFromDatabase();
+    int corrected = 0;
+    for (Map.Entry<Long, Long> entry : versions.entrySet()) {
+      Slot slot = counts.get(entry.getKey());
+      if (slot != null && slot.resetIfUnchanged(entry.getValue(), actual.getOrDefault(entry.getKey(), 0))) {
+        corrected++;
+      }
+    }
+    actual.forEach((memberId, count) -> counts.computeIfAbsent(memberId, id -> new Slot(count)));
+
+    if (corrected > 0) {
+      log.info("Reconciled active loan counts for {} member(s)", corrected);
+    }
+  }
+
+  private Slot slot(Long memberId) {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          loadFromDatabase().forEach((id, count) -> counts.put(id, new Slot(count)));
+          loaded = true;
+        }
+      }
+    }
+    return counts.computeIfAbsent(memberId, id -> new Slot(0));
+  }
+
+  private Map<Long, Integer> loadFromDatabase() {
+    List<Object[]> rows = loanRepository.countActiveLoansByMember();
+    Map<Long, Integer> result = new HashMap<>(rows.size() * 2);
+    for (Object[] row : rows) {
+      result.put((Long) row[0], ((Number) row[1]).intValue());
+    }
+    return result;
+  }
+
+  // One member's count, the borrows reserved but not yet completed, and a version bumped on every
+  // change so reconcile can tell whether the count moved while it was reading the database
+  private static final class Slot {
+    private int count;
+    private int inFlight;
+    private long version;
+
+    Slot(int count) {
+      this.count = count;
+    }
+
+    synchronized int count() {
+      return count;
+    }
+
+    synchronized long version() {
+      return version;
+    }
+
+    synchronized boolean tryReserve(int limit) {
+      if (count >= limit) {
+        return false;
+      }
+      count++;
+      inFlight++;
+      version++;
+      return true;
+    }
+
+    synchronized void complete(boolean committed) {
+      inFlight--;
+      if (!committed) {
+        count = Math.max(0, count - 1);
+      }
+      version++;
+    }
+
+    synchronized void release() {
+      count = Math.max(0, count - 1);
+      version++;
+    }
+
+    // Returns true when the count was wrong and has been corrected
+    synchronized boolean resetIfUnchanged(long seenVersion, int expected) {
+      if (version != seenVersion || inFlight > 0 || count == expected) {
+        return false;
+      }
+      count = expected;
+      version++;
+      return true;
+    }
+  }
+}
@@ -2,39 +2,58 @@ package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.auth.AuthResponseDTO;
 import com.example.library_management_system.dto.auth.LoginRequestDTO;
+import com.example.library_management_system.dto.auth.RefreshRequestDTO;
 import com.example.library_management_system.dto.auth.RegisterRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.ConstraintViolations;
 import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.ServiceUnavailableException;
 import com.example.library_management_system.exception.UnauthorizedException;
 import com.example.library_management_system.model.Role;
 import com.example.library_management_system.model.User;
 import com.example.library_management_system.repository.UserRepository;
 import com.example.library_management_system.security.JwtUtil;
+import com.example.library_management_system.security.VerifiedTokenAuthentication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
+  private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
   private final UserRepository userRepository;
-  private final BCryptPasswordEncoder passwordEncoder;
+  private final UserCredentialsCache userCredentialsCache;
+  private final PasswordHashingService passwordHashingService;
   private final JwtUtil jwtUtil;
+  private final RefreshTokenService refreshTokenService;
+  private final TokenRevocationService tokenRevocationService;
 
   public AuthService(UserRepository userRepository,
-                     BCryptPasswordEncoder passwordEncoder,
-                     JwtUtil jwtUtil) {
+                     UserCredentialsCache userCredentialsCache,
+                     PasswordHashingService passwordHashingService,
+                     JwtUtil jwtUtil,
+                     RefreshTokenService refreshTokenService,
+                     TokenRevocationService tokenRevocationService) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.userCredentialsCache = userCredentialsCache;
+    this.passwordHashingService = passwordHashingService;
     this.jwtUtil = jwtUtil;
+    this.refreshTokenService = refreshTokenService;
+    this.tokenRevocationService = tokenRevocationService;
   }
 
   public AuthResponseDTO register(RegisterRequestDTO request) {
-    if (userRepository.findByUsername(request.getUsername()).isPresent()) {
+    if (userCredentialsCache.find(request.getUsername()).isPresent()) {
       throw new DuplicateResourceException("Username already exists: " + request.getUsername());
     }
 
-    String hashedPassword = passwordEncoder.encode(request.getPassword());
+    String hashedPassword = passwordHashingService.encode(request.getPassword());
 
     // Determine role: ADMIN can create any role, others default to MEMBER
     Role role = Role.MEMBER;
@@ -48,29 +67,84 @@ public class AuthService {
         try {
           role = Role.valueOf(request.getRole().toUpperCase());
         } catch (IllegalArgumentException e) {
-          throw new IllegalArgumentException("Invalid role: " + request.getRole());
+          throw new BadRequestException("Invalid role: " + request.getRole());
         }
       }
     }
 
     User user = new User(request.getUsername(), hashedPassword, role);
-    userRepository.save(user);
-
-    String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+    try {
+      userRepository.save(user);
+    } catch (DataIntegrityViolationException e) {
+      // Lost a race with another registration of the same name
+      if (!ConstraintViolations.violates(e, User.USERNAME_INDEX)) {
+        throw e;
+      }
+      throw new DuplicateResourceException("Username already exists: " + request.getUsername());
+    }
 
-    return new AuthResponseDTO(token, user.getUsername(), user.getRole().name());
+    return issueTokens(user.getId(), user.getUsername(), user.getRole());
   }
 
   public AuthResponseDTO login(LoginRequestDTO request) {
-    User user = userRepository.findByUsername(request.getUsername())
+    UserCredentialsCache.Credentials user = userCredentialsCache.find(request.getUsername())
             .orElseThrow(() -> new UnauthorizedException("Invalid username or password"));
 
-    if (!passwordEncoder.matches(request.getPassword(), user.getHashedPassword())) {
+    if (!passwordHashingService.matches(request.getPassword(), user.hashedPassword())) {
       throw new UnauthorizedException("Invalid username or password");
     }
 
+    if (passwordHashingService.needsRehash(user.hashedPassword())) {
+      rehash(user, request.getPassword());
+    }
+
+    return issueTokens(user.id(), user.username(), user.role());
+  }
+
+  // Renews the access token from a refresh token alone, with no password and so no BCrypt. The
+  // user is reloaded so a role change since login shows up in the new token.
+  public AuthResponseDTO refresh(RefreshRequestDTO request) {
+    RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+    User user = userRepository.findById(rotation.userId())
+            .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
+
     String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+    return new AuthResponseDTO(token, user.getUsername(), user.getRole().name(), rotation.refreshToken());
+  }
+
+  // Revokes the access token the request was made with by its jti, and the family of the refresh
+  // token when one is given. Other sessions of the same user are unaffected.
+  @Transactional
+  public void logout(RefreshRequestDTO request) {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (!(auth instanceof VerifiedTokenAuthentication verified)) {
+      throw new UnauthorizedException("Logout requires a bearer token");
+    }
+
+    tokenRevocationService.revokeToken(verified.getToken());
+    if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+      refreshTokenService.revoke(request.getRefreshToken());
+    }
+  }
 
-    return new AuthResponseDTO(token, user.getUsername(), user.getRole().name());
+  private AuthResponseDTO issueTokens(Long userId, String username, Role role) {
+    String token = jwtUtil.generateToken(username, role.name());
+    String refreshToken = refreshTokenService.issue(userId);
+    return new AuthResponseDTO(token, username, role.name(), refreshToken);
+  }
+
+  // Raises a stored hash below the BCrypt floor to this node's cost while the plain password is at
+  // hand. A busy hashing pool only postpones this to a later login.
+  private void rehash(UserCredentialsCache.Credentials credentials, String rawPassword) {
+    try {
+      String hashedPassword = passwordHashingService.rehash(rawPassword);
+      userRepository.findById(credentials.id()).ifPresent(user -> {
+        user.setHashedPassword(hashedPassword);
+        userRepository.save(user);
+      });
+      userCredentialsCache.invalidate(credentials.username());
+    } catch (ServiceUnavailableException e) {
+      log.debug("Skipped rehash for {}: {}", credentials.username(), e.getMessage());
+    }
   }
 }
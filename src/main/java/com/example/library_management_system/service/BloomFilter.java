@@ -0,0 +1,74 @@
+package com.example.library_management_system.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter over strings. mightContain never misses a key that was put; it wrongly
+// answers true for roughly the false-positive rate it was sized for. Safe for concurrent use.
+final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  private BloomFilter(long bitCount, int hashCount) {
+    this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+  }
+
+  // Standard sizing: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+  static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+    int n = Math.max(1, expectedInsertions);
+    long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+    int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    return new BloomFilter(bits, hashes);
+  }
+
+  void put(String key) {
+    long h1 = hash(key, 0x9e3779b97f4a7c15L);
+    long h2 = hash(key, 0xc2b2ae3d27d4eb4fL) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+  }
+
+  boolean mightContain(String key) {
+    long h1 = hash(key, 0x9e3779b97f4a7c15L);
+    long h2 = hash(key, 0xc2b2ae3d27d4eb4fL) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long bitCount() {
+    return bitCount;
+  }
+
+  int hashCount() {
+    return hashCount;
+  }
+
+  // Seeded 64-bit hash over the chars, finished with the MurmurHash3 fmix64 step
+  private static long hash(String key, long seed) {
+    long h = seed;
+    for (int i = 0; i < key.length(); i++) {
+      h = (h ^ key.charAt(i)) * 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
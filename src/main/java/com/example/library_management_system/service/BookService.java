@@ -2,8 +2,10 @@ package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.book.BookCreateRequestDTO;
 import com.example.library_management_system.dto.book.BookImportDTO;
+import com.example.library_management_system.dto.book.BookRecommendationDTO;
 import com.example.library_management_system.dto.book.BookResponseDTO;
 import com.example.library_management_system.dto.book.BookUpdateRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.mapper.BookMapper;
@@ -13,7 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,12 +26,18 @@ public class BookService {
 
   private final BookRepository bookRepository;
   private final BookMapper bookMapper;
+  private final OutboxService outboxService;
+  private final RecommendationService recommendationService;
 
-  public BookService(BookRepository bookRepository, BookMapper bookMapper) {
+  public BookService(BookRepository bookRepository, BookMapper bookMapper, OutboxService outboxService,
+                     RecommendationService recommendationService) {
     this.bookRepository = bookRepository;
     this.bookMapper = bookMapper;
+    this.outboxService = outboxService;
+    this.recommendationService = recommendationService;
   }
 
+  @Transactional
   public BookResponseDTO createBook(BookCreateRequestDTO request) {
     if (bookRepository.existsByIsbn(request.getIsbn())) {
       throw new DuplicateResourceException("Book with ISBN already exists: " + request.getIsbn());
@@ -34,6 +45,7 @@ public class BookService {
 
     Book book = bookMapper.toEntity(request);
     Book savedBook = bookRepository.save(book);
+    outboxService.append(OutboxService.BOOK, savedBook.getId(), "BookCreated", bookEventPayload(savedBook));
 
     return bookMapper.toResponseDTO(savedBook);
   }
@@ -51,6 +63,38 @@ public class BookService {
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
   }
 
+  // Neighbors come from the in-memory co-borrow matrix; only their titles are read from the database
+  public List<BookRecommendationDTO> getRecommendations(Long id, int limit) {
+    if (limit < 1) {
+      throw new BadRequestException("limit must be at least 1");
+    }
+    if (!bookRepository.existsById(id)) {
+      throw new ResourceNotFoundException("Book not found with id: " + id);
+    }
+
+    CoBorrowMatrix.Row row = recommendationService.getNeighbors(id);
+    int size = Math.min(limit, row.size());
+    if (size == 0) {
+      return List.of();
+    }
+    List<Long> ids = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ids.add(row.neighbor(i));
+    }
+    Map<Long, Book> books = bookRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+    // Books deleted since the matrix was built are skipped
+    List<BookRecommendationDTO> recommendations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Book book = books.get(row.neighbor(i));
+      if (book != null) {
+        recommendations.add(new BookRecommendationDTO(book.getId(), book.getTitle(), book.getAuthor(), row.score(i)));
+      }
+    }
+    return recommendations;
+  }
+
   @Transactional
   public BookResponseDTO updateBook(Long id, BookUpdateRequestDTO request) {
     Book book = bookRepository.findById(id)
@@ -58,15 +102,18 @@ public class BookService {
 
     bookMapper.updateEntity(book, request);
     Book updatedBook = bookRepository.save(book);
+    outboxService.append(OutboxService.BOOK, updatedBook.getId(), "BookUpdated", bookEventPayload(updatedBook));
 
     return bookMapper.toResponseDTO(updatedBook);
   }
 
+  @Transactional
   public void deleteBook(Long id) {
     Book book = bookRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
 
     bookRepository.delete(book);
+    outboxService.append(OutboxService.BOOK, id, "BookDeleted", Map.of("bookId", id));
   }
 
   @Transactional
@@ -80,6 +127,7 @@ public class BookService {
 
       Book book = bookMapper.toEntity(importDTO);
       Book savedBook = bookRepository.save(book);
+      outboxService.append(OutboxService.BOOK, savedBook.getId(), "BookCreated", bookEventPayload(savedBook));
       importedBooks.add(bookMapper.toResponseDTO(savedBook));
     }
 
@@ -103,4 +151,13 @@ public class BookService {
     book.setCopiesAvailable(book.getCopiesAvailable() + 1);
     bookRepository.save(book);
   }
+
+  private static Map<String, Object> bookEventPayload(Book book) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("bookId", book.getId());
+    payload.put("isbn", book.getIsbn());
+    payload.put("title", book.getTitle());
+    payload.put("copiesAvailable", book.getCopiesAvailable());
+    return payload;
+  }
 }
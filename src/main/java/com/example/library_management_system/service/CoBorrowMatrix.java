@@ -0,0 +1,282 @@
+package com.example.library_management_system.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Sparse "borrowed together" counts: for each book, the top-k other books by the number of distinct
+// members who borrowed both. Each row is a pair of primitive arrays sorted by score, replaced as a
+// whole on update so readers never see a half-written row. Ids are packed two to a long while
+// building, so member and book ids must stay below 2^31.
+class CoBorrowMatrix {
+
+  private static final int MEMBERS_PER_TASK = 256;
+
+  private final int topK;
+  private final ConcurrentHashMap<Long, Row> rows;
+
+  CoBorrowMatrix(int topK) {
+    this(topK, new HashMap<>());
+  }
+
+  private CoBorrowMatrix(int topK, Map<Long, Row> rows) {
+    this.topK = topK;
+    this.rows = new ConcurrentHashMap<>(rows);
+  }
+
+  // memberBooks holds pack(memberId, bookId) per loan, in any order and with repeats, and is sorted
+  // in place. Members with more than maxBooksPerMember distinct books are left out: they add n^2
+  // pairs and say little about any one of them.
+  static CoBorrowMatrix build(long[] memberBooks, int topK, int maxBooksPerMember, ForkJoinPool pool) {
+    Arrays.parallelSort(memberBooks);
+    long[] sorted = memberBooks;
+    int size = unique(sorted);
+
+    // starts[i] is the offset of the i-th member's first book; starts[members] is the end
+    int[] starts = new int[size + 1];
+    int members = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || high(sorted[i]) != high(sorted[i - 1])) {
+        starts[members++] = i;
+      }
+    }
+    starts[members] = size;
+
+    PairCounts counts = pool.invoke(new PairCountTask(sorted, starts, 0, members, maxBooksPerMember));
+    return new CoBorrowMatrix(topK, prune(counts, topK));
+  }
+
+  static long pack(long high, long low) {
+    if (high < 0 || high > Integer.MAX_VALUE || low < 0 || low > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Id out of range for co-borrow matrix: " + high + ", " + low);
+    }
+    return high << 32 | low;
+  }
+
+  Row row(long bookId) {
+    return rows.getOrDefault(bookId, Row.EMPTY);
+  }
+
+  int size() {
+    return rows.size();
+  }
+
+  // A member who had not borrowed bookId before now has: one more co-borrow with each earlier book
+  void recordBorrow(long bookId, long[] earlierBookIds) {
+    for (long other : earlierBookIds) {
+      rows.compute(bookId, (id, row) -> (row == null ? Row.EMPTY : row).increment(other, topK));
+      rows.compute(other, (id, row) -> (row == null ? Row.EMPTY : row).increment(bookId, topK));
+    }
+  }
+
+  private static long high(long packed) {
+    return packed >>> 32;
+  }
+
+  private static long low(long packed) {
+    return packed & 0xFFFFFFFFL;
+  }
+
+  // Sorts out repeats in place and returns the number of distinct values left at the front
+  private static int unique(long[] sorted) {
+    int size = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1]) {
+        sorted[size++] = sorted[i];
+      }
+    }
+    return size;
+  }
+
+  private static Map<Long, Row> prune(PairCounts counts, int topK) {
+    Map<Long, Row> rows = new HashMap<>();
+    int i = 0;
+    while (i < counts.size) {
+      long bookId = high(counts.keys[i]);
+      long[] neighbors = new long[topK];
+      int[] scores = new int[topK];
+      int kept = 0;
+      for (; i < counts.size && high(counts.keys[i]) == bookId; i++) {
+        kept = Row.insert(neighbors, scores, kept, low(counts.keys[i]), counts.counts[i]);
+      }
+      rows.put(bookId, new Row(Arrays.copyOf(neighbors, kept), Arrays.copyOf(scores, kept)));
+    }
+    return rows;
+  }
+
+  // A book's neighbors by descending score, ties broken by ascending book id
+  static final class Row {
+
+    static final Row EMPTY = new Row(new long[0], new int[0]);
+
+    private final long[] neighbors;
+    private final int[] scores;
+
+    Row(long[] neighbors, int[] scores) {
+      this.neighbors = neighbors;
+      this.scores = scores;
+    }
+
+    int size() {
+      return neighbors.length;
+    }
+
+    long neighbor(int index) {
+      return neighbors[index];
+    }
+
+    int score(int index) {
+      return scores[index];
+    }
+
+    // A neighbor already in the row moves up; a new one only gets in while the row has room,
+    // since its true count was pruned away. The next rebuild picks up anything missed here.
+    Row increment(long neighbor, int topK) {
+      int index = -1;
+      for (int i = 0; i < neighbors.length; i++) {
+        if (neighbors[i] == neighbor) {
+          index = i;
+          break;
+        }
+      }
+      if (index < 0 && neighbors.length >= topK) {
+        return this;
+      }
+
+      int size = index < 0 ? neighbors.length + 1 : neighbors.length;
+      long[] newNeighbors = new long[size];
+      int[] newScores = new int[size];
+      int kept = 0;
+      for (int i = 0; i < neighbors.length; i++) {
+        if (i != index) {
+          kept = insert(newNeighbors, newScores, kept, neighbors[i], scores[i]);
+        }
+      }
+      int score = index < 0 ? 1 : scores[index] + 1;
+      insert(newNeighbors, newScores, kept, neighbor, score);
+      return new Row(newNeighbors, newScores);
+    }
+
+    // Insertion into a bounded, sorted pair of arrays; drops the lowest entry once they are full
+    private static int insert(long[] neighbors, int[] scores, int size, long neighbor, int score) {
+      int position = size;
+      while (position > 0 && ranksBefore(neighbor, score, neighbors[position - 1], scores[position - 1])) {
+        position--;
+      }
+      if (position == neighbors.length) {
+        return size;
+      }
+      int last = Math.min(size, neighbors.length - 1);
+      System.arraycopy(neighbors, position, neighbors, position + 1, last - position);
+      System.arraycopy(scores, position, scores, position + 1, last - position);
+      neighbors[position] = neighbor;
+      scores[position] = score;
+      return Math.min(size + 1, neighbors.length);
+    }
+
+    private static boolean ranksBefore(long neighbor, int score, long otherNeighbor, int otherScore) {
+      return score > otherScore || (score == otherScore && neighbor < otherNeighbor);
+    }
+  }
+
+  // Sorted pack(bookId, otherBookId) keys with the number of members who borrowed both
+  private record PairCounts(long[] keys, int[] counts, int size) {
+  }
+
+  // Splits the member range until it is small enough, counts pairs per half and merges the
+  // sorted results on the way back up
+  private static final class PairCountTask extends RecursiveTask<PairCounts> {
+
+    private final long[] memberBooks;
+    private final int[] starts;
+    private final int from;
+    private final int to;
+    private final int maxBooksPerMember;
+
+    private PairCountTask(long[] memberBooks, int[] starts, int from, int to, int maxBooksPerMember) {
+      this.memberBooks = memberBooks;
+      this.starts = starts;
+      this.from = from;
+      this.to = to;
+      this.maxBooksPerMember = maxBooksPerMember;
+    }
+
+    @Override
+    protected PairCounts compute() {
+      if (to - from <= MEMBERS_PER_TASK) {
+        return countPairs();
+      }
+      int middle = (from + to) >>> 1;
+      PairCountTask left = new PairCountTask(memberBooks, starts, from, middle, maxBooksPerMember);
+      left.fork();
+      PairCounts right = new PairCountTask(memberBooks, starts, middle, to, maxBooksPerMember).compute();
+      return merge(left.join(), right);
+    }
+
+    private PairCounts countPairs() {
+      long total = 0;
+      for (int member = from; member < to; member++) {
+        long books = starts[member + 1] - starts[member];
+        if (books <= maxBooksPerMember) {
+          total += books * (books - 1);
+        }
+      }
+
+      long[] pairs = new long[Math.toIntExact(total)];
+      int size = 0;
+      for (int member = from; member < to; member++) {
+        int start = starts[member];
+        int end = starts[member + 1];
+        if (end - start > maxBooksPerMember) {
+          continue;
+        }
+        for (int a = start; a < end; a++) {
+          for (int b = start; b < end; b++) {
+            if (a != b) {
+              pairs[size++] = pack(low(memberBooks[a]), low(memberBooks[b]));
+            }
+          }
+        }
+      }
+      Arrays.sort(pairs);
+
+      // Every member contributes each pair once, so run lengths are member counts
+      long[] keys = new long[size];
+      int[] counts = new int[size];
+      int distinct = 0;
+      for (int i = 0; i < size; i++) {
+        if (distinct > 0 && keys[distinct - 1] == pairs[i]) {
+          counts[distinct - 1]++;
+        } else {
+          keys[distinct] = pairs[i];
+          counts[distinct++] = 1;
+        }
+      }
+      return new PairCounts(keys, counts, distinct);
+    }
+
+    private static PairCounts merge(PairCounts left, PairCounts right) {
+      long[] keys = new long[left.size + right.size];
+      int[] counts = new int[left.size + right.size];
+      int i = 0;
+      int j = 0;
+      int size = 0;
+      while (i < left.size || j < right.size) {
+        if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+          keys[size] = left.keys[i];
+          counts[size++] = left.counts[i++];
+        } else if (i == left.size || right.keys[j] < left.keys[i]) {
+          keys[size] = right.keys[j];
+          counts[size++] = right.counts[j++];
+        } else {
+          keys[size] = left.keys[i];
+          counts[size++] = left.counts[i++] + right.counts[j++];
+        }
+      }
+      return new PairCounts(keys, counts, size);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import com.example.library_management_system.event.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends outbox rows to a local NDJSON file, one line per event
+@Component
+@ConditionalOnProperty(name = "app.outbox.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+  private final ObjectMapper objectMapper;
+  private final Path path;
+
+  public FileOutboxSink(ObjectMapper objectMapper,
+                        @Value("${app.outbox.file.path:outbox/events.ndjson}") Path path) {
+    this.objectMapper = objectMapper;
+    this.path = path;
+  }
+
+  @Override
+  public synchronized void publish(List<OutboxMessage> batch) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    for (OutboxMessage message : batch) {
+      buffer.write(objectMapper.writeValueAsBytes(message));
+      buffer.write('\n');
+    }
+
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    // One write and one fsync per batch; the relay only marks rows published after this returns
+    try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      channel.force(false);
+    }
+  }
+}
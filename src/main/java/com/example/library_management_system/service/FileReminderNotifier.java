@@ -0,0 +1,73 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.ReminderMessage;
+import com.example.library_management_system.event.ReminderNotifier;
+import com.example.library_management_system.model.ReminderType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Stand-in for an SMTP gateway: renders each reminder as a mail (to/subject/body) and appends
+// it to a local NDJSON mail drop, one line per member
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "file", matchIfMissing = true)
+public class FileReminderNotifier implements ReminderNotifier {
+
+  private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  private final ObjectMapper objectMapper;
+  private final Path path;
+
+  public FileReminderNotifier(ObjectMapper objectMapper,
+                              @Value("${app.reminders.file.path:reminders/mail.ndjson}") Path path) {
+    this.objectMapper = objectMapper;
+    this.path = path;
+  }
+
+  @Override
+  public void send(ReminderMessage message) throws IOException {
+    Map<String, Object> mail = new LinkedHashMap<>();
+    mail.put("to", message.getMemberEmail());
+    mail.put("subject", subject(message));
+    mail.put("body", body(message));
+    mail.put("memberId", message.getMemberId());
+    byte[] line = (objectMapper.writeValueAsString(mail) + "\n").getBytes(StandardCharsets.UTF_8);
+
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    // Rendering runs in parallel; only the append itself is serialised
+    synchronized (this) {
+      Files.write(path, line, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+  }
+
+  private static String subject(ReminderMessage message) {
+    int count = message.getLoans().size();
+    String books = count == 1 ? "1 book" : count + " books";
+    return message.getType() == ReminderType.DUE_SOON
+            ? "Reminder: " + books + " due tomorrow"
+            : "Overdue: " + books + " past the due date";
+  }
+
+  private static String body(ReminderMessage message) {
+    StringBuilder body = new StringBuilder("Hello ").append(message.getMemberName()).append(",\n\n");
+    for (ReminderMessage.Item item : message.getLoans()) {
+      body.append("- ").append(item.getBookTitle())
+              .append(" (due ").append(DUE_FORMAT.format(item.getDueDate())).append(")\n");
+    }
+    return body.toString();
+  }
+}
@@ -0,0 +1,176 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.model.FineAccrualCheckpoint;
+import com.example.library_management_system.repository.FineAccrualCheckpointRepository;
+import com.example.library_management_system.repository.FineRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.MemberFineBalanceRepository;
+import com.example.library_management_system.repository.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Nightly late-fee accrual. Candidates are the open loans that can still accrue (due within
+// max-days of the previous run) and the loans returned late since the previous run, found through
+// idx_loan_return_due and the fine_accrual_checkpoint watermark. Each page of candidates is one
+// transaction of set-based statements that append the newly due charges to the fine ledger,
+// advance loan.fine_accrued_days and add the charges to member_fine_balance. Run on a single node.
+@Service
+public class FineService {
+
+  private static final Logger log = LoggerFactory.getLogger(FineService.class);
+
+  // Without a checkpoint every loan ever returned is a candidate
+  static final LocalDateTime FIRST_RUN_SINCE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final FineRepository fineRepository;
+  private final MemberFineBalanceRepository memberFineBalanceRepository;
+  private final LoanRepository loanRepository;
+  private final MemberRepository memberRepository;
+  private final FineAccrualCheckpointRepository checkpointRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final BigDecimal dailyRate;
+  private final int maxDays;
+  private final int chunkSize;
+  private final Duration returnOverlap;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final Counter chargesCounter;
+
+  public FineService(FineRepository fineRepository,
+                     MemberFineBalanceRepository memberFineBalanceRepository,
+                     LoanRepository loanRepository,
+                     MemberRepository memberRepository,
+                     FineAccrualCheckpointRepository checkpointRepository,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.fines.enabled:true}") boolean enabled,
+                     @Value("${app.fines.daily-rate:0.25}") BigDecimal dailyRate,
+                     @Value("${app.fines.max-days:60}") int maxDays,
+                     @Value("${app.fines.chunk-size:5000}") int chunkSize,
+                     @Value("${app.fines.return-overlap:1h}") Duration returnOverlap) {
+    this.fineRepository = fineRepository;
+    this.memberFineBalanceRepository = memberFineBalanceRepository;
+    this.loanRepository = loanRepository;
+    this.memberRepository = memberRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.dailyRate = dailyRate;
+    this.maxDays = maxDays;
+    this.chunkSize = chunkSize;
+    this.returnOverlap = returnOverlap;
+
+    this.chargesCounter = Counter.builder("library.fines.charges")
+            .description("Fine ledger rows written by the accrual job")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${app.fines.cron:0 30 1 * * *}")
+  public void accrueScheduled() {
+    if (enabled) {
+      accrueFines();
+    }
+  }
+
+  public long accrueFines() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Fine accrual already in progress, skipping");
+      return 0;
+    }
+
+    try {
+      LocalDateTime asOf = LocalDateTime.now();
+      // Returns are stamped before they commit, so the window reaches back returnOverlap past the
+      // previous run; loans charged then are skipped by the fine_accrued_days check
+      LocalDateTime since = checkpointRepository.findById(FineAccrualCheckpoint.ID)
+              .map(c -> c.getLastAsOf().minus(returnOverlap))
+              .orElse(FIRST_RUN_SINCE);
+      // An open loan due more than maxDays before the previous run was charged the cap by it
+      LocalDateTime dueFrom = since.toLocalDate().minusDays(maxDays).atStartOfDay();
+
+      String runId = UUID.randomUUID().toString();
+      long total = accrueCandidates(runId, asOf, dueFrom,
+              (afterDue, afterId, limit) -> loanRepository.findOpenOverduePage(afterDue, afterId, asOf, limit));
+      total += accrueCandidates(runId, asOf, since, loanRepository::findReturnedLatePage);
+
+      checkpointRepository.save(new FineAccrualCheckpoint(asOf));
+      log.info("Fine accrual {} charged {} loans as of {}", runId, total, asOf);
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  public FineBalanceResponseDTO getMemberBalance(Long memberId) {
+    if (!memberRepository.existsById(memberId)) {
+      throw new ResourceNotFoundException("Member not found with id: " + memberId);
+    }
+
+    return memberFineBalanceRepository.findById(memberId)
+            .map(b -> new FineBalanceResponseDTO(memberId, b.getBalance(), b.getUpdatedAt()))
+            .orElseGet(() -> new FineBalanceResponseDTO(memberId, BigDecimal.ZERO.setScale(2), null));
+  }
+
+  // Walks one candidate query by its (date, id) keyset, one transaction per page
+  private long accrueCandidates(String runId, LocalDateTime asOf, LocalDateTime from, CandidatePage candidates) {
+    LocalDateTime afterDate = from;
+    long afterId = 0;
+    long total = 0;
+
+    while (true) {
+      List<Object[]> page = candidates.fetch(afterDate, afterId, Limit.of(chunkSize));
+      if (page.isEmpty()) {
+        return total;
+      }
+
+      List<Long> ids = page.stream().map(row -> (Long) row[0]).toList();
+      Integer charged = transactionTemplate.execute(status -> accruePage(runId, asOf, ids));
+      total += charged;
+      chargesCounter.increment(charged);
+
+      if (page.size() < chunkSize) {
+        return total;
+      }
+      Object[] last = page.get(page.size() - 1);
+      afterId = (Long) last[0];
+      afterDate = (LocalDateTime) last[1];
+    }
+  }
+
+  private int accruePage(String runId, LocalDateTime asOf, List<Long> ids) {
+    int charged = fineRepository.insertCharges(runId, asOf, maxDays, dailyRate, ids);
+    if (charged == 0) {
+      return 0;
+    }
+
+    loanRepository.advanceFineAccruedDays(asOf, maxDays, ids);
+    LocalDateTime now = LocalDateTime.now();
+    memberFineBalanceRepository.addCharges(runId, ids, now);
+    memberFineBalanceRepository.insertBalances(runId, ids, now);
+    return charged;
+  }
+
+  // [id, keyset date] rows after the given position
+  @FunctionalInterface
+  private interface CandidatePage {
+    List<Object[]> fetch(LocalDateTime afterDate, Long afterId, Limit limit);
+  }
+}
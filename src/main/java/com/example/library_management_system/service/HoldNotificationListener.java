@@ -0,0 +1,20 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.HoldReadyEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class HoldNotificationListener {
+
+  private static final Logger log = LoggerFactory.getLogger(HoldNotificationListener.class);
+
+  // Runs after the allocating transaction commits, so a rolled-back return never notifies anyone
+  @TransactionalEventListener
+  public void onHoldReady(HoldReadyEvent event) {
+    log.info("Hold {} is ready for pickup: member {}, book {}",
+            event.getHoldId(), event.getMemberId(), event.getBookId());
+  }
+}
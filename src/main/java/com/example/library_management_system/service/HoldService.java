@@ -0,0 +1,153 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.hold.HoldCreateRequestDTO;
+import com.example.library_management_system.dto.hold.HoldResponseDTO;
+import com.example.library_management_system.event.HoldReadyEvent;
+import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.InvalidLoanOperationException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.mapper.HoldMapper;
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Hold;
+import com.example.library_management_system.model.HoldStatus;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.BookRepository;
+import com.example.library_management_system.repository.HoldRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class HoldService {
+
+  static final List<HoldStatus> OPEN_STATUSES = List.of(HoldStatus.WAITING, HoldStatus.READY);
+
+  private final HoldRepository holdRepository;
+  private final HoldMapper holdMapper;
+  private final BookRepository bookRepository;
+  private final MemberRepository memberRepository;
+  private final LoanRepository loanRepository;
+  private final BookService bookService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration pickupWindow;
+
+  public HoldService(HoldRepository holdRepository,
+                     HoldMapper holdMapper,
+                     BookRepository bookRepository,
+                     MemberRepository memberRepository,
+                     LoanRepository loanRepository,
+                     BookService bookService,
+                     ApplicationEventPublisher eventPublisher,
+                     @Value("${app.holds.pickup-window:3d}") Duration pickupWindow) {
+    this.holdRepository = holdRepository;
+    this.holdMapper = holdMapper;
+    this.bookRepository = bookRepository;
+    this.memberRepository = memberRepository;
+    this.loanRepository = loanRepository;
+    this.bookService = bookService;
+    this.eventPublisher = eventPublisher;
+    this.pickupWindow = pickupWindow;
+  }
+
+  @Transactional
+  public HoldResponseDTO placeHold(Long bookId, HoldCreateRequestDTO request) {
+    Book book = bookRepository.findById(bookId)
+            .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
+
+    Member member = memberRepository.findById(request.getMemberId())
+            .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + request.getMemberId()));
+
+    if (holdRepository.existsByMemberIdAndBookIdAndStatusIn(member.getId(), bookId, OPEN_STATUSES)) {
+      throw new DuplicateResourceException(
+              "Member already has a hold on this book. Member ID: " + member.getId() + ", Book ID: " + bookId);
+    }
+
+    if (loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(member.getId(), bookId)) {
+      throw new DuplicateResourceException(
+              "Member already has an active loan for this book. Member ID: " + member.getId() + ", Book ID: " + bookId);
+    }
+
+    if (book.getCopiesAvailable() > 0 && !holdRepository.existsByBookIdAndStatus(bookId, HoldStatus.WAITING)) {
+      throw new InvalidLoanOperationException("Book is available, borrow it instead. Book ID: " + bookId);
+    }
+
+    Hold savedHold = holdRepository.save(new Hold(member, book));
+
+    return holdMapper.toResponseDTO(savedHold);
+  }
+
+  public List<HoldResponseDTO> getBookHolds(Long bookId) {
+    if (!bookRepository.existsById(bookId)) {
+      throw new ResourceNotFoundException("Book not found with id: " + bookId);
+    }
+
+    return holdRepository.findByBookIdAndStatusInOrderByIdAsc(bookId, OPEN_STATUSES)
+            .stream()
+            .map(holdMapper::toResponseDTO)
+            .collect(Collectors.toList());
+  }
+
+  @Transactional
+  public void cancelHold(Long bookId, Long holdId) {
+    Hold hold = holdRepository.findById(holdId)
+            .filter(h -> h.getBook().getId().equals(bookId))
+            .orElseThrow(() -> new ResourceNotFoundException("Hold not found with id: " + holdId));
+
+    HoldStatus status = hold.getStatus();
+    if (!OPEN_STATUSES.contains(status)
+            || holdRepository.transition(holdId, status, HoldStatus.CANCELLED) == 0) {
+      throw new InvalidLoanOperationException("Hold is no longer active. Hold ID: " + holdId);
+    }
+
+    // A ready hold was sitting on a copy; pass it on
+    if (status == HoldStatus.READY) {
+      allocateReturnedCopy(bookId);
+    }
+  }
+
+  // Gives a returned copy to the oldest waiting hold, or back to the shelf if nobody is waiting.
+  // The queue is read from the hold table on every return, so holds placed through any node count.
+  // When another request readies or cancels the head first, markReady matches no row and the next
+  // head is tried.
+  @Transactional
+  public void allocateReturnedCopy(Long bookId) {
+    Optional<Hold> head;
+    while ((head = holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(bookId, HoldStatus.WAITING)).isPresent()) {
+      Hold hold = head.get();
+      if (holdRepository.markReady(hold.getId(), LocalDateTime.now()) == 1) {
+        eventPublisher.publishEvent(new HoldReadyEvent(hold.getId(), hold.getMember().getId(), bookId));
+        return;
+      }
+    }
+
+    bookService.incrementCopies(bookId);
+  }
+
+  // Returns true when the member borrowed against a ready hold, i.e. the copy is already reserved
+  @Transactional
+  public boolean claimReadyHold(Long memberId, Long bookId) {
+    return holdRepository.markFulfilled(memberId, bookId) > 0;
+  }
+
+  @Scheduled(fixedDelayString = "${app.holds.expiry-check-interval:PT15M}")
+  @Transactional
+  public void expireReadyHolds() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(pickupWindow);
+
+    for (Hold hold : holdRepository.findByStatusAndReadyAtBefore(HoldStatus.READY, cutoff)) {
+      if (holdRepository.transition(hold.getId(), HoldStatus.READY, HoldStatus.EXPIRED) == 1) {
+        allocateReturnedCopy(hold.getBook().getId());
+      }
+    }
+  }
+}
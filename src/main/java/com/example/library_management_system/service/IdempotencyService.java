@@ -0,0 +1,235 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.IdempotencyConflictException;
+import com.example.library_management_system.model.IdempotencyRecord;
+import com.example.library_management_system.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs a request at most once per Idempotency-Key and replays the stored response to retries.
+// Completed responses live in a bounded local cache in front of idempotency_record; duplicates
+// arriving while the first request is still running wait for it, locally on its future and
+// across nodes by polling the claim row.
+@Service
+public class IdempotencyService {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final int MAX_KEY_LENGTH = 200;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration ttl;
+  private final Duration waitTimeout;
+  private final Duration lockTimeout;
+
+  private final Cache<String, StoredResponse> completed;
+  private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+  public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+                            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                            @Value("${app.idempotency.lock-timeout:1m}") Duration lockTimeout) {
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ttl = ttl;
+    this.waitTimeout = waitTimeout;
+    this.lockTimeout = lockTimeout;
+    this.completed = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(ttl)
+            .build();
+  }
+
+  public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                       Supplier<ResponseEntity<T>> action) {
+    if (key == null || key.isBlank()) {
+      return action.get();
+    }
+    if (key.length() > MAX_KEY_LENGTH) {
+      throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+    }
+
+    String id = scope + ":" + key;
+    String fingerprint = fingerprint(scope, request);
+
+    StoredResponse cached = completed.getIfPresent(id);
+    if (cached != null) {
+      return replay(cached, fingerprint, responseType);
+    }
+
+    CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+    CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, mine);
+    if (running != null) {
+      return replay(await(running), fingerprint, responseType);
+    }
+
+    try {
+      Optional<StoredResponse> existing = claim(id, fingerprint);
+      if (existing.isPresent()) {
+        completed.put(id, existing.get());
+        mine.complete(existing.get());
+        return replay(existing.get(), fingerprint, responseType);
+      }
+
+      Outcome<T> outcome;
+      try {
+        // The response is stored in the action's own transaction, so a committed loan always has
+        // its record and a rolled-back one never does
+        outcome = transactionTemplate.execute(status -> {
+          ResponseEntity<T> response = action.get();
+          StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                  toJson(response.getBody()));
+          idempotencyRecordRepository.complete(id, stored.status(), stored.body());
+          return new Outcome<>(response, stored);
+        });
+      } catch (RuntimeException e) {
+        transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.release(id));
+        throw e;
+      }
+
+      completed.put(id, outcome.stored());
+      mine.complete(outcome.stored());
+      return outcome.response();
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(id, mine);
+    }
+  }
+
+  @Scheduled(cron = "${app.idempotency.purge-cron:0 15 * * * *}")
+  public void purgeExpired() {
+    transactionTemplate.executeWithoutResult(
+            status -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+  }
+
+  // Inserts the claim row, or waits for the response another node is producing under this key
+  private Optional<StoredResponse> claim(String id, String fingerprint) {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+    while (true) {
+      LocalDateTime now = LocalDateTime.now();
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          idempotencyRecordRepository.releaseStale(id, now.minus(lockTimeout), now);
+          idempotencyRecordRepository.claim(id, fingerprint, now, now.plus(ttl));
+        });
+        return Optional.empty();
+      } catch (DataIntegrityViolationException e) {
+        // Key already claimed; look at what the owner has stored
+      }
+
+      Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(id);
+      if (record.isPresent()) {
+        IdempotencyRecord existing = record.get();
+        if (existing.isCompleted()) {
+          return Optional.of(new StoredResponse(existing.getFingerprint(), existing.getResponseStatus(),
+                  existing.getResponseBody()));
+        }
+        if (!existing.getFingerprint().equals(fingerprint)) {
+          throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+      }
+
+      if (System.nanoTime() > deadline) {
+        throw new IdempotencyConflictException("A request with this " + HEADER + " is still in progress");
+      }
+      try {
+        Thread.sleep(POLL_INTERVAL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IdempotencyConflictException("Interrupted while waiting for " + HEADER + " owner", e);
+      }
+    }
+  }
+
+  private StoredResponse await(CompletableFuture<StoredResponse> running) {
+    try {
+      return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      // The first attempt failed; the duplicate sees the same error rather than retrying
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new IdempotencyConflictException("A request with this " + HEADER + " is still in progress");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IdempotencyConflictException("Interrupted while waiting for " + HEADER + " owner", e);
+    }
+  }
+
+  private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+    if (!stored.fingerprint().equals(fingerprint)) {
+      throw new BadRequestException(HEADER + " was already used for a different request");
+    }
+
+    try {
+      T body = stored.body() != null ? objectMapper.readValue(stored.body(), responseType) : null;
+      return ResponseEntity.status(stored.status())
+              .header(REPLAYED_HEADER, "true")
+              .body(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not read stored idempotent response", e);
+    }
+  }
+
+  private String fingerprint(String scope, Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(scope.getBytes(StandardCharsets.UTF_8));
+      digest.update(objectMapper.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+      throw new IllegalStateException("Could not fingerprint request", e);
+    }
+  }
+
+  private String toJson(Object body) {
+    try {
+      return body != null ? objectMapper.writeValueAsString(body) : null;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not store idempotent response", e);
+    }
+  }
+
+  private record StoredResponse(String fingerprint, int status, String body) {
+  }
+
+  private record Outcome<T>(ResponseEntity<T> response, StoredResponse stored) {
+  }
+}
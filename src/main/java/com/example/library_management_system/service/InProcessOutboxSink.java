@@ -0,0 +1,26 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import com.example.library_management_system.event.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Re-publishes outbox rows as OutboxMessage application events for @EventListener consumers
+@Component
+@ConditionalOnProperty(name = "app.outbox.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public InProcessOutboxSink(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public void publish(List<OutboxMessage> batch) {
+    batch.forEach(eventPublisher::publishEvent);
+  }
+}
@@ -0,0 +1,131 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.ArchivedLoanRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class LoanArchiveService {
+
+  private static final Logger log = LoggerFactory.getLogger(LoanArchiveService.class);
+
+  private final LoanRepository loanRepository;
+  private final ArchivedLoanRepository archivedLoanRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration minAge;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final Duration batchPause;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicLong lastRunArchived = new AtomicLong();
+  private final Counter archivedCounter;
+  private final Timer batchTimer;
+
+  public LoanArchiveService(LoanRepository loanRepository,
+                            ArchivedLoanRepository archivedLoanRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.loan-archive.enabled:true}") boolean enabled,
+                            @Value("${app.loan-archive.min-age:180d}") Duration minAge,
+                            @Value("${app.loan-archive.batch-size:1000}") int batchSize,
+                            @Value("${app.loan-archive.max-batches-per-run:500}") int maxBatchesPerRun,
+                            @Value("${app.loan-archive.batch-pause:200ms}") Duration batchPause) {
+    this.loanRepository = loanRepository;
+    this.archivedLoanRepository = archivedLoanRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.minAge = minAge;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.batchPause = batchPause;
+
+    this.archivedCounter = Counter.builder("library.loan.archive.archived")
+            .description("Returned loans moved to loan_archive")
+            .register(meterRegistry);
+    this.batchTimer = Timer.builder("library.loan.archive.batch")
+            .description("Time spent moving one archive batch")
+            .register(meterRegistry);
+    Gauge.builder("library.loan.archive.last.run", lastRunArchived, AtomicLong::get)
+            .description("Loans archived by the most recent run")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${app.loan-archive.cron:0 0 3 * * *}")
+  public void archiveScheduled() {
+    if (enabled) {
+      archiveReturnedLoans();
+    }
+  }
+
+  public long archiveReturnedLoans() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Loan archive run already in progress, skipping");
+      return 0;
+    }
+
+    try {
+      LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+      long total = 0;
+
+      for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+        int moved = batchTimer.record(() -> transactionTemplate.execute(status -> moveBatch(cutoff)));
+        total += moved;
+        archivedCounter.increment(moved);
+
+        if (moved < batchSize) {
+          break;
+        }
+        log.debug("Loan archive progress: {} loans moved", total);
+        if (!pause()) {
+          break;
+        }
+      }
+
+      lastRunArchived.set(total);
+      log.info("Archived {} loans returned before {}", total, cutoff);
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private int moveBatch(LocalDateTime cutoff) {
+    List<Long> ids = loanRepository.findArchivableIds(cutoff, Limit.of(batchSize));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    archivedLoanRepository.copyFromLoans(ids, LocalDateTime.now());
+    return loanRepository.deleteByIdIn(ids);
+  }
+
+  // Throttle between batches so the archiver does not monopolise I/O or hold the pool
+  private boolean pause() {
+    try {
+      Thread.sleep(batchPause);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Fans loan outbox events out to Server-Sent Events subscribers. Every node is fed by its own
+// LoanEventFeed, independently of the outbox relay. Publishing only offers a
+// pre-rendered frame to each subscriber's bounded queue; a virtual thread drains a queue while it
+// has frames and exits when it is empty, so idle subscribers hold no thread at all. A subscriber
+// that falls app.loans.events.subscriber-buffer frames behind is disconnected (or, with the drop
+// policy, loses its oldest frames). The last app.loans.events.replay-size events are kept so a
+// reconnecting client can resume from Last-Event-ID; if it is too far behind it gets a "reset"
+// event and should reload its view. Outbox ids are assigned at insert, not at commit, so events can
+// arrive out of id order: duplicates are recognised by id within the replay window, and a resume
+// replays what followed the client's last event in arrival order rather than by id.
+@Service
+public class LoanEventBroadcaster {
+
+  static final Set<String> EVENT_TYPES = Set.of("LoanBorrowed", "LoanReturned", "LoanRenewed", "LoanOverdue");
+
+  private static final Logger log = LoggerFactory.getLogger(LoanEventBroadcaster.class);
+  private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+  private static final Set<DataWithMediaType> RESET = SseEmitter.event().name("reset").data("{}").build();
+
+  enum OverflowPolicy {
+    DISCONNECT,
+    DROP
+  }
+
+  private final int replaySize;
+  private final int subscriberBuffer;
+  private final OverflowPolicy overflowPolicy;
+  private final Duration timeout;
+  private final Counter droppedCounter;
+  private final Counter disconnectedCounter;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  // Guarded by this: recent events in arrival order, their ids, and the id of the last event that
+  // can no longer be replayed (Long.MAX_VALUE until the first event fixes a starting point)
+  private final Deque<Event> replay = new ArrayDeque<>();
+  private final Set<Long> replayIds = new HashSet<>();
+  private long replayableAfterId = Long.MAX_VALUE;
+
+  public LoanEventBroadcaster(MeterRegistry meterRegistry,
+                              @Value("${app.loans.events.replay-size:1000}") int replaySize,
+                              @Value("${app.loans.events.subscriber-buffer:256}") int subscriberBuffer,
+                              @Value("${app.loans.events.overflow-policy:disconnect}") String overflowPolicy,
+                              @Value("${app.loans.events.timeout:30m}") Duration timeout) {
+    this.replaySize = replaySize;
+    this.subscriberBuffer = subscriberBuffer;
+    this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+    this.timeout = timeout;
+
+    meterRegistry.gauge("library.loans.events.subscribers", subscribers, Set::size);
+    this.droppedCounter = Counter.builder("library.loans.events.dropped")
+            .description("Events dropped from the buffer of a slow subscriber")
+            .register(meterRegistry);
+    this.disconnectedCounter = Counter.builder("library.loans.events.disconnected")
+            .description("Subscribers disconnected for falling too far behind")
+            .register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(Long lastEventId) {
+    return subscribe(new SseEmitter(timeout.toMillis()), lastEventId);
+  }
+
+  SseEmitter subscribe(SseEmitter emitter, Long resumeAfterId) {
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+
+    // Replay and registration happen under the publish lock, so no event is missed or repeated
+    synchronized (this) {
+      if (resumeAfterId != null) {
+        if (resumeAfterId == replayableAfterId) {
+          replay.forEach(event -> subscriber.offer(event.frame()));
+        } else if (replayIds.contains(resumeAfterId)) {
+          boolean after = false;
+          for (Event event : replay) {
+            if (after) {
+              subscriber.offer(event.frame());
+            } else {
+              after = event.id() == resumeAfterId;
+            }
+          }
+        } else {
+          subscriber.offer(RESET);
+        }
+      }
+      subscribers.add(subscriber);
+    }
+    return emitter;
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  public void onOutboxMessage(OutboxMessage message) {
+    if (!OutboxService.LOAN.equals(message.getAggregateType()) || !EVENT_TYPES.contains(message.getEventType())) {
+      return;
+    }
+
+    Set<DataWithMediaType> frame = SseEmitter.event()
+            .id(String.valueOf(message.getId()))
+            .name(message.getEventType())
+            .data(message.getPayload())
+            .build();
+
+    synchronized (this) {
+      // Delivery is at least once; a redelivered event has an id we have already sent
+      if (!replayIds.add(message.getId())) {
+        return;
+      }
+      if (replayableAfterId == Long.MAX_VALUE) {
+        replayableAfterId = message.getId() - 1;
+      }
+      replay.addLast(new Event(message.getId(), frame));
+      if (replay.size() > replaySize) {
+        Event evicted = replay.removeFirst();
+        replayIds.remove(evicted.id());
+        replayableAfterId = evicted.id();
+      }
+      subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+  }
+
+  // Comment frames keep proxies and load balancers from closing quiet connections
+  @Scheduled(fixedDelayString = "${app.loans.events.heartbeat-interval:PT15S}")
+  public void heartbeat() {
+    subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    subscribers.forEach(Subscriber::close);
+    executor.shutdownNow();
+  }
+
+  private record Event(long id, Set<DataWithMediaType> frame) {
+  }
+
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    // Never blocks the publisher
+    private void offer(Set<DataWithMediaType> frame) {
+      if (closed) {
+        return;
+      }
+      while (!queue.offer(frame)) {
+        if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+          disconnectedCounter.increment();
+          close();
+          return;
+        }
+        if (queue.poll() != null) {
+          droppedCounter.increment();
+        }
+      }
+      if (draining.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        while (!closed) {
+          Set<DataWithMediaType> frame = queue.poll();
+          if (frame == null) {
+            draining.set(false);
+            // A frame offered after the poll but before the flag was cleared would be stranded
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+              return;
+            }
+            continue;
+          }
+          emitter.send(frame);
+        }
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Loan event subscriber went away: {}", e.getMessage());
+        close();
+      }
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      subscribers.remove(this);
+      queue.clear();
+      try {
+        emitter.complete();
+      } catch (IllegalStateException e) {
+        // Already completed by the container
+      }
+    }
+  }
+}
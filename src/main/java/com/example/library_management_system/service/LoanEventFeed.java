@@ -0,0 +1,94 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import com.example.library_management_system.model.OutboxEvent;
+import com.example.library_management_system.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Feeds this node's LoanEventBroadcaster straight from outbox_event, so every node can serve the
+// event stream, not just the one running the relay. It never marks rows published. Each poll
+// re-reads the loan rows created since the previous poll minus app.loans.events.poll-overlap:
+// created_at is stamped at insert, so a row can commit after a later one was already read. Ids
+// forwarded within the overlap are remembered and skipped when read again.
+@Service
+public class LoanEventFeed {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final LoanEventBroadcaster broadcaster;
+  private final boolean enabled;
+  private final int batchSize;
+  private final Duration overlap;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  // Guarded by running: ids forwarded within the overlap window, with their created_at
+  private final Map<Long, LocalDateTime> forwarded = new HashMap<>();
+  private LocalDateTime lastPollAt;
+
+  public LoanEventFeed(OutboxEventRepository outboxEventRepository,
+                       LoanEventBroadcaster broadcaster,
+                       @Value("${app.loans.events.feed.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.loans.events.poll-overlap:PT10S}") Duration overlap) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.broadcaster = broadcaster;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.overlap = overlap;
+  }
+
+  @Scheduled(fixedDelayString = "${app.loans.events.poll-interval:PT1S}")
+  public void pollScheduled() {
+    if (enabled) {
+      poll();
+    }
+  }
+
+  public int poll() {
+    if (!running.compareAndSet(false, true)) {
+      return 0;
+    }
+
+    try {
+      LocalDateTime now = LocalDateTime.now();
+      // A fresh node starts at the present rather than replaying the table
+      LocalDateTime since = (lastPollAt == null ? now : lastPollAt).minus(overlap);
+      LocalDateTime afterCreatedAt = since;
+      long afterId = 0;
+      int total = 0;
+      List<OutboxEvent> events;
+      do {
+        events = outboxEventRepository.findCreatedAfter(OutboxService.LOAN, afterCreatedAt, afterId, Limit.of(batchSize));
+        for (OutboxEvent e : events) {
+          if (forwarded.putIfAbsent(e.getId(), e.getCreatedAt()) == null) {
+            broadcaster.onOutboxMessage(new OutboxMessage(e.getId(), e.getAggregateType(), e.getAggregateId(),
+                    e.getEventType(), e.getPayload(), e.getCreatedAt()));
+            total++;
+          }
+        }
+        if (!events.isEmpty()) {
+          OutboxEvent last = events.get(events.size() - 1);
+          afterCreatedAt = last.getCreatedAt();
+          afterId = last.getId();
+        }
+      } while (events.size() == batchSize);
+
+      // The next poll starts at now - overlap, so older rows are never read again
+      LocalDateTime nextSince = now.minus(overlap);
+      forwarded.values().removeIf(createdAt -> createdAt.isBefore(nextSince));
+      lastPollAt = now;
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.loan.LoanCreateRequestDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
 import com.example.library_management_system.dto.loan.LoanReturnRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.BookUnavailableException;
+import com.example.library_management_system.exception.ConstraintViolations;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.InvalidLoanOperationException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
@@ -11,35 +15,88 @@ import com.example.library_management_system.mapper.LoanMapper;
 import com.example.library_management_system.model.Book;
 import com.example.library_management_system.model.Loan;
 import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.ArchivedLoanRepository;
 import com.example.library_management_system.repository.BookRepository;
 import com.example.library_management_system.repository.LoanRepository;
 import com.example.library_management_system.repository.MemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LoanService {
 
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int EXPORT_CHUNK_SIZE = 500;
+  private static final LocalDateTime MIN_BORROW_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+  private static final LocalDateTime MAX_BORROW_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final Comparator<LoanResponseDTO> HISTORY_ORDER = Comparator
+          .comparing(LoanResponseDTO::getBorrowDate)
+          .thenComparing(LoanResponseDTO::getId)
+          .reversed();
+
   private final LoanRepository loanRepository;
+  private final ArchivedLoanRepository archivedLoanRepository;
   private final LoanMapper loanMapper;
   private final BookRepository bookRepository;
   private final MemberRepository memberRepository;
   private final BookService bookService;
+  private final HoldService holdService;
+  private final OutboxService outboxService;
+  private final ActiveLoanCounter activeLoanCounter;
+  private final CirculationStatsService circulationStatsService;
+  private final RecommendationService recommendationService;
+  private final ObjectMapper objectMapper;
+  private final int maxActiveLoans;
+  private final int maxRenewals;
+  private final Duration renewalPeriod;
 
   public LoanService(LoanRepository loanRepository,
+                     ArchivedLoanRepository archivedLoanRepository,
                      LoanMapper loanMapper,
                      BookRepository bookRepository,
                      MemberRepository memberRepository,
-                     BookService bookService) {
+                     BookService bookService,
+                     HoldService holdService,
+                     OutboxService outboxService,
+                     ActiveLoanCounter activeLoanCounter,
+                     CirculationStatsService circulationStatsService,
+                     RecommendationService recommendationService,
+                     ObjectMapper objectMapper,
+                     @Value("${app.loans.max-active-per-member:5}") int maxActiveLoans,
+                     @Value("${app.loans.max-renewals:2}") int maxRenewals,
+                     @Value("${app.loans.renewal-period:14d}") Duration renewalPeriod) {
     this.loanRepository = loanRepository;
+    this.archivedLoanRepository = archivedLoanRepository;
     this.loanMapper = loanMapper;
     this.bookRepository = bookRepository;
     this.memberRepository = memberRepository;
     this.bookService = bookService;
+    this.holdService = holdService;
+    this.outboxService = outboxService;
+    this.activeLoanCounter = activeLoanCounter;
+    this.circulationStatsService = circulationStatsService;
+    this.recommendationService = recommendationService;
+    this.objectMapper = objectMapper;
+    this.maxActiveLoans = maxActiveLoans;
+    this.maxRenewals = maxRenewals;
+    this.renewalPeriod = renewalPeriod;
   }
 
   @Transactional
@@ -50,12 +107,15 @@ public class LoanService {
     Book book = bookRepository.findById(request.getBookId())
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + request.getBookId()));
 
-    if (loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(request.getMemberId(), request.getBookId())) {
-      throw new DuplicateResourceException(
-              "Member already has an active loan for this book. Member ID: " + request.getMemberId() + ", Book ID: " + request.getBookId());
+    if (!activeLoanCounter.tryIncrement(request.getMemberId(), maxActiveLoans)) {
+      throw new InvalidLoanOperationException(
+              "Member has reached the limit of " + maxActiveLoans + " active loans. Member ID: " + request.getMemberId());
     }
 
-    if (book.getCopiesAvailable() <= 0) {
+    // A member collecting a ready hold takes the copy that was set aside for them
+    boolean fromHold = holdService.claimReadyHold(request.getMemberId(), request.getBookId());
+
+    if (!fromHold && book.getCopiesAvailable() <= 0) {
       throw new BookUnavailableException("Book is not available. No copies left. Book ID: " + request.getBookId());
     }
 
@@ -69,8 +129,24 @@ public class LoanService {
             : LocalDateTime.now().plusDays(14);
     loan.setDueDate(dueDate);
 
-    Loan savedLoan = loanRepository.save(loan);
-    bookService.decrementCopies(request.getBookId());
+    // The insert runs immediately (IDENTITY id); a second open loan for the same member and book
+    // is rejected by uq_loan_active_member_book, so there is no separate existence check
+    Loan savedLoan;
+    try {
+      savedLoan = loanRepository.save(loan);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.violates(e, Loan.ACTIVE_LOAN_INDEX)) {
+        throw e;
+      }
+      throw new DuplicateResourceException(
+              "Member already has an active loan for this book. Member ID: " + request.getMemberId() + ", Book ID: " + request.getBookId());
+    }
+    if (!fromHold) {
+      bookService.decrementCopies(request.getBookId());
+    }
+    outboxService.append(OutboxService.LOAN, savedLoan.getId(), "LoanBorrowed", loanEventPayload(savedLoan));
+    circulationStatsService.recordBorrow(savedLoan.getBorrowDate());
+    recommendationService.recordBorrow(savedLoan.getId(), request.getMemberId(), request.getBookId());
 
     return loanMapper.toResponseDTO(savedLoan);
   }
@@ -88,20 +164,73 @@ public class LoanService {
     loan.setReturnDate(returnDate);
 
     Loan updatedLoan = loanRepository.save(loan);
-    bookService.incrementCopies(loan.getBook().getId());
+    activeLoanCounter.decrement(loan.getMember().getId());
+    holdService.allocateReturnedCopy(loan.getBook().getId());
+    outboxService.append(OutboxService.LOAN, updatedLoan.getId(), "LoanReturned", loanEventPayload(updatedLoan));
+    circulationStatsService.recordReturn(returnDate);
 
     return loanMapper.toResponseDTO(updatedLoan);
   }
 
-  public List<LoanResponseDTO> getMemberLoanHistory(Long memberId) {
+  @Transactional
+  public LoanResponseDTO renewLoan(Long loanId) {
+    LocalDateTime now = LocalDateTime.now();
+
+    // All renewal rules are checked by the UPDATE itself; the row is only read afterwards
+    if (loanRepository.renew(loanId, renewalPeriod.toDays(), maxRenewals, now) == 0) {
+      throw renewalRefused(loanId, now);
+    }
+
+    Loan renewed = loanRepository.findById(loanId)
+            .orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + loanId));
+    outboxService.append(OutboxService.LOAN, renewed.getId(), "LoanRenewed", loanEventPayload(renewed));
+
+    return loanMapper.toResponseDTO(renewed);
+  }
+
+  public LoanPageResponseDTO getMemberLoanHistory(Long memberId, LoanHistoryRequestDTO request) {
     if (!memberRepository.existsById(memberId)) {
       throw new ResourceNotFoundException("Member not found with id: " + memberId);
     }
 
-    return loanRepository.findByMemberId(memberId)
-            .stream()
-            .map(loanMapper::toResponseDTO)
-            .collect(Collectors.toList());
+    int size = request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE;
+    List<LoanResponseDTO> loans = findMemberHistory(memberId, toHistoryFilter(request),
+            decodeCursor(request.getCursor()), size + 1);
+
+    // One extra row tells us whether another page exists without a COUNT query
+    boolean hasMore = loans.size() > size;
+    List<LoanResponseDTO> page = hasMore ? loans.subList(0, size) : loans;
+    String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+
+    return new LoanPageResponseDTO(page, nextCursor, hasMore);
+  }
+
+  public StreamingResponseBody exportMemberLoanHistory(Long memberId, LoanHistoryRequestDTO request) {
+    if (!memberRepository.existsById(memberId)) {
+      throw new ResourceNotFoundException("Member not found with id: " + memberId);
+    }
+
+    // Resolve the filter up front so bad input fails before the response is committed
+    HistoryFilter filter = toHistoryFilter(request);
+    HistoryCursor start = decodeCursor(request.getCursor());
+
+    // Writes one JSON object per line, fetching EXPORT_CHUNK_SIZE rows at a time by keyset
+    return out -> {
+      HistoryCursor cursor = start;
+      List<LoanResponseDTO> chunk;
+      do {
+        chunk = findMemberHistory(memberId, filter, cursor, EXPORT_CHUNK_SIZE);
+        for (LoanResponseDTO loan : chunk) {
+          out.write(objectMapper.writeValueAsBytes(loan));
+          out.write('\n');
+        }
+        out.flush();
+        if (!chunk.isEmpty()) {
+          LoanResponseDTO last = chunk.get(chunk.size() - 1);
+          cursor = new HistoryCursor(last.getBorrowDate(), last.getId());
+        }
+      } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    };
   }
 
   public List<LoanResponseDTO> getOverdueLoans() {
@@ -117,4 +246,106 @@ public class LoanService {
             .map(loanMapper::toResponseDTO)
             .collect(Collectors.toList());
   }
+
+  // Merges the hot loan table with loan_archive. Both sides are read with the same keyset and
+  // limit, so the merged page is exact; active-only queries never touch the archive.
+  private List<LoanResponseDTO> findMemberHistory(Long memberId, HistoryFilter filter,
+                                                  HistoryCursor cursor, int limit) {
+    List<LoanResponseDTO> hot = loanRepository.findMemberLoanPage(
+                    memberId, filter.from(), filter.to(), cursor.borrowDate(), cursor.id(),
+                    filter.includeActive(), filter.includeReturned(), Limit.of(limit))
+            .stream()
+            .map(loanMapper::toResponseDTO)
+            .collect(Collectors.toList());
+
+    if (!filter.includeReturned()) {
+      return hot;
+    }
+
+    List<LoanResponseDTO> archived = archivedLoanRepository.findMemberArchivePage(
+                    memberId, filter.from(), filter.to(), cursor.borrowDate(), cursor.id(), Limit.of(limit))
+            .stream()
+            .map(loanMapper::toResponseDTO)
+            .collect(Collectors.toList());
+
+    if (archived.isEmpty()) {
+      return hot;
+    }
+
+    return Stream.concat(hot.stream(), archived.stream())
+            .sorted(HISTORY_ORDER)
+            .limit(limit)
+            .collect(Collectors.toList());
+  }
+
+  // Only reached when the conditional update matched nothing, to tell the caller why
+  private RuntimeException renewalRefused(Long loanId, LocalDateTime now) {
+    Loan loan = loanRepository.findById(loanId)
+            .orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + loanId));
+
+    if (loan.getReturnDate() != null) {
+      return new InvalidLoanOperationException("Loan has already been returned. Loan ID: " + loanId);
+    }
+    if (!loan.getDueDate().isAfter(now)) {
+      return new InvalidLoanOperationException("Overdue loans cannot be renewed. Loan ID: " + loanId);
+    }
+    if (loan.getRenewalCount() >= maxRenewals) {
+      return new InvalidLoanOperationException(
+              "Loan has reached the limit of " + maxRenewals + " renewals. Loan ID: " + loanId);
+    }
+    return new InvalidLoanOperationException(
+            "Book has members waiting in the hold queue. Loan ID: " + loanId);
+  }
+
+  private static Map<String, Object> loanEventPayload(Loan loan) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("loanId", loan.getId());
+    payload.put("memberId", loan.getMember().getId());
+    payload.put("bookId", loan.getBook().getId());
+    payload.put("dueDate", loan.getDueDate());
+    payload.put("returnDate", loan.getReturnDate());
+    return payload;
+  }
+
+  private static HistoryFilter toHistoryFilter(LoanHistoryRequestDTO request) {
+    String status = request.getStatus();
+    boolean anyStatus = status == null || status.isBlank();
+    boolean includeActive = anyStatus || status.equalsIgnoreCase("active");
+    boolean includeReturned = anyStatus || status.equalsIgnoreCase("returned");
+    if (!includeActive && !includeReturned) {
+      throw new BadRequestException("Invalid status: " + status);
+    }
+
+    return new HistoryFilter(
+            request.getFrom() != null ? request.getFrom() : MIN_BORROW_DATE,
+            request.getTo() != null ? request.getTo() : MAX_BORROW_DATE,
+            includeActive,
+            includeReturned);
+  }
+
+  private static String encodeCursor(LoanResponseDTO loan) {
+    String raw = loan.getBorrowDate() + "_" + loan.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static HistoryCursor decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return new HistoryCursor(MAX_BORROW_DATE, Long.MAX_VALUE);
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf('_');
+      return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+              Long.parseLong(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+  }
+
+  private record HistoryFilter(LocalDateTime from, LocalDateTime to,
+                               boolean includeActive, boolean includeReturned) {
+  }
+
+  private record HistoryCursor(LocalDateTime borrowDate, Long id) {
+  }
 }
@@ -0,0 +1,218 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Limits login attempts per username and per client IP over a sliding window, checked before the
+// user is loaded or a password hashed. Each window is approximated from a fixed current and
+// previous bucket, weighting the previous one by how much of it still overlaps the window.
+// Usernames are counted exactly in lock-striped LRU maps; IPs are counted in a count-min sketch of
+// fixed size, so a flood of distinct addresses cannot grow memory. Rejected attempts are not
+// counted, so a throttled key frees up as the window slides.
+@Service
+public class LoginThrottle {
+
+  private static final int STRIPES = 64;
+  private static final int SKETCH_DEPTH = 4;
+
+  private final boolean enabled;
+  private final long windowNanos;
+  private final int maxPerUsername;
+  private final int maxPerIp;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final IpSketch ipSketch;
+  private final Counter usernameThrottled;
+  private final Counter ipThrottled;
+
+  public LoginThrottle(MeterRegistry meterRegistry,
+                       @Value("${app.auth.throttle.enabled:true}") boolean enabled,
+                       @Value("${app.auth.throttle.window:1m}") Duration window,
+                       @Value("${app.auth.throttle.max-per-username:10}") int maxPerUsername,
+                       @Value("${app.auth.throttle.max-per-ip:100}") int maxPerIp,
+                       @Value("${app.auth.throttle.max-usernames:100000}") int maxUsernames,
+                       @Value("${app.auth.throttle.ip-sketch-width:4096}") int ipSketchWidth) {
+    this.enabled = enabled;
+    this.windowNanos = window.toNanos();
+    this.maxPerUsername = maxPerUsername;
+    this.maxPerIp = maxPerIp;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(Math.max(1, maxUsernames / STRIPES));
+    }
+    // Rounded up to a power of two so a column is a mask rather than a division
+    this.ipSketch = new IpSketch(Integer.highestOneBit(Math.max(2, ipSketchWidth) * 2 - 1));
+
+    this.usernameThrottled = Counter.builder("library.auth.throttled")
+            .description("Login attempts rejected by the throttle")
+            .tag("dimension", "username")
+            .register(meterRegistry);
+    this.ipThrottled = Counter.builder("library.auth.throttled")
+            .description("Login attempts rejected by the throttle")
+            .tag("dimension", "ip")
+            .register(meterRegistry);
+  }
+
+  public void acquire(String username, String clientIp) {
+    acquire(username, clientIp, System.nanoTime());
+  }
+
+  void acquire(String username, String clientIp, long nowNanos) {
+    if (!enabled) {
+      return;
+    }
+
+    long windowIndex = Math.floorDiv(nowNanos, windowNanos);
+    long intoWindow = Math.floorMod(nowNanos, windowNanos);
+    double previousWeight = 1.0 - (double) intoWindow / windowNanos;
+    long retryAfterSeconds = Math.max(1, (windowNanos - intoWindow + 999_999_999L) / 1_000_000_000L);
+
+    int ipHash = clientIp == null ? 0 : clientIp.hashCode();
+    if (ipSketch.estimate(ipHash, windowIndex, previousWeight) >= maxPerIp) {
+      ipThrottled.increment();
+      throw new TooManyRequestsException("Too many login attempts from this address, please retry later",
+              retryAfterSeconds);
+    }
+
+    String key = username == null ? "" : username.toLowerCase(Locale.ROOT);
+    if (!stripeFor(key).tryAcquire(key, windowIndex, previousWeight)) {
+      usernameThrottled.increment();
+      throw new TooManyRequestsException("Too many login attempts for this user, please retry later",
+              retryAfterSeconds);
+    }
+    ipSketch.increment(ipHash, windowIndex);
+  }
+
+  private Stripe stripeFor(String key) {
+    return stripes[mix(key.hashCode()) & (STRIPES - 1)];
+  }
+
+  // Murmur3 finalizer, so similar keys spread over stripes and sketch columns
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private final class Stripe {
+
+    private final Map<String, Window> windows;
+
+    private Stripe(int capacity) {
+      this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+          return size() > capacity;
+        }
+      };
+    }
+
+    private synchronized boolean tryAcquire(String key, long windowIndex, double previousWeight) {
+      Window window = windows.get(key);
+      if (window == null) {
+        window = new Window();
+        window.index = windowIndex;
+        windows.put(key, window);
+      }
+      window.roll(windowIndex);
+      if (window.previous * previousWeight + window.current >= maxPerUsername) {
+        return false;
+      }
+      window.current++;
+      return true;
+    }
+  }
+
+  private static final class Window {
+
+    private long index;
+    private int previous;
+    private int current;
+
+    private void roll(long windowIndex) {
+      if (windowIndex == index) {
+        return;
+      }
+      previous = windowIndex == index + 1 ? current : 0;
+      current = 0;
+      index = windowIndex;
+    }
+  }
+
+  // Two generations of counters: the bucket for even windows and the one for odd windows. Counts
+  // are approximate under contention, which only ever lets a few extra attempts through.
+  private static final class IpSketch {
+
+    private final int width;
+    private final AtomicIntegerArray[] generations;
+    private volatile long windowIndex = Long.MIN_VALUE;
+
+    private IpSketch(int width) {
+      this.width = width;
+      this.generations = new AtomicIntegerArray[]{
+          new AtomicIntegerArray(SKETCH_DEPTH * width),
+          new AtomicIntegerArray(SKETCH_DEPTH * width)
+      };
+    }
+
+    private double estimate(int hash, long index, double previousWeight) {
+      roll(index);
+      AtomicIntegerArray current = generations[(int) (index & 1)];
+      AtomicIntegerArray previous = generations[(int) ((index - 1) & 1)];
+      int currentMin = Integer.MAX_VALUE;
+      int previousMin = Integer.MAX_VALUE;
+      for (int row = 0; row < SKETCH_DEPTH; row++) {
+        int cell = cell(hash, row);
+        currentMin = Math.min(currentMin, current.get(cell));
+        previousMin = Math.min(previousMin, previous.get(cell));
+      }
+      return previousMin * previousWeight + currentMin;
+    }
+
+    private void increment(int hash, long index) {
+      roll(index);
+      AtomicIntegerArray current = generations[(int) (index & 1)];
+      for (int row = 0; row < SKETCH_DEPTH; row++) {
+        current.incrementAndGet(cell(hash, row));
+      }
+    }
+
+    private int cell(int hash, int row) {
+      return row * width + (mix(hash + row * 0x9e3779b9) & (width - 1));
+    }
+
+    private void roll(long index) {
+      if (index <= windowIndex) {
+        return;
+      }
+      synchronized (this) {
+        if (index <= windowIndex) {
+          return;
+        }
+        // The new current generation still holds the window before last; a jump of two or more
+        // windows also leaves nothing worth keeping in the previous one
+        clear(generations[(int) (index & 1)]);
+        if (index - windowIndex > 1) {
+          clear(generations[(int) ((index - 1) & 1)]);
+        }
+        windowIndex = index;
+      }
+    }
+
+    private static void clear(AtomicIntegerArray counters) {
+      for (int i = 0; i < counters.length(); i++) {
+        counters.set(i, 0);
+      }
+    }
+  }
+}
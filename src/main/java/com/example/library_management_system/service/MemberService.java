@@ -1,17 +1,19 @@
 package com.example.library_management_system.service;
 
-import com.example.library_management_system.dto.loan.LoanResponseDTO;
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.member.MemberCreateRequestDTO;
 import com.example.library_management_system.dto.member.MemberResponseDTO;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.InvalidLoanOperationException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
-import com.example.library_management_system.mapper.LoanMapper;
 import com.example.library_management_system.mapper.MemberMapper;
 import com.example.library_management_system.model.Member;
 import com.example.library_management_system.repository.LoanRepository;
 import com.example.library_management_system.repository.MemberRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,18 +22,21 @@ import java.util.stream.Collectors;
 public class MemberService {
 
   private final MemberRepository memberRepository;
-  private final MemberMapper memberMapper;
   private final LoanRepository loanRepository;
-  private final LoanMapper loanMapper;
+  private final MemberMapper memberMapper;
+  private final LoanService loanService;
+  private final FineService fineService;
 
   public MemberService(MemberRepository memberRepository,
-                       MemberMapper memberMapper,
                        LoanRepository loanRepository,
-                       LoanMapper loanMapper) {
+                       MemberMapper memberMapper,
+                       LoanService loanService,
+                       FineService fineService) {
     this.memberRepository = memberRepository;
-    this.memberMapper = memberMapper;
     this.loanRepository = loanRepository;
-    this.loanMapper = loanMapper;
+    this.memberMapper = memberMapper;
+    this.loanService = loanService;
+    this.fineService = fineService;
   }
 
   public MemberResponseDTO createMember(MemberCreateRequestDTO request) {
@@ -62,23 +67,24 @@ public class MemberService {
     Member member = memberRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
 
-    List<?> activeLoans = loanRepository.findByMemberIdAndReturnDateIsNull(id);
-    if (!activeLoans.isEmpty()) {
-      throw new InvalidLoanOperationException(
-              "Cannot delete member with active loans. Member has " + activeLoans.size() + " active loan(s)");
+    // Asks the database rather than ActiveLoanCounter, which may not have seen a loan made on
+    // another node since its last reconcile
+    if (loanRepository.existsByMemberIdAndReturnDateIsNull(id)) {
+      throw new InvalidLoanOperationException("Cannot delete member with active loans");
     }
 
     memberRepository.delete(member);
   }
 
-  public List<LoanResponseDTO> getMemberLoanHistory(Long memberId) {
-    if (!memberRepository.existsById(memberId)) {
-      throw new ResourceNotFoundException("Member not found with id: " + memberId);
-    }
+  public LoanPageResponseDTO getMemberLoanHistory(Long memberId, LoanHistoryRequestDTO request) {
+    return loanService.getMemberLoanHistory(memberId, request);
+  }
 
-    return loanRepository.findByMemberId(memberId)
-            .stream()
-            .map(loanMapper::toResponseDTO)
-            .collect(Collectors.toList());
+  public StreamingResponseBody exportMemberLoanHistory(Long memberId, LoanHistoryRequestDTO request) {
+    return loanService.exportMemberLoanHistory(memberId, request);
+  }
+
+  public FineBalanceResponseDTO getMemberFineBalance(Long memberId) {
+    return fineService.getMemberBalance(memberId);
   }
 }
@@ -0,0 +1,143 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import com.example.library_management_system.event.OutboxSink;
+import com.example.library_management_system.model.OutboxEvent;
+import com.example.library_management_system.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Publishes committed outbox rows to every configured sink in id order. Rows are marked published
+// only after all sinks accept the batch, and a failed batch stops the run so later events never
+// overtake earlier ones. Run the relay on a single node (app.outbox.relay.enabled=false elsewhere);
+// loan event streams do not depend on it, each node tails the table itself (LoanEventFeed).
+@Service
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final List<OutboxSink> sinks;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final Duration retention;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final Counter publishedCounter;
+  private final Counter failureCounter;
+
+  public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                     List<OutboxSink> sinks,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                     @Value("${app.outbox.batch-size:200}") int batchSize,
+                     @Value("${app.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+                     @Value("${app.outbox.retention:7d}") Duration retention) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.sinks = sinks;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.retention = retention;
+
+    this.publishedCounter = Counter.builder("library.outbox.published")
+            .description("Outbox events delivered to all sinks")
+            .register(meterRegistry);
+    this.failureCounter = Counter.builder("library.outbox.failures")
+            .description("Outbox batches rejected by a sink and left for retry")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+  public void relayScheduled() {
+    if (enabled) {
+      relay();
+    }
+  }
+
+  public int relay() {
+    if (!running.compareAndSet(false, true)) {
+      return 0;
+    }
+
+    try {
+      int total = 0;
+      for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(Limit.of(batchSize));
+        if (events.isEmpty() || !deliver(events)) {
+          break;
+        }
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(
+                status -> outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+        total += events.size();
+        publishedCounter.increment(events.size());
+
+        if (events.size() < batchSize) {
+          break;
+        }
+      }
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Deletes published rows older than app.outbox.retention; unpublished rows are never removed
+  @Scheduled(cron = "${app.outbox.retention-cron:0 30 3 * * *}")
+  public long purgePublished() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    long total = 0;
+    int deleted;
+    do {
+      deleted = transactionTemplate.execute(status -> {
+        List<Long> ids = outboxEventRepository.findPublishedIdsBefore(cutoff, Limit.of(batchSize));
+        return ids.isEmpty() ? 0 : outboxEventRepository.deleteByIdIn(ids);
+      });
+      total += deleted;
+    } while (deleted == batchSize);
+
+    if (total > 0) {
+      log.info("Purged {} outbox events published before {}", total, cutoff);
+    }
+    return total;
+  }
+
+  private boolean deliver(List<OutboxEvent> events) {
+    List<OutboxMessage> batch = events.stream()
+            .map(e -> new OutboxMessage(e.getId(), e.getAggregateType(), e.getAggregateId(),
+                    e.getEventType(), e.getPayload(), e.getCreatedAt()))
+            .collect(Collectors.toList());
+
+    for (OutboxSink sink : sinks) {
+      try {
+        sink.publish(batch);
+      } catch (Exception e) {
+        failureCounter.increment();
+        log.warn("Outbox sink {} failed on events {}..{}, will retry: {}", sink.getClass().getSimpleName(),
+                batch.get(0).getId(), batch.get(batch.size() - 1).getId(), e.getMessage());
+        return false;
+      }
+    }
+    return true;
+  }
+}
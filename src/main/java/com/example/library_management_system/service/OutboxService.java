@@ -0,0 +1,39 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.OutboxEvent;
+import com.example.library_management_system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+@Service
+public class OutboxService {
+
+  public static final String LOAN = "loan";
+  public static final String BOOK = "book";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  // MANDATORY: the event row must commit or roll back together with the change it describes
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void append(String aggregateType, Long aggregateId, String eventType, Map<String, ?> payload) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialise " + eventType + " payload", e);
+    }
+
+    outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+  }
+}
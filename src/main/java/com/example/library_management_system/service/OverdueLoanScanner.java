@@ -0,0 +1,111 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Writes a LoanOverdue outbox event for each loan that has passed its due date, so consumers such
+// as the loan event stream hear about it without polling. Each batch claims its loans with a
+// conditional update in the same transaction as the events; if another node claimed any of them
+// first, the batch is marked rollback-only and the rest are picked up on the next run.
+@Service
+public class OverdueLoanScanner {
+
+  private static final Logger log = LoggerFactory.getLogger(OverdueLoanScanner.class);
+  private static final int CLAIM_CONFLICT = -1;
+
+  private final LoanRepository loanRepository;
+  private final OutboxService outboxService;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public OverdueLoanScanner(LoanRepository loanRepository,
+                            OutboxService outboxService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.loans.overdue-scan.enabled:true}") boolean enabled,
+                            @Value("${app.loans.overdue-scan.batch-size:500}") int batchSize) {
+    this.loanRepository = loanRepository;
+    this.outboxService = outboxService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${app.loans.overdue-scan.interval:PT1M}")
+  public void scanScheduled() {
+    if (enabled) {
+      scan();
+    }
+  }
+
+  public int scan() {
+    if (!running.compareAndSet(false, true)) {
+      return 0;
+    }
+
+    try {
+      LocalDateTime now = LocalDateTime.now();
+      int total = 0;
+      int claimed;
+      do {
+        claimed = transactionTemplate.execute(status -> claimBatch(status, now));
+        if (claimed == CLAIM_CONFLICT) {
+          log.info("Overdue scan stopped early: loans claimed concurrently, retrying on the next run");
+          break;
+        }
+        total += claimed;
+      } while (claimed == batchSize);
+
+      if (total > 0) {
+        log.info("Published overdue events for {} loan(s)", total);
+      }
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private int claimBatch(TransactionStatus status, LocalDateTime now) {
+    List<Loan> loans = loanRepository.findNewlyOverdue(now, Limit.of(batchSize));
+    if (loans.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> ids = loans.stream().map(Loan::getId).collect(Collectors.toList());
+    if (loanRepository.markOverdueNotified(ids) != ids.size()) {
+      status.setRollbackOnly();
+      return CLAIM_CONFLICT;
+    }
+    for (Loan loan : loans) {
+      outboxService.append(OutboxService.LOAN, loan.getId(), "LoanOverdue", overduePayload(loan));
+    }
+    return loans.size();
+  }
+
+  private static Map<String, Object> overduePayload(Loan loan) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("loanId", loan.getId());
+    payload.put("memberId", loan.getMember().getId());
+    payload.put("bookId", loan.getBook().getId());
+    payload.put("dueDate", loan.getDueDate());
+    return payload;
+  }
+}
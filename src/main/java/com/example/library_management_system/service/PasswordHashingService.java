@@ -0,0 +1,133 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.ServiceUnavailableException;
+import com.example.library_management_system.security.CalibratedPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs BCrypt hashing and matching on a small dedicated pool instead of the request thread, so a
+// burst of logins can use at most app.auth.hashing.threads cores and cannot starve the rest of
+// the API. Work beyond app.auth.hashing.queue-capacity is rejected at once with a 503 rather than
+// left to pile up behind the pool.
+@Service
+public class PasswordHashingService {
+
+  private static final long RETRY_AFTER_SECONDS = 1;
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final Duration waitTimeout;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejectedCounter;
+  private final Counter rehashedCounter;
+
+  public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.auth.hashing.threads:0}") int threads,
+                                @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                @Value("${app.auth.hashing.wait-timeout:5s}") Duration waitTimeout) {
+    this.passwordEncoder = passwordEncoder;
+    this.waitTimeout = waitTimeout;
+
+    // 0 means one thread per available core
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    this.encodeTimer = Timer.builder("library.auth.hashing")
+            .description("Time spent hashing or matching a password")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+    this.matchesTimer = Timer.builder("library.auth.hashing")
+            .description("Time spent hashing or matching a password")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("library.auth.hashing.rejected")
+            .description("Password hashing requests rejected because the queue was full")
+            .register(meterRegistry);
+    this.rehashedCounter = Counter.builder("library.auth.hashing.rehashed")
+            .description("Stored password hashes replaced because their cost was below the floor")
+            .register(meterRegistry);
+    meterRegistry.gauge("library.auth.hashing.queue", executor, e -> e.getQueue().size());
+    meterRegistry.gauge("library.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+    if (passwordEncoder instanceof CalibratedPasswordEncoder calibrated) {
+      Gauge.builder("library.auth.bcrypt.strength", calibrated, CalibratedPasswordEncoder::getStrength)
+              .description("BCrypt cost chosen at startup")
+              .register(meterRegistry);
+      TimeGauge.builder("library.auth.bcrypt.hash.time", calibrated, TimeUnit.NANOSECONDS,
+                      encoder -> encoder.getHashTime().toNanos())
+              .description("Time one hash took at the chosen cost during startup calibration")
+              .register(meterRegistry);
+    }
+  }
+
+  public String encode(CharSequence rawPassword) {
+    return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+  }
+
+  public boolean matches(CharSequence rawPassword, String hashedPassword) {
+    return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, hashedPassword));
+  }
+
+  // True when the stored hash was made with a different cost than the encoder now uses
+  public boolean needsRehash(String hashedPassword) {
+    return passwordEncoder.upgradeEncoding(hashedPassword);
+  }
+
+  public String rehash(CharSequence rawPassword) {
+    String hashed = encode(rawPassword);
+    rehashedCounter.increment();
+    return hashed;
+  }
+
+  private <T> T run(Timer timer, Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.recordCallable(task));
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new ServiceUnavailableException("Too many sign-in requests, please retry shortly", RETRY_AFTER_SECONDS);
+    }
+
+    try {
+      return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new ServiceUnavailableException("Too many sign-in requests, please retry shortly", RETRY_AFTER_SECONDS);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while hashing password", RETRY_AFTER_SECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
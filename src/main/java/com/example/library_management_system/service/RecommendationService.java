@@ -0,0 +1,259 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.ArchivedLoanRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+// "Members who borrowed this also borrowed". The co-borrow matrix is rebuilt from loan and
+// loan_archive on a schedule, with pair counting split across a fork/join pool, and kept current
+// in between by applying committed borrows from a queue. Rebuild and apply never run together:
+// borrows that arrive during a rebuild wait in the queue and are applied to the new matrix,
+// skipping those the rebuild already read. Loan ids are assigned at insert rather than at commit,
+// so "already read" cannot be decided from the highest id. Instead every borrow is marked as
+// unapplied just before its transaction commits, and the rebuild remembers which of the rows it
+// read were marked: a borrow it could have seen was committed, and so marked, before its page was
+// read. Only those ids are kept, so the memory is bounded by the queue, not by the loan table.
+@Service
+public class RecommendationService {
+
+  private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+  // Queued borrows whose members' history is loaded with one pair of queries
+  static final int APPLY_BATCH_SIZE = 500;
+
+  private final LoanRepository loanRepository;
+  private final ArchivedLoanRepository archivedLoanRepository;
+  private final boolean enabled;
+  private final int topK;
+  private final int maxBooksPerMember;
+  private final int pageSize;
+  private final int parallelism;
+
+  private final Queue<Borrow> pending = new ConcurrentLinkedQueue<>();
+  // Loan ids of borrows about to commit or committed but not yet taken off the queue
+  private final Set<Long> unapplied = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile CoBorrowMatrix matrix;
+  // Unapplied loan ids the current matrix was built from; guarded by lock
+  private Set<Long> readByRebuild = new HashSet<>();
+
+  public RecommendationService(LoanRepository loanRepository,
+                               ArchivedLoanRepository archivedLoanRepository,
+                               @Value("${app.recommendations.enabled:true}") boolean enabled,
+                               @Value("${app.recommendations.top-k:20}") int topK,
+                               @Value("${app.recommendations.max-books-per-member:200}") int maxBooksPerMember,
+                               @Value("${app.recommendations.page-size:10000}") int pageSize,
+                               @Value("${app.recommendations.parallelism:0}") int parallelism) {
+    this.loanRepository = loanRepository;
+    this.archivedLoanRepository = archivedLoanRepository;
+    this.enabled = enabled;
+    this.topK = topK;
+    this.maxBooksPerMember = maxBooksPerMember;
+    this.pageSize = pageSize;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.matrix = new CoBorrowMatrix(topK);
+  }
+
+  // Neighbors of bookId, best first; empty until the first rebuild has finished
+  CoBorrowMatrix.Row getNeighbors(Long bookId) {
+    return matrix.row(bookId);
+  }
+
+  void recordBorrow(Long loanId, Long memberId, Long bookId) {
+    if (!enabled) {
+      return;
+    }
+    Borrow borrow = new Borrow(loanId, memberId, bookId);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      unapplied.add(loanId);
+      pending.add(borrow);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        unapplied.add(loanId);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          pending.add(borrow);
+        } else {
+          unapplied.remove(loanId);
+        }
+      }
+    });
+  }
+
+  // Built off the startup thread so a large history does not delay readiness
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (enabled) {
+      Thread.ofVirtual().name("recommendations-rebuild").start(this::rebuild);
+    }
+  }
+
+  @Scheduled(cron = "${app.recommendations.rebuild-cron:0 0 3 * * *}")
+  public void rebuildScheduled() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  public void rebuild() {
+    lock.lock();
+    try {
+      long start = System.nanoTime();
+      LongList memberBooks = new LongList();
+      Set<Long> read = new HashSet<>();
+      scan(loanRepository::findCoBorrowPage, memberBooks, read);
+      scan(archivedLoanRepository::findCoBorrowPage, memberBooks, null);
+
+      try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+        matrix = CoBorrowMatrix.build(memberBooks.toArray(), topK, maxBooksPerMember, pool);
+      }
+      readByRebuild = read;
+      log.info("Rebuilt co-borrow matrix for {} books from {} loans in {} ms",
+              matrix.size(), memberBooks.size(), (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException e) {
+      log.warn("Co-borrow matrix rebuild failed, keeping the previous one", e);
+    } finally {
+      lock.unlock();
+    }
+    applyPending();
+  }
+
+  @Scheduled(fixedDelayString = "${app.recommendations.apply-interval:PT5S}")
+  public void applyPending() {
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      List<Borrow> batch;
+      while (!(batch = peekBatch()).isEmpty()) {
+        applyBatch(batch);
+        for (Borrow borrow : batch) {
+          pending.poll();
+          unapplied.remove(borrow.loanId());
+          readByRebuild.remove(borrow.loanId());
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Could not apply borrows to the co-borrow matrix, will retry: {}", e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // The head of the queue, left in place until the batch has been applied
+  private List<Borrow> peekBatch() {
+    List<Borrow> batch = new ArrayList<>();
+    Iterator<Borrow> it = pending.iterator();
+    while (it.hasNext() && batch.size() < APPLY_BATCH_SIZE) {
+      batch.add(it.next());
+    }
+    return batch;
+  }
+
+  // Loads the history of every member in the batch up front, then applies the borrows in queue
+  // order. Counts distinct members, so a book the member has borrowed before adds nothing.
+  private void applyBatch(List<Borrow> batch) {
+    List<Borrow> borrows = batch.stream().filter(b -> !readByRebuild.contains(b.loanId())).toList();
+    if (borrows.isEmpty()) {
+      return;
+    }
+
+    Set<Long> memberIds = new HashSet<>();
+    borrows.forEach(b -> memberIds.add(b.memberId()));
+    Map<Long, List<long[]>> loansByMember = new HashMap<>();
+    for (Object[] row : loanRepository.findMemberBookLoans(memberIds)) {
+      loansByMember.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+              .add(new long[]{(Long) row[1], (Long) row[2]});
+    }
+    Map<Long, Set<Long>> archivedByMember = new HashMap<>();
+    for (Object[] row : archivedLoanRepository.findMemberBookIds(memberIds)) {
+      archivedByMember.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((Long) row[1]);
+    }
+
+    for (Borrow borrow : borrows) {
+      Set<Long> earlier = new HashSet<>(archivedByMember.getOrDefault(borrow.memberId(), Set.of()));
+      for (long[] loan : loansByMember.getOrDefault(borrow.memberId(), List.of())) {
+        if (loan[1] < borrow.loanId()) {
+          earlier.add(loan[0]);
+        }
+      }
+      if (earlier.contains(borrow.bookId()) || earlier.size() + 1 > maxBooksPerMember) {
+        continue;
+      }
+      matrix.recordBorrow(borrow.bookId(), earlier.stream().mapToLong(Long::longValue).toArray());
+    }
+  }
+
+  // Appends pack(memberId, bookId) for every row and, when read is given, the ids of rows whose
+  // borrow is still unapplied
+  private void scan(BiFunction<Long, Limit, List<Object[]>> page, LongList memberBooks, Set<Long> read) {
+    long afterId = 0;
+    List<Object[]> rows;
+    do {
+      rows = page.apply(afterId, Limit.of(pageSize));
+      for (Object[] row : rows) {
+        memberBooks.add(CoBorrowMatrix.pack((Long) row[1], (Long) row[2]));
+        if (read != null && unapplied.contains((Long) row[0])) {
+          read.add((Long) row[0]);
+        }
+      }
+      if (!rows.isEmpty()) {
+        afterId = (Long) rows.get(rows.size() - 1)[0];
+      }
+    } while (rows.size() == pageSize);
+  }
+
+  private record Borrow(long loanId, long memberId, long bookId) {
+  }
+
+  private static final class LongList {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int size() {
+      return size;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.UnauthorizedException;
+import com.example.library_management_system.model.RefreshToken;
+import com.example.library_management_system.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Issues and rotates opaque refresh tokens, so an expired access token is renewed without the
+// password and therefore without BCrypt. A token is 256 random bits, which makes a plain SHA-256
+// a safe thing to store and look up. Each exchange marks the presented token used and issues its
+// successor; presenting a used token again means it leaked, so its whole family is dropped and
+// both the attacker and the legitimate client have to log in again.
+@Service
+public class RefreshTokenService {
+
+  private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+  private static final int TOKEN_BYTES = 32;
+  private static final String INVALID = "Invalid or expired refresh token";
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration lifetime;
+  private final SecureRandom random = new SecureRandom();
+  private final Counter rotatedCounter;
+  private final Counter reusedCounter;
+  private final Counter rejectedCounter;
+
+  public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.auth.refresh.lifetime:14d}") Duration lifetime) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.lifetime = lifetime;
+
+    this.rotatedCounter = Counter.builder("library.auth.refresh")
+            .description("Refresh token exchanges, by outcome")
+            .tag("result", "rotated")
+            .register(meterRegistry);
+    this.reusedCounter = Counter.builder("library.auth.refresh")
+            .description("Refresh token exchanges, by outcome")
+            .tag("result", "reused")
+            .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("library.auth.refresh")
+            .description("Refresh token exchanges, by outcome")
+            .tag("result", "rejected")
+            .register(meterRegistry);
+  }
+
+  // Starts a new family, one per login
+  public String issue(Long userId) {
+    String token = newToken();
+    LocalDateTime now = LocalDateTime.now();
+    refreshTokenRepository.save(new RefreshToken(hash(token), UUID.randomUUID().toString(), userId,
+            now, now.plus(lifetime)));
+    return token;
+  }
+
+  // Exchanges a refresh token for its successor. Throws UnauthorizedException when the token is
+  // unknown, expired or already used.
+  public Rotation rotate(String token) {
+    Rotation rotation = transactionTemplate.execute(status -> {
+      RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token)).orElse(null);
+      LocalDateTime now = LocalDateTime.now();
+      if (current == null || !current.getExpiresAt().isAfter(now)) {
+        return null;
+      }
+      if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+        int dropped = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+        log.warn("Refresh token reused for user {}, revoked {} token(s) in family {}",
+                current.getUserId(), dropped, current.getFamilyId());
+        return new Rotation(current.getUserId(), null);
+      }
+
+      String next = newToken();
+      refreshTokenRepository.save(new RefreshToken(hash(next), current.getFamilyId(), current.getUserId(),
+              now, now.plus(lifetime)));
+      return new Rotation(current.getUserId(), next);
+    });
+
+    if (rotation == null) {
+      rejectedCounter.increment();
+      throw new UnauthorizedException(INVALID);
+    }
+    if (rotation.refreshToken() == null) {
+      reusedCounter.increment();
+      throw new UnauthorizedException(INVALID);
+    }
+    rotatedCounter.increment();
+    return rotation;
+  }
+
+  // Used on logout: drops the token's family, so neither it nor a successor can be exchanged again.
+  // An unknown token is ignored.
+  public void revoke(String token) {
+    transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.findByTokenHash(hash(token))
+            .ifPresent(current -> refreshTokenRepository.deleteByFamilyId(current.getFamilyId())));
+  }
+
+  // Used when the password changes or the user is deleted
+  public void revokeUser(Long userId) {
+    transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.deleteByUserId(userId));
+  }
+
+  @Scheduled(cron = "${app.auth.refresh.prune-cron:0 45 * * * *}")
+  public void prune() {
+    Integer deleted = transactionTemplate.execute(status ->
+            refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+    if (deleted != null && deleted > 0) {
+      log.info("Pruned {} expired refresh token(s)", deleted);
+    }
+  }
+
+  private String newToken() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  public record Rotation(Long userId, String refreshToken) {
+  }
+}
@@ -0,0 +1,189 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.ReminderMessage;
+import com.example.library_management_system.event.ReminderNotifier;
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.model.ReminderCheckpoint;
+import com.example.library_management_system.model.ReminderType;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.ReminderCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Daily "due tomorrow" and "overdue" reminders. Candidate loans are walked in chunks of members by
+// keyset, grouped into one message per member and handed to the notifier on virtual threads with
+// at most app.reminders.max-concurrency sends in flight. The checkpoint is saved after every chunk,
+// so a restarted run resumes after the last finished chunk instead of starting over.
+@Service
+public class ReminderService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+  private static final LocalDateTime MIN_DUE_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+  private final LoanRepository loanRepository;
+  private final ReminderCheckpointRepository checkpointRepository;
+  private final ReminderNotifier notifier;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final int chunkSize;
+  private final Semaphore permits;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public ReminderService(LoanRepository loanRepository,
+                         ReminderCheckpointRepository checkpointRepository,
+                         ReminderNotifier notifier,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.reminders.enabled:true}") boolean enabled,
+                         @Value("${app.reminders.chunk-size:500}") int chunkSize,
+                         @Value("${app.reminders.max-concurrency:16}") int maxConcurrency) {
+    this.loanRepository = loanRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.notifier = notifier;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.chunkSize = chunkSize;
+    this.permits = new Semaphore(maxConcurrency);
+  }
+
+  @Scheduled(cron = "${app.reminders.cron:0 0 8 * * *}")
+  public void sendScheduled() {
+    if (enabled) {
+      sendReminders(LocalDate.now());
+    }
+  }
+
+  public long sendReminders(LocalDate runDate) {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Reminder run already in progress, skipping");
+      return 0;
+    }
+
+    try {
+      long sent = 0;
+      for (ReminderType type : ReminderType.values()) {
+        sent += sendReminders(type, runDate);
+      }
+      return sent;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // Returns the number of members reminded by this call, not counting earlier partial runs
+  long sendReminders(ReminderType type, LocalDate runDate) {
+    ReminderCheckpoint checkpoint = checkpointRepository.findById(ReminderCheckpoint.key(type, runDate))
+            .orElseGet(() -> new ReminderCheckpoint(type, runDate));
+    if (checkpoint.getCompletedAt() != null) {
+      log.debug("{} reminders for {} already sent", type, runDate);
+      return 0;
+    }
+    if (checkpoint.getLastMemberId() > 0) {
+      log.info("Resuming {} reminders for {} after member {}", type, runDate, checkpoint.getLastMemberId());
+    }
+
+    // Windows are fixed by the run date, so a resumed run sees the same candidate set
+    LocalDateTime startOfDay = runDate.atStartOfDay();
+    LocalDateTime from = type == ReminderType.DUE_SOON ? startOfDay.plusDays(1) : MIN_DUE_DATE;
+    LocalDateTime to = type == ReminderType.DUE_SOON ? startOfDay.plusDays(2) : startOfDay;
+
+    long sentBefore = checkpoint.getSent();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while (true) {
+        List<Long> memberIds = loanRepository.findReminderMemberIds(
+                from, to, checkpoint.getLastMemberId(), Limit.of(chunkSize));
+        if (memberIds.isEmpty()) {
+          break;
+        }
+
+        List<ReminderMessage> messages = group(type, loanRepository.findReminderLoans(memberIds, from, to));
+        int failed = deliver(executor, messages);
+
+        checkpoint.setLastMemberId(memberIds.get(memberIds.size() - 1));
+        checkpoint.setSent(checkpoint.getSent() + messages.size() - failed);
+        checkpoint.setFailed(checkpoint.getFailed() + failed);
+        checkpoint = checkpointRepository.save(checkpoint);
+
+        if (memberIds.size() < chunkSize) {
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("{} reminders for {} interrupted after member {}", type, runDate, checkpoint.getLastMemberId());
+      return checkpoint.getSent() - sentBefore;
+    }
+
+    checkpoint.setCompletedAt(LocalDateTime.now());
+    checkpoint = checkpointRepository.save(checkpoint);
+    log.info("{} reminders for {}: {} sent, {} failed", type, runDate, checkpoint.getSent(), checkpoint.getFailed());
+    return checkpoint.getSent() - sentBefore;
+  }
+
+  // Loans arrive ordered by member, so each member's loans are adjacent
+  private static List<ReminderMessage> group(ReminderType type, List<Loan> loans) {
+    List<ReminderMessage> messages = new ArrayList<>();
+    List<ReminderMessage.Item> items = null;
+    Member current = null;
+
+    for (Loan loan : loans) {
+      if (current == null || !current.getId().equals(loan.getMember().getId())) {
+        current = loan.getMember();
+        items = new ArrayList<>();
+        messages.add(new ReminderMessage(type, current.getId(), current.getName(), current.getEmail(), items));
+      }
+      items.add(new ReminderMessage.Item(loan.getId(), loan.getBook().getTitle(), loan.getDueDate()));
+    }
+    return messages;
+  }
+
+  // Sends one chunk and waits for it; a failed send is counted and logged but not retried
+  private int deliver(ExecutorService executor, List<ReminderMessage> messages) throws InterruptedException {
+    AtomicInteger failed = new AtomicInteger();
+    List<Future<?>> pending = new ArrayList<>(messages.size());
+
+    for (ReminderMessage message : messages) {
+      // Blocks the producer once max-concurrency sends are in flight
+      permits.acquire();
+      pending.add(executor.submit(() -> {
+        try {
+          notifier.send(message);
+          meterRegistry.counter("library.reminders.sent", "type", message.getType().name()).increment();
+        } catch (Exception e) {
+          failed.incrementAndGet();
+          meterRegistry.counter("library.reminders.failed", "type", message.getType().name()).increment();
+          log.warn("{} reminder to member {} failed", message.getType(), message.getMemberId(), e);
+        } finally {
+          permits.release();
+        }
+      }));
+    }
+
+    for (Future<?> future : pending) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Reminder delivery failed", e.getCause());
+      }
+    }
+    return failed.get();
+  }
+}
@@ -0,0 +1,264 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.report.ReportJobResponseDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.mapper.LoanMapper;
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.model.ReportStatus;
+import com.example.library_management_system.model.ReportType;
+import com.example.library_management_system.repository.LoanRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Large loan reports run as background jobs instead of on the request thread. Each job runs on a
+// virtual thread, waits for one of app.reports.max-concurrent-per-type permits for its report type
+// and streams keyset pages of loans as gzipped NDJSON to a file under app.reports.dir. A page is
+// read in its own short query, so a job only holds a connection while a page is being fetched.
+// Job state lives in memory: results are local files, so status is only meaningful on this node.
+@Service
+public class ReportService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+  private static final LocalDateTime MAX_DUE_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+  private static final String RESULT_SUFFIX = ".ndjson.gz";
+
+  private final LoanRepository loanRepository;
+  private final LoanMapper loanMapper;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final Path directory;
+  private final int pageSize;
+  private final Duration retention;
+
+  private final Map<ReportType, Semaphore> permits = new EnumMap<>(ReportType.class);
+  private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public ReportService(LoanRepository loanRepository,
+                       LoanMapper loanMapper,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.reports.dir:reports}") String directory,
+                       @Value("${app.reports.page-size:1000}") int pageSize,
+                       @Value("${app.reports.max-concurrent-per-type:2}") int maxConcurrentPerType,
+                       @Value("${app.reports.retention:24h}") Duration retention) {
+    this.loanRepository = loanRepository;
+    this.loanMapper = loanMapper;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.directory = Paths.get(directory);
+    this.pageSize = pageSize;
+    this.retention = retention;
+    for (ReportType type : ReportType.values()) {
+      permits.put(type, new Semaphore(maxConcurrentPerType));
+    }
+  }
+
+  public ReportJobResponseDTO submit(String type) {
+    ReportJob job = new ReportJob(UUID.randomUUID().toString(), parseType(type), LocalDateTime.now());
+    jobs.put(job.id, job);
+    executor.execute(() -> run(job));
+    return toResponseDTO(job);
+  }
+
+  public ReportJobResponseDTO getJob(String id) {
+    return toResponseDTO(findJob(id));
+  }
+
+  public Path getResultFile(String id) {
+    ReportJob job = findJob(id);
+    if (job.status != ReportStatus.DONE) {
+      throw new BadRequestException("Report " + id + " is not ready: " + job.status);
+    }
+    return resultFile(id);
+  }
+
+  // Drops finished jobs past the retention window, and any result file left behind by a restart
+  @Scheduled(cron = "${app.reports.purge-cron:0 45 * * * *}")
+  public void purgeExpired() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    for (ReportJob job : jobs.values()) {
+      if (job.completedAt != null && !job.completedAt.isAfter(cutoff)) {
+        jobs.remove(job.id);
+        deleteQuietly(resultFile(job.id));
+      }
+    }
+
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    long cutoffMillis = System.currentTimeMillis() - retention.toMillis();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.filter(file -> !jobs.containsKey(jobId(file)))
+              .filter(file -> lastModifiedMillis(file) <= cutoffMillis)
+              .forEach(ReportService::deleteQuietly);
+    } catch (IOException e) {
+      log.warn("Failed to list report directory {}", directory, e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void run(ReportJob job) {
+    Semaphore semaphore = permits.get(job.type);
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.fail("Interrupted before start");
+      return;
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Path part = directory.resolve(job.id + RESULT_SUFFIX + ".part");
+    try {
+      job.status = ReportStatus.RUNNING;
+      Files.createDirectories(directory);
+      long rows = write(job, part);
+      Files.move(part, resultFile(job.id), StandardCopyOption.REPLACE_EXISTING);
+      job.complete(rows);
+      log.info("Report {} ({}) finished with {} rows", job.id, job.type, rows);
+    } catch (Exception e) {
+      log.warn("Report {} ({}) failed", job.id, job.type, e);
+      deleteQuietly(part);
+      job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    } finally {
+      semaphore.release();
+      sample.stop(meterRegistry.timer("library.reports",
+              "type", job.type.name(), "status", job.status.name()));
+    }
+  }
+
+  private long write(ReportJob job, Path file) throws IOException {
+    // The overdue cutoff is fixed at submit time so the result matches when it was asked for
+    LocalDateTime dueBefore = job.type == ReportType.OVERDUE_LOANS ? job.createdAt : MAX_DUE_DATE;
+
+    long rows = 0;
+    long afterId = 0;
+    try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      List<Loan> page;
+      do {
+        page = loanRepository.findOpenLoanPage(afterId, dueBefore, Limit.of(pageSize));
+        for (Loan loan : page) {
+          out.write(objectMapper.writeValueAsBytes(loanMapper.toResponseDTO(loan)));
+          out.write('\n');
+        }
+        rows += page.size();
+        if (!page.isEmpty()) {
+          afterId = page.get(page.size() - 1).getId();
+        }
+      } while (page.size() == pageSize);
+    }
+    return rows;
+  }
+
+  private ReportJob findJob(String id) {
+    ReportJob job = jobs.get(id);
+    if (job == null) {
+      throw new ResourceNotFoundException("Report not found with id: " + id);
+    }
+    return job;
+  }
+
+  private Path resultFile(String id) {
+    return directory.resolve(id + RESULT_SUFFIX);
+  }
+
+  private static String jobId(Path file) {
+    String name = file.getFileName().toString();
+    int dot = name.indexOf('.');
+    return dot < 0 ? name : name.substring(0, dot);
+  }
+
+  private static long lastModifiedMillis(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete report file {}", file, e);
+    }
+  }
+
+  // Path segments use the lower-case, dashed form: /api/reports/overdue-loans
+  private static ReportType parseType(String type) {
+    try {
+      return ReportType.valueOf(type.replace('-', '_').toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid report type: " + type);
+    }
+  }
+
+  private static ReportJobResponseDTO toResponseDTO(ReportJob job) {
+    return new ReportJobResponseDTO(job.id, job.type.name().toLowerCase().replace('_', '-'),
+            job.status.name(), job.createdAt, job.completedAt, job.rowCount, job.error);
+  }
+
+  private static final class ReportJob {
+
+    private final String id;
+    private final ReportType type;
+    private final LocalDateTime createdAt;
+    private volatile ReportStatus status = ReportStatus.QUEUED;
+    private volatile LocalDateTime completedAt;
+    private volatile Long rowCount;
+    private volatile String error;
+
+    private ReportJob(String id, ReportType type, LocalDateTime createdAt) {
+      this.id = id;
+      this.type = type;
+      this.createdAt = createdAt;
+    }
+
+    // completedAt is written last so purge never sees a finished job without its outcome
+    private void complete(long rows) {
+      rowCount = rows;
+      status = ReportStatus.DONE;
+      completedAt = LocalDateTime.now();
+    }
+
+    private void fail(String message) {
+      error = message;
+      status = ReportStatus.FAILED;
+      completedAt = LocalDateTime.now();
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.RevokedToken;
+import com.example.library_management_system.repository.RevokedTokenRepository;
+import com.example.library_management_system.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Revokes issued JWTs, either one token by its jti or every token a user holds. Revocations live in
+// revoked_token; every node keeps a Bloom filter of their keys, so the check on each request is a
+// few bit tests and only tokens the filter flags (revoked, or the odd false positive) cost a
+// database lookup. Every app.auth.revocation.refresh-interval nodes re-read the rows revoked since
+// their previous refresh, minus app.auth.revocation.refresh-overlap: ids are assigned at insert, so
+// following them by id would miss a row that committed after one with a higher id. Rows are pruned
+// once every token they could match has expired, and the filter is rebuilt on every prune run.
+// The same feed drops users revoked elsewhere from this node's UserCredentialsCache, so a deleted
+// user or an old password stops working here within one refresh instead of the cache's expiry.
+@Service
+public class TokenRevocationService {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+  private static final String JTI = "jti:";
+  private static final String USER = "user:";
+  private static final int PAGE_SIZE = 1000;
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final UserCredentialsCache userCredentialsCache;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int expectedEntries;
+  private final double falsePositiveRate;
+  private final Duration tokenLifetime;
+  private final Duration refreshOverlap;
+  private final Counter filterPassed;
+  private final Counter lookups;
+
+  // Answers for keys the filter flagged, so a revoked token retried in a loop does not hit the
+  // database each time. Entries for keys that appear in new rows are dropped by refresh().
+  private final Cache<String, Optional<LocalDateTime>> confirmed;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  // Null until the first build, during which every check goes to the database
+  private volatile BloomFilter filter;
+  private volatile LocalDateTime lastRefreshAt;
+
+  public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                UserCredentialsCache userCredentialsCache,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.auth.revocation.enabled:true}") boolean enabled,
+                                @Value("${app.auth.revocation.expected-entries:100000}") int expectedEntries,
+                                @Value("${app.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${app.auth.revocation.refresh-interval:PT5S}") Duration refreshInterval,
+                                @Value("${app.auth.revocation.refresh-overlap:PT1M}") Duration refreshOverlap,
+                                @Value("${app.jwt.expiration}") long tokenLifetimeMillis) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.userCredentialsCache = userCredentialsCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.expectedEntries = expectedEntries;
+    this.falsePositiveRate = falsePositiveRate;
+    this.tokenLifetime = Duration.ofMillis(tokenLifetimeMillis);
+    this.refreshOverlap = refreshOverlap;
+    this.confirmed = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(refreshInterval)
+            .build();
+
+    this.filterPassed = Counter.builder("library.auth.revocation.checks")
+            .description("Revocation checks, by whether the Bloom filter alone answered them")
+            .tag("result", "filter")
+            .register(meterRegistry);
+    this.lookups = Counter.builder("library.auth.revocation.checks")
+            .description("Revocation checks, by whether the Bloom filter alone answered them")
+            .tag("result", "lookup")
+            .register(meterRegistry);
+  }
+
+  public boolean isRevoked(VerifiedToken token) {
+    if (!enabled) {
+      return false;
+    }
+
+    BloomFilter current = filter;
+    String userKey = USER + token.username();
+    String jtiKey = token.id() == null ? null : JTI + token.id();
+    boolean userFlagged = current == null || current.mightContain(userKey);
+    boolean jtiFlagged = jtiKey != null && (current == null || current.mightContain(jtiKey));
+    if (!userFlagged && !jtiFlagged) {
+      filterPassed.increment();
+      return false;
+    }
+
+    lookups.increment();
+    if (jtiFlagged && latestRevokedAt(jtiKey).isPresent()) {
+      return true;
+    }
+    if (userFlagged) {
+      Optional<LocalDateTime> revokedAt = latestRevokedAt(userKey);
+      // iat has whole-second precision, so a token from the second of the revocation is kept
+      return revokedAt.isPresent() && token.issuedAt() != null
+              && token.issuedAt().isBefore(toInstant(revokedAt.get()).truncatedTo(ChronoUnit.SECONDS));
+    }
+    return false;
+  }
+
+  // Just this token, on logout; kept until the token would have expired anyway
+  public void revokeToken(VerifiedToken token) {
+    LocalDateTime expiresAt = LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault());
+    revoke(JTI + token.id(), expiresAt);
+  }
+
+  // Every token issued to the user up to now; later logins are unaffected
+  public void revokeUserTokens(String username) {
+    revoke(USER + username, LocalDateTime.now().plus(tokenLifetime));
+  }
+
+  private void revoke(String key, LocalDateTime expiresAt) {
+    revokedTokenRepository.save(new RevokedToken(key, LocalDateTime.now(), expiresAt));
+    TransactionHooks.afterCommit(() -> {
+      BloomFilter current = filter;
+      if (current != null) {
+        current.put(key);
+      }
+      confirmed.invalidate(key);
+    });
+  }
+
+  private Optional<LocalDateTime> latestRevokedAt(String key) {
+    return confirmed.get(key, k ->
+            Optional.ofNullable(revokedTokenRepository.findLatestRevokedAt(k, LocalDateTime.now())));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    refreshLock.lock();
+    try {
+      LocalDateTime started = LocalDateTime.now();
+      BloomFilter rebuilt = BloomFilter.create(expectedEntries, falsePositiveRate);
+      long afterId = 0;
+      int count = 0;
+      List<RevokedToken> page;
+      do {
+        page = revokedTokenRepository.findAfter(afterId, Limit.of(PAGE_SIZE));
+        for (RevokedToken revoked : page) {
+          rebuilt.put(revoked.getTokenKey());
+          afterId = revoked.getId();
+        }
+        count += page.size();
+      } while (page.size() == PAGE_SIZE);
+
+      lastRefreshAt = started;
+      filter = rebuilt;
+      confirmed.invalidateAll();
+      log.info("Revocation filter built from {} entries ({} bits, {} hashes)",
+              count, rebuilt.bitCount(), rebuilt.hashCount());
+    } catch (RuntimeException e) {
+      log.warn("Revocation filter rebuild failed, keeping the previous one", e);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  // Picks up revocations written by other nodes. Rows already seen are read again while they are
+  // inside the overlap; adding a key to the filter twice is harmless.
+  @Scheduled(fixedDelayString = "${app.auth.revocation.refresh-interval:PT5S}")
+  public void refresh() {
+    BloomFilter current = filter;
+    if (!enabled || current == null || !refreshLock.tryLock()) {
+      return;
+    }
+    try {
+      LocalDateTime started = LocalDateTime.now();
+      LocalDateTime since = lastRefreshAt.minus(refreshOverlap);
+      long afterId = 0;
+      List<RevokedToken> page;
+      do {
+        page = revokedTokenRepository.findRevokedSince(since, afterId, Limit.of(PAGE_SIZE));
+        for (RevokedToken revoked : page) {
+          String key = revoked.getTokenKey();
+          current.put(key);
+          confirmed.invalidate(key);
+          if (key.startsWith(USER)) {
+            userCredentialsCache.invalidate(key.substring(USER.length()));
+          }
+          afterId = revoked.getId();
+        }
+      } while (page.size() == PAGE_SIZE);
+      lastRefreshAt = started;
+    } catch (RuntimeException e) {
+      log.warn("Revocation refresh failed: {}", e.getMessage());
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  // A Bloom filter cannot forget keys, so pruning is followed by a rebuild from what is left. The
+  // rebuild runs even when nothing was pruned, as a backstop for a row that committed later than
+  // the refresh overlap allows for.
+  @Scheduled(cron = "${app.auth.revocation.prune-cron:0 15 * * * *}")
+  public void prune() {
+    if (!enabled) {
+      return;
+    }
+    Integer deleted = transactionTemplate.execute(status ->
+            revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+    if (deleted != null && deleted > 0) {
+      log.info("Pruned {} expired revocation(s)", deleted);
+    }
+    rebuild();
+  }
+
+  private static Instant toInstant(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.library_management_system.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers in-memory bookkeeping until the surrounding transaction commits, so a rollback never
+// leaves a cache or counter ahead of the database
+final class TransactionHooks {
+
+  private TransactionHooks() {
+  }
+
+  // Runs the action at once when no transaction is active
+  static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
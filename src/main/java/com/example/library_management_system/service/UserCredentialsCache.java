@@ -0,0 +1,77 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.Role;
+import com.example.library_management_system.model.User;
+import com.example.library_management_system.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+// Case-insensitive username lookups for login, registration and user updates, answered from a
+// bounded cache of immutable credential snapshots. UserService invalidates a name whenever it
+// changes the user; other nodes see the change within app.auth.user-cache.expire-after-write.
+// Unknown usernames are not cached, so a name registered elsewhere is found at once.
+@Service
+public class UserCredentialsCache {
+
+  public record Credentials(Long id, String username, String hashedPassword, Role role) {
+
+    static Credentials of(User user) {
+      return new Credentials(user.getId(), user.getUsername(), user.getHashedPassword(), user.getRole());
+    }
+  }
+
+  private final UserRepository userRepository;
+  private final boolean enabled;
+  private final Cache<String, Credentials> cache;
+
+  public UserCredentialsCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.auth.user-cache.enabled:true}") boolean enabled,
+                              @Value("${app.auth.user-cache.max-size:10000}") long maxSize,
+                              @Value("${app.auth.user-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+    this.userRepository = userRepository;
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+
+    if (enabled) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+  }
+
+  public Optional<Credentials> find(String username) {
+    if (username == null) {
+      return Optional.empty();
+    }
+    if (!enabled) {
+      return load(username);
+    }
+    // A null from the loader is returned without being cached
+    return Optional.ofNullable(cache.get(key(username), key -> load(key).orElse(null)));
+  }
+
+  public void invalidate(String username) {
+    if (username != null) {
+      cache.invalidate(key(username));
+    }
+  }
+
+  private Optional<Credentials> load(String username) {
+    return userRepository.findByUsernameIgnoreCase(username).map(Credentials::of);
+  }
+
+  private static String key(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+}
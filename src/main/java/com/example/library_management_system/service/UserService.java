@@ -1,34 +1,66 @@
 package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.user.PasswordChangeRequestDTO;
+import com.example.library_management_system.dto.user.UserPageResponseDTO;
 import com.example.library_management_system.dto.user.UserResponseDTO;
+import com.example.library_management_system.dto.user.UserSearchRequestDTO;
 import com.example.library_management_system.dto.user.UserUpdateRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.ConstraintViolations;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.model.Role;
 import com.example.library_management_system.model.User;
 import com.example.library_management_system.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @Service
 public class UserService {
 
-  private final UserRepository userRepository;
-  private final BCryptPasswordEncoder passwordEncoder;
+  private static final int DEFAULT_PAGE_SIZE = 50;
 
-  public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+  private final UserRepository userRepository;
+  private final UserCredentialsCache userCredentialsCache;
+  private final PasswordHashingService passwordHashingService;
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenService refreshTokenService;
+
+  public UserService(UserRepository userRepository,
+                     UserCredentialsCache userCredentialsCache,
+                     PasswordHashingService passwordHashingService,
+                     TokenRevocationService tokenRevocationService,
+                     RefreshTokenService refreshTokenService) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.userCredentialsCache = userCredentialsCache;
+    this.passwordHashingService = passwordHashingService;
+    this.tokenRevocationService = tokenRevocationService;
+    this.refreshTokenService = refreshTokenService;
   }
 
-  public List<UserResponseDTO> findAllUsers() {
-    return userRepository.findAll().stream()
-            .map(this::toResponseDTO)
-            .collect(Collectors.toList());
+  public UserPageResponseDTO findUsers(UserSearchRequestDTO request) {
+    int size = request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE;
+    List<UserResponseDTO> users = userRepository.findUserPage(
+            decodeCursor(request.getCursor()),
+            toRoles(request.getRole()),
+            toUsernamePattern(request.getUsername()),
+            Limit.of(size + 1));
+
+    // One extra row tells us whether another page exists without a COUNT query
+    boolean hasMore = users.size() > size;
+    List<UserResponseDTO> page = hasMore ? users.subList(0, size) : users;
+    String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+
+    return new UserPageResponseDTO(page, nextCursor, hasMore);
   }
 
   public UserResponseDTO findUserById(Long id) {
@@ -41,11 +73,15 @@ public class UserService {
     User user = userRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-    // Check if username is being changed and if it's already taken
-    if (!user.getUsername().equals(request.getUsername())) {
-      if (userRepository.findByUsername(request.getUsername()).isPresent()) {
-        throw new DuplicateResourceException("Username already exists: " + request.getUsername());
-      }
+    // Check if username is being changed and if it's already taken; a change of case only is
+    // allowed, since the name still belongs to this user
+    String previousUsername = user.getUsername();
+    if (!previousUsername.equals(request.getUsername())) {
+      userCredentialsCache.find(request.getUsername())
+              .filter(existing -> !existing.id().equals(id))
+              .ifPresent(existing -> {
+                throw new DuplicateResourceException("Username already exists: " + request.getUsername());
+              });
       user.setUsername(request.getUsername());
     }
 
@@ -54,10 +90,20 @@ public class UserService {
       Role role = Role.valueOf(request.getRole().toUpperCase());
       user.setRole(role);
     } catch (IllegalArgumentException e) {
-      throw new IllegalArgumentException("Invalid role: " + request.getRole());
+      throw new BadRequestException("Invalid role: " + request.getRole());
     }
 
-    User updated = userRepository.save(user);
+    User updated;
+    try {
+      updated = userRepository.save(user);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.violates(e, User.USERNAME_INDEX)) {
+        throw e;
+      }
+      throw new DuplicateResourceException("Username already exists: " + request.getUsername());
+    }
+    userCredentialsCache.invalidate(previousUsername);
+    userCredentialsCache.invalidate(updated.getUsername());
     return toResponseDTO(updated);
   }
 
@@ -69,27 +115,80 @@ public class UserService {
       Role role = Role.valueOf(roleName.toUpperCase());
       user.setRole(role);
     } catch (IllegalArgumentException e) {
-      throw new IllegalArgumentException("Invalid role: " + roleName);
+      throw new BadRequestException("Invalid role: " + roleName);
     }
 
     User updated = userRepository.save(user);
+    userCredentialsCache.invalidate(updated.getUsername());
     return toResponseDTO(updated);
   }
 
+  // The new password and the revocation of tokens issued under the old one commit together
+  @Transactional
   public void changePassword(Long id, PasswordChangeRequestDTO request) {
     User user = userRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-    String hashedPassword = passwordEncoder.encode(request.getNewPassword());
+    String hashedPassword = passwordHashingService.encode(request.getNewPassword());
     user.setHashedPassword(hashedPassword);
     userRepository.save(user);
+
+    // Tokens issued under the old password stop working
+    tokenRevocationService.revokeUserTokens(user.getUsername());
+    refreshTokenService.revokeUser(user.getId());
+    invalidateAfterCommit(user.getUsername());
   }
 
+  @Transactional
   public void deleteUser(Long id) {
-    if (!userRepository.existsById(id)) {
-      throw new ResourceNotFoundException("User not found with id: " + id);
-    }
+    User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    refreshTokenService.revokeUser(id);
     userRepository.deleteById(id);
+    tokenRevocationService.revokeUserTokens(user.getUsername());
+    invalidateAfterCommit(user.getUsername());
+  }
+
+  // Dropping the entry before commit would let a concurrent login cache the old row again
+  private void invalidateAfterCommit(String username) {
+    TransactionHooks.afterCommit(() -> userCredentialsCache.invalidate(username));
+  }
+
+  private static Collection<Role> toRoles(String roleName) {
+    if (roleName == null || roleName.isBlank()) {
+      return EnumSet.allOf(Role.class);
+    }
+    try {
+      return EnumSet.of(Role.valueOf(roleName.toUpperCase()));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid role: " + roleName);
+    }
+  }
+
+  // Lower-cased to match the stored names case-insensitively, with LIKE wildcards escaped
+  private static String toUsernamePattern(String prefix) {
+    if (prefix == null || prefix.isBlank()) {
+      return "%";
+    }
+    return prefix.toLowerCase(Locale.ROOT)
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_") + "%";
+  }
+
+  private static String encodeCursor(Long id) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Long decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
   }
 
   private UserResponseDTO toResponseDTO(User user) {
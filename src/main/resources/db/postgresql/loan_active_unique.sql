@@ -0,0 +1,8 @@
+-- At most one open loan per member and book. LoanService relies on this index
+-- instead of checking for an existing loan before inserting, so apply it once
+-- on PostgreSQL before deploying; Hibernate cannot create partial indexes.
+-- Tests on H2 get an equivalent from src/test/resources/import.sql.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_loan_active_member_book
+    ON loan (member_id, book_id)
+    WHERE return_date IS NULL;
@@ -0,0 +1,33 @@
+-- Cold storage for returned loans, range-partitioned by borrow_date.
+-- Apply once on PostgreSQL before the first archive run; with ddl-auto=update
+-- Hibernate leaves an existing loan_archive table alone. Without this script
+-- Hibernate creates loan_archive as a plain table (e.g. on H2 in tests).
+
+CREATE TABLE IF NOT EXISTS loan_archive (
+    id          BIGINT    NOT NULL,
+    member_id   BIGINT    NOT NULL REFERENCES member (id),
+    book_id     BIGINT    NOT NULL REFERENCES book (id),
+    borrow_date TIMESTAMP NOT NULL,
+    due_date    TIMESTAMP NOT NULL,
+    return_date TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, borrow_date)
+) PARTITION BY RANGE (borrow_date);
+
+-- One partition per year; rows outside the generated range land in the default partition.
+DO $$
+DECLARE
+    y INT;
+BEGIN
+    FOR y IN 2000..2040 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS loan_archive_%s PARTITION OF loan_archive
+                 FOR VALUES FROM (%L) TO (%L)',
+            y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+    END LOOP;
+END $$;
+
+CREATE TABLE IF NOT EXISTS loan_archive_default PARTITION OF loan_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_loan_archive_member_borrow_date
+    ON loan_archive (member_id, borrow_date DESC, id DESC);
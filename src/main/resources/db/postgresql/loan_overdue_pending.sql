@@ -0,0 +1,7 @@
+-- Open loans still waiting for their LoanOverdue event. OverdueLoanScanner polls
+-- for these every minute; without the partial index that poll walks every past-due
+-- loan ever made. Apply once on PostgreSQL; Hibernate cannot create partial indexes.
+
+CREATE INDEX IF NOT EXISTS idx_loan_overdue_pending
+    ON loan (due_date)
+    WHERE return_date IS NULL AND NOT overdue_notified;
@@ -0,0 +1,7 @@
+-- Usernames are unique regardless of case. Lookups go through LOWER(username), which this
+-- expression index serves; Hibernate cannot declare expression indexes, so apply it once on
+-- PostgreSQL before deploying. It fails if existing usernames already differ only by case.
+-- Tests on H2 get an equivalent from src/test/resources/import.sql.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_username_lower
+    ON users (lower(username));
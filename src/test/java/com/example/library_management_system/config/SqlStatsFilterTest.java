@@ -0,0 +1,80 @@
+package com.example.library_management_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlStatsFilter Tests")
+class SqlStatsFilterTest {
+
+  private MeterRegistry meterRegistry;
+  private SqlStatsFilter filter;
+  private MockHttpServletRequest request;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new SqlStatsFilter(meterRegistry, 3, 100);
+    request = new MockHttpServletRequest("GET", "/api/books/7");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+  }
+
+  @Test
+  @DisplayName("doFilter - Within Budget - Records Per-Route Summaries")
+  void doFilter_WithinBudget_RecordsPerRouteSummaries() throws Exception {
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      SqlStats.recordExecution(1, 1_000);
+      SqlStats.recordRow();
+      SqlStats.recordRow();
+    });
+
+    // Assert
+    assertThat(meterRegistry.get("library.sql.statements").tag("uri", "/api/books/{id}").summary().totalAmount())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("library.sql.rows").tag("uri", "/api/books/{id}").summary().totalAmount())
+        .isEqualTo(2.0);
+    assertThat(meterRegistry.find("library.sql.budget.exceeded").counter()).isNull();
+    assertThat(SqlStats.current()).isNull();
+  }
+
+  @Test
+  @DisplayName("doFilter - Over Statement Budget - Counts Exceeded Request")
+  void doFilter_OverStatementBudget_CountsExceededRequest() throws Exception {
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      for (int i = 0; i < 4; i++) {
+        SqlStats.recordExecution(1, 1_000);
+      }
+    });
+
+    // Assert
+    assertThat(meterRegistry.get("library.sql.budget.exceeded").tag("method", "GET").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("open - Nested Scope - Rolls Counts Into Enclosing Scope")
+  void open_NestedScope_RollsCountsIntoEnclosingScope() {
+    // Act
+    try (SqlStats outer = SqlStats.open()) {
+      SqlStats.recordExecution(1, 0);
+      try (SqlStats inner = SqlStats.open()) {
+        SqlStats.recordExecution(5, 0);
+        assertThat(inner.getStatements()).isEqualTo(5);
+      }
+
+      // Assert
+      assertThat(outer.getStatements()).isEqualTo(6);
+      assertThat(outer.getRoundTrips()).isEqualTo(2);
+    }
+    assertThat(SqlStats.current()).isNull();
+  }
+}
@@ -2,10 +2,14 @@ package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.auth.AuthResponseDTO;
 import com.example.library_management_system.dto.auth.LoginRequestDTO;
+import com.example.library_management_system.dto.auth.RefreshRequestDTO;
 import com.example.library_management_system.dto.auth.RegisterRequestDTO;
 import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.ServiceUnavailableException;
+import com.example.library_management_system.exception.TooManyRequestsException;
 import com.example.library_management_system.exception.UnauthorizedException;
 import com.example.library_management_system.service.AuthService;
+import com.example.library_management_system.service.LoginThrottle;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,7 +23,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,9 +43,18 @@ class AuthControllerTest {
   @MockBean
   private AuthService authService;
 
+  @MockBean
+  private LoginThrottle loginThrottle;
+
   @MockBean
   private com.example.library_management_system.security.JwtUtil jwtUtil;
 
+  @MockBean
+  private com.example.library_management_system.security.VerifiedTokenCache verifiedTokenCache;
+
+  @MockBean
+  private com.example.library_management_system.service.TokenRevocationService tokenRevocationService;
+
   private RegisterRequestDTO registerRequestDTO;
   private LoginRequestDTO loginRequestDTO;
   private AuthResponseDTO authResponseDTO;
@@ -148,6 +163,37 @@ class AuthControllerTest {
         .andExpect(status().isUnauthorized());
   }
 
+  @Test
+  @DisplayName("login - Hashing Pool Saturated - Returns 503 With Retry-After")
+  void login_HashingPoolSaturated_Returns503WithRetryAfter() throws Exception {
+    // Arrange
+    when(authService.login(any(LoginRequestDTO.class)))
+        .thenThrow(new ServiceUnavailableException("Too many sign-in requests, please retry shortly", 1));
+
+    // Act & Assert
+    mockMvc.perform(post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(loginRequestDTO)))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  @DisplayName("login - Throttled - Returns 429 With Retry-After Without Calling Service")
+  void login_Throttled_Returns429WithRetryAfterWithoutCallingService() throws Exception {
+    // Arrange
+    doThrow(new TooManyRequestsException("Too many login attempts for this user, please retry later", 42))
+        .when(loginThrottle).acquire(eq("testuser"), anyString());
+
+    // Act & Assert
+    mockMvc.perform(post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(loginRequestDTO)))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "42"));
+    verify(authService, never()).login(any(LoginRequestDTO.class));
+  }
+
   @Test
   @DisplayName("login - Invalid Request - Returns 400")
   void login_InvalidRequest_Returns400() throws Exception {
@@ -161,4 +207,65 @@ class AuthControllerTest {
             .content(objectMapper.writeValueAsString(invalidRequest)))
         .andExpect(status().isBadRequest());
   }
+
+  @Test
+  @DisplayName("refresh - Valid Refresh Token - Returns 200 With Rotated Token")
+  void refresh_ValidRefreshToken_Returns200WithRotatedToken() throws Exception {
+    // Arrange
+    authResponseDTO.setRefreshToken("next-refresh-token");
+    when(authService.refresh(any(RefreshRequestDTO.class))).thenReturn(authResponseDTO);
+
+    // Act & Assert
+    mockMvc.perform(post("/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new RefreshRequestDTO("refresh-token"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.token", is("jwt-token-12345")))
+        .andExpect(jsonPath("$.refreshToken", is("next-refresh-token")));
+    verifyNoInteractions(loginThrottle);
+  }
+
+  @Test
+  @DisplayName("refresh - Reused Refresh Token - Returns 401")
+  void refresh_ReusedRefreshToken_Returns401() throws Exception {
+    // Arrange
+    when(authService.refresh(any(RefreshRequestDTO.class)))
+        .thenThrow(new UnauthorizedException("Invalid or expired refresh token"));
+
+    // Act & Assert
+    mockMvc.perform(post("/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new RefreshRequestDTO("refresh-token"))))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("refresh - Missing Refresh Token - Returns 400")
+  void refresh_MissingRefreshToken_Returns400() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new RefreshRequestDTO())))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("logout - With Refresh Token - Returns 204")
+  void logout_WithRefreshToken_Returns204() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/auth/logout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new RefreshRequestDTO("refresh-token"))))
+        .andExpect(status().isNoContent());
+    verify(authService).logout(argThat(request -> "refresh-token".equals(request.getRefreshToken())));
+  }
+
+  @Test
+  @DisplayName("logout - No Body - Returns 204")
+  void logout_NoBody_Returns204() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/auth/logout"))
+        .andExpect(status().isNoContent());
+    verify(authService).logout(null);
+  }
 }
@@ -2,6 +2,7 @@ package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.book.BookCreateRequestDTO;
 import com.example.library_management_system.dto.book.BookImportDTO;
+import com.example.library_management_system.dto.book.BookRecommendationDTO;
 import com.example.library_management_system.dto.book.BookResponseDTO;
 import com.example.library_management_system.dto.book.BookUpdateRequestDTO;
 import com.example.library_management_system.exception.DuplicateResourceException;
@@ -210,6 +211,35 @@ class BookControllerTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("getRecommendations - With Limit - Returns 200")
+  @WithMockUser
+  void getRecommendations_WithLimit_Returns200() throws Exception {
+    // Arrange
+    when(bookService.getRecommendations(1L, 5))
+        .thenReturn(List.of(new BookRecommendationDTO(2L, "Animal Farm", "George Orwell", 7)));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/books/1/recommendations").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].bookId", is(2)))
+        .andExpect(jsonPath("$[0].score", is(7)));
+  }
+
+  @Test
+  @DisplayName("getRecommendations - Non-Existing ID - Returns 404")
+  @WithMockUser
+  void getRecommendations_NonExistingId_Returns404() throws Exception {
+    // Arrange
+    when(bookService.getRecommendations(999L, 10))
+        .thenThrow(new ResourceNotFoundException("Book not found with id: 999"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/books/999/recommendations"))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   @DisplayName("updateBook - As Admin - Returns 200")
   @WithMockUser(roles = "ADMIN")
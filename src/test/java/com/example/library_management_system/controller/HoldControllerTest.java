@@ -0,0 +1,144 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.hold.HoldCreateRequestDTO;
+import com.example.library_management_system.dto.hold.HoldResponseDTO;
+import com.example.library_management_system.exception.InvalidLoanOperationException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.security.JwtAuthenticationFilter;
+import com.example.library_management_system.service.HoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(HoldController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("HoldController Tests")
+class HoldControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @MockBean
+  private HoldService holdService;
+
+  @MockBean
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @MockBean
+  private com.example.library_management_system.security.JwtUtil jwtUtil;
+
+  private HoldResponseDTO responseDTO;
+
+  @BeforeEach
+  void setUp() {
+    responseDTO = new HoldResponseDTO();
+    responseDTO.setId(10L);
+    responseDTO.setMemberId(1L);
+    responseDTO.setBookId(2L);
+    responseDTO.setStatus("WAITING");
+  }
+
+  @Test
+  @DisplayName("placeHold - As Librarian - Returns 201")
+  @WithMockUser(roles = "LIBRARIAN")
+  void placeHold_AsLibrarian_Returns201() throws Exception {
+    // Arrange
+    when(holdService.placeHold(eq(2L), any(HoldCreateRequestDTO.class))).thenReturn(responseDTO);
+
+    // Act & Assert
+    mockMvc.perform(post("/api/books/2/holds")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new HoldCreateRequestDTO(1L))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.id", is(10)))
+        .andExpect(jsonPath("$.status", is("WAITING")));
+  }
+
+  @Test
+  @DisplayName("placeHold - Missing Member - Returns 400")
+  @WithMockUser(roles = "LIBRARIAN")
+  void placeHold_MissingMember_Returns400() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/api/books/2/holds")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("placeHold - Book Available - Returns 400")
+  @WithMockUser(roles = "LIBRARIAN")
+  void placeHold_BookAvailable_Returns400() throws Exception {
+    // Arrange
+    when(holdService.placeHold(eq(2L), any(HoldCreateRequestDTO.class)))
+        .thenThrow(new InvalidLoanOperationException("Book is available, borrow it instead. Book ID: 2"));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/books/2/holds")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new HoldCreateRequestDTO(1L))))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("getBookHolds - As Admin - Returns Queue")
+  @WithMockUser(roles = "ADMIN")
+  void getBookHolds_AsAdmin_ReturnsQueue() throws Exception {
+    // Arrange
+    when(holdService.getBookHolds(2L)).thenReturn(List.of(responseDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/books/2/holds"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id", is(10)));
+  }
+
+  @Test
+  @DisplayName("cancelHold - As Librarian - Returns 204")
+  @WithMockUser(roles = "LIBRARIAN")
+  void cancelHold_AsLibrarian_Returns204() throws Exception {
+    // Arrange
+    doNothing().when(holdService).cancelHold(2L, 10L);
+
+    // Act & Assert
+    mockMvc.perform(delete("/api/books/2/holds/10"))
+        .andExpect(status().isNoContent());
+  }
+
+  @Test
+  @DisplayName("cancelHold - Non-Existing Hold - Returns 404")
+  @WithMockUser(roles = "LIBRARIAN")
+  void cancelHold_NonExistingHold_Returns404() throws Exception {
+    // Arrange
+    doThrow(new ResourceNotFoundException("Hold not found with id: 99"))
+        .when(holdService).cancelHold(2L, 99L);
+
+    // Act & Assert
+    mockMvc.perform(delete("/api/books/2/holds/99"))
+        .andExpect(status().isNotFound());
+  }
+}
@@ -7,6 +7,8 @@ import com.example.library_management_system.exception.BookUnavailableException;
 import com.example.library_management_system.exception.InvalidLoanOperationException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.security.JwtAuthenticationFilter;
+import com.example.library_management_system.service.IdempotencyService;
+import com.example.library_management_system.service.LoanEventBroadcaster;
 import com.example.library_management_system.service.LoanService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,15 +21,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,6 +53,12 @@ class LoanControllerTest {
   @MockBean
   private LoanService loanService;
 
+  @MockBean
+  private IdempotencyService idempotencyService;
+
+  @MockBean
+  private LoanEventBroadcaster loanEventBroadcaster;
+
   @MockBean
   private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -69,6 +82,10 @@ class LoanControllerTest {
     responseDTO.setBorrowDate(LocalDateTime.now());
     responseDTO.setDueDate(LocalDateTime.now().plusDays(14));
     responseDTO.setReturnDate(null);
+
+    // Pass straight through to the wrapped action; IdempotencyServiceTest covers the replay logic
+    when(idempotencyService.execute(any(), any(), any(), any(), any()))
+        .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(4)).get());
   }
 
   @Test
@@ -104,6 +121,24 @@ class LoanControllerTest {
         .andExpect(jsonPath("$.bookId", is(2)));
   }
 
+  @Test
+  @DisplayName("borrowBook - With Idempotency Key - Passes Key To Service")
+  @WithMockUser(roles = "LIBRARIAN")
+  void borrowBook_WithIdempotencyKey_PassesKeyToService() throws Exception {
+    // Arrange
+    when(loanService.borrowBook(any(LoanCreateRequestDTO.class))).thenReturn(responseDTO);
+
+    // Act & Assert
+    mockMvc.perform(post("/api/loans")
+            .header("Idempotency-Key", "terminal-7-0001")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(createRequestDTO)))
+        .andExpect(status().isCreated());
+
+    verify(idempotencyService).execute(eq("POST /api/loans"), eq("terminal-7-0001"),
+        any(LoanCreateRequestDTO.class), eq(LoanResponseDTO.class), any());
+  }
+
   // Security test moved to LoanControllerSecurityTest
 
   @Test
@@ -232,6 +267,37 @@ class LoanControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  @DisplayName("renewLoan - As Librarian - Returns 200")
+  @WithMockUser(roles = "LIBRARIAN")
+  void renewLoan_AsLibrarian_Returns200() throws Exception {
+    // Arrange
+    LoanResponseDTO renewedLoan = new LoanResponseDTO();
+    renewedLoan.setId(1L);
+    renewedLoan.setDueDate(LocalDateTime.now().plusDays(28));
+    renewedLoan.setRenewalCount(1);
+    when(loanService.renewLoan(1L)).thenReturn(renewedLoan);
+
+    // Act & Assert
+    mockMvc.perform(post("/api/loans/1/renew"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id", is(1)))
+        .andExpect(jsonPath("$.renewalCount", is(1)));
+  }
+
+  @Test
+  @DisplayName("renewLoan - Renewal Refused - Returns 400")
+  @WithMockUser(roles = "ADMIN")
+  void renewLoan_RenewalRefused_Returns400() throws Exception {
+    // Arrange
+    when(loanService.renewLoan(1L))
+        .thenThrow(new InvalidLoanOperationException("Book has members waiting in the hold queue"));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/loans/1/renew"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   @DisplayName("getOverdueLoans - As Admin - Returns 200")
   @WithMockUser(roles = "ADMIN")
@@ -307,4 +373,37 @@ class LoanControllerTest {
   }
 
   // Security test moved to LoanControllerSecurityTest
+
+  @Test
+  @DisplayName("streamEvents - With Last-Event-ID - Resumes Stream")
+  @WithMockUser(roles = "LIBRARIAN")
+  void streamEvents_WithLastEventId_ResumesStream() throws Exception {
+    // Arrange
+    SseEmitter emitter = new SseEmitter();
+    when(loanEventBroadcaster.subscribe(42L)).thenReturn(emitter);
+
+    // Act
+    MvcResult result = mockMvc.perform(get("/api/loans/events").header("Last-Event-ID", "42"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    emitter.send(SseEmitter.event().id("43").name("LoanBorrowed").data("{}"));
+
+    // Assert
+    verify(loanEventBroadcaster).subscribe(42L);
+    assertThat(result.getResponse().getHeader("X-Accel-Buffering")).isEqualTo("no");
+    assertThat(result.getResponse().getContentAsString()).contains("id:43\nevent:LoanBorrowed\n");
+  }
+
+  @Test
+  @DisplayName("streamEvents - First Connect - Subscribes Without Resume Point")
+  @WithMockUser(roles = "ADMIN")
+  void streamEvents_FirstConnect_SubscribesWithoutResumePoint() throws Exception {
+    // Arrange
+    when(loanEventBroadcaster.subscribe(null)).thenReturn(new SseEmitter());
+
+    // Act & Assert
+    mockMvc.perform(get("/api/loans/events"))
+        .andExpect(request().asyncStarted());
+    verify(loanEventBroadcaster).subscribe(null);
+  }
 }
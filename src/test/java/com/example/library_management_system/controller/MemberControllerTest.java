@@ -1,5 +1,8 @@
 package com.example.library_management_system.controller;
 
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
 import com.example.library_management_system.dto.member.MemberCreateRequestDTO;
 import com.example.library_management_system.dto.member.MemberResponseDTO;
@@ -18,7 +21,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +32,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -266,15 +273,17 @@ class MemberControllerTest {
     loan2.setMemberId(1L);
     loan2.setBookId(3L);
 
-    List<LoanResponseDTO> loanHistory = Arrays.asList(loan1, loan2);
-    when(memberService.getMemberLoanHistory(1L)).thenReturn(loanHistory);
+    LoanPageResponseDTO loanHistory = new LoanPageResponseDTO(Arrays.asList(loan1, loan2), "next", true);
+    when(memberService.getMemberLoanHistory(eq(1L), any(LoanHistoryRequestDTO.class))).thenReturn(loanHistory);
 
     // Act & Assert
-    mockMvc.perform(get("/api/members/1/loans"))
+    mockMvc.perform(get("/api/members/1/loans").param("size", "2"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(2)))
-        .andExpect(jsonPath("$[0].id", is(1)))
-        .andExpect(jsonPath("$[1].id", is(2)));
+        .andExpect(jsonPath("$.loans", hasSize(2)))
+        .andExpect(jsonPath("$.loans[0].id", is(1)))
+        .andExpect(jsonPath("$.loans[1].id", is(2)))
+        .andExpect(jsonPath("$.nextCursor", is("next")))
+        .andExpect(jsonPath("$.hasMore", is(true)));
   }
 
   @Test
@@ -282,7 +291,8 @@ class MemberControllerTest {
   @WithMockUser(roles = "MEMBER")
   void getMemberLoanHistory_AsMember_Returns200() throws Exception {
     // Arrange
-    when(memberService.getMemberLoanHistory(1L)).thenReturn(Arrays.asList());
+    when(memberService.getMemberLoanHistory(eq(1L), any(LoanHistoryRequestDTO.class)))
+        .thenReturn(new LoanPageResponseDTO(Arrays.asList(), null, false));
 
     // Act & Assert
     mockMvc.perform(get("/api/members/1/loans"))
@@ -294,7 +304,8 @@ class MemberControllerTest {
   @WithMockUser(roles = "ADMIN")
   void getMemberLoanHistory_AsAdmin_Returns200() throws Exception {
     // Arrange
-    when(memberService.getMemberLoanHistory(1L)).thenReturn(Arrays.asList());
+    when(memberService.getMemberLoanHistory(eq(1L), any(LoanHistoryRequestDTO.class)))
+        .thenReturn(new LoanPageResponseDTO(Arrays.asList(), null, false));
 
     // Act & Assert
     mockMvc.perform(get("/api/members/1/loans"))
@@ -306,11 +317,67 @@ class MemberControllerTest {
   @WithMockUser(roles = "ADMIN")
   void getMemberLoanHistory_NonExistingMember_Returns404() throws Exception {
     // Arrange
-    when(memberService.getMemberLoanHistory(999L))
+    when(memberService.getMemberLoanHistory(eq(999L), any(LoanHistoryRequestDTO.class)))
         .thenThrow(new ResourceNotFoundException("Member not found with id: 999"));
 
     // Act & Assert
     mockMvc.perform(get("/api/members/999/loans"))
         .andExpect(status().isNotFound());
   }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Size Too Large - Returns 400")
+  @WithMockUser(roles = "LIBRARIAN")
+  void getMemberLoanHistory_SizeTooLarge_Returns400() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/api/members/1/loans").param("size", "1000"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("exportMemberLoanHistory - As Librarian - Streams NDJSON")
+  @WithMockUser(roles = "LIBRARIAN")
+  void exportMemberLoanHistory_AsLibrarian_StreamsNdjson() throws Exception {
+    // Arrange
+    StreamingResponseBody body = out -> out.write("{\"id\":1}\n".getBytes());
+    when(memberService.exportMemberLoanHistory(eq(1L), any(LoanHistoryRequestDTO.class))).thenReturn(body);
+
+    // Act & Assert
+    MvcResult result = mockMvc.perform(get("/api/members/1/loans/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string("{\"id\":1}\n"));
+  }
+
+  @Test
+  @DisplayName("getMemberFineBalance - As Member - Returns 200")
+  @WithMockUser(roles = "MEMBER")
+  void getMemberFineBalance_AsMember_Returns200() throws Exception {
+    // Arrange
+    when(memberService.getMemberFineBalance(1L))
+        .thenReturn(new FineBalanceResponseDTO(1L, new BigDecimal("2.75"), LocalDateTime.now()));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/members/1/fines/balance"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.memberId", is(1)))
+        .andExpect(jsonPath("$.balance", is(2.75)));
+  }
+
+  @Test
+  @DisplayName("getMemberFineBalance - Non-Existing Member - Returns 404")
+  @WithMockUser(roles = "ADMIN")
+  void getMemberFineBalance_NonExistingMember_Returns404() throws Exception {
+    // Arrange
+    when(memberService.getMemberFineBalance(999L))
+        .thenThrow(new ResourceNotFoundException("Member not found with id: 999"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/members/999/fines/balance"))
+        .andExpect(status().isNotFound());
+  }
 }
@@ -0,0 +1,151 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.report.ReportJobResponseDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.security.JwtAuthenticationFilter;
+import com.example.library_management_system.service.ReportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("ReportController Tests")
+class ReportControllerTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 5, 10, 0);
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private ReportService reportService;
+
+  @MockBean
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @MockBean
+  private com.example.library_management_system.security.JwtUtil jwtUtil;
+
+  @TempDir
+  private Path directory;
+
+  private ReportJobResponseDTO job(String status) {
+    return new ReportJobResponseDTO("job-1", "overdue-loans", status, CREATED_AT, null, null, null);
+  }
+
+  @Test
+  @DisplayName("submitReport - As Librarian - Returns 202 With Job Location")
+  @WithMockUser(roles = "LIBRARIAN")
+  void submitReport_AsLibrarian_Returns202WithJobLocation() throws Exception {
+    // Arrange
+    when(reportService.submit("overdue-loans")).thenReturn(job("QUEUED"));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/reports/overdue-loans"))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/api/reports/job-1"))
+        .andExpect(jsonPath("$.id", is("job-1")))
+        .andExpect(jsonPath("$.status", is("QUEUED")));
+  }
+
+  @Test
+  @DisplayName("submitReport - Unknown Type - Returns 400")
+  @WithMockUser(roles = "ADMIN")
+  void submitReport_UnknownType_Returns400() throws Exception {
+    // Arrange
+    when(reportService.submit("members")).thenThrow(new BadRequestException("Invalid report type: members"));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/reports/members"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("submitReport - Internal IllegalArgumentException - Returns 500")
+  @WithMockUser(roles = "ADMIN")
+  void submitReport_InternalIllegalArgumentException_Returns500() throws Exception {
+    // Arrange
+    when(reportService.submit("overdue-loans")).thenThrow(new IllegalArgumentException("Id out of range"));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/reports/overdue-loans"))
+        .andExpect(status().isInternalServerError());
+  }
+
+  @Test
+  @DisplayName("getReport - Still Running - Returns 202 With Status")
+  @WithMockUser(roles = "ADMIN")
+  void getReport_StillRunning_Returns202WithStatus() throws Exception {
+    // Arrange
+    when(reportService.getJob("job-1")).thenReturn(job("RUNNING"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/reports/job-1"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.status", is("RUNNING")));
+    verify(reportService, never()).getResultFile("job-1");
+  }
+
+  @Test
+  @DisplayName("getReport - Done - Returns Gzipped Result")
+  @WithMockUser(roles = "LIBRARIAN")
+  void getReport_Done_ReturnsGzippedResult() throws Exception {
+    // Arrange
+    Path file = Files.write(directory.resolve("job-1.ndjson.gz"), new byte[] {31, -117, 8});
+    when(reportService.getJob("job-1")).thenReturn(job("DONE"));
+    when(reportService.getResultFile("job-1")).thenReturn(file);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/reports/job-1"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/gzip"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"overdue-loans-job-1.ndjson.gz\""))
+        .andExpect(content().bytes(new byte[] {31, -117, 8}));
+  }
+
+  @Test
+  @DisplayName("getReport - Failed - Returns Status With Error")
+  @WithMockUser(roles = "ADMIN")
+  void getReport_Failed_ReturnsStatusWithError() throws Exception {
+    // Arrange
+    ReportJobResponseDTO failed = job("FAILED");
+    failed.setError("db down");
+    when(reportService.getJob("job-1")).thenReturn(failed);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/reports/job-1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.error", is("db down")));
+  }
+
+  @Test
+  @DisplayName("getReport - Unknown Id - Returns 404")
+  @WithMockUser(roles = "ADMIN")
+  void getReport_UnknownId_Returns404() throws Exception {
+    // Arrange
+    when(reportService.getJob("missing")).thenThrow(new ResourceNotFoundException("Report not found with id: missing"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/reports/missing"))
+        .andExpect(status().isNotFound());
+  }
+}
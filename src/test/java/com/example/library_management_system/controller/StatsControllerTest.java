@@ -0,0 +1,93 @@
+package com.example.library_management_system.controller;
+
+import com.example.library_management_system.dto.stats.CirculationBackfillResponseDTO;
+import com.example.library_management_system.dto.stats.CirculationBucketDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsRequestDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsResponseDTO;
+import com.example.library_management_system.security.JwtAuthenticationFilter;
+import com.example.library_management_system.service.CirculationStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("StatsController Tests")
+class StatsControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private CirculationStatsService circulationStatsService;
+
+  @MockBean
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @MockBean
+  private com.example.library_management_system.security.JwtUtil jwtUtil;
+
+  @Test
+  @DisplayName("getCirculation - As Librarian - Returns Buckets")
+  @WithMockUser(roles = "LIBRARIAN")
+  void getCirculation_AsLibrarian_ReturnsBuckets() throws Exception {
+    // Arrange
+    CirculationStatsResponseDTO response = new CirculationStatsResponseDTO("hour", List.of(
+        new CirculationBucketDTO(LocalDateTime.of(2024, 3, 5, 10, 0), 3, 1),
+        new CirculationBucketDTO(LocalDateTime.of(2024, 3, 5, 11, 0), 0, 2)));
+    when(circulationStatsService.getCirculation(any(CirculationStatsRequestDTO.class))).thenReturn(response);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/stats/circulation")
+            .param("from", "2024-03-05T10:00:00")
+            .param("to", "2024-03-05T12:00:00")
+            .param("granularity", "hour"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.granularity", is("hour")))
+        .andExpect(jsonPath("$.buckets", hasSize(2)))
+        .andExpect(jsonPath("$.buckets[0].borrows", is(3)));
+  }
+
+  @Test
+  @DisplayName("getCirculation - Missing Range - Returns 400")
+  @WithMockUser(roles = "ADMIN")
+  void getCirculation_MissingRange_Returns400() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/api/stats/circulation").param("granularity", "day"))
+        .andExpect(status().isBadRequest());
+
+    verify(circulationStatsService, never()).getCirculation(any());
+  }
+
+  @Test
+  @DisplayName("backfillCirculation - As Admin - Returns Summary")
+  @WithMockUser(roles = "ADMIN")
+  void backfillCirculation_AsAdmin_ReturnsSummary() throws Exception {
+    // Arrange
+    when(circulationStatsService.backfill())
+        .thenReturn(new CirculationBackfillResponseDTO(120, 48, LocalDateTime.of(2024, 3, 6, 0, 0)));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/stats/circulation/backfill"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.loansScanned", is(120)))
+        .andExpect(jsonPath("$.bucketsWritten", is(48)));
+  }
+}
@@ -1,14 +1,15 @@
 package com.example.library_management_system.controller;
 
 import com.example.library_management_system.dto.user.PasswordChangeRequestDTO;
+import com.example.library_management_system.dto.user.UserPageResponseDTO;
 import com.example.library_management_system.dto.user.UserResponseDTO;
+import com.example.library_management_system.dto.user.UserSearchRequestDTO;
 import com.example.library_management_system.dto.user.UserUpdateRequestDTO;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.exception.UnauthorizedException;
 import com.example.library_management_system.model.Role;
-import com.example.library_management_system.model.User;
-import com.example.library_management_system.repository.UserRepository;
 import com.example.library_management_system.security.JwtAuthenticationFilter;
+import com.example.library_management_system.service.UserCredentialsCache;
 import com.example.library_management_system.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,7 +54,7 @@ class UserControllerTest {
   private UserService userService;
 
   @MockBean
-  private UserRepository userRepository;
+  private UserCredentialsCache userCredentialsCache;
 
   @MockBean
   private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -92,14 +93,26 @@ class UserControllerTest {
     user2.setRole("LIBRARIAN");
 
     List<UserResponseDTO> users = Arrays.asList(user1, user2);
-    when(userService.findAllUsers()).thenReturn(users);
+    when(userService.findUsers(any(UserSearchRequestDTO.class)))
+        .thenReturn(new UserPageResponseDTO(users, "Mg", true));
 
     // Act & Assert
-    mockMvc.perform(get("/api/users"))
+    mockMvc.perform(get("/api/users").param("role", "member").param("username", "us").param("size", "2"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(2)))
-        .andExpect(jsonPath("$[0].username", is("user1")))
-        .andExpect(jsonPath("$[1].username", is("user2")));
+        .andExpect(jsonPath("$.users", hasSize(2)))
+        .andExpect(jsonPath("$.users[0].username", is("user1")))
+        .andExpect(jsonPath("$.users[1].username", is("user2")))
+        .andExpect(jsonPath("$.nextCursor", is("Mg")))
+        .andExpect(jsonPath("$.hasMore", is(true)));
+  }
+
+  @Test
+  @DisplayName("findAllUsers - Size Over Limit - Returns 400")
+  @WithMockUser(roles = "ADMIN")
+  void findAllUsers_SizeOverLimit_Returns400() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/api/users").param("size", "500"))
+        .andExpect(status().isBadRequest());
   }
 
   // Security tests moved to UserControllerSecurityTest
@@ -194,12 +207,10 @@ class UserControllerTest {
     PasswordChangeRequestDTO passwordDTO = new PasswordChangeRequestDTO();
     passwordDTO.setNewPassword("newpassword123");
 
-    User currentUser = new User();
-    currentUser.setId(999L); // Different user ID
-    currentUser.setUsername("member1");
-    currentUser.setRole(Role.MEMBER);
+    UserCredentialsCache.Credentials currentUser =
+        new UserCredentialsCache.Credentials(999L, "member1", "hashed", Role.MEMBER); // Different user ID
 
-    when(userRepository.findByUsername("member1")).thenReturn(Optional.of(currentUser));
+    when(userCredentialsCache.find("member1")).thenReturn(Optional.of(currentUser));
     doThrow(new UnauthorizedException("You can only change your own password"))
         .when(userService).changePassword(eq(1L), any(PasswordChangeRequestDTO.class));
 
@@ -0,0 +1,93 @@
+package com.example.library_management_system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CalibratedPasswordEncoder Tests")
+class CalibratedPasswordEncoderTest {
+
+  @Test
+  @DisplayName("calibrate - Tiny Target - Stays At Minimum Strength")
+  void calibrate_TinyTarget_StaysAtMinimumStrength() {
+    // Act
+    CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 8);
+
+    // Assert
+    assertThat(encoder.getStrength()).isEqualTo(4);
+    assertThat(encoder.getHashTime()).isPositive();
+  }
+
+  @Test
+  @DisplayName("calibrate - Huge Target - Stops At Maximum Strength")
+  void calibrate_HugeTarget_StopsAtMaximumStrength() {
+    // Act
+    CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6);
+
+    // Assert
+    assertThat(encoder.getStrength()).isEqualTo(6);
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding - Hash Below Fixed Strength - Returns True Only For The Lower Cost")
+  void upgradeEncoding_HashBelowFixedStrength_ReturnsTrueOnlyForTheLowerCost() {
+    // Arrange
+    CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.withStrength(5);
+
+    // Act & Assert
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+    assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding - Calibrated Above Minimum - Rehashes Only Below The Minimum")
+  void upgradeEncoding_CalibratedAboveMinimum_RehashesOnlyBelowTheMinimum() {
+    // Arrange
+    CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(Duration.ofHours(1), 5, 6);
+
+    // Act & Assert
+    assertThat(encoder.getStrength()).isEqualTo(6);
+    assertThat(encoder.getRehashBelow()).isEqualTo(5);
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding - Two Nodes At Different Strengths - Settle After At Most One Rehash")
+  void upgradeEncoding_TwoNodesAtDifferentStrengths_SettleAfterAtMostOneRehash() {
+    // Arrange
+    CalibratedPasswordEncoder slow = CalibratedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6);
+    CalibratedPasswordEncoder fast = CalibratedPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 6);
+    CalibratedPasswordEncoder pinnedLow = CalibratedPasswordEncoder.withStrength(4);
+    CalibratedPasswordEncoder pinnedHigh = CalibratedPasswordEncoder.withStrength(5);
+
+    // Act & Assert
+    // Calibrated nodes share the floor, so neither rehashes the other's hashes
+    assertThat(slow.getStrength()).isNotEqualTo(fast.getStrength());
+    assertThat(slow.upgradeEncoding(fast.encode("secret"))).isFalse();
+    assertThat(fast.upgradeEncoding(slow.encode("secret"))).isFalse();
+    // Differently pinned nodes move a hash up once, and never back down
+    String upgraded = pinnedHigh.encode("secret");
+    assertThat(pinnedHigh.upgradeEncoding(pinnedLow.encode("secret"))).isTrue();
+    assertThat(pinnedLow.upgradeEncoding(upgraded)).isFalse();
+    assertThat(pinnedHigh.upgradeEncoding(upgraded)).isFalse();
+  }
+
+  @Test
+  @DisplayName("matches - Hash At Other Cost - Still Matches")
+  void matches_HashAtOtherCost_StillMatches() {
+    // Arrange
+    CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.withStrength(5);
+    String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+    // Act & Assert
+    assertThat(encoder.matches("secret", oldHash)).isTrue();
+    assertThat(encoder.matches("wrong", oldHash)).isFalse();
+  }
+}
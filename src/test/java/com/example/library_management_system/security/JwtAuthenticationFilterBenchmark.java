@@ -0,0 +1,136 @@
+package com.example.library_management_system.security;
+
+import com.example.library_management_system.repository.RevokedTokenRepository;
+import com.example.library_management_system.service.TokenRevocationService;
+import com.example.library_management_system.service.UserCredentialsCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+// Per-request cost of authenticating a bearer token. "legacy" repeats what the filter used to do:
+// extractUsername, validateToken (two parses) and extractRole, each rebuilding the key and parser.
+// "filter" reuses one token, so after the first call it is served from the VerifiedTokenCache;
+// both filters also run the revocation check against an empty Bloom filter. "filterWithoutDetails"
+// skips the WebAuthenticationDetails and the per-request copy of the cached authentication.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtAuthenticationFilterBenchmark
+// Add -Dbenchmark.args="-prof gc" and compare gc.alloc.rate.norm (bytes per request) to catch
+// allocation regressions on the cached path.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+  private static final String SECRET = "benchmark-secret-key-for-jwt-verification-must-be-long-enough";
+
+  private JwtUtil jwtUtil;
+  private JwtAuthenticationFilter filter;
+  private JwtAuthenticationFilter filterWithoutDetails;
+  private JwtAuthenticationFilter uncachedFilter;
+  private String token;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+  private FilterChain chain;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = new JwtUtil(SECRET, 3600000L);
+    TokenRevocationService revocationService = new TokenRevocationService(mock(RevokedTokenRepository.class),
+            mock(UserCredentialsCache.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+            true, 100000, 0.01,
+            Duration.ofSeconds(5), Duration.ofMinutes(1), 3600000L);
+    revocationService.rebuild();
+    filter = new JwtAuthenticationFilter(jwtUtil,
+            new VerifiedTokenCache(new SimpleMeterRegistry(), true, 10000), revocationService, true);
+    filterWithoutDetails = new JwtAuthenticationFilter(jwtUtil,
+            new VerifiedTokenCache(new SimpleMeterRegistry(), true, 10000), revocationService, false);
+    uncachedFilter = new JwtAuthenticationFilter(jwtUtil,
+            new VerifiedTokenCache(new SimpleMeterRegistry(), false, 0), revocationService, true);
+    token = jwtUtil.generateToken("librarian", "LIBRARIAN");
+    request = new MockHttpServletRequest("GET", "/api/books");
+    request.addHeader("Authorization", "Bearer " + token);
+    response = new MockHttpServletResponse();
+    chain = (req, res) -> { };
+  }
+
+  @Benchmark
+  public Authentication legacy() {
+    String username = legacyClaims(token).getSubject();
+    if (username == null) {
+      return null;
+    }
+    legacyClaims(token);
+    if (legacyClaims(token).getExpiration().before(new Date())) {
+      return null;
+    }
+    String role = legacyClaims(token).get("role", String.class);
+    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    return authentication;
+  }
+
+  @Benchmark
+  public VerifiedToken verify() {
+    return jwtUtil.verify(token);
+  }
+
+  @Benchmark
+  public Authentication filter() throws Exception {
+    return authenticate(filter);
+  }
+
+  @Benchmark
+  public Authentication filterWithoutDetails() throws Exception {
+    return authenticate(filterWithoutDetails);
+  }
+
+  @Benchmark
+  public Authentication filterUncached() throws Exception {
+    return authenticate(uncachedFilter);
+  }
+
+  private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+    filter.doFilter(request, response, chain);
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+
+  private static Claims legacyClaims(String token) {
+    return Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+  }
+}
@@ -0,0 +1,172 @@
+package com.example.library_management_system.security;
+
+import com.example.library_management_system.repository.RevokedTokenRepository;
+import com.example.library_management_system.service.TokenRevocationService;
+import com.example.library_management_system.service.UserCredentialsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+  private JwtUtil jwtUtil;
+  private RevokedTokenRepository revokedTokenRepository;
+  private TokenRevocationService revocationService;
+  private JwtAuthenticationFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = spy(new JwtUtil("test-secret-key-for-testing-purposes-only-must-be-long-enough", 3600000L));
+    revokedTokenRepository = mock(RevokedTokenRepository.class);
+    revocationService = new TokenRevocationService(revokedTokenRepository, mock(UserCredentialsCache.class),
+        mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), true, 1000, 0.01,
+        Duration.ofSeconds(5), Duration.ofMinutes(1), 3600000L);
+    revocationService.rebuild();
+    filter = new JwtAuthenticationFilter(jwtUtil, new VerifiedTokenCache(new SimpleMeterRegistry(), true, 100),
+        revocationService, true);
+    SecurityContextHolder.clearContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static MockHttpServletRequest requestWithBearer(String token) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+    request.addHeader("Authorization", "Bearer " + token);
+    return request;
+  }
+
+  @Test
+  @DisplayName("doFilter - Valid Token - Authenticates With One Verification")
+  void doFilter_ValidToken_AuthenticatesWithOneVerification() throws Exception {
+    // Arrange
+    MockHttpServletRequest request = requestWithBearer(jwtUtil.generateToken("librarian", "LIBRARIAN"));
+    MockFilterChain chain = new MockFilterChain();
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(authentication.getName()).isEqualTo("librarian");
+    assertThat(authentication.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_LIBRARIAN");
+    assertThat(chain.getRequest()).isSameAs(request);
+    verify(jwtUtil, times(1)).verify(anyString());
+  }
+
+  @Test
+  @DisplayName("doFilter - Repeated Token - Verifies Once And Authenticates Each Request")
+  void doFilter_RepeatedToken_VerifiesOnceAndAuthenticatesEachRequest() throws Exception {
+    // Arrange
+    String token = jwtUtil.generateToken("member", "MEMBER");
+
+    // Act
+    filter.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+    Authentication first = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    filter.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+    Authentication second = SecurityContextHolder.getContext().getAuthentication();
+
+    // Assert
+    verify(jwtUtil, times(1)).verify(token);
+    assertThat(second.getName()).isEqualTo("member");
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  @DisplayName("doFilter - Details Disabled - Reuses The Cached Authentication")
+  void doFilter_DetailsDisabled_ReusesTheCachedAuthentication() throws Exception {
+    // Arrange
+    JwtAuthenticationFilter withoutDetails = new JwtAuthenticationFilter(jwtUtil,
+        new VerifiedTokenCache(new SimpleMeterRegistry(), true, 100), revocationService, false);
+    String token = jwtUtil.generateToken("admin", "ADMIN");
+
+    // Act
+    withoutDetails.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+    Authentication first = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    withoutDetails.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+    Authentication second = SecurityContextHolder.getContext().getAuthentication();
+
+    // Assert
+    assertThat(second).isSameAs(first).isInstanceOf(VerifiedTokenAuthentication.class);
+    assertThatThrownBy(() -> second.setAuthenticated(false)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(second.isAuthenticated()).isTrue();
+    assertThat(second.getDetails()).isNull();
+    assertThat(second.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_ADMIN");
+  }
+
+  @Test
+  @DisplayName("doFilter - Token Revoked After Caching - Continues Unauthenticated")
+  void doFilter_TokenRevokedAfterCaching_ContinuesUnauthenticated() throws Exception {
+    // Arrange
+    String token = jwtUtil.generateToken("member", "MEMBER");
+    filter.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+    SecurityContextHolder.clearContext();
+    VerifiedToken verified = jwtUtil.verify(token);
+    when(revokedTokenRepository.findLatestRevokedAt(eq("jti:" + verified.id()), any()))
+        .thenReturn(LocalDateTime.now());
+    revocationService.revokeToken(verified);
+
+    // Act
+    filter.doFilter(requestWithBearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+  }
+
+  @Test
+  @DisplayName("doFilter - Invalid Token - Continues Unauthenticated")
+  void doFilter_InvalidToken_ContinuesUnauthenticated() throws Exception {
+    // Arrange
+    MockHttpServletRequest request = requestWithBearer("not-a-jwt");
+    MockFilterChain chain = new MockFilterChain();
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(chain.getRequest()).isSameAs(request);
+  }
+
+  @Test
+  @DisplayName("doFilter - No Bearer Header - Does Not Verify")
+  void doFilter_NoBearerHeader_DoesNotVerify() throws Exception {
+    // Arrange
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+
+    // Act
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(jwtUtil, never()).verify(anyString());
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.library_management_system.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+  private static final String SECRET = "test-secret-key-for-testing-purposes-only-must-be-long-enough";
+
+  private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000L);
+
+  @Test
+  @DisplayName("verify - Generated Token - Returns Username, Role And Expiry")
+  void verify_GeneratedToken_ReturnsUsernameRoleAndExpiry() {
+    // Arrange
+    String token = jwtUtil.generateToken("librarian", "LIBRARIAN");
+
+    // Act
+    VerifiedToken verified = jwtUtil.verify(token);
+
+    // Assert
+    assertThat(verified.username()).isEqualTo("librarian");
+    assertThat(verified.role()).isEqualTo("LIBRARIAN");
+    assertThat(verified.expiresAt()).isBetween(
+        Instant.now().plus(59, ChronoUnit.MINUTES), Instant.now().plus(61, ChronoUnit.MINUTES));
+  }
+
+  @Test
+  @DisplayName("verify - Expired Token - Throws ExpiredJwtException")
+  void verify_ExpiredToken_ThrowsExpiredJwtException() {
+    // Arrange
+    String token = new JwtUtil(SECRET, -1000L).generateToken("librarian", "LIBRARIAN");
+
+    // Act & Assert
+    assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+  }
+
+  @Test
+  @DisplayName("verify - Token Signed With Other Key - Throws SignatureException")
+  void verify_TokenSignedWithOtherKey_ThrowsSignatureException() {
+    // Arrange
+    String token = new JwtUtil(SECRET.replace('t', 'x'), 3600000L).generateToken("admin", "ADMIN");
+
+    // Act & Assert
+    assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(SignatureException.class);
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.library_management_system.security;
+
+import com.example.library_management_system.model.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RoleAuthorities Tests")
+class RoleAuthoritiesTest {
+
+  @Test
+  @DisplayName("ofClaim - Known Role - Returns The Prebuilt List")
+  void ofClaim_KnownRole_ReturnsThePrebuiltList() {
+    // Act
+    List<GrantedAuthority> first = RoleAuthorities.ofClaim("LIBRARIAN");
+    List<GrantedAuthority> second = RoleAuthorities.ofClaim("LIBRARIAN");
+
+    // Assert
+    assertThat(first).isSameAs(second).isSameAs(RoleAuthorities.of(Role.LIBRARIAN));
+    assertThat(first).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_LIBRARIAN");
+  }
+
+  @Test
+  @DisplayName("of - Every Role - Is Immutable")
+  void of_EveryRole_IsImmutable() {
+    for (Role role : Role.values()) {
+      // Act
+      List<GrantedAuthority> authorities = RoleAuthorities.of(role);
+
+      // Assert
+      assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_" + role.name());
+      assertThatThrownBy(() -> authorities.add(authorities.get(0)))
+          .isInstanceOf(UnsupportedOperationException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("ofClaim - Unknown Role - Builds A Matching Authority")
+  void ofClaim_UnknownRole_BuildsAMatchingAuthority() {
+    // Act
+    List<GrantedAuthority> authorities = RoleAuthorities.ofClaim("AUDITOR");
+
+    // Assert
+    assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUDITOR");
+  }
+}
@@ -23,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,6 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Security Integration Tests - Tests role-based access control with Spring Security enabled
  */
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 @TestPropertySource(properties = {
@@ -176,6 +178,13 @@ class SecurityIntegrationTest {
         .andExpect(status().isForbidden());
   }
 
+  @Test
+  @DisplayName("POST /auth/logout - Unauthenticated - Returns 403")
+  void logout_Unauthenticated_Returns403() throws Exception {
+    mockMvc.perform(post("/auth/logout"))
+        .andExpect(status().isForbidden());
+  }
+
   @Test
   @DisplayName("PUT /api/books/{id} - MEMBER role - Returns 403")
   @WithMockUser(roles = "MEMBER")
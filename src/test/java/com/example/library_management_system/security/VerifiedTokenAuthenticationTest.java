@@ -0,0 +1,66 @@
+package com.example.library_management_system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("VerifiedTokenAuthentication Tests")
+class VerifiedTokenAuthenticationTest {
+
+  private static VerifiedToken token(String role) {
+    return new VerifiedToken("jti-1", "librarian", role, Instant.now(), Instant.now().plusSeconds(3600));
+  }
+
+  @Test
+  @DisplayName("new - Verified Token - Exposes Username And Role Authority")
+  void new_VerifiedToken_ExposesUsernameAndRoleAuthority() {
+    // Act
+    VerifiedTokenAuthentication authentication = new VerifiedTokenAuthentication(token("LIBRARIAN"));
+
+    // Assert
+    assertThat(authentication.getName()).isEqualTo("librarian");
+    assertThat(authentication.getPrincipal()).isEqualTo("librarian");
+    assertThat(authentication.getCredentials()).isNull();
+    assertThat(authentication.getDetails()).isNull();
+    assertThat(authentication.isAuthenticated()).isTrue();
+    assertThat(authentication.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_LIBRARIAN");
+  }
+
+  @Test
+  @DisplayName("setAuthenticated - Any Value - Throws And Stays Authenticated")
+  void setAuthenticated_AnyValue_ThrowsAndStaysAuthenticated() {
+    // Arrange
+    VerifiedTokenAuthentication authentication = new VerifiedTokenAuthentication(token("MEMBER"));
+
+    // Act & Assert
+    assertThatThrownBy(() -> authentication.setAuthenticated(true))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> authentication.setAuthenticated(false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(authentication.isAuthenticated()).isTrue();
+  }
+
+  @Test
+  @DisplayName("withDetails - Details Given - Returns A Copy And Leaves The Original Unchanged")
+  void withDetails_DetailsGiven_ReturnsACopyAndLeavesTheOriginalUnchanged() {
+    // Arrange
+    VerifiedTokenAuthentication original = new VerifiedTokenAuthentication(token("ADMIN"));
+
+    // Act
+    VerifiedTokenAuthentication copy = original.withDetails("details");
+
+    // Assert
+    assertThat(copy).isNotSameAs(original);
+    assertThat(copy.getDetails()).isEqualTo("details");
+    assertThat(copy.getToken()).isSameAs(original.getToken());
+    assertThat(copy.getAuthorities()).isSameAs(original.getAuthorities());
+    assertThat(original.getDetails()).isNull();
+  }
+}
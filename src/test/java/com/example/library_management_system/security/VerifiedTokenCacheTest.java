@@ -0,0 +1,115 @@
+package com.example.library_management_system.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+  private MeterRegistry meterRegistry;
+  private AtomicInteger verifications;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    verifications = new AtomicInteger();
+  }
+
+  private Function<String, VerifiedTokenAuthentication> verifierExpiringAt(Instant expiresAt) {
+    return token -> {
+      verifications.incrementAndGet();
+      return new VerifiedTokenAuthentication(
+          new VerifiedToken("id-" + token, token, "MEMBER", Instant.now(), expiresAt));
+    };
+  }
+
+  @Test
+  @DisplayName("get - Same Token Twice - Verifies Once And Records A Hit")
+  void get_SameTokenTwice_VerifiesOnceAndRecordsAHit() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 100);
+    Function<String, VerifiedTokenAuthentication> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+    // Act
+    Authentication first = cache.get("token-a", verifier);
+    Authentication second = cache.get("token-a", verifier);
+    cache.get("token-b", verifier);
+
+    // Assert
+    assertThat(second).isSameAs(first);
+    assertThat(verifications.get()).isEqualTo(2);
+    assertThat(meterRegistry.get("library.jwt.cache.hit.ratio").gauge().value()).isCloseTo(1.0 / 3, within(0.001));
+  }
+
+  @Test
+  @DisplayName("get - Token Already Expired - Is Not Served From Cache")
+  void get_TokenAlreadyExpired_IsNotServedFromCache() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 100);
+    Function<String, VerifiedTokenAuthentication> verifier = verifierExpiringAt(Instant.now().minusSeconds(1));
+
+    // Act
+    cache.get("token-a", verifier);
+    cache.get("token-a", verifier);
+
+    // Assert
+    assertThat(verifications.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("get - Verifier Throws - Propagates And Caches Nothing")
+  void get_VerifierThrows_PropagatesAndCachesNothing() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 100);
+
+    // Act & Assert
+    assertThatThrownBy(() -> cache.get("token-a", token -> {
+      throw new ExpiredJwtException(null, null, "expired");
+    })).isInstanceOf(ExpiredJwtException.class);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("get - Size Bound Reached - Evicts Entries")
+  void get_SizeBoundReached_EvictsEntries() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 10);
+    Function<String, VerifiedTokenAuthentication> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+    // Act
+    for (int i = 0; i < 100; i++) {
+      cache.get("token-" + i, verifier);
+    }
+
+    // Assert
+    assertThat(cache.size()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("get - Cache Disabled - Verifies Every Time")
+  void get_CacheDisabled_VerifiesEveryTime() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, false, 100);
+    Function<String, VerifiedTokenAuthentication> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+    // Act
+    cache.get("token-a", verifier);
+    cache.get("token-a", verifier);
+
+    // Assert
+    assertThat(verifications.get()).isEqualTo(2);
+  }
+}
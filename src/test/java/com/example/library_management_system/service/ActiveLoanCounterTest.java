@@ -0,0 +1,159 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveLoanCounter Tests")
+class ActiveLoanCounterTest {
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  private ActiveLoanCounter activeLoanCounter;
+
+  @BeforeEach
+  void setUp() {
+    activeLoanCounter = new ActiveLoanCounter(loanRepository);
+  }
+
+  private static List<Object[]> counts(Object[]... rows) {
+    return new ArrayList<>(List.of(rows));
+  }
+
+  @Test
+  @DisplayName("activeLoans - First Use - Loads All Counts With One Query")
+  void activeLoans_FirstUse_LoadsAllCountsWithOneQuery() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember()).thenReturn(counts(new Object[]{1L, 3L}, new Object[]{2L, 1L}));
+
+    // Act & Assert
+    assertThat(activeLoanCounter.activeLoans(1L)).isEqualTo(3);
+    assertThat(activeLoanCounter.activeLoans(2L)).isEqualTo(1);
+    assertThat(activeLoanCounter.activeLoans(3L)).isZero();
+    verify(loanRepository, times(1)).countActiveLoansByMember();
+  }
+
+  @Test
+  @DisplayName("tryIncrement - Below Limit - Reserves Slot")
+  void tryIncrement_BelowLimit_ReservesSlot() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember()).thenReturn(counts(new Object[]{1L, 1L}));
+
+    // Act
+    boolean reserved = activeLoanCounter.tryIncrement(1L, 2);
+
+    // Assert
+    assertThat(reserved).isTrue();
+    assertThat(activeLoanCounter.activeLoans(1L)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("tryIncrement - At Limit - Rejects Without Changing Count")
+  void tryIncrement_AtLimit_RejectsWithoutChangingCount() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember()).thenReturn(counts(new Object[]{1L, 2L}));
+
+    // Act
+    boolean reserved = activeLoanCounter.tryIncrement(1L, 2);
+
+    // Assert
+    assertThat(reserved).isFalse();
+    assertThat(activeLoanCounter.activeLoans(1L)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("decrement - Never Goes Below Zero")
+  void decrement_NeverGoesBelowZero() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember()).thenReturn(counts());
+
+    // Act
+    activeLoanCounter.decrement(1L);
+
+    // Assert
+    assertThat(activeLoanCounter.activeLoans(1L)).isZero();
+  }
+
+  @Test
+  @DisplayName("reconcile - Drifted Counts - Resets To Database Values")
+  void reconcile_DriftedCounts_ResetsToDatabaseValues() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember())
+        .thenReturn(counts(new Object[]{1L, 1L}))
+        .thenReturn(counts(new Object[]{2L, 4L}));
+    activeLoanCounter.tryIncrement(1L, 5);
+
+    // Act
+    activeLoanCounter.reconcile();
+
+    // Assert
+    assertThat(activeLoanCounter.activeLoans(1L)).isZero();
+    assertThat(activeLoanCounter.activeLoans(2L)).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("reconcile - Borrow Commits During Snapshot - Keeps The Reservation")
+  void reconcile_BorrowCommitsDuringSnapshot_KeepsTheReservation() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember())
+        .thenReturn(counts(new Object[]{1L, 1L}))
+        .thenAnswer(invocation -> {
+          activeLoanCounter.tryIncrement(1L, 5);
+          return counts(new Object[]{1L, 1L});
+        });
+    activeLoanCounter.activeLoans(1L);
+
+    // Act
+    activeLoanCounter.reconcile();
+
+    // Assert
+    assertThat(activeLoanCounter.activeLoans(1L)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("reconcile - Borrow In Flight - Leaves Count Until Rollback")
+  void reconcile_BorrowInFlight_LeavesCountUntilRollback() {
+    // Arrange
+    when(loanRepository.countActiveLoansByMember()).thenReturn(counts());
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      activeLoanCounter.tryIncrement(1L, 5);
+
+      // Act
+      activeLoanCounter.reconcile();
+      int duringBorrow = activeLoanCounter.activeLoans(1L);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+      // Assert
+      assertThat(duringBorrow).isEqualTo(1);
+      assertThat(activeLoanCounter.activeLoans(1L)).isZero();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("reconcile - Not Loaded Yet - Skips Query")
+  void reconcile_NotLoadedYet_SkipsQuery() {
+    // Act
+    activeLoanCounter.reconcile();
+
+    // Assert
+    verifyNoInteractions(loanRepository);
+  }
+}
@@ -2,14 +2,20 @@ package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.auth.AuthResponseDTO;
 import com.example.library_management_system.dto.auth.LoginRequestDTO;
+import com.example.library_management_system.dto.auth.RefreshRequestDTO;
 import com.example.library_management_system.dto.auth.RegisterRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.ServiceUnavailableException;
 import com.example.library_management_system.exception.UnauthorizedException;
 import com.example.library_management_system.model.Role;
 import com.example.library_management_system.model.User;
 import com.example.library_management_system.repository.UserRepository;
 import com.example.library_management_system.security.JwtUtil;
+import com.example.library_management_system.security.VerifiedToken;
+import com.example.library_management_system.security.VerifiedTokenAuthentication;
 import com.example.library_management_system.util.TestDataBuilder;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,13 +24,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -42,11 +50,20 @@ class AuthServiceTest {
   private UserRepository userRepository;
 
   @Mock
-  private BCryptPasswordEncoder passwordEncoder;
+  private UserCredentialsCache userCredentialsCache;
+
+  @Mock
+  private PasswordHashingService passwordHashingService;
 
   @Mock
   private JwtUtil jwtUtil;
 
+  @Mock
+  private RefreshTokenService refreshTokenService;
+
+  @Mock
+  private TokenRevocationService tokenRevocationService;
+
   @InjectMocks
   private AuthService authService;
 
@@ -82,8 +99,8 @@ class AuthServiceTest {
   @DisplayName("register - Valid Request - Creates User With Member Role")
   void register_ValidRequest_CreatesUserWithMemberRole() {
     // Arrange
-    when(userRepository.findByUsername(registerRequestDTO.getUsername())).thenReturn(Optional.empty());
-    when(passwordEncoder.encode(registerRequestDTO.getPassword())).thenReturn("hashedpassword");
+    when(userCredentialsCache.find(registerRequestDTO.getUsername())).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(registerRequestDTO.getPassword())).thenReturn("hashedpassword");
     when(userRepository.save(any(User.class))).thenReturn(testUser);
     when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
 
@@ -96,8 +113,8 @@ class AuthServiceTest {
     assertThat(result.getRole()).isEqualTo("MEMBER");
     assertThat(result.getToken()).isEqualTo("jwt-token");
 
-    verify(userRepository).findByUsername("testuser");
-    verify(passwordEncoder).encode("password123");
+    verify(userCredentialsCache).find("testuser");
+    verify(passwordHashingService).encode("password123");
     verify(userRepository).save(any(User.class));
     verify(jwtUtil).generateToken("testuser", "MEMBER");
   }
@@ -121,8 +138,8 @@ class AuthServiceTest {
     User librarianUser = TestDataBuilder.createTestUser(Role.LIBRARIAN);
     librarianUser.setUsername("librarian");
 
-    when(userRepository.findByUsername("librarian")).thenReturn(Optional.empty());
-    when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
+    when(userCredentialsCache.find("librarian")).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(anyString())).thenReturn("hashedpassword");
     when(userRepository.save(any(User.class))).thenReturn(librarianUser);
     when(jwtUtil.generateToken("librarian", "LIBRARIAN")).thenReturn("jwt-token");
 
@@ -157,8 +174,8 @@ class AuthServiceTest {
     User adminUser = TestDataBuilder.createTestUser(Role.ADMIN);
     adminUser.setUsername("newadmin");
 
-    when(userRepository.findByUsername("newadmin")).thenReturn(Optional.empty());
-    when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
+    when(userCredentialsCache.find("newadmin")).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(anyString())).thenReturn("hashedpassword");
     when(userRepository.save(any(User.class))).thenReturn(adminUser);
     when(jwtUtil.generateToken("newadmin", "ADMIN")).thenReturn("jwt-token");
 
@@ -186,8 +203,8 @@ class AuthServiceTest {
     securityContext.setAuthentication(memberAuth);
     SecurityContextHolder.setContext(securityContext);
 
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-    when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
+    when(userCredentialsCache.find("testuser")).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(anyString())).thenReturn("hashedpassword");
     when(userRepository.save(any(User.class))).thenReturn(testUser);
     when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
 
@@ -202,21 +219,37 @@ class AuthServiceTest {
   @DisplayName("register - Duplicate Username - Throws DuplicateResourceException")
   void register_DuplicateUsername_ThrowsDuplicateResourceException() {
     // Arrange
-    when(userRepository.findByUsername(registerRequestDTO.getUsername()))
-        .thenReturn(Optional.of(testUser));
+    when(userCredentialsCache.find(registerRequestDTO.getUsername()))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(testUser)));
 
     // Act & Assert
     assertThatThrownBy(() -> authService.register(registerRequestDTO))
         .isInstanceOf(DuplicateResourceException.class)
         .hasMessageContaining("Username already exists");
 
-    verify(userRepository).findByUsername("testuser");
+    verify(userCredentialsCache).find("testuser");
     verify(userRepository, never()).save(any());
   }
 
   @Test
-  @DisplayName("register - Invalid Role - Throws IllegalArgumentException")
-  void register_InvalidRole_ThrowsIllegalArgumentException() {
+  @DisplayName("register - Concurrent Registration Of Same Name - Throws DuplicateResourceException")
+  void register_ConcurrentRegistrationOfSameName_ThrowsDuplicateResourceException() {
+    // Arrange
+    when(userCredentialsCache.find("testuser")).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(anyString())).thenReturn("hashedpassword");
+    when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+        new ConstraintViolationException("duplicate key", new SQLException("23505"), "PUBLIC.UQ_USERS_USERNAME_LOWER")));
+
+    // Act & Assert
+    assertThatThrownBy(() -> authService.register(registerRequestDTO))
+        .isInstanceOf(DuplicateResourceException.class)
+        .hasMessageContaining("Username already exists");
+    verify(refreshTokenService, never()).issue(any());
+  }
+
+  @Test
+  @DisplayName("register - Invalid Role - Throws BadRequestException")
+  void register_InvalidRole_ThrowsBadRequestException() {
     // Arrange
     registerRequestDTO.setRole("INVALID_ROLE");
 
@@ -230,12 +263,12 @@ class AuthServiceTest {
     securityContext.setAuthentication(adminAuth);
     SecurityContextHolder.setContext(securityContext);
 
-    when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-    when(passwordEncoder.encode(anyString())).thenReturn("hashedpassword");
+    when(userCredentialsCache.find("testuser")).thenReturn(Optional.empty());
+    when(passwordHashingService.encode(anyString())).thenReturn("hashedpassword");
 
     // Act & Assert
     assertThatThrownBy(() -> authService.register(registerRequestDTO))
-        .isInstanceOf(IllegalArgumentException.class)
+        .isInstanceOf(BadRequestException.class)
         .hasMessageContaining("Invalid role");
 
     verify(userRepository, never()).save(any());
@@ -246,11 +279,12 @@ class AuthServiceTest {
   void login_ValidCredentials_ReturnsToken() {
     // Arrange
     testUser.setHashedPassword("hashedpassword");
-    when(userRepository.findByUsername(loginRequestDTO.getUsername()))
-        .thenReturn(Optional.of(testUser));
-    when(passwordEncoder.matches(loginRequestDTO.getPassword(), testUser.getHashedPassword()))
+    when(userCredentialsCache.find(loginRequestDTO.getUsername()))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(testUser)));
+    when(passwordHashingService.matches(loginRequestDTO.getPassword(), testUser.getHashedPassword()))
         .thenReturn(true);
     when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
+    when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
 
     // Act
     AuthResponseDTO result = authService.login(loginRequestDTO);
@@ -260,26 +294,72 @@ class AuthServiceTest {
     assertThat(result.getUsername()).isEqualTo("testuser");
     assertThat(result.getToken()).isEqualTo("jwt-token");
     assertThat(result.getRole()).isEqualTo("MEMBER");
+    assertThat(result.getRefreshToken()).isEqualTo("refresh-token");
 
-    verify(userRepository).findByUsername("testuser");
-    verify(passwordEncoder).matches("password123", "hashedpassword");
+    verify(userCredentialsCache).find("testuser");
+    verify(passwordHashingService).matches("password123", "hashedpassword");
     verify(jwtUtil).generateToken("testuser", "MEMBER");
+    verify(passwordHashingService, never()).rehash(anyString());
+  }
+
+  @Test
+  @DisplayName("login - Hash At Other Cost - Rehashes And Saves User")
+  void login_HashAtOtherCost_RehashesAndSavesUser() {
+    // Arrange
+    testUser.setHashedPassword("hashedpassword");
+    when(userCredentialsCache.find(loginRequestDTO.getUsername()))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(testUser)));
+    when(passwordHashingService.matches("password123", "hashedpassword")).thenReturn(true);
+    when(passwordHashingService.needsRehash("hashedpassword")).thenReturn(true);
+    when(passwordHashingService.rehash("password123")).thenReturn("rehashedpassword");
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
+
+    // Act
+    AuthResponseDTO result = authService.login(loginRequestDTO);
+
+    // Assert
+    assertThat(result.getToken()).isEqualTo("jwt-token");
+    assertThat(testUser.getHashedPassword()).isEqualTo("rehashedpassword");
+    verify(userRepository).save(testUser);
+    verify(userCredentialsCache).invalidate("testuser");
+  }
+
+  @Test
+  @DisplayName("login - Rehash Rejected By Busy Pool - Still Returns Token")
+  void login_RehashRejectedByBusyPool_StillReturnsToken() {
+    // Arrange
+    testUser.setHashedPassword("hashedpassword");
+    when(userCredentialsCache.find(loginRequestDTO.getUsername()))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(testUser)));
+    when(passwordHashingService.matches("password123", "hashedpassword")).thenReturn(true);
+    when(passwordHashingService.needsRehash("hashedpassword")).thenReturn(true);
+    when(passwordHashingService.rehash("password123"))
+        .thenThrow(new ServiceUnavailableException("busy", 1));
+    when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
+
+    // Act
+    AuthResponseDTO result = authService.login(loginRequestDTO);
+
+    // Assert
+    assertThat(result.getToken()).isEqualTo("jwt-token");
+    assertThat(testUser.getHashedPassword()).isEqualTo("hashedpassword");
+    verify(userRepository, never()).save(any());
   }
 
   @Test
   @DisplayName("login - Invalid Username - Throws UnauthorizedException")
   void login_InvalidUsername_ThrowsUnauthorizedException() {
     // Arrange
-    when(userRepository.findByUsername(loginRequestDTO.getUsername()))
-        .thenReturn(Optional.empty());
+    when(userCredentialsCache.find(loginRequestDTO.getUsername())).thenReturn(Optional.empty());
 
     // Act & Assert
     assertThatThrownBy(() -> authService.login(loginRequestDTO))
         .isInstanceOf(UnauthorizedException.class)
         .hasMessageContaining("Invalid username or password");
 
-    verify(userRepository).findByUsername("testuser");
-    verify(passwordEncoder, never()).matches(anyString(), anyString());
+    verify(userCredentialsCache).find("testuser");
+    verify(passwordHashingService, never()).matches(anyString(), anyString());
   }
 
   @Test
@@ -287,9 +367,9 @@ class AuthServiceTest {
   void login_InvalidPassword_ThrowsUnauthorizedException() {
     // Arrange
     testUser.setHashedPassword("hashedpassword");
-    when(userRepository.findByUsername(loginRequestDTO.getUsername()))
-        .thenReturn(Optional.of(testUser));
-    when(passwordEncoder.matches(loginRequestDTO.getPassword(), testUser.getHashedPassword()))
+    when(userCredentialsCache.find(loginRequestDTO.getUsername()))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(testUser)));
+    when(passwordHashingService.matches(loginRequestDTO.getPassword(), testUser.getHashedPassword()))
         .thenReturn(false);
 
     // Act & Assert
@@ -297,8 +377,82 @@ class AuthServiceTest {
         .isInstanceOf(UnauthorizedException.class)
         .hasMessageContaining("Invalid username or password");
 
-    verify(userRepository).findByUsername("testuser");
-    verify(passwordEncoder).matches("password123", "hashedpassword");
+    verify(userCredentialsCache).find("testuser");
+    verify(passwordHashingService).matches("password123", "hashedpassword");
+    verify(jwtUtil, never()).generateToken(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("refresh - Valid Refresh Token - Returns New Tokens Without Hashing")
+  void refresh_ValidRefreshToken_ReturnsNewTokensWithoutHashing() {
+    // Arrange
+    when(refreshTokenService.rotate("refresh-token"))
+        .thenReturn(new RefreshTokenService.Rotation(1L, "next-refresh-token"));
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    when(jwtUtil.generateToken("testuser", "MEMBER")).thenReturn("jwt-token");
+
+    // Act
+    AuthResponseDTO result = authService.refresh(new RefreshRequestDTO("refresh-token"));
+
+    // Assert
+    assertThat(result.getToken()).isEqualTo("jwt-token");
+    assertThat(result.getRefreshToken()).isEqualTo("next-refresh-token");
+    assertThat(result.getRole()).isEqualTo("MEMBER");
+    verifyNoInteractions(passwordHashingService);
+  }
+
+  @Test
+  @DisplayName("refresh - User Deleted - Throws UnauthorizedException")
+  void refresh_UserDeleted_ThrowsUnauthorizedException() {
+    // Arrange
+    when(refreshTokenService.rotate("refresh-token"))
+        .thenReturn(new RefreshTokenService.Rotation(1L, "next-refresh-token"));
+    when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> authService.refresh(new RefreshRequestDTO("refresh-token")))
+        .isInstanceOf(UnauthorizedException.class);
     verify(jwtUtil, never()).generateToken(anyString(), anyString());
   }
+
+  @Test
+  @DisplayName("logout - Bearer Token With Refresh Token - Revokes Both")
+  void logout_BearerTokenWithRefreshToken_RevokesBoth() {
+    // Arrange
+    VerifiedToken token = new VerifiedToken("jti-1", "testuser", "MEMBER", Instant.now(),
+        Instant.now().plusSeconds(900));
+    SecurityContextHolder.getContext().setAuthentication(new VerifiedTokenAuthentication(token));
+
+    // Act
+    authService.logout(new RefreshRequestDTO("refresh-token"));
+
+    // Assert
+    verify(tokenRevocationService).revokeToken(token);
+    verify(refreshTokenService).revoke("refresh-token");
+  }
+
+  @Test
+  @DisplayName("logout - No Refresh Token - Revokes Only The Access Token")
+  void logout_NoRefreshToken_RevokesOnlyTheAccessToken() {
+    // Arrange
+    VerifiedToken token = new VerifiedToken("jti-1", "testuser", "MEMBER", Instant.now(),
+        Instant.now().plusSeconds(900));
+    SecurityContextHolder.getContext().setAuthentication(new VerifiedTokenAuthentication(token));
+
+    // Act
+    authService.logout(null);
+
+    // Assert
+    verify(tokenRevocationService).revokeToken(token);
+    verifyNoInteractions(refreshTokenService);
+  }
+
+  @Test
+  @DisplayName("logout - Not Authenticated By Bearer Token - Throws UnauthorizedException")
+  void logout_NotAuthenticatedByBearerToken_ThrowsUnauthorizedException() {
+    // Act & Assert
+    assertThatThrownBy(() -> authService.logout(new RefreshRequestDTO("refresh-token")))
+        .isInstanceOf(UnauthorizedException.class);
+    verifyNoInteractions(tokenRevocationService, refreshTokenService);
+  }
 }
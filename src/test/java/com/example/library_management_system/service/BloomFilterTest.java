@@ -0,0 +1,59 @@
+package com.example.library_management_system.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("mightContain - Inserted Keys - Always True")
+  void mightContain_InsertedKeys_AlwaysTrue() {
+    // Arrange
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+    // Act
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("jti:" + i);
+    }
+
+    // Assert
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(filter.mightContain("jti:" + i)).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("mightContain - Keys Never Inserted - Stays Near The Sized Rate")
+  void mightContain_KeysNeverInserted_StaysNearTheSizedRate() {
+    // Arrange
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user:member" + i);
+    }
+
+    // Act
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("user:visitor" + i)) {
+        falsePositives++;
+      }
+    }
+
+    // Assert
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+  }
+
+  @Test
+  @DisplayName("create - Sizing - Follows The Standard Formulas")
+  void create_Sizing_FollowsTheStandardFormulas() {
+    // Act
+    BloomFilter filter = BloomFilter.create(100_000, 0.01);
+
+    // Assert
+    assertThat(filter.bitCount()).isBetween(958_000L, 959_000L);
+    assertThat(filter.hashCount()).isEqualTo(7);
+  }
+}
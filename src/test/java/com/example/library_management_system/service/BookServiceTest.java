@@ -2,6 +2,7 @@ package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.book.BookCreateRequestDTO;
 import com.example.library_management_system.dto.book.BookImportDTO;
+import com.example.library_management_system.dto.book.BookRecommendationDTO;
 import com.example.library_management_system.dto.book.BookResponseDTO;
 import com.example.library_management_system.dto.book.BookUpdateRequestDTO;
 import com.example.library_management_system.exception.DuplicateResourceException;
@@ -20,12 +21,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +42,12 @@ class BookServiceTest {
   @Mock
   private BookMapper bookMapper;
 
+  @Mock
+  private OutboxService outboxService;
+
+  @Mock
+  private RecommendationService recommendationService;
+
   @InjectMocks
   private BookService bookService;
 
@@ -73,6 +83,7 @@ class BookServiceTest {
     verify(bookRepository).save(any(Book.class));
     verify(bookMapper).toEntity(createRequestDTO);
     verify(bookMapper).toResponseDTO(testBook);
+    verify(outboxService).append(eq(OutboxService.BOOK), eq(1L), eq("BookCreated"), anyMap());
   }
 
   @Test
@@ -146,6 +157,53 @@ class BookServiceTest {
     verify(bookMapper, never()).toResponseDTO(any());
   }
 
+  @Test
+  @DisplayName("getRecommendations - Known Neighbors - Returns Books In Score Order")
+  void getRecommendations_KnownNeighbors_ReturnsBooksInScoreOrder() {
+    // Arrange
+    Book second = TestDataBuilder.createTestBookWithId(2L);
+    Book third = TestDataBuilder.createTestBookWithId(3L);
+    when(bookRepository.existsById(1L)).thenReturn(true);
+    when(recommendationService.getNeighbors(1L))
+        .thenReturn(new CoBorrowMatrix.Row(new long[]{3L, 2L, 4L}, new int[]{5, 2, 1}));
+    when(bookRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(second, third));
+
+    // Act
+    List<BookRecommendationDTO> result = bookService.getRecommendations(1L, 2);
+
+    // Assert
+    assertThat(result).extracting(BookRecommendationDTO::getBookId).containsExactly(3L, 2L);
+    assertThat(result).extracting(BookRecommendationDTO::getScore).containsExactly(5, 2);
+  }
+
+  @Test
+  @DisplayName("getRecommendations - No Neighbors Yet - Returns Empty Without Loading Books")
+  void getRecommendations_NoNeighborsYet_ReturnsEmptyWithoutLoadingBooks() {
+    // Arrange
+    when(bookRepository.existsById(1L)).thenReturn(true);
+    when(recommendationService.getNeighbors(1L)).thenReturn(CoBorrowMatrix.Row.EMPTY);
+
+    // Act
+    List<BookRecommendationDTO> result = bookService.getRecommendations(1L, 10);
+
+    // Assert
+    assertThat(result).isEmpty();
+    verify(bookRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("getRecommendations - Non-Existing ID - Throws ResourceNotFoundException")
+  void getRecommendations_NonExistingId_ThrowsResourceNotFoundException() {
+    // Arrange
+    when(bookRepository.existsById(999L)).thenReturn(false);
+
+    // Act & Assert
+    assertThatThrownBy(() -> bookService.getRecommendations(999L, 10))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Book not found with id: 999");
+    verifyNoInteractions(recommendationService);
+  }
+
   @Test
   @DisplayName("updateBook - Valid Request - Returns Updated Book")
   void updateBook_ValidRequest_ReturnsUpdatedBook() {
@@ -202,6 +260,7 @@ class BookServiceTest {
     // Assert
     verify(bookRepository).findById(1L);
     verify(bookRepository).delete(testBook);
+    verify(outboxService).append(OutboxService.BOOK, 1L, "BookDeleted", Map.of("bookId", 1L));
   }
 
   @Test
@@ -0,0 +1,187 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.stats.CirculationBackfillResponseDTO;
+import com.example.library_management_system.dto.stats.CirculationBucketDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsRequestDTO;
+import com.example.library_management_system.dto.stats.CirculationStatsResponseDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.model.CirculationGranularity;
+import com.example.library_management_system.model.CirculationStat;
+import com.example.library_management_system.repository.ArchivedLoanRepository;
+import com.example.library_management_system.repository.CirculationStatRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CirculationStatsService Tests")
+class CirculationStatsServiceTest {
+
+  @Mock
+  private CirculationStatRepository circulationStatRepository;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private ArchivedLoanRepository archivedLoanRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private CirculationStatsService statsService;
+
+  @BeforeEach
+  void setUp() {
+    statsService = new CirculationStatsService(circulationStatRepository, loanRepository, archivedLoanRepository,
+        transactionManager);
+  }
+
+  @Test
+  @DisplayName("flush - Several Borrows In One Hour - Writes One Increment Per Bucket")
+  void flush_SeveralBorrowsInOneHour_WritesOneIncrementPerBucket() {
+    // Arrange
+    LocalDateTime at = LocalDateTime.of(2024, 3, 5, 10, 15);
+    when(circulationStatRepository.increment(any(), any(), anyLong(), anyLong())).thenReturn(1);
+    statsService.recordBorrow(at);
+    statsService.recordBorrow(at.plusMinutes(20));
+    statsService.recordReturn(at.plusMinutes(30));
+
+    // Act
+    statsService.flush();
+
+    // Assert
+    verify(circulationStatRepository).increment(CirculationGranularity.HOUR, LocalDateTime.of(2024, 3, 5, 10, 0), 2, 1);
+    verify(circulationStatRepository).increment(CirculationGranularity.DAY, LocalDateTime.of(2024, 3, 5, 0, 0), 2, 1);
+    verifyNoMoreInteractions(circulationStatRepository);
+  }
+
+  @Test
+  @DisplayName("flush - New Bucket - Inserts Row")
+  void flush_NewBucket_InsertsRow() {
+    // Arrange
+    when(circulationStatRepository.increment(any(), any(), anyLong(), anyLong())).thenReturn(0);
+    statsService.recordBorrow(LocalDateTime.of(2024, 3, 5, 10, 15));
+
+    // Act
+    statsService.flush();
+
+    // Assert
+    ArgumentCaptor<CirculationStat> inserted = ArgumentCaptor.forClass(CirculationStat.class);
+    verify(circulationStatRepository, times(2)).saveAndFlush(inserted.capture());
+    assertThat(inserted.getAllValues()).extracting(CirculationStat::getBorrows).containsOnly(1L);
+  }
+
+  @Test
+  @DisplayName("flush - Write Fails - Keeps Counts For Next Flush")
+  void flush_WriteFails_KeepsCountsForNextFlush() {
+    // Arrange
+    LocalDateTime at = LocalDateTime.of(2024, 3, 5, 10, 15);
+    when(circulationStatRepository.increment(any(), any(), anyLong(), anyLong()))
+        .thenThrow(new IllegalStateException("database down"))
+        .thenReturn(1);
+    statsService.recordBorrow(at);
+
+    // Act
+    statsService.flush();
+    statsService.flush();
+
+    // Assert: the failed bucket is retried, so both buckets are eventually written with the full count
+    verify(circulationStatRepository, times(3)).increment(any(), any(), eq(1L), eq(0L));
+    verify(circulationStatRepository, atLeastOnce()).increment(eq(CirculationGranularity.HOUR), any(), eq(1L), eq(0L));
+    verify(circulationStatRepository, atLeastOnce()).increment(eq(CirculationGranularity.DAY), any(), eq(1L), eq(0L));
+  }
+
+  @Test
+  @DisplayName("getCirculation - Sparse Rows - Fills Empty Buckets With Zeros")
+  void getCirculation_SparseRows_FillsEmptyBucketsWithZeros() {
+    // Arrange
+    LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2024, 3, 4, 0, 0);
+    when(circulationStatRepository.findSeries(CirculationGranularity.DAY, from, to)).thenReturn(List.of(
+        new CirculationStat(CirculationGranularity.DAY, from.plusDays(1), 4, 2)));
+
+    // Act
+    CirculationStatsResponseDTO result = statsService.getCirculation(new CirculationStatsRequestDTO(from, to, null));
+
+    // Assert
+    assertThat(result.getGranularity()).isEqualTo("day");
+    assertThat(result.getBuckets()).extracting(CirculationBucketDTO::getBorrows).containsExactly(0L, 4L, 0L);
+    assertThat(result.getBuckets()).extracting(CirculationBucketDTO::getReturns).containsExactly(0L, 2L, 0L);
+  }
+
+  @Test
+  @DisplayName("getCirculation - Invalid Granularity - Throws BadRequestException")
+  void getCirculation_InvalidGranularity_ThrowsBadRequestException() {
+    // Arrange
+    CirculationStatsRequestDTO request = new CirculationStatsRequestDTO(
+        LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 2, 0, 0), "week");
+
+    // Act & Assert
+    assertThatThrownBy(() -> statsService.getCirculation(request))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid granularity: week");
+  }
+
+  @Test
+  @DisplayName("getCirculation - Range Too Large - Throws BadRequestException")
+  void getCirculation_RangeTooLarge_ThrowsBadRequestException() {
+    // Arrange
+    CirculationStatsRequestDTO request = new CirculationStatsRequestDTO(
+        LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0), "hour");
+
+    // Act & Assert
+    assertThatThrownBy(() -> statsService.getCirculation(request))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Range too large");
+  }
+
+  @Test
+  @DisplayName("backfill - Loans And Archive - Rebuilds Buckets Before Today")
+  @SuppressWarnings("unchecked")
+  void backfill_LoansAndArchive_RebuildsBucketsBeforeToday() {
+    // Arrange
+    LocalDateTime day = LocalDateTime.of(2024, 3, 5, 9, 30);
+    List<Object[]> hot = new ArrayList<>();
+    hot.add(new Object[]{5L, day, null});
+    hot.add(new Object[]{6L, LocalDateTime.now(), null});
+    List<Object[]> archived = new ArrayList<>();
+    archived.add(new Object[]{1L, day.minusDays(1), day});
+    when(loanRepository.findCirculationPage(eq(0L), any(Limit.class))).thenReturn(hot);
+    when(archivedLoanRepository.findCirculationPage(eq(0L), any(Limit.class))).thenReturn(archived);
+
+    // Act
+    CirculationBackfillResponseDTO result = statsService.backfill();
+
+    // Assert
+    assertThat(result.getLoansScanned()).isEqualTo(3);
+    ArgumentCaptor<List<CirculationStat>> saved = ArgumentCaptor.forClass(List.class);
+    verify(circulationStatRepository).deleteBucketsBefore(result.getCutoff());
+    verify(circulationStatRepository).saveAll(saved.capture());
+    CirculationStat march5 = saved.getValue().stream()
+        .filter(s -> s.getGranularity() == CirculationGranularity.DAY
+            && s.getBucketStart().equals(LocalDateTime.of(2024, 3, 5, 0, 0)))
+        .findFirst().orElseThrow();
+    assertThat(march5.getBorrows()).isEqualTo(1);
+    assertThat(march5.getReturns()).isEqualTo(1);
+    assertThat(result.getBucketsWritten()).isEqualTo(4);
+  }
+}
@@ -0,0 +1,139 @@
+package com.example.library_management_system.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CoBorrowMatrix Tests")
+class CoBorrowMatrixTest {
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.close();
+  }
+
+  private static long[] loans(long[]... memberBooks) {
+    List<Long> packed = new ArrayList<>();
+    for (long[] loan : memberBooks) {
+      packed.add(CoBorrowMatrix.pack(loan[0], loan[1]));
+    }
+    return packed.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  private static long[] neighbors(CoBorrowMatrix.Row row) {
+    long[] neighbors = new long[row.size()];
+    for (int i = 0; i < row.size(); i++) {
+      neighbors[i] = row.neighbor(i);
+    }
+    return neighbors;
+  }
+
+  @Test
+  @DisplayName("build - Repeat Loans - Counts Each Member Once Per Pair")
+  void build_RepeatLoans_CountsEachMemberOncePerPair() {
+    // Arrange: member 1 borrowed book 10 twice; members 1 and 2 both borrowed 10 and 20
+    long[] loans = loans(new long[]{1, 10}, new long[]{1, 10}, new long[]{1, 20},
+        new long[]{2, 10}, new long[]{2, 20}, new long[]{2, 30});
+
+    // Act
+    CoBorrowMatrix matrix = CoBorrowMatrix.build(loans, 5, 100, pool);
+
+    // Assert
+    CoBorrowMatrix.Row row = matrix.row(10);
+    assertThat(neighbors(row)).containsExactly(20, 30);
+    assertThat(row.score(0)).isEqualTo(2);
+    assertThat(row.score(1)).isEqualTo(1);
+    assertThat(neighbors(matrix.row(30))).containsExactly(10, 20);
+  }
+
+  @Test
+  @DisplayName("build - Many Members - Merges Split Counts And Keeps Top K")
+  void build_ManyMembers_MergesSplitCountsAndKeepsTopK() {
+    // Arrange: 1000 members (several fork/join leaves); every member borrowed book 1, and member m
+    // also borrowed book 100 + (m % 4), so book 1's neighbors score 250 each
+    List<long[]> loans = new ArrayList<>();
+    for (long member = 1; member <= 1000; member++) {
+      loans.add(new long[]{member, 1});
+      loans.add(new long[]{member, 100 + member % 4});
+    }
+
+    // Act
+    CoBorrowMatrix matrix = CoBorrowMatrix.build(loans(loans.toArray(long[][]::new)), 3, 100, pool);
+
+    // Assert
+    CoBorrowMatrix.Row row = matrix.row(1);
+    assertThat(neighbors(row)).containsExactly(100, 101, 102);
+    assertThat(row.score(0)).isEqualTo(250);
+    assertThat(neighbors(matrix.row(103))).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("build - Member Over History Cap - Is Left Out")
+  void build_MemberOverHistoryCap_IsLeftOut() {
+    // Arrange
+    long[] loans = loans(new long[]{1, 10}, new long[]{1, 20}, new long[]{1, 30},
+        new long[]{2, 10}, new long[]{2, 20});
+
+    // Act
+    CoBorrowMatrix matrix = CoBorrowMatrix.build(loans, 5, 2, pool);
+
+    // Assert
+    assertThat(neighbors(matrix.row(10))).containsExactly(20);
+    assertThat(matrix.row(30).size()).isZero();
+  }
+
+  @Test
+  @DisplayName("recordBorrow - Existing And New Neighbors - Updates Both Rows In Score Order")
+  void recordBorrow_ExistingAndNewNeighbors_UpdatesBothRowsInScoreOrder() {
+    // Arrange
+    CoBorrowMatrix matrix = CoBorrowMatrix.build(loans(new long[]{1, 10}, new long[]{1, 20},
+        new long[]{2, 10}, new long[]{2, 30}), 5, 100, pool);
+
+    // Act: a new member borrows 30 after having borrowed 10 and 40
+    matrix.recordBorrow(30, new long[]{10, 40});
+
+    // Assert
+    CoBorrowMatrix.Row row = matrix.row(10);
+    assertThat(neighbors(row)).containsExactly(30, 20);
+    assertThat(row.score(0)).isEqualTo(2);
+    assertThat(neighbors(matrix.row(30))).containsExactly(10, 40);
+    assertThat(neighbors(matrix.row(40))).containsExactly(30);
+  }
+
+  @Test
+  @DisplayName("recordBorrow - Full Row - Does Not Admit Unknown Neighbor")
+  void recordBorrow_FullRow_DoesNotAdmitUnknownNeighbor() {
+    // Arrange
+    CoBorrowMatrix matrix = CoBorrowMatrix.build(loans(new long[]{1, 10}, new long[]{1, 20}), 1, 100, pool);
+
+    // Act
+    matrix.recordBorrow(10, new long[]{30});
+
+    // Assert
+    assertThat(neighbors(matrix.row(10))).containsExactly(20);
+    assertThat(neighbors(matrix.row(30))).containsExactly(10);
+  }
+
+  @Test
+  @DisplayName("pack - Id Beyond Int Range - Throws IllegalArgumentException")
+  void pack_IdBeyondIntRange_ThrowsIllegalArgumentException() {
+    // Act & Assert
+    assertThatThrownBy(() -> CoBorrowMatrix.pack(1L << 31, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,277 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.model.FineAccrualCheckpoint;
+import com.example.library_management_system.model.MemberFineBalance;
+import com.example.library_management_system.repository.FineAccrualCheckpointRepository;
+import com.example.library_management_system.repository.FineRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.MemberFineBalanceRepository;
+import com.example.library_management_system.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FineService Tests")
+class FineServiceTest {
+
+  private static final BigDecimal RATE = new BigDecimal("0.25");
+
+  @Mock
+  private FineRepository fineRepository;
+
+  @Mock
+  private MemberFineBalanceRepository memberFineBalanceRepository;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private MemberRepository memberRepository;
+
+  @Mock
+  private FineAccrualCheckpointRepository checkpointRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MeterRegistry meterRegistry;
+  private FineService fineService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    fineService = newFineService(true, 100);
+  }
+
+  private FineService newFineService(boolean enabled, int chunkSize) {
+    return new FineService(fineRepository, memberFineBalanceRepository, loanRepository, memberRepository,
+        checkpointRepository, transactionManager, meterRegistry, enabled, RATE, 60, chunkSize, Duration.ofHours(1));
+  }
+
+  private static List<Object[]> rows(Object[]... rows) {
+    return new ArrayList<>(List.of(rows));
+  }
+
+  private void stubNoCandidates() {
+    when(loanRepository.findOpenOverduePage(any(), anyLong(), any(), any())).thenReturn(List.of());
+    when(loanRepository.findReturnedLatePage(any(), anyLong(), any())).thenReturn(List.of());
+  }
+
+  @Test
+  @DisplayName("accrueFines - No Candidates - Writes Nothing And Advances Checkpoint")
+  void accrueFines_NoCandidates_WritesNothingAndAdvancesCheckpoint() {
+    // Arrange
+    stubNoCandidates();
+
+    // Act
+    long charged = fineService.accrueFines();
+
+    // Assert
+    assertThat(charged).isZero();
+    verifyNoInteractions(fineRepository, memberFineBalanceRepository);
+    verify(checkpointRepository).save(any(FineAccrualCheckpoint.class));
+  }
+
+  @Test
+  @DisplayName("accrueFines - First Run - Considers Every Returned And Open Overdue Loan")
+  void accrueFines_FirstRun_ConsidersEveryReturnedAndOpenOverdueLoan() {
+    // Arrange
+    when(checkpointRepository.findById(FineAccrualCheckpoint.ID)).thenReturn(Optional.empty());
+    stubNoCandidates();
+
+    // Act
+    fineService.accrueFines();
+
+    // Assert
+    verify(loanRepository).findReturnedLatePage(eq(FineService.FIRST_RUN_SINCE), eq(0L), any());
+    verify(loanRepository).findOpenOverduePage(
+        eq(FineService.FIRST_RUN_SINCE.toLocalDate().minusDays(60).atStartOfDay()), eq(0L), any(), any());
+  }
+
+  @Test
+  @DisplayName("accrueFines - Previous Run - Limits Window To Loans That Can Still Accrue")
+  void accrueFines_PreviousRun_LimitsWindowToLoansThatCanStillAccrue() {
+    // Arrange
+    LocalDateTime lastAsOf = LocalDateTime.of(2024, 3, 2, 1, 30);
+    when(checkpointRepository.findById(FineAccrualCheckpoint.ID))
+        .thenReturn(Optional.of(new FineAccrualCheckpoint(lastAsOf)));
+    stubNoCandidates();
+
+    // Act
+    fineService.accrueFines();
+
+    // Assert
+    verify(loanRepository).findReturnedLatePage(eq(LocalDateTime.of(2024, 3, 2, 0, 30)), eq(0L), any());
+    verify(loanRepository).findOpenOverduePage(eq(LocalDateTime.of(2024, 1, 2, 0, 0)), eq(0L), any(), any());
+    ArgumentCaptor<FineAccrualCheckpoint> saved = ArgumentCaptor.forClass(FineAccrualCheckpoint.class);
+    verify(checkpointRepository).save(saved.capture());
+    assertThat(saved.getValue().getLastAsOf()).isAfter(lastAsOf);
+  }
+
+  @Test
+  @DisplayName("accrueFines - Full Page - Continues From Last Keyset Position")
+  void accrueFines_FullPage_ContinuesFromLastKeysetPosition() {
+    // Arrange
+    fineService = newFineService(true, 2);
+    LocalDateTime due1 = LocalDateTime.of(2024, 3, 1, 10, 0);
+    LocalDateTime due2 = LocalDateTime.of(2024, 3, 1, 12, 0);
+    when(loanRepository.findOpenOverduePage(any(), eq(0L), any(), any()))
+        .thenReturn(rows(new Object[]{7L, due1}, new Object[]{3L, due2}));
+    when(loanRepository.findOpenOverduePage(eq(due2), eq(3L), any(), any()))
+        .thenReturn(rows(new Object[]{9L, due2}));
+    when(loanRepository.findReturnedLatePage(any(), anyLong(), any())).thenReturn(List.of());
+    when(fineRepository.insertCharges(anyString(), any(LocalDateTime.class), eq(60), eq(RATE), anyList()))
+        .thenReturn(2, 1);
+
+    // Act
+    long charged = fineService.accrueFines();
+
+    // Assert
+    assertThat(charged).isEqualTo(3);
+    verify(fineRepository).insertCharges(anyString(), any(LocalDateTime.class), eq(60), eq(RATE), eq(List.of(7L, 3L)));
+    verify(fineRepository).insertCharges(anyString(), any(LocalDateTime.class), eq(60), eq(RATE), eq(List.of(9L)));
+    verify(transactionManager, times(2)).commit(any());
+    assertThat(meterRegistry.counter("library.fines.charges").count()).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("accrueFines - Page Without New Charges - Skips Loan And Balance Updates")
+  void accrueFines_PageWithoutNewCharges_SkipsLoanAndBalanceUpdates() {
+    // Arrange
+    when(loanRepository.findOpenOverduePage(any(), anyLong(), any(), any())).thenReturn(List.of());
+    when(loanRepository.findReturnedLatePage(any(), anyLong(), any()))
+        .thenReturn(rows(new Object[]{5L, LocalDateTime.of(2024, 3, 1, 9, 0)}));
+    when(fineRepository.insertCharges(anyString(), any(LocalDateTime.class), anyInt(), any(), anyList()))
+        .thenReturn(0);
+
+    // Act
+    long charged = fineService.accrueFines();
+
+    // Assert
+    assertThat(charged).isZero();
+    verify(loanRepository, never()).advanceFineAccruedDays(any(), anyInt(), anyList());
+    verifyNoInteractions(memberFineBalanceRepository);
+  }
+
+  @Test
+  @DisplayName("accrueFines - New Charges - Advances Loans And Balances With Same Run")
+  void accrueFines_NewCharges_AdvancesLoansAndBalancesWithSameRun() {
+    // Arrange
+    when(loanRepository.findOpenOverduePage(any(), anyLong(), any(), any()))
+        .thenReturn(rows(new Object[]{5L, LocalDateTime.of(2024, 3, 1, 9, 0)}, new Object[]{50L, LocalDateTime.of(2024, 3, 1, 9, 0)}));
+    when(loanRepository.findReturnedLatePage(any(), anyLong(), any())).thenReturn(List.of());
+    when(fineRepository.insertCharges(anyString(), any(LocalDateTime.class), anyInt(), any(), anyList()))
+        .thenReturn(2);
+
+    // Act
+    fineService.accrueFines();
+
+    // Assert
+    ArgumentCaptor<String> runId = ArgumentCaptor.forClass(String.class);
+    verify(fineRepository).insertCharges(runId.capture(), any(LocalDateTime.class), anyInt(), any(), anyList());
+    verify(loanRepository).advanceFineAccruedDays(any(LocalDateTime.class), eq(60), eq(List.of(5L, 50L)));
+    verify(memberFineBalanceRepository).addCharges(eq(runId.getValue()), eq(List.of(5L, 50L)), any(LocalDateTime.class));
+    verify(memberFineBalanceRepository).insertBalances(eq(runId.getValue()), eq(List.of(5L, 50L)), any(LocalDateTime.class));
+  }
+
+  @Test
+  @DisplayName("accrueFines - Page Fails - Keeps Previous Checkpoint")
+  void accrueFines_PageFails_KeepsPreviousCheckpoint() {
+    // Arrange
+    when(loanRepository.findOpenOverduePage(any(), anyLong(), any(), any()))
+        .thenReturn(rows(new Object[]{5L, LocalDateTime.of(2024, 3, 1, 9, 0)}));
+    when(fineRepository.insertCharges(anyString(), any(LocalDateTime.class), anyInt(), any(), anyList()))
+        .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+    // Act & Assert
+    assertThatThrownBy(() -> fineService.accrueFines())
+        .isInstanceOf(DataAccessResourceFailureException.class);
+    verify(checkpointRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("accrueScheduled - Disabled - Does Nothing")
+  void accrueScheduled_Disabled_DoesNothing() {
+    // Arrange
+    fineService = newFineService(false, 100);
+
+    // Act
+    fineService.accrueScheduled();
+
+    // Assert
+    verifyNoInteractions(loanRepository, fineRepository, checkpointRepository);
+  }
+
+  @Test
+  @DisplayName("getMemberBalance - Existing Balance - Returns Balance")
+  void getMemberBalance_ExistingBalance_ReturnsBalance() {
+    // Arrange
+    MemberFineBalance balance = new MemberFineBalance();
+    balance.setMemberId(1L);
+    balance.setBalance(new BigDecimal("3.25"));
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    when(memberFineBalanceRepository.findById(1L)).thenReturn(Optional.of(balance));
+
+    // Act
+    FineBalanceResponseDTO result = fineService.getMemberBalance(1L);
+
+    // Assert
+    assertThat(result.getMemberId()).isEqualTo(1L);
+    assertThat(result.getBalance()).isEqualByComparingTo("3.25");
+  }
+
+  @Test
+  @DisplayName("getMemberBalance - No Fines Yet - Returns Zero")
+  void getMemberBalance_NoFinesYet_ReturnsZero() {
+    // Arrange
+    when(memberRepository.existsById(2L)).thenReturn(true);
+    when(memberFineBalanceRepository.findById(2L)).thenReturn(Optional.empty());
+
+    // Act
+    FineBalanceResponseDTO result = fineService.getMemberBalance(2L);
+
+    // Assert
+    assertThat(result.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+    assertThat(result.getUpdatedAt()).isNull();
+  }
+
+  @Test
+  @DisplayName("getMemberBalance - Non-Existing Member - Throws ResourceNotFoundException")
+  void getMemberBalance_NonExistingMember_ThrowsResourceNotFoundException() {
+    // Arrange
+    when(memberRepository.existsById(999L)).thenReturn(false);
+
+    // Act & Assert
+    assertThatThrownBy(() -> fineService.getMemberBalance(999L))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Member not found with id: 999");
+  }
+}
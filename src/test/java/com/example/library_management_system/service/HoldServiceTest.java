@@ -0,0 +1,296 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.hold.HoldCreateRequestDTO;
+import com.example.library_management_system.dto.hold.HoldResponseDTO;
+import com.example.library_management_system.event.HoldReadyEvent;
+import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.InvalidLoanOperationException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.mapper.HoldMapper;
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Hold;
+import com.example.library_management_system.model.HoldStatus;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.BookRepository;
+import com.example.library_management_system.repository.HoldRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.MemberRepository;
+import com.example.library_management_system.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HoldService Tests")
+class HoldServiceTest {
+
+  @Mock
+  private HoldRepository holdRepository;
+
+  @Mock
+  private HoldMapper holdMapper;
+
+  @Mock
+  private BookRepository bookRepository;
+
+  @Mock
+  private MemberRepository memberRepository;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private BookService bookService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private HoldService holdService;
+
+  private Member testMember;
+  private Book testBook;
+
+  @BeforeEach
+  void setUp() {
+    holdService = new HoldService(holdRepository, holdMapper, bookRepository, memberRepository,
+        loanRepository, bookService, eventPublisher, Duration.ofDays(3));
+
+    testMember = TestDataBuilder.createTestMemberWithId(1L);
+    testBook = TestDataBuilder.createTestBookWithCopies(0);
+    testBook.setId(2L);
+  }
+
+  private Hold holdWithId(Long id, Member member, HoldStatus status) {
+    Hold hold = new Hold(member, testBook);
+    hold.setId(id);
+    hold.setStatus(status);
+    return hold;
+  }
+
+  @Test
+  @DisplayName("placeHold - No Copies Available - Queues Hold")
+  void placeHold_NoCopiesAvailable_QueuesHold() {
+    // Arrange
+    Hold savedHold = holdWithId(10L, testMember, HoldStatus.WAITING);
+    HoldResponseDTO responseDTO = new HoldResponseDTO();
+    responseDTO.setId(10L);
+
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(holdRepository.save(any(Hold.class))).thenReturn(savedHold);
+    when(holdMapper.toResponseDTO(savedHold)).thenReturn(responseDTO);
+
+    // Act
+    HoldResponseDTO result = holdService.placeHold(2L, new HoldCreateRequestDTO(1L));
+
+    // Assert
+    assertThat(result.getId()).isEqualTo(10L);
+  }
+
+  @Test
+  @DisplayName("placeHold - Copies Available - Throws InvalidLoanOperationException")
+  void placeHold_CopiesAvailable_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    testBook.setCopiesAvailable(2);
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+
+    // Act & Assert
+    assertThatThrownBy(() -> holdService.placeHold(2L, new HoldCreateRequestDTO(1L)))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("Book is available");
+
+    verify(holdRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("placeHold - Copies Available But Others Waiting - Queues Hold")
+  void placeHold_CopiesAvailableButOthersWaiting_QueuesHold() {
+    // Arrange
+    testBook.setCopiesAvailable(1);
+    Hold savedHold = holdWithId(10L, testMember, HoldStatus.WAITING);
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(holdRepository.existsByBookIdAndStatus(2L, HoldStatus.WAITING)).thenReturn(true);
+    when(holdRepository.save(any(Hold.class))).thenReturn(savedHold);
+    when(holdMapper.toResponseDTO(savedHold)).thenReturn(new HoldResponseDTO());
+
+    // Act
+    holdService.placeHold(2L, new HoldCreateRequestDTO(1L));
+
+    // Assert
+    verify(holdRepository).save(any(Hold.class));
+  }
+
+  @Test
+  @DisplayName("placeHold - Existing Hold - Throws DuplicateResourceException")
+  void placeHold_ExistingHold_ThrowsDuplicateResourceException() {
+    // Arrange
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(holdRepository.existsByMemberIdAndBookIdAndStatusIn(eq(1L), eq(2L), anyCollection())).thenReturn(true);
+
+    // Act & Assert
+    assertThatThrownBy(() -> holdService.placeHold(2L, new HoldCreateRequestDTO(1L)))
+        .isInstanceOf(DuplicateResourceException.class)
+        .hasMessageContaining("Member already has a hold on this book");
+  }
+
+  @Test
+  @DisplayName("placeHold - Non-Existing Book - Throws ResourceNotFoundException")
+  void placeHold_NonExistingBook_ThrowsResourceNotFoundException() {
+    // Arrange
+    when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> holdService.placeHold(999L, new HoldCreateRequestDTO(1L)))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Book not found with id: 999");
+  }
+
+  @Test
+  @DisplayName("allocateReturnedCopy - Waiting Holds - Readies Head Of Queue")
+  void allocateReturnedCopy_WaitingHolds_ReadiesHeadOfQueue() {
+    // Arrange
+    when(holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(2L, HoldStatus.WAITING))
+        .thenReturn(Optional.of(holdWithId(10L, testMember, HoldStatus.WAITING)));
+    when(holdRepository.markReady(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+    // Act
+    holdService.allocateReturnedCopy(2L);
+
+    // Assert
+    ArgumentCaptor<HoldReadyEvent> event = ArgumentCaptor.forClass(HoldReadyEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertThat(event.getValue().getHoldId()).isEqualTo(10L);
+    assertThat(event.getValue().getMemberId()).isEqualTo(1L);
+    verify(bookService, never()).incrementCopies(any());
+  }
+
+  @Test
+  @DisplayName("allocateReturnedCopy - Head Taken Concurrently - Retries With Next Head")
+  void allocateReturnedCopy_HeadTakenConcurrently_RetriesWithNextHead() {
+    // Arrange
+    Member secondMember = TestDataBuilder.createTestMemberWithId(5L);
+    when(holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(2L, HoldStatus.WAITING)).thenReturn(
+        Optional.of(holdWithId(10L, testMember, HoldStatus.WAITING)),
+        Optional.of(holdWithId(11L, secondMember, HoldStatus.WAITING)));
+    when(holdRepository.markReady(eq(10L), any(LocalDateTime.class))).thenReturn(0);
+    when(holdRepository.markReady(eq(11L), any(LocalDateTime.class))).thenReturn(1);
+
+    // Act
+    holdService.allocateReturnedCopy(2L);
+
+    // Assert
+    ArgumentCaptor<HoldReadyEvent> event = ArgumentCaptor.forClass(HoldReadyEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertThat(event.getValue().getHoldId()).isEqualTo(11L);
+    verify(bookService, never()).incrementCopies(any());
+  }
+
+  @Test
+  @DisplayName("allocateReturnedCopy - Empty Queue - Increments Copies")
+  void allocateReturnedCopy_EmptyQueue_IncrementsCopies() {
+    // Arrange
+    when(holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(2L, HoldStatus.WAITING)).thenReturn(Optional.empty());
+
+    // Act
+    holdService.allocateReturnedCopy(2L);
+
+    // Assert
+    verify(bookService).incrementCopies(2L);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("claimReadyHold - Member Has Ready Hold - Marks Fulfilled")
+  void claimReadyHold_MemberHasReadyHold_MarksFulfilled() {
+    // Arrange
+    when(holdRepository.markFulfilled(1L, 2L)).thenReturn(1);
+
+    // Act
+    boolean claimed = holdService.claimReadyHold(1L, 2L);
+
+    // Assert
+    assertThat(claimed).isTrue();
+  }
+
+  @Test
+  @DisplayName("claimReadyHold - No Ready Hold - Returns False")
+  void claimReadyHold_NoReadyHold_ReturnsFalse() {
+    // Arrange
+    when(holdRepository.markFulfilled(1L, 2L)).thenReturn(0);
+
+    // Act
+    boolean claimed = holdService.claimReadyHold(1L, 2L);
+
+    // Assert
+    assertThat(claimed).isFalse();
+  }
+
+  @Test
+  @DisplayName("cancelHold - Ready Hold - Passes Copy To Next Hold")
+  void cancelHold_ReadyHold_PassesCopyToNextHold() {
+    // Arrange
+    Member secondMember = TestDataBuilder.createTestMemberWithId(5L);
+    Hold readyHold = holdWithId(10L, testMember, HoldStatus.READY);
+    when(holdRepository.findById(10L)).thenReturn(Optional.of(readyHold));
+    when(holdRepository.transition(10L, HoldStatus.READY, HoldStatus.CANCELLED)).thenReturn(1);
+    when(holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(2L, HoldStatus.WAITING))
+        .thenReturn(Optional.of(holdWithId(11L, secondMember, HoldStatus.WAITING)));
+    when(holdRepository.markReady(eq(11L), any(LocalDateTime.class))).thenReturn(1);
+
+    // Act
+    holdService.cancelHold(2L, 10L);
+
+    // Assert
+    verify(holdRepository).markReady(eq(11L), any(LocalDateTime.class));
+    verify(bookService, never()).incrementCopies(any());
+  }
+
+  @Test
+  @DisplayName("cancelHold - Already Fulfilled - Throws InvalidLoanOperationException")
+  void cancelHold_AlreadyFulfilled_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    when(holdRepository.findById(10L)).thenReturn(Optional.of(holdWithId(10L, testMember, HoldStatus.FULFILLED)));
+
+    // Act & Assert
+    assertThatThrownBy(() -> holdService.cancelHold(2L, 10L))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("Hold is no longer active");
+  }
+
+  @Test
+  @DisplayName("expireReadyHolds - Pickup Window Passed - Expires And Reallocates")
+  void expireReadyHolds_PickupWindowPassed_ExpiresAndReallocates() {
+    // Arrange
+    Hold readyHold = holdWithId(10L, testMember, HoldStatus.READY);
+    when(holdRepository.findByStatusAndReadyAtBefore(eq(HoldStatus.READY), any(LocalDateTime.class)))
+        .thenReturn(List.of(readyHold));
+    when(holdRepository.transition(10L, HoldStatus.READY, HoldStatus.EXPIRED)).thenReturn(1);
+    when(holdRepository.findFirstByBookIdAndStatusOrderByIdAsc(2L, HoldStatus.WAITING)).thenReturn(Optional.empty());
+
+    // Act
+    holdService.expireReadyHolds();
+
+    // Assert
+    verify(bookService).incrementCopies(2L);
+  }
+}
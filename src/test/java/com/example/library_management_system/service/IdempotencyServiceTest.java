@@ -0,0 +1,225 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.loan.LoanResponseDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.DuplicateResourceException;
+import com.example.library_management_system.exception.IdempotencyConflictException;
+import com.example.library_management_system.model.IdempotencyRecord;
+import com.example.library_management_system.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+  private static final String SCOPE = "POST /api/loans";
+
+  @Mock
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private IdempotencyService idempotencyService;
+  private LoanResponseDTO responseDTO;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    idempotencyService = new IdempotencyService(idempotencyRecordRepository, objectMapper, transactionManager,
+        Duration.ofHours(24), 100, Duration.ofMillis(300), Duration.ofMinutes(1));
+
+    responseDTO = new LoanResponseDTO();
+    responseDTO.setId(1L);
+    responseDTO.setMemberId(1L);
+    responseDTO.setBookId(2L);
+  }
+
+  @Test
+  @DisplayName("execute - No Key - Runs Action Without Store")
+  void execute_NoKey_RunsActionWithoutStore() {
+    // Act
+    ResponseEntity<LoanResponseDTO> result = idempotencyService.execute(SCOPE, null, "request",
+        LoanResponseDTO.class, () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED));
+
+    // Assert
+    assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    verifyNoInteractions(idempotencyRecordRepository);
+  }
+
+  @Test
+  @DisplayName("execute - Retry With Same Key - Replays Stored Response")
+  void execute_RetryWithSameKey_ReplaysStoredResponse() {
+    // Arrange
+    AtomicInteger calls = new AtomicInteger();
+
+    // Act
+    ResponseEntity<LoanResponseDTO> first = idempotencyService.execute(SCOPE, "key-1", "request",
+        LoanResponseDTO.class, () -> {
+          calls.incrementAndGet();
+          return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+        });
+    ResponseEntity<LoanResponseDTO> retry = idempotencyService.execute(SCOPE, "key-1", "request",
+        LoanResponseDTO.class, () -> {
+          calls.incrementAndGet();
+          return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+        });
+
+    // Assert
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody().getId()).isEqualTo(1L);
+    assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    verify(idempotencyRecordRepository).complete(eq(SCOPE + ":key-1"), eq(201), anyString());
+  }
+
+  @Test
+  @DisplayName("execute - Same Key Different Request - Throws BadRequestException")
+  void execute_SameKeyDifferentRequest_ThrowsBadRequestException() {
+    // Arrange
+    idempotencyService.execute(SCOPE, "key-1", "request", LoanResponseDTO.class,
+        () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED));
+
+    // Act & Assert
+    assertThatThrownBy(() -> idempotencyService.execute(SCOPE, "key-1", "other request", LoanResponseDTO.class,
+        () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED)))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("already used for a different request");
+  }
+
+  @Test
+  @DisplayName("execute - Action Fails - Releases Claim So Retry Runs Again")
+  void execute_ActionFails_ReleasesClaimSoRetryRunsAgain() {
+    // Act & Assert
+    assertThatThrownBy(() -> idempotencyService.execute(SCOPE, "key-1", "request", LoanResponseDTO.class,
+        () -> {
+          throw new DuplicateResourceException("Member already has an active loan for this book");
+        }))
+        .isInstanceOf(DuplicateResourceException.class);
+
+    verify(idempotencyRecordRepository).release(SCOPE + ":key-1");
+
+    ResponseEntity<LoanResponseDTO> retry = idempotencyService.execute(SCOPE, "key-1", "request",
+        LoanResponseDTO.class, () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED));
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+  }
+
+  @Test
+  @DisplayName("execute - Completed On Other Node - Replays Stored Row")
+  void execute_CompletedOnOtherNode_ReplaysStoredRow() throws Exception {
+    // Arrange
+    ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+    idempotencyService.execute(SCOPE, "key-0", "request", LoanResponseDTO.class,
+        () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED));
+    verify(idempotencyRecordRepository).claim(eq(SCOPE + ":key-0"), fingerprint.capture(), any(), any());
+
+    IdempotencyRecord stored = new IdempotencyRecord(SCOPE + ":key-1", fingerprint.getValue(),
+        LocalDateTime.now().plusHours(1));
+    stored.setResponseStatus(201);
+    stored.setResponseBody(new ObjectMapper().writeValueAsString(responseDTO));
+    when(idempotencyRecordRepository.claim(eq(SCOPE + ":key-1"), anyString(), any(), any()))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+    when(idempotencyRecordRepository.findById(SCOPE + ":key-1")).thenReturn(Optional.of(stored));
+
+    // Act
+    ResponseEntity<LoanResponseDTO> result = idempotencyService.execute(SCOPE, "key-1", "request",
+        LoanResponseDTO.class, () -> {
+          throw new AssertionError("action must not run");
+        });
+
+    // Assert
+    assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(result.getBody().getId()).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("execute - In Progress On Other Node - Throws IdempotencyConflictException")
+  void execute_InProgressOnOtherNode_ThrowsIdempotencyConflictException() {
+    // Arrange
+    when(idempotencyRecordRepository.claim(anyString(), anyString(), any(), any()))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+    when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> idempotencyService.execute(SCOPE, "key-1", "request", LoanResponseDTO.class,
+        () -> new ResponseEntity<>(responseDTO, HttpStatus.CREATED)))
+        .isInstanceOf(IdempotencyConflictException.class);
+  }
+
+  @Test
+  @DisplayName("execute - Concurrent Duplicates - Run Action Once")
+  void execute_ConcurrentDuplicates_RunActionOnce() throws Exception {
+    // Arrange
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      Future<ResponseEntity<LoanResponseDTO>> first = executor.submit(() ->
+          idempotencyService.execute(SCOPE, "key-1", "request", LoanResponseDTO.class, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+          }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      Future<ResponseEntity<LoanResponseDTO>> duplicate = executor.submit(() ->
+          idempotencyService.execute(SCOPE, "key-1", "request", LoanResponseDTO.class, () -> {
+            calls.incrementAndGet();
+            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+          }));
+
+      // Act
+      Thread.sleep(50);
+      release.countDown();
+
+      // Assert
+      assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+      assertThat(duplicate.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER))
+          .isEqualTo("true");
+      assertThat(calls.get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
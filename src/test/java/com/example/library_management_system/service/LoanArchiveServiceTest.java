@@ -0,0 +1,96 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.ArchivedLoanRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanArchiveService Tests")
+class LoanArchiveServiceTest {
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private ArchivedLoanRepository archivedLoanRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private LoanArchiveService archiveService(boolean enabled) {
+    return new LoanArchiveService(loanRepository, archivedLoanRepository, transactionManager, meterRegistry,
+        enabled, Duration.ofDays(180), 2, 10, Duration.ofMillis(1));
+  }
+
+  @Test
+  @DisplayName("archiveReturnedLoans - Full Then Partial Batch - Moves All And Stops")
+  void archiveReturnedLoans_FullThenPartialBatch_MovesAllAndStops() {
+    // Arrange
+    when(loanRepository.findArchivableIds(any(LocalDateTime.class), eq(Limit.of(2))))
+        .thenReturn(List.of(1L, 2L))
+        .thenReturn(List.of(3L));
+    when(loanRepository.deleteByIdIn(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+    // Act
+    long archived = archiveService(true).archiveReturnedLoans();
+
+    // Assert
+    assertThat(archived).isEqualTo(3);
+    verify(archivedLoanRepository).copyFromLoans(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    verify(archivedLoanRepository).copyFromLoans(eq(List.of(3L)), any(LocalDateTime.class));
+    verify(loanRepository, times(2)).findArchivableIds(any(LocalDateTime.class), any(Limit.class));
+    assertThat(meterRegistry.get("library.loan.archive.archived").counter().count()).isEqualTo(3.0);
+    assertThat(meterRegistry.get("library.loan.archive.last.run").gauge().value()).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("archiveReturnedLoans - Nothing To Archive - Does Not Copy")
+  void archiveReturnedLoans_NothingToArchive_DoesNotCopy() {
+    // Arrange
+    when(loanRepository.findArchivableIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    long archived = archiveService(true).archiveReturnedLoans();
+
+    // Assert
+    assertThat(archived).isZero();
+    verifyNoInteractions(archivedLoanRepository);
+    verify(loanRepository, never()).deleteByIdIn(anyList());
+  }
+
+  @Test
+  @DisplayName("archiveScheduled - Disabled - Does Nothing")
+  void archiveScheduled_Disabled_DoesNothing() {
+    // Act
+    archiveService(false).archiveScheduled();
+
+    // Assert
+    verifyNoInteractions(loanRepository, archivedLoanRepository);
+  }
+}
@@ -0,0 +1,276 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoanEventBroadcaster Tests")
+class LoanEventBroadcasterTest {
+
+  private MeterRegistry meterRegistry;
+  private LoanEventBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (broadcaster != null) {
+      broadcaster.shutdown();
+    }
+  }
+
+  private LoanEventBroadcaster broadcaster(int replaySize, int subscriberBuffer, String overflowPolicy) {
+    broadcaster = new LoanEventBroadcaster(meterRegistry, replaySize, subscriberBuffer, overflowPolicy,
+        Duration.ofMinutes(30));
+    return broadcaster;
+  }
+
+  private static OutboxMessage loanEvent(long id, String type) {
+    return new OutboxMessage(id, OutboxService.LOAN, 100 + id, type, "{\"loanId\":" + (100 + id) + "}",
+        LocalDateTime.now());
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  // Records each frame as SSE text; optionally blocks in send() until released
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release;
+    private volatile boolean completed;
+    private volatile boolean failing;
+
+    RecordingEmitter() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+      if (failing) {
+        throw new IOException("Broken pipe");
+      }
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      frames.add(items.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+    }
+
+    @Override
+    public synchronized void complete() {
+      completed = true;
+      super.complete();
+    }
+
+    List<String> eventIds() {
+      return frames.stream()
+          .filter(frame -> frame.startsWith("id:"))
+          .map(frame -> frame.substring(3, frame.indexOf('\n')))
+          .collect(Collectors.toList());
+    }
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Loan Event - Sends Frame With Id, Name And Payload")
+  void onOutboxMessage_LoanEvent_SendsFrameWithIdNameAndPayload() throws Exception {
+    // Arrange
+    RecordingEmitter emitter = new RecordingEmitter();
+    broadcaster(10, 10, "disconnect").subscribe(emitter, null);
+
+    // Act
+    broadcaster.onOutboxMessage(loanEvent(1, "LoanBorrowed"));
+
+    // Assert
+    await(() -> emitter.frames.size() == 1);
+    assertThat(emitter.frames.get(0)).isEqualTo("id:1\nevent:LoanBorrowed\ndata:{\"loanId\":101}\n\n");
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Book Or Redelivered Event - Is Not Sent")
+  void onOutboxMessage_BookOrRedeliveredEvent_IsNotSent() throws Exception {
+    // Arrange
+    RecordingEmitter emitter = new RecordingEmitter();
+    broadcaster(10, 10, "disconnect").subscribe(emitter, null);
+
+    // Act
+    broadcaster.onOutboxMessage(new OutboxMessage(1L, OutboxService.BOOK, 5L, "BookCreated", "{}", LocalDateTime.now()));
+    broadcaster.onOutboxMessage(loanEvent(2, "LoanReturned"));
+    broadcaster.onOutboxMessage(loanEvent(2, "LoanReturned"));
+    broadcaster.onOutboxMessage(loanEvent(3, "LoanOverdue"));
+
+    // Assert
+    await(() -> emitter.frames.size() == 2);
+    assertThat(emitter.eventIds()).containsExactly("2", "3");
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Lower Id Committed Late - Is Sent And Replayed")
+  void onOutboxMessage_LowerIdCommittedLate_IsSentAndReplayed() throws Exception {
+    // Arrange
+    RecordingEmitter live = new RecordingEmitter();
+    broadcaster(10, 10, "disconnect").subscribe(live, null);
+    broadcaster.onOutboxMessage(loanEvent(5, "LoanBorrowed"));
+    broadcaster.onOutboxMessage(loanEvent(6, "LoanBorrowed"));
+
+    // Act
+    broadcaster.onOutboxMessage(loanEvent(4, "LoanReturned"));
+    RecordingEmitter resumed = new RecordingEmitter();
+    broadcaster.subscribe(resumed, 6L);
+
+    // Assert
+    await(() -> live.frames.size() == 3 && resumed.frames.size() == 1);
+    assertThat(live.eventIds()).containsExactly("5", "6", "4");
+    assertThat(resumed.eventIds()).containsExactly("4");
+  }
+
+  @Test
+  @DisplayName("subscribe - Last-Event-ID In Replay Window - Replays Only Later Events")
+  void subscribe_LastEventIdInReplayWindow_ReplaysOnlyLaterEvents() throws Exception {
+    // Arrange
+    broadcaster(10, 10, "disconnect");
+    broadcaster.onOutboxMessage(loanEvent(1, "LoanBorrowed"));
+    broadcaster.onOutboxMessage(loanEvent(4, "LoanBorrowed"));
+    broadcaster.onOutboxMessage(loanEvent(7, "LoanReturned"));
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    // Act
+    broadcaster.subscribe(emitter, 4L);
+    broadcaster.onOutboxMessage(loanEvent(9, "LoanRenewed"));
+
+    // Assert
+    await(() -> emitter.frames.size() == 2);
+    assertThat(emitter.eventIds()).containsExactly("7", "9");
+  }
+
+  @Test
+  @DisplayName("subscribe - Last-Event-ID Older Than Replay Window - Sends Reset")
+  void subscribe_LastEventIdOlderThanReplayWindow_SendsReset() throws Exception {
+    // Arrange
+    broadcaster(2, 10, "disconnect");
+    broadcaster.onOutboxMessage(loanEvent(1, "LoanBorrowed"));
+    broadcaster.onOutboxMessage(loanEvent(2, "LoanBorrowed"));
+    broadcaster.onOutboxMessage(loanEvent(3, "LoanBorrowed"));
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    // Act
+    broadcaster.subscribe(emitter, 0L);
+
+    // Assert
+    await(() -> emitter.frames.size() == 1);
+    assertThat(emitter.frames.get(0)).startsWith("event:reset\n");
+  }
+
+  @Test
+  @DisplayName("subscribe - Resume Before Any Event Since Startup - Sends Reset")
+  void subscribe_ResumeBeforeAnyEventSinceStartup_SendsReset() throws Exception {
+    // Arrange
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    // Act
+    broadcaster(10, 10, "disconnect").subscribe(emitter, 42L);
+
+    // Assert
+    await(() -> emitter.frames.size() == 1);
+    assertThat(emitter.frames.get(0)).startsWith("event:reset\n");
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Slow Subscriber Over Buffer - Is Disconnected")
+  void onOutboxMessage_SlowSubscriberOverBuffer_IsDisconnected() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter();
+    broadcaster(10, 2, "disconnect");
+    broadcaster.subscribe(slow, null);
+    broadcaster.subscribe(fast, null);
+
+    // Act: the slow subscriber is stuck sending event 1 while 2 and 3 fill its buffer; the fast
+    // one is given time to drain each event so only the slow one can overflow
+    for (long id = 1; id <= 4; id++) {
+      broadcaster.onOutboxMessage(loanEvent(id, "LoanBorrowed"));
+      int sent = (int) id;
+      await(() -> fast.frames.size() == sent);
+    }
+    release.countDown();
+
+    // Assert
+    await(() -> fast.frames.size() == 4);
+    assertThat(slow.completed).isTrue();
+    assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    assertThat(meterRegistry.counter("library.loans.events.disconnected").count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Drop Policy - Keeps Newest Frames")
+  void onOutboxMessage_DropPolicy_KeepsNewestFrames() throws Exception {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    broadcaster(10, 2, "drop").subscribe(slow, null);
+
+    // Act
+    for (long id = 1; id <= 5; id++) {
+      broadcaster.onOutboxMessage(loanEvent(id, "LoanBorrowed"));
+      if (id == 1) {
+        Thread.sleep(50);
+      }
+    }
+    release.countDown();
+
+    // Assert
+    await(() -> slow.frames.size() == 3);
+    assertThat(slow.eventIds()).containsExactly("1", "4", "5");
+    assertThat(slow.completed).isFalse();
+    assertThat(meterRegistry.counter("library.loans.events.dropped").count()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("onOutboxMessage - Send Fails - Removes Subscriber")
+  void onOutboxMessage_SendFails_RemovesSubscriber() throws Exception {
+    // Arrange
+    RecordingEmitter emitter = new RecordingEmitter();
+    emitter.failing = true;
+    broadcaster(10, 10, "disconnect").subscribe(emitter, null);
+
+    // Act
+    broadcaster.onOutboxMessage(loanEvent(1, "LoanBorrowed"));
+
+    // Assert
+    await(() -> broadcaster.subscriberCount() == 0);
+    assertThat(emitter.completed).isTrue();
+  }
+}
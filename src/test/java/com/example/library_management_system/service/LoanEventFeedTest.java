@@ -0,0 +1,174 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxSink;
+import com.example.library_management_system.model.OutboxEvent;
+import com.example.library_management_system.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanEventFeed Tests")
+class LoanEventFeedTest {
+
+  @Mock
+  private OutboxEventRepository outboxEventRepository;
+
+  private LoanEventBroadcaster broadcaster;
+  private LoanEventFeed feed;
+  private RecordingEmitter emitter;
+
+  @BeforeEach
+  void setUp() {
+    // A replay window of one, so the broadcaster cannot be what filters a re-read row
+    broadcaster = new LoanEventBroadcaster(new SimpleMeterRegistry(), 1, 10, "disconnect", Duration.ofMinutes(30));
+    feed = new LoanEventFeed(outboxEventRepository, broadcaster, true, 2, Duration.ofSeconds(10));
+    emitter = new RecordingEmitter();
+    broadcaster.subscribe(emitter, null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.shutdown();
+  }
+
+  private static OutboxEvent event(long id, LocalDateTime createdAt) {
+    OutboxEvent event = new OutboxEvent(OutboxService.LOAN, 100 + id, "LoanBorrowed", "{\"loanId\":" + (100 + id) + "}");
+    event.setId(id);
+    event.setCreatedAt(createdAt);
+    return event;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  // Records the id of every event frame
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final List<String> ids = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(Set<DataWithMediaType> items) {
+      String frame = String.valueOf(items.iterator().next().getData());
+      if (frame.startsWith("id:")) {
+        ids.add(frame.substring(3, frame.indexOf('\n')));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("poll - Node Without Relay - Subscriber Receives Loan Events")
+  void poll_NodeWithoutRelay_SubscriberReceivesLoanEvents() throws Exception {
+    // Arrange: this node runs the relay disabled, so nothing reaches it through the outbox sinks
+    OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(mock(OutboxSink.class)),
+        mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), false, 2, 1, Duration.ofDays(7));
+    LocalDateTime now = LocalDateTime.now();
+    when(outboxEventRepository.findCreatedAfter(eq(OutboxService.LOAN), any(), eq(0L), eq(Limit.of(2))))
+        .thenReturn(List.of(event(1L, now)));
+
+    // Act
+    relay.relayScheduled();
+    int forwarded = feed.poll();
+
+    // Assert
+    assertThat(forwarded).isEqualTo(1);
+    await(() -> emitter.ids.equals(List.of("1")));
+    verify(outboxEventRepository, never()).findUnpublished(any());
+    verify(outboxEventRepository, never()).markPublished(any(), any());
+  }
+
+  @Test
+  @DisplayName("poll - Row Read Again Within Overlap - Is Not Sent Twice")
+  void poll_RowReadAgainWithinOverlap_IsNotSentTwice() throws Exception {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(outboxEventRepository.findCreatedAfter(eq(OutboxService.LOAN), any(), eq(0L), eq(Limit.of(2))))
+        .thenReturn(List.of(event(1L, now)))
+        .thenReturn(List.of(event(1L, now)));
+
+    // Act
+    feed.poll();
+    feed.poll();
+
+    // Assert
+    await(() -> emitter.ids.size() == 1);
+    Thread.sleep(50);
+    assertThat(emitter.ids).containsExactly("1");
+  }
+
+  @Test
+  @DisplayName("poll - Lower Id Committed Late - Is Sent On Next Poll")
+  void poll_LowerIdCommittedLate_IsSentOnNextPoll() throws Exception {
+    // Arrange: row 1 was stamped before row 2 but only committed after the first poll read row 2
+    LocalDateTime now = LocalDateTime.now();
+    when(outboxEventRepository.findCreatedAfter(eq(OutboxService.LOAN), any(), eq(0L), eq(Limit.of(2))))
+        .thenReturn(List.of(event(2L, now)))
+        .thenReturn(List.of(event(1L, now.minusSeconds(1)), event(2L, now)));
+
+    // Act
+    feed.poll();
+    feed.poll();
+
+    // Assert
+    await(() -> emitter.ids.equals(List.of("2", "1")));
+  }
+
+  @Test
+  @DisplayName("poll - Full Page - Continues From Last Keyset Position")
+  void poll_FullPage_ContinuesFromLastKeysetPosition() throws Exception {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    when(outboxEventRepository.findCreatedAfter(eq(OutboxService.LOAN), any(), eq(0L), eq(Limit.of(2))))
+        .thenReturn(List.of(event(1L, now), event(2L, now)));
+    when(outboxEventRepository.findCreatedAfter(OutboxService.LOAN, now, 2L, Limit.of(2)))
+        .thenReturn(List.of(event(3L, now)));
+
+    // Act
+    int forwarded = feed.poll();
+
+    // Assert
+    assertThat(forwarded).isEqualTo(3);
+    await(() -> emitter.ids.equals(List.of("1", "2", "3")));
+  }
+
+  @Test
+  @DisplayName("pollScheduled - Disabled - Does Nothing")
+  void pollScheduled_Disabled_DoesNothing() {
+    // Arrange
+    feed = new LoanEventFeed(outboxEventRepository, broadcaster, false, 2, Duration.ofSeconds(10));
+
+    // Act
+    feed.pollScheduled();
+
+    // Assert
+    verify(outboxEventRepository, never()).findCreatedAfter(any(), any(), anyLong(), any());
+  }
+}
@@ -1,28 +1,39 @@
 package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.loan.LoanCreateRequestDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
 import com.example.library_management_system.dto.loan.LoanReturnRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.BookUnavailableException;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.InvalidLoanOperationException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.mapper.LoanMapper;
+import com.example.library_management_system.model.ArchivedLoan;
 import com.example.library_management_system.model.Book;
 import com.example.library_management_system.model.Loan;
 import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.ArchivedLoanRepository;
 import com.example.library_management_system.repository.BookRepository;
 import com.example.library_management_system.repository.LoanRepository;
 import com.example.library_management_system.repository.MemberRepository;
 import com.example.library_management_system.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -31,15 +42,26 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("LoanService Tests")
 class LoanServiceTest {
 
+  private static final int MAX_ACTIVE_LOANS = 5;
+  private static final int MAX_RENEWALS = 2;
+
   @Mock
   private LoanRepository loanRepository;
 
+  @Mock
+  private ArchivedLoanRepository archivedLoanRepository;
+
   @Mock
   private MemberRepository memberRepository;
 
@@ -49,10 +71,27 @@ class LoanServiceTest {
   @Mock
   private BookService bookService;
 
+  @Mock
+  private HoldService holdService;
+
+  @Mock
+  private OutboxService outboxService;
+
+  @Mock
+  private ActiveLoanCounter activeLoanCounter;
+
+  @Mock
+  private CirculationStatsService circulationStatsService;
+
+  @Mock
+  private RecommendationService recommendationService;
+
   @Mock
   private LoanMapper loanMapper;
 
-  @InjectMocks
+  @Mock
+  private ObjectMapper objectMapper;
+
   private LoanService loanService;
 
   private Member testMember;
@@ -63,6 +102,10 @@ class LoanServiceTest {
 
   @BeforeEach
   void setUp() {
+    loanService = new LoanService(loanRepository, archivedLoanRepository, loanMapper, bookRepository,
+        memberRepository, bookService, holdService, outboxService, activeLoanCounter, circulationStatsService,
+        recommendationService, objectMapper, MAX_ACTIVE_LOANS, MAX_RENEWALS, Duration.ofDays(14));
+
     testMember = TestDataBuilder.createTestMemberWithId(1L);
     testBook = TestDataBuilder.createTestBookWithCopies(5);
     testBook.setId(2L);
@@ -87,7 +130,7 @@ class LoanServiceTest {
     // Arrange
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
     when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
-    when(loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(1L, 2L)).thenReturn(false);
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
     when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
     doNothing().when(bookService).decrementCopies(2L);
     when(loanMapper.toResponseDTO(testLoan)).thenReturn(responseDTO);
@@ -100,9 +143,11 @@ class LoanServiceTest {
     assertThat(result.getId()).isEqualTo(1L);
     verify(memberRepository).findById(1L);
     verify(bookRepository).findById(2L);
-    verify(loanRepository).existsByMemberIdAndBookIdAndReturnDateIsNull(1L, 2L);
     verify(loanRepository).save(any(Loan.class));
     verify(bookService).decrementCopies(2L);
+    verify(outboxService).append(eq(OutboxService.LOAN), eq(1L), eq("LoanBorrowed"), anyMap());
+    verify(circulationStatsService).recordBorrow(testLoan.getBorrowDate());
+    verify(recommendationService).recordBorrow(1L, 1L, 2L);
   }
 
   @Test
@@ -112,7 +157,7 @@ class LoanServiceTest {
     testBook.setCopiesAvailable(0);
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
     when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
-    when(loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(1L, 2L)).thenReturn(false);
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
 
     // Act & Assert
     assertThatThrownBy(() -> loanService.borrowBook(createRequestDTO))
@@ -123,21 +168,76 @@ class LoanServiceTest {
     verify(bookService, never()).decrementCopies(any());
   }
 
+  @Test
+  @DisplayName("borrowBook - Ready Hold - Uses Reserved Copy")
+  void borrowBook_ReadyHold_UsesReservedCopy() {
+    // Arrange
+    testBook.setCopiesAvailable(0);
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
+    when(holdService.claimReadyHold(1L, 2L)).thenReturn(true);
+    when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
+    when(loanMapper.toResponseDTO(testLoan)).thenReturn(responseDTO);
+
+    // Act
+    LoanResponseDTO result = loanService.borrowBook(createRequestDTO);
+
+    // Assert
+    assertThat(result).isNotNull();
+    verify(loanRepository).save(any(Loan.class));
+    verify(bookService, never()).decrementCopies(any());
+  }
+
   @Test
   @DisplayName("borrowBook - Duplicate Loan - Throws DuplicateResourceException")
   void borrowBook_DuplicateLoan_ThrowsDuplicateResourceException() {
     // Arrange
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
     when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
-    when(loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(1L, 2L)).thenReturn(true);
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
+    when(loanRepository.save(any(Loan.class))).thenThrow(new DataIntegrityViolationException("duplicate key",
+        new ConstraintViolationException("duplicate key", new SQLException("23505"), "PUBLIC.UQ_LOAN_ACTIVE_MEMBER_BOOK")));
 
     // Act & Assert
     assertThatThrownBy(() -> loanService.borrowBook(createRequestDTO))
         .isInstanceOf(DuplicateResourceException.class)
         .hasMessageContaining("Member already has an active loan for this book");
 
-    verify(loanRepository, never()).save(any());
     verify(bookService, never()).decrementCopies(any());
+    verify(outboxService, never()).append(any(), any(), any(), anyMap());
+  }
+
+  @Test
+  @DisplayName("borrowBook - Other Integrity Violation - Rethrows")
+  void borrowBook_OtherIntegrityViolation_Rethrows() {
+    // Arrange
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
+    when(loanRepository.save(any(Loan.class))).thenThrow(new DataIntegrityViolationException("fk",
+        new ConstraintViolationException("fk", new SQLException("23503"), "fk_loan_book")));
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.borrowBook(createRequestDTO))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("borrowBook - Loan Limit Reached - Throws InvalidLoanOperationException")
+  void borrowBook_LoanLimitReached_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+    when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(false);
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.borrowBook(createRequestDTO))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("limit of 5 active loans");
+
+    verify(loanRepository, never()).save(any());
+    verify(holdService, never()).claimReadyHold(any(), any());
   }
 
   @Test
@@ -178,7 +278,7 @@ class LoanServiceTest {
     // Arrange
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
     when(bookRepository.findById(2L)).thenReturn(Optional.of(testBook));
-    when(loanRepository.existsByMemberIdAndBookIdAndReturnDateIsNull(1L, 2L)).thenReturn(false);
+    when(activeLoanCounter.tryIncrement(1L, MAX_ACTIVE_LOANS)).thenReturn(true);
     when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
       Loan loan = invocation.getArgument(0);
       // Verify dueDate is set to approximately 14 days from now
@@ -206,7 +306,7 @@ class LoanServiceTest {
 
     when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
     when(loanRepository.save(testLoan)).thenReturn(testLoan);
-    doNothing().when(bookService).incrementCopies(2L);
+    doNothing().when(holdService).allocateReturnedCopy(2L);
     when(loanMapper.toResponseDTO(testLoan)).thenReturn(responseDTO);
 
     // Act
@@ -217,7 +317,10 @@ class LoanServiceTest {
     assertThat(testLoan.getReturnDate()).isNotNull();
     verify(loanRepository).findById(1L);
     verify(loanRepository).save(testLoan);
-    verify(bookService).incrementCopies(2L);
+    verify(holdService).allocateReturnedCopy(2L);
+    verify(activeLoanCounter).decrement(1L);
+    verify(circulationStatsService).recordReturn(testLoan.getReturnDate());
+    verify(outboxService).append(eq(OutboxService.LOAN), eq(1L), eq("LoanReturned"), anyMap());
   }
 
   @Test
@@ -237,6 +340,7 @@ class LoanServiceTest {
     verify(loanRepository).findById(1L);
     verify(loanRepository, never()).save(any());
     verify(bookService, never()).incrementCopies(any());
+    verify(holdService, never()).allocateReturnedCopy(any());
   }
 
   @Test
@@ -255,6 +359,96 @@ class LoanServiceTest {
     verify(loanRepository, never()).save(any());
   }
 
+  @Test
+  @DisplayName("renewLoan - Eligible Loan - Updates Then Reads Renewed Loan")
+  void renewLoan_EligibleLoan_UpdatesThenReadsRenewedLoan() {
+    // Arrange
+    testLoan.setRenewalCount(1);
+    when(loanRepository.renew(eq(1L), eq(14L), eq(MAX_RENEWALS), any(LocalDateTime.class))).thenReturn(1);
+    when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+    when(loanMapper.toResponseDTO(testLoan)).thenReturn(responseDTO);
+
+    // Act
+    LoanResponseDTO result = loanService.renewLoan(1L);
+
+    // Assert
+    assertThat(result.getId()).isEqualTo(1L);
+    verify(loanRepository, times(1)).findById(1L);
+    verify(loanRepository, never()).save(any());
+    verify(outboxService).append(eq(OutboxService.LOAN), eq(1L), eq("LoanRenewed"), anyMap());
+    verify(bookService, never()).decrementCopies(any());
+  }
+
+  @Test
+  @DisplayName("renewLoan - Renewal Limit Reached - Throws InvalidLoanOperationException")
+  void renewLoan_RenewalLimitReached_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    testLoan.setRenewalCount(MAX_RENEWALS);
+    when(loanRepository.renew(eq(1L), anyLong(), anyInt(), any(LocalDateTime.class))).thenReturn(0);
+    when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.renewLoan(1L))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("limit of 2 renewals");
+
+    verify(outboxService, never()).append(any(), any(), any(), anyMap());
+  }
+
+  @Test
+  @DisplayName("renewLoan - Overdue Loan - Throws InvalidLoanOperationException")
+  void renewLoan_OverdueLoan_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    testLoan.setDueDate(LocalDateTime.now().minusDays(1));
+    when(loanRepository.renew(eq(1L), anyLong(), anyInt(), any(LocalDateTime.class))).thenReturn(0);
+    when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.renewLoan(1L))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("Overdue loans cannot be renewed");
+  }
+
+  @Test
+  @DisplayName("renewLoan - Already Returned - Throws InvalidLoanOperationException")
+  void renewLoan_AlreadyReturned_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    testLoan.setReturnDate(LocalDateTime.now());
+    when(loanRepository.renew(eq(1L), anyLong(), anyInt(), any(LocalDateTime.class))).thenReturn(0);
+    when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.renewLoan(1L))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("already been returned");
+  }
+
+  @Test
+  @DisplayName("renewLoan - Members Waiting For Book - Throws InvalidLoanOperationException")
+  void renewLoan_MembersWaitingForBook_ThrowsInvalidLoanOperationException() {
+    // Arrange
+    when(loanRepository.renew(eq(1L), anyLong(), anyInt(), any(LocalDateTime.class))).thenReturn(0);
+    when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.renewLoan(1L))
+        .isInstanceOf(InvalidLoanOperationException.class)
+        .hasMessageContaining("waiting in the hold queue");
+  }
+
+  @Test
+  @DisplayName("renewLoan - Non-Existing Loan - Throws ResourceNotFoundException")
+  void renewLoan_NonExistingLoan_ThrowsResourceNotFoundException() {
+    // Arrange
+    when(loanRepository.renew(eq(999L), anyLong(), anyInt(), any(LocalDateTime.class))).thenReturn(0);
+    when(loanRepository.findById(999L)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.renewLoan(999L))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Loan not found with id: 999");
+  }
+
   @Test
   @DisplayName("getOverdueLoans - Returns Overdue Loans")
   void getOverdueLoans_ReturnsOverdueLoans() {
@@ -305,19 +499,105 @@ class LoanServiceTest {
     List<Loan> loanHistory = Arrays.asList(loan1, loan2);
 
     when(memberRepository.existsById(1L)).thenReturn(true);
-    when(loanRepository.findByMemberId(1L)).thenReturn(loanHistory);
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        eq(true), eq(true), eq(Limit.of(51)))).thenReturn(loanHistory);
     when(loanMapper.toResponseDTO(any(Loan.class))).thenReturn(responseDTO);
 
     // Act
-    List<LoanResponseDTO> result = loanService.getMemberLoanHistory(1L);
+    LoanPageResponseDTO result = loanService.getMemberLoanHistory(1L, new LoanHistoryRequestDTO());
 
     // Assert
-    assertThat(result).hasSize(2);
+    assertThat(result.getLoans()).hasSize(2);
+    assertThat(result.isHasMore()).isFalse();
+    assertThat(result.getNextCursor()).isNull();
     verify(memberRepository).existsById(1L);
-    verify(loanRepository).findByMemberId(1L);
     verify(loanMapper, times(2)).toResponseDTO(any(Loan.class));
   }
 
+  @Test
+  @DisplayName("getMemberLoanHistory - More Rows Than Size - Returns Next Cursor")
+  void getMemberLoanHistory_MoreRowsThanSize_ReturnsNextCursor() {
+    // Arrange
+    LocalDateTime borrowDate = LocalDateTime.of(2024, 12, 1, 10, 0);
+    Loan loan1 = TestDataBuilder.createTestLoanWithId(3L, testMember, testBook);
+    Loan loan2 = TestDataBuilder.createTestLoanWithId(2L, testMember, testBook);
+    Loan loan3 = TestDataBuilder.createTestLoanWithId(1L, testMember, testBook);
+    loan1.setBorrowDate(borrowDate);
+    loan2.setBorrowDate(borrowDate);
+    loan3.setBorrowDate(borrowDate.minusDays(1));
+
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        anyBoolean(), anyBoolean(), eq(Limit.of(3)))).thenReturn(Arrays.asList(loan1, loan2, loan3));
+    when(loanMapper.toResponseDTO(any(Loan.class))).thenAnswer(invocation -> toDTO(invocation.getArgument(0)));
+
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setSize(2);
+
+    // Act
+    LoanPageResponseDTO first = loanService.getMemberLoanHistory(1L, request);
+
+    request.setCursor(first.getNextCursor());
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), eq(borrowDate), eq(2L),
+        anyBoolean(), anyBoolean(), eq(Limit.of(3)))).thenReturn(List.of(loan3));
+    LoanPageResponseDTO second = loanService.getMemberLoanHistory(1L, request);
+
+    // Assert
+    assertThat(first.getLoans()).hasSize(2);
+    assertThat(first.isHasMore()).isTrue();
+    assertThat(first.getNextCursor()).isNotBlank();
+    assertThat(second.getLoans()).hasSize(1);
+    assertThat(second.isHasMore()).isFalse();
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Active Status - Excludes Returned Loans")
+  void getMemberLoanHistory_ActiveStatus_ExcludesReturnedLoans() {
+    // Arrange
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        eq(true), eq(false), any(Limit.class))).thenReturn(List.of());
+
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setStatus("ACTIVE");
+
+    // Act
+    LoanPageResponseDTO result = loanService.getMemberLoanHistory(1L, request);
+
+    // Assert
+    assertThat(result.getLoans()).isEmpty();
+    verify(loanRepository).findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        eq(true), eq(false), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Invalid Status - Throws BadRequestException")
+  void getMemberLoanHistory_InvalidStatus_ThrowsBadRequestException() {
+    // Arrange
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setStatus("lost");
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.getMemberLoanHistory(1L, request))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid status: lost");
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Invalid Cursor - Throws BadRequestException")
+  void getMemberLoanHistory_InvalidCursor_ThrowsBadRequestException() {
+    // Arrange
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setCursor("not-a-cursor");
+
+    // Act & Assert
+    assertThatThrownBy(() -> loanService.getMemberLoanHistory(1L, request))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid cursor");
+  }
+
   @Test
   @DisplayName("getMemberLoanHistory - Non-Existing Member - Throws ResourceNotFoundException")
   void getMemberLoanHistory_NonExistingMember_ThrowsResourceNotFoundException() {
@@ -325,11 +605,96 @@ class LoanServiceTest {
     when(memberRepository.existsById(999L)).thenReturn(false);
 
     // Act & Assert
-    assertThatThrownBy(() -> loanService.getMemberLoanHistory(999L))
+    assertThatThrownBy(() -> loanService.getMemberLoanHistory(999L, new LoanHistoryRequestDTO()))
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("Member not found with id: 999");
 
     verify(memberRepository).existsById(999L);
-    verify(loanRepository, never()).findByMemberId(any());
+    verifyNoInteractions(loanRepository);
+  }
+
+  @Test
+  @DisplayName("exportMemberLoanHistory - Valid MemberId - Writes One Line Per Loan")
+  void exportMemberLoanHistory_ValidMemberId_WritesOneLinePerLoan() throws Exception {
+    // Arrange
+    Loan loan1 = TestDataBuilder.createTestLoanWithId(2L, testMember, testBook);
+    Loan loan2 = TestDataBuilder.createTestLoanWithId(1L, testMember, testBook);
+
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        anyBoolean(), anyBoolean(), eq(Limit.of(500)))).thenReturn(Arrays.asList(loan1, loan2));
+    when(loanMapper.toResponseDTO(any(Loan.class))).thenReturn(responseDTO);
+    when(objectMapper.writeValueAsBytes(responseDTO)).thenReturn("{}".getBytes());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    loanService.exportMemberLoanHistory(1L, new LoanHistoryRequestDTO()).writeTo(out);
+
+    // Assert
+    assertThat(out.toString()).isEqualTo("{}\n{}\n");
+    verify(loanRepository, times(1)).findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        anyBoolean(), anyBoolean(), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Archived Loans - Merges Hot And Archive In Order")
+  void getMemberLoanHistory_ArchivedLoans_MergesHotAndArchiveInOrder() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.of(2024, 12, 1, 10, 0);
+    Loan hotLoan = TestDataBuilder.createTestLoanWithId(30L, testMember, testBook);
+    hotLoan.setBorrowDate(now);
+    Loan olderHotLoan = TestDataBuilder.createTestLoanWithId(20L, testMember, testBook);
+    olderHotLoan.setBorrowDate(now.minusDays(20));
+
+    ArchivedLoan archivedLoan = new ArchivedLoan();
+    archivedLoan.setId(10L);
+    archivedLoan.setBorrowDate(now.minusDays(10));
+
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    when(loanRepository.findMemberLoanPage(eq(1L), any(), any(), any(), anyLong(),
+        anyBoolean(), anyBoolean(), eq(Limit.of(3)))).thenReturn(Arrays.asList(hotLoan, olderHotLoan));
+    when(archivedLoanRepository.findMemberArchivePage(eq(1L), any(), any(), any(), anyLong(), eq(Limit.of(3))))
+        .thenReturn(List.of(archivedLoan));
+    when(loanMapper.toResponseDTO(any(Loan.class))).thenAnswer(invocation -> toDTO(invocation.getArgument(0)));
+    when(loanMapper.toResponseDTO(any(ArchivedLoan.class))).thenAnswer(invocation -> {
+      ArchivedLoan loan = invocation.getArgument(0);
+      LoanResponseDTO dto = new LoanResponseDTO();
+      dto.setId(loan.getId());
+      dto.setBorrowDate(loan.getBorrowDate());
+      return dto;
+    });
+
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setSize(2);
+
+    // Act
+    LoanPageResponseDTO result = loanService.getMemberLoanHistory(1L, request);
+
+    // Assert
+    assertThat(result.getLoans()).extracting(LoanResponseDTO::getId).containsExactly(30L, 10L);
+    assertThat(result.isHasMore()).isTrue();
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Active Status - Skips Archive")
+  void getMemberLoanHistory_ActiveStatus_SkipsArchive() {
+    // Arrange
+    when(memberRepository.existsById(1L)).thenReturn(true);
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    request.setStatus("active");
+
+    // Act
+    loanService.getMemberLoanHistory(1L, request);
+
+    // Assert
+    verifyNoInteractions(archivedLoanRepository);
+  }
+
+  private static LoanResponseDTO toDTO(Loan loan) {
+    LoanResponseDTO dto = new LoanResponseDTO();
+    dto.setId(loan.getId());
+    dto.setBorrowDate(loan.getBorrowDate());
+    return dto;
   }
 }
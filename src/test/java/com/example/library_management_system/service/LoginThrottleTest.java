@@ -0,0 +1,111 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+  // A window boundary, so tests control how far into the window each attempt lands
+  private static final long START = 1_000 * 60 * SECOND;
+
+  private MeterRegistry meterRegistry;
+  private LoginThrottle throttle;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    throttle = new LoginThrottle(meterRegistry, true, Duration.ofMinutes(1), 3, 5, 1000, 1024);
+  }
+
+  @Test
+  @DisplayName("acquire - Username Over Limit - Throws With Retry-After Until Window End")
+  void acquire_UsernameOverLimit_ThrowsWithRetryAfterUntilWindowEnd() {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      throttle.acquire("alice", "10.0.0." + i, START);
+    }
+
+    // Act & Assert
+    assertThatThrownBy(() -> throttle.acquire("Alice", "10.0.0.9", START + 15 * SECOND))
+        .isInstanceOf(TooManyRequestsException.class)
+        .extracting(e -> ((TooManyRequestsException) e).getRetryAfterSeconds())
+        .isEqualTo(45L);
+    assertThatCode(() -> throttle.acquire("bob", "10.0.0.9", START + 15 * SECOND)).doesNotThrowAnyException();
+    assertThat(meterRegistry.get("library.auth.throttled").tag("dimension", "username").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("acquire - Many Usernames From One IP - Throttles The IP")
+  void acquire_ManyUsernamesFromOneIp_ThrottlesTheIp() {
+    // Arrange
+    for (int i = 0; i < 5; i++) {
+      throttle.acquire("user" + i, "203.0.113.7", START);
+    }
+
+    // Act & Assert
+    assertThatThrownBy(() -> throttle.acquire("user9", "203.0.113.7", START))
+        .isInstanceOf(TooManyRequestsException.class)
+        .hasMessageContaining("address");
+    assertThatCode(() -> throttle.acquire("user9", "198.51.100.1", START)).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("acquire - Window Slides - Weights Previous Window By Overlap")
+  void acquire_WindowSlides_WeightsPreviousWindowByOverlap() {
+    // Arrange: three attempts fill the limit in one window
+    for (int i = 0; i < 3; i++) {
+      throttle.acquire("alice", "10.0.0.1", START);
+    }
+
+    // Act & Assert: 10s into the next window 2.5 of them still count, so one more fits
+    assertThatCode(() -> throttle.acquire("alice", "10.0.0.1", START + 70 * SECOND)).doesNotThrowAnyException();
+    assertThatThrownBy(() -> throttle.acquire("alice", "10.0.0.1", START + 70 * SECOND))
+        .isInstanceOf(TooManyRequestsException.class);
+    // Two windows later nothing from the first one counts
+    assertThatCode(() -> throttle.acquire("alice", "10.0.0.1", START + 150 * SECOND)).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("acquire - Rejected Attempts - Are Not Counted")
+  void acquire_RejectedAttempts_AreNotCounted() {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      throttle.acquire("alice", "10.0.0.1", START);
+    }
+    for (int i = 0; i < 10; i++) {
+      assertThatThrownBy(() -> throttle.acquire("alice", "10.0.0.1", START))
+          .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    // Act & Assert: the IP only saw the three accepted attempts
+    assertThatCode(() -> throttle.acquire("bob", "10.0.0.1", START)).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("acquire - Disabled - Never Throttles")
+  void acquire_Disabled_NeverThrottles() {
+    // Arrange
+    LoginThrottle disabled = new LoginThrottle(meterRegistry, false, Duration.ofMinutes(1), 1, 1, 1000, 1024);
+
+    // Act & Assert
+    assertThatCode(() -> {
+      for (int i = 0; i < 10; i++) {
+        disabled.acquire("alice", "10.0.0.1", START);
+      }
+    }).doesNotThrowAnyException();
+  }
+}
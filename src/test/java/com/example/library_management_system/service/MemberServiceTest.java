@@ -1,15 +1,15 @@
 package com.example.library_management_system.service;
 
+import com.example.library_management_system.dto.fine.FineBalanceResponseDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanPageResponseDTO;
 import com.example.library_management_system.dto.loan.LoanResponseDTO;
 import com.example.library_management_system.dto.member.MemberCreateRequestDTO;
 import com.example.library_management_system.dto.member.MemberResponseDTO;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.InvalidLoanOperationException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
-import com.example.library_management_system.mapper.LoanMapper;
 import com.example.library_management_system.mapper.MemberMapper;
-import com.example.library_management_system.model.Book;
-import com.example.library_management_system.model.Loan;
 import com.example.library_management_system.model.Member;
 import com.example.library_management_system.repository.LoanRepository;
 import com.example.library_management_system.repository.MemberRepository;
@@ -22,8 +22,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,14 +40,17 @@ class MemberServiceTest {
   @Mock
   private MemberRepository memberRepository;
 
+  @Mock
+  private LoanRepository loanRepository;
+
   @Mock
   private MemberMapper memberMapper;
 
   @Mock
-  private LoanRepository loanRepository;
+  private LoanService loanService;
 
   @Mock
-  private LoanMapper loanMapper;
+  private FineService fineService;
 
   @InjectMocks
   private MemberService memberService;
@@ -180,7 +184,7 @@ class MemberServiceTest {
   void deleteMember_ExistingIdWithNoActiveLoans_DeletesMember() {
     // Arrange
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
-    when(loanRepository.findByMemberIdAndReturnDateIsNull(1L)).thenReturn(Collections.emptyList());
+    when(loanRepository.existsByMemberIdAndReturnDateIsNull(1L)).thenReturn(false);
     doNothing().when(memberRepository).delete(testMember);
 
     // Act
@@ -188,7 +192,7 @@ class MemberServiceTest {
 
     // Assert
     verify(memberRepository).findById(1L);
-    verify(loanRepository).findByMemberIdAndReturnDateIsNull(1L);
+    verify(loanRepository).existsByMemberIdAndReturnDateIsNull(1L);
     verify(memberRepository).delete(testMember);
   }
 
@@ -211,22 +215,15 @@ class MemberServiceTest {
   @DisplayName("deleteMember - Member With Active Loans - Throws InvalidLoanOperationException")
   void deleteMember_MemberWithActiveLoans_ThrowsInvalidLoanOperationException() {
     // Arrange
-    Book testBook = TestDataBuilder.createTestBook();
-    Loan activeLoan1 = TestDataBuilder.createTestActiveLoan(testMember, testBook);
-    Loan activeLoan2 = TestDataBuilder.createTestActiveLoan(testMember, testBook);
-    List<Loan> activeLoans = Arrays.asList(activeLoan1, activeLoan2);
-
     when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
-    when(loanRepository.findByMemberIdAndReturnDateIsNull(1L)).thenReturn(activeLoans);
+    when(loanRepository.existsByMemberIdAndReturnDateIsNull(1L)).thenReturn(true);
 
     // Act & Assert
     assertThatThrownBy(() -> memberService.deleteMember(1L))
         .isInstanceOf(InvalidLoanOperationException.class)
-        .hasMessageContaining("Cannot delete member with active loans")
-        .hasMessageContaining("2 active loan(s)");
+        .hasMessage("Cannot delete member with active loans");
 
     verify(memberRepository).findById(1L);
-    verify(loanRepository).findByMemberIdAndReturnDateIsNull(1L);
     verify(memberRepository, never()).delete(any());
   }
 
@@ -234,50 +231,51 @@ class MemberServiceTest {
   @DisplayName("getMemberLoanHistory - Valid MemberId - Returns History")
   void getMemberLoanHistory_ValidMemberId_ReturnsHistory() {
     // Arrange
-    Book testBook = TestDataBuilder.createTestBook();
-    Loan loan1 = TestDataBuilder.createTestLoanWithId(1L, testMember, testBook);
-    Loan loan2 = TestDataBuilder.createTestLoanWithId(2L, testMember, testBook);
-    Loan loan3 = TestDataBuilder.createTestLoanWithId(3L, testMember, testBook);
-    List<Loan> loanHistory = Arrays.asList(loan1, loan2, loan3);
-
     LoanResponseDTO loanDTO1 = new LoanResponseDTO();
     loanDTO1.setId(1L);
     LoanResponseDTO loanDTO2 = new LoanResponseDTO();
     loanDTO2.setId(2L);
-    LoanResponseDTO loanDTO3 = new LoanResponseDTO();
-    loanDTO3.setId(3L);
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    LoanPageResponseDTO page = new LoanPageResponseDTO(Arrays.asList(loanDTO1, loanDTO2), null, false);
 
-    when(memberRepository.existsById(1L)).thenReturn(true);
-    when(loanRepository.findByMemberId(1L)).thenReturn(loanHistory);
-    when(loanMapper.toResponseDTO(loan1)).thenReturn(loanDTO1);
-    when(loanMapper.toResponseDTO(loan2)).thenReturn(loanDTO2);
-    when(loanMapper.toResponseDTO(loan3)).thenReturn(loanDTO3);
+    when(loanService.getMemberLoanHistory(1L, request)).thenReturn(page);
 
     // Act
-    List<LoanResponseDTO> result = memberService.getMemberLoanHistory(1L);
+    LoanPageResponseDTO result = memberService.getMemberLoanHistory(1L, request);
 
     // Assert
-    assertThat(result).hasSize(3);
-    assertThat(result.get(0).getId()).isEqualTo(1L);
-    assertThat(result.get(1).getId()).isEqualTo(2L);
-    assertThat(result.get(2).getId()).isEqualTo(3L);
-    verify(memberRepository).existsById(1L);
-    verify(loanRepository).findByMemberId(1L);
-    verify(loanMapper, times(3)).toResponseDTO(any(Loan.class));
+    assertThat(result.getLoans()).hasSize(2);
+    assertThat(result.getLoans().get(0).getId()).isEqualTo(1L);
+    assertThat(result.getLoans().get(1).getId()).isEqualTo(2L);
+    verify(loanService).getMemberLoanHistory(1L, request);
   }
 
   @Test
   @DisplayName("getMemberLoanHistory - Non-Existing Member - Throws ResourceNotFoundException")
   void getMemberLoanHistory_NonExistingMember_ThrowsResourceNotFoundException() {
     // Arrange
-    when(memberRepository.existsById(999L)).thenReturn(false);
+    LoanHistoryRequestDTO request = new LoanHistoryRequestDTO();
+    when(loanService.getMemberLoanHistory(999L, request))
+        .thenThrow(new ResourceNotFoundException("Member not found with id: 999"));
 
     // Act & Assert
-    assertThatThrownBy(() -> memberService.getMemberLoanHistory(999L))
+    assertThatThrownBy(() -> memberService.getMemberLoanHistory(999L, request))
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("Member not found with id: 999");
+  }
+
+  @Test
+  @DisplayName("getMemberFineBalance - Existing Member - Delegates To FineService")
+  void getMemberFineBalance_ExistingMember_DelegatesToFineService() {
+    // Arrange
+    FineBalanceResponseDTO balance = new FineBalanceResponseDTO(1L, new BigDecimal("1.50"), LocalDateTime.now());
+    when(fineService.getMemberBalance(1L)).thenReturn(balance);
+
+    // Act
+    FineBalanceResponseDTO result = memberService.getMemberFineBalance(1L);
 
-    verify(memberRepository).existsById(999L);
-    verify(loanRepository, never()).findByMemberId(any());
+    // Assert
+    assertThat(result.getBalance()).isEqualByComparingTo("1.50");
+    verify(fineService).getMemberBalance(1L);
   }
 }
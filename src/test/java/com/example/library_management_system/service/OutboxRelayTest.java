@@ -0,0 +1,149 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.OutboxMessage;
+import com.example.library_management_system.event.OutboxSink;
+import com.example.library_management_system.model.OutboxEvent;
+import com.example.library_management_system.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+  @Mock
+  private OutboxEventRepository outboxEventRepository;
+
+  @Mock
+  private OutboxSink firstSink;
+
+  @Mock
+  private OutboxSink secondSink;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MeterRegistry meterRegistry;
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    relay = new OutboxRelay(outboxEventRepository, List.of(firstSink, secondSink), transactionManager,
+        meterRegistry, true, 2, 10, Duration.ofDays(7));
+  }
+
+  private OutboxEvent event(Long id, Long aggregateId) {
+    OutboxEvent event = new OutboxEvent(OutboxService.LOAN, aggregateId, "LoanBorrowed", "{\"loanId\":" + aggregateId + "}");
+    event.setId(id);
+    event.setCreatedAt(LocalDateTime.now());
+    return event;
+  }
+
+  @Test
+  @DisplayName("relay - Two Batches - Publishes In Order And Marks Published")
+  @SuppressWarnings("unchecked")
+  void relay_TwoBatches_PublishesInOrderAndMarksPublished() throws Exception {
+    // Arrange
+    when(outboxEventRepository.findUnpublished(Limit.of(2)))
+        .thenReturn(List.of(event(1L, 7L), event(2L, 7L)))
+        .thenReturn(List.of(event(3L, 8L)));
+
+    // Act
+    int published = relay.relay();
+
+    // Assert
+    assertThat(published).isEqualTo(3);
+    ArgumentCaptor<List<OutboxMessage>> batches = ArgumentCaptor.forClass(List.class);
+    verify(firstSink, times(2)).publish(batches.capture());
+    assertThat(batches.getAllValues().get(0)).extracting(OutboxMessage::getId).containsExactly(1L, 2L);
+    assertThat(batches.getAllValues().get(1)).extracting(OutboxMessage::getId).containsExactly(3L);
+    verify(secondSink, times(2)).publish(anyList());
+    verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+    assertThat(meterRegistry.get("library.outbox.published").counter().count()).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("relay - Sink Fails - Leaves Batch Unpublished And Stops")
+  void relay_SinkFails_LeavesBatchUnpublishedAndStops() throws Exception {
+    // Arrange
+    when(outboxEventRepository.findUnpublished(Limit.of(2))).thenReturn(List.of(event(1L, 7L), event(2L, 7L)));
+    doThrow(new IOException("disk full")).when(firstSink).publish(anyList());
+
+    // Act
+    int published = relay.relay();
+
+    // Assert
+    assertThat(published).isZero();
+    verify(outboxEventRepository, times(1)).findUnpublished(any(Limit.class));
+    verify(outboxEventRepository, never()).markPublished(anyList(), any());
+    verify(secondSink, never()).publish(anyList());
+    assertThat(meterRegistry.get("library.outbox.failures").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("relay - Nothing Pending - Does Not Call Sinks")
+  void relay_NothingPending_DoesNotCallSinks() throws Exception {
+    // Arrange
+    when(outboxEventRepository.findUnpublished(any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    int published = relay.relay();
+
+    // Assert
+    assertThat(published).isZero();
+    verify(firstSink, never()).publish(anyList());
+  }
+
+  @Test
+  @DisplayName("relayScheduled - Disabled - Does Nothing")
+  void relayScheduled_Disabled_DoesNothing() {
+    // Arrange
+    OutboxRelay disabled = new OutboxRelay(outboxEventRepository, List.of(firstSink), transactionManager,
+        meterRegistry, false, 2, 10, Duration.ofDays(7));
+
+    // Act
+    disabled.relayScheduled();
+
+    // Assert
+    verifyNoInteractions(outboxEventRepository);
+  }
+
+  @Test
+  @DisplayName("purgePublished - Full Then Partial Batch - Deletes All")
+  void purgePublished_FullThenPartialBatch_DeletesAll() {
+    // Arrange
+    when(outboxEventRepository.findPublishedIdsBefore(any(LocalDateTime.class), eq(Limit.of(2))))
+        .thenReturn(List.of(1L, 2L))
+        .thenReturn(List.of(3L));
+    when(outboxEventRepository.deleteByIdIn(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+    // Act
+    long purged = relay.purgePublished();
+
+    // Assert
+    assertThat(purged).isEqualTo(3);
+    verify(outboxEventRepository, times(2)).deleteByIdIn(anyList());
+  }
+}
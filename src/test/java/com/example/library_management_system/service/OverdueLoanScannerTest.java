@@ -0,0 +1,127 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OverdueLoanScanner Tests")
+class OverdueLoanScannerTest {
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private OutboxService outboxService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private OverdueLoanScanner scanner;
+  private Member member;
+  private Book book;
+
+  @BeforeEach
+  void setUp() {
+    scanner = new OverdueLoanScanner(loanRepository, outboxService, transactionManager, true, 2);
+    member = TestDataBuilder.createTestMemberWithId(1L);
+    book = TestDataBuilder.createTestBookWithId(2L);
+  }
+
+  private Loan loan(Long id) {
+    Loan loan = TestDataBuilder.createTestLoanWithId(id, member, book);
+    loan.setDueDate(LocalDateTime.now().minusDays(1));
+    return loan;
+  }
+
+  @Test
+  @DisplayName("scan - Newly Overdue Loans - Claims Them And Appends One Event Each")
+  void scan_NewlyOverdueLoans_ClaimsThemAndAppendsOneEventEach() {
+    // Arrange
+    when(loanRepository.findNewlyOverdue(any(LocalDateTime.class), eq(Limit.of(2))))
+        .thenReturn(List.of(loan(10L), loan(11L)), List.of(loan(12L)));
+    when(loanRepository.markOverdueNotified(anyList())).thenReturn(2, 1);
+
+    // Act
+    int published = scanner.scan();
+
+    // Assert
+    assertThat(published).isEqualTo(3);
+    verify(loanRepository).markOverdueNotified(List.of(10L, 11L));
+    verify(loanRepository).markOverdueNotified(List.of(12L));
+    verify(outboxService).append(eq(OutboxService.LOAN), eq(12L), eq("LoanOverdue"), anyMap());
+    verify(outboxService, times(3)).append(eq(OutboxService.LOAN), any(), eq("LoanOverdue"), anyMap());
+  }
+
+  @Test
+  @DisplayName("scan - Nothing Overdue - Writes Nothing")
+  void scan_NothingOverdue_WritesNothing() {
+    // Arrange
+    when(loanRepository.findNewlyOverdue(any(LocalDateTime.class), any())).thenReturn(List.of());
+
+    // Act
+    int published = scanner.scan();
+
+    // Assert
+    assertThat(published).isZero();
+    verify(loanRepository, never()).markOverdueNotified(anyList());
+    verifyNoInteractions(outboxService);
+  }
+
+  @Test
+  @DisplayName("scan - Loans Claimed By Another Node - Rolls Back Without Events")
+  void scan_LoansClaimedByAnotherNode_RollsBackWithoutEvents() {
+    // Arrange
+    SimpleTransactionStatus status = new SimpleTransactionStatus();
+    when(transactionManager.getTransaction(any())).thenReturn(status);
+    when(loanRepository.findNewlyOverdue(any(LocalDateTime.class), any())).thenReturn(List.of(loan(10L), loan(11L)));
+    when(loanRepository.markOverdueNotified(anyList())).thenReturn(1);
+
+    // Act
+    int published = scanner.scan();
+
+    // Assert
+    assertThat(published).isZero();
+    verify(outboxService, never()).append(anyString(), any(), anyString(), anyMap());
+    assertThat(status.isRollbackOnly()).isTrue();
+  }
+
+  @Test
+  @DisplayName("scan - Append Fails - Propagates And Rolls Back")
+  void scan_AppendFails_PropagatesAndRollsBack() {
+    // Arrange
+    when(loanRepository.findNewlyOverdue(any(LocalDateTime.class), any())).thenReturn(List.of(loan(10L)));
+    when(loanRepository.markOverdueNotified(anyList())).thenReturn(1);
+    doThrow(new IllegalStateException("outbox unavailable"))
+        .when(outboxService).append(anyString(), any(), anyString(), anyMap());
+
+    // Act & Assert
+    assertThatThrownBy(() -> scanner.scan())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("outbox unavailable");
+    verify(transactionManager).rollback(any());
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+  private MeterRegistry meterRegistry;
+  private PasswordHashingService passwordHashingService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    passwordHashingService.shutdown();
+  }
+
+  // Blocks every encode until released, so tests can hold the pool busy
+  private static class BlockingEncoder extends BCryptPasswordEncoder {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "hashed";
+    }
+  }
+
+  @Test
+  @DisplayName("encode And matches - Real Encoder - Round Trips And Records Time")
+  void encodeAndMatches_RealEncoder_RoundTripsAndRecordsTime() {
+    // Arrange
+    passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 4,
+        Duration.ofSeconds(5));
+
+    // Act
+    String hashed = passwordHashingService.encode("password123");
+
+    // Assert
+    assertThat(passwordHashingService.matches("password123", hashed)).isTrue();
+    assertThat(passwordHashingService.matches("wrong", hashed)).isFalse();
+    assertThat(meterRegistry.get("library.auth.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("library.auth.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("encode - Pool And Queue Full - Rejects At Once With 503")
+  void encode_PoolAndQueueFull_RejectsAtOnceWith503() throws Exception {
+    // Arrange: one thread busy and one request queued
+    BlockingEncoder encoder = new BlockingEncoder();
+    passwordHashingService = new PasswordHashingService(encoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("a"));
+    encoder.started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("b"));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("library.auth.hashing.queue").gauge().value() < 1 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+
+    // Act & Assert
+    assertThatThrownBy(() -> passwordHashingService.encode("c"))
+        .isInstanceOf(ServiceUnavailableException.class);
+    assertThat(meterRegistry.counter("library.auth.hashing.rejected").count()).isEqualTo(1.0);
+    encoder.release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+  }
+
+  @Test
+  @DisplayName("encode - Wait Timeout Exceeded - Throws 503")
+  void encode_WaitTimeoutExceeded_Throws503() {
+    // Arrange
+    BlockingEncoder encoder = new BlockingEncoder();
+    passwordHashingService = new PasswordHashingService(encoder, meterRegistry, 1, 1, Duration.ofMillis(50));
+
+    // Act & Assert
+    assertThatThrownBy(() -> passwordHashingService.encode("a"))
+        .isInstanceOf(ServiceUnavailableException.class)
+        .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+        .isEqualTo(1L);
+  }
+}
@@ -0,0 +1,264 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.repository.ArchivedLoanRepository;
+import com.example.library_management_system.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecommendationService Tests")
+class RecommendationServiceTest {
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private ArchivedLoanRepository archivedLoanRepository;
+
+  private RecommendationService recommendationService;
+
+  @BeforeEach
+  void setUp() {
+    recommendationService = new RecommendationService(loanRepository, archivedLoanRepository, true, 5, 100, 2, 2);
+  }
+
+  private static List<Object[]> rows(Object[]... rows) {
+    return new ArrayList<>(List.of(rows));
+  }
+
+  private void stubHistory() {
+    // Loans 1-3 (paged two at a time) plus one archived loan: members 1 and 2 both read books 10 and 20
+    when(loanRepository.findCoBorrowPage(0L, Limit.of(2)))
+        .thenReturn(rows(new Object[]{1L, 1L, 10L}, new Object[]{2L, 1L, 20L}));
+    when(loanRepository.findCoBorrowPage(2L, Limit.of(2)))
+        .thenReturn(rows(new Object[]{3L, 2L, 20L}));
+    when(archivedLoanRepository.findCoBorrowPage(0L, Limit.of(2)))
+        .thenReturn(rows(new Object[]{0L, 2L, 10L}));
+  }
+
+  @Test
+  @DisplayName("rebuild - Loans And Archive - Counts Pairs Across Both")
+  void rebuild_LoansAndArchive_CountsPairsAcrossBoth() {
+    // Arrange
+    stubHistory();
+
+    // Act
+    recommendationService.rebuild();
+
+    // Assert
+    CoBorrowMatrix.Row row = recommendationService.getNeighbors(10L);
+    assertThat(row.size()).isEqualTo(1);
+    assertThat(row.neighbor(0)).isEqualTo(20L);
+    assertThat(row.score(0)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("applyPending - Borrow After Rebuild - Adds Pairs With Earlier Books")
+  void applyPending_BorrowAfterRebuild_AddsPairsWithEarlierBooks() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(1L)))
+        .thenReturn(rows(new Object[]{1L, 10L, 1L}, new Object[]{1L, 20L, 2L}, new Object[]{1L, 30L, 4L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(1L))).thenReturn(rows());
+
+    // Act
+    recommendationService.recordBorrow(4L, 1L, 30L);
+    recommendationService.applyPending();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(30L).size()).isEqualTo(2);
+    assertThat(recommendationService.getNeighbors(10L).neighbor(1)).isEqualTo(30L);
+  }
+
+  @Test
+  @DisplayName("applyPending - Book Borrowed Before - Adds Nothing")
+  void applyPending_BookBorrowedBefore_AddsNothing() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(1L)))
+        .thenReturn(rows(new Object[]{1L, 10L, 1L}, new Object[]{1L, 20L, 2L}, new Object[]{1L, 10L, 4L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(1L))).thenReturn(rows());
+
+    // Act
+    recommendationService.recordBorrow(4L, 1L, 10L);
+    recommendationService.applyPending();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(10L).score(0)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("applyPending - Book In Archive - Counts As Earlier Book")
+  void applyPending_BookInArchive_CountsAsEarlierBook() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(2L))).thenReturn(rows(new Object[]{2L, 40L, 5L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(2L))).thenReturn(rows(new Object[]{2L, 10L}));
+
+    // Act
+    recommendationService.recordBorrow(5L, 2L, 40L);
+    recommendationService.applyPending();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(40L).neighbor(0)).isEqualTo(10L);
+  }
+
+  @Test
+  @DisplayName("applyPending - Several Members - Loads History Once Per Batch")
+  void applyPending_SeveralMembers_LoadsHistoryOncePerBatch() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(1L, 2L)))
+        .thenReturn(rows(new Object[]{1L, 10L, 1L}, new Object[]{1L, 30L, 4L}, new Object[]{2L, 20L, 3L}, new Object[]{2L, 30L, 5L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(1L, 2L))).thenReturn(rows());
+
+    // Act
+    recommendationService.recordBorrow(4L, 1L, 30L);
+    recommendationService.recordBorrow(5L, 2L, 30L);
+    recommendationService.applyPending();
+
+    // Assert
+    verify(loanRepository, times(1)).findMemberBookLoans(any());
+    verify(archivedLoanRepository, times(1)).findMemberBookIds(any());
+    assertThat(recommendationService.getNeighbors(30L).size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("applyPending - Borrow Already Read By Rebuild - Is Skipped")
+  void applyPending_BorrowAlreadyReadByRebuild_IsSkipped() {
+    // Arrange: the borrow is queued, then a rebuild reads it before the queue is applied
+    recommendationService.recordBorrow(3L, 2L, 20L);
+    stubHistory();
+
+    // Act
+    recommendationService.rebuild();
+
+    // Assert
+    verify(loanRepository, never()).findMemberBookLoans(any());
+    assertThat(recommendationService.getNeighbors(20L).score(0)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("applyPending - Committed Before Rebuild Read But Queued After - Is Skipped")
+  void applyPending_CommittedBeforeRebuildReadButQueuedAfter_IsSkipped() {
+    // Arrange: loan 3 commits before the rebuild reads it, but its after-commit hook runs later
+    TransactionSynchronizationManager.initSynchronization();
+    List<TransactionSynchronization> hooks;
+    try {
+      recommendationService.recordBorrow(3L, 2L, 20L);
+      hooks = TransactionSynchronizationManager.getSynchronizations();
+      hooks.forEach(hook -> hook.beforeCommit(false));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    stubHistory();
+    recommendationService.rebuild();
+
+    // Act
+    hooks.forEach(hook -> hook.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    recommendationService.applyPending();
+
+    // Assert
+    verify(loanRepository, never()).findMemberBookLoans(any());
+    assertThat(recommendationService.getNeighbors(20L).score(0)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("recordBorrow - Transaction Rolled Back - Is Not Queued")
+  void recordBorrow_TransactionRolledBack_IsNotQueued() {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+    List<TransactionSynchronization> hooks;
+    try {
+      recommendationService.recordBorrow(4L, 1L, 30L);
+      hooks = TransactionSynchronizationManager.getSynchronizations();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Act
+    hooks.forEach(hook -> hook.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    recommendationService.applyPending();
+
+    // Assert
+    verifyNoInteractions(loanRepository, archivedLoanRepository);
+  }
+
+  @Test
+  @DisplayName("applyPending - Lower Id Committed After Rebuild - Is Applied")
+  void applyPending_LowerIdCommittedAfterRebuild_IsApplied() {
+    // Arrange: loan 2 was inserted before loan 3 but committed after the rebuild read loan 3
+    when(loanRepository.findCoBorrowPage(0L, Limit.of(2)))
+        .thenReturn(rows(new Object[]{1L, 1L, 10L}, new Object[]{3L, 2L, 20L}));
+    when(loanRepository.findCoBorrowPage(3L, Limit.of(2))).thenReturn(rows());
+    when(archivedLoanRepository.findCoBorrowPage(0L, Limit.of(2))).thenReturn(rows());
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(1L)))
+        .thenReturn(rows(new Object[]{1L, 10L, 1L}, new Object[]{1L, 30L, 2L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(1L))).thenReturn(rows());
+
+    // Act
+    recommendationService.recordBorrow(2L, 1L, 30L);
+    recommendationService.applyPending();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(30L).neighbor(0)).isEqualTo(10L);
+  }
+
+  @Test
+  @DisplayName("applyPending - History Query Fails - Retries Whole Batch")
+  void applyPending_HistoryQueryFails_RetriesWholeBatch() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findMemberBookLoans(Set.of(1L)))
+        .thenThrow(new IllegalStateException("db down"))
+        .thenReturn(rows(new Object[]{1L, 10L, 1L}, new Object[]{1L, 30L, 4L}));
+    when(archivedLoanRepository.findMemberBookIds(Set.of(1L))).thenReturn(rows());
+    recommendationService.recordBorrow(4L, 1L, 30L);
+    recommendationService.applyPending();
+
+    // Act
+    recommendationService.applyPending();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(30L).neighbor(0)).isEqualTo(10L);
+    assertThat(recommendationService.getNeighbors(10L).neighbor(1)).isEqualTo(30L);
+    assertThat(recommendationService.getNeighbors(10L).score(1)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("rebuild - Query Fails - Keeps Previous Matrix")
+  void rebuild_QueryFails_KeepsPreviousMatrix() {
+    // Arrange
+    stubHistory();
+    recommendationService.rebuild();
+    when(loanRepository.findCoBorrowPage(eq(0L), any())).thenThrow(new IllegalStateException("db down"));
+
+    // Act
+    recommendationService.rebuild();
+
+    // Assert
+    assertThat(recommendationService.getNeighbors(10L).size()).isEqualTo(1);
+  }
+}
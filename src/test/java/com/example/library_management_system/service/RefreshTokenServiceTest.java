@@ -0,0 +1,154 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.exception.UnauthorizedException;
+import com.example.library_management_system.model.RefreshToken;
+import com.example.library_management_system.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+  private RefreshTokenRepository refreshTokenRepository;
+  private MeterRegistry meterRegistry;
+  private RefreshTokenService service;
+  private String lastToken;
+
+  @BeforeEach
+  void setUp() {
+    refreshTokenRepository = mock(RefreshTokenRepository.class);
+    meterRegistry = new SimpleMeterRegistry();
+    service = new RefreshTokenService(refreshTokenRepository, mock(PlatformTransactionManager.class),
+        meterRegistry, Duration.ofDays(14));
+  }
+
+  // Issues a token and makes the repository find the row it saved
+  private RefreshToken issueStored(Long userId) {
+    String token = service.issue(userId);
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(saved.capture());
+    RefreshToken row = saved.getValue();
+    row.setId(10L);
+    when(refreshTokenRepository.findByTokenHash(row.getTokenHash())).thenReturn(Optional.of(row));
+    clearInvocations(refreshTokenRepository);
+    lastToken = token;
+    return row;
+  }
+
+  private double outcomes(String result) {
+    return meterRegistry.get("library.auth.refresh").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("issue - New Token - Stores Only A SHA-256 Hash")
+  void issue_NewToken_StoresOnlyASha256Hash() {
+    // Act
+    RefreshToken row = issueStored(1L);
+
+    // Assert
+    assertThat(lastToken).hasSize(43);
+    assertThat(row.getTokenHash()).hasSize(64).isNotEqualTo(lastToken);
+    assertThat(row.getUserId()).isEqualTo(1L);
+    assertThat(row.getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+  }
+
+  @Test
+  @DisplayName("rotate - Unused Token - Marks It Used And Issues A Successor In The Same Family")
+  void rotate_UnusedToken_MarksItUsedAndIssuesASuccessorInTheSameFamily() {
+    // Arrange
+    RefreshToken row = issueStored(1L);
+    when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+    // Act
+    RefreshTokenService.Rotation rotation = service.rotate(lastToken);
+
+    // Assert
+    ArgumentCaptor<RefreshToken> successor = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(successor.capture());
+    assertThat(rotation.userId()).isEqualTo(1L);
+    assertThat(rotation.refreshToken()).isNotEqualTo(lastToken);
+    assertThat(successor.getValue().getFamilyId()).isEqualTo(row.getFamilyId());
+    assertThat(outcomes("rotated")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("rotate - Already Used Token - Revokes The Family And Throws")
+  void rotate_AlreadyUsedToken_RevokesTheFamilyAndThrows() {
+    // Arrange
+    RefreshToken row = issueStored(1L);
+    when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+    // Act & Assert
+    assertThatThrownBy(() -> service.rotate(lastToken)).isInstanceOf(UnauthorizedException.class);
+    verify(refreshTokenRepository).deleteByFamilyId(row.getFamilyId());
+    verify(refreshTokenRepository, never()).save(any());
+    assertThat(outcomes("reused")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("rotate - Expired Token - Throws Without Marking It Used")
+  void rotate_ExpiredToken_ThrowsWithoutMarkingItUsed() {
+    // Arrange
+    RefreshToken row = issueStored(1L);
+    row.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+    // Act & Assert
+    assertThatThrownBy(() -> service.rotate(lastToken)).isInstanceOf(UnauthorizedException.class);
+    verify(refreshTokenRepository, never()).markUsed(any(), any());
+    assertThat(outcomes("rejected")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("revoke - Known Token - Drops Its Family")
+  void revoke_KnownToken_DropsItsFamily() {
+    // Arrange
+    RefreshToken row = issueStored(1L);
+
+    // Act
+    service.revoke(lastToken);
+
+    // Assert
+    verify(refreshTokenRepository).deleteByFamilyId(row.getFamilyId());
+  }
+
+  @Test
+  @DisplayName("revoke - Unknown Token - Deletes Nothing")
+  void revoke_UnknownToken_DeletesNothing() {
+    // Arrange
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+    // Act
+    service.revoke("not-a-refresh-token");
+
+    // Assert
+    verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+  }
+
+  @Test
+  @DisplayName("rotate - Unknown Token - Throws UnauthorizedException")
+  void rotate_UnknownToken_ThrowsUnauthorizedException() {
+    // Arrange
+    when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> service.rotate("not-a-refresh-token"))
+        .isInstanceOf(UnauthorizedException.class);
+    verify(refreshTokenRepository, never()).save(any());
+  }
+}
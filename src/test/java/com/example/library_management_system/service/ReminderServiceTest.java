@@ -0,0 +1,227 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.event.ReminderMessage;
+import com.example.library_management_system.event.ReminderNotifier;
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.model.ReminderCheckpoint;
+import com.example.library_management_system.model.ReminderType;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.repository.ReminderCheckpointRepository;
+import com.example.library_management_system.util.TestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReminderService Tests")
+class ReminderServiceTest {
+
+  private static final LocalDate RUN_DATE = LocalDate.of(2024, 3, 2);
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private ReminderCheckpointRepository checkpointRepository;
+
+  @Mock
+  private ReminderNotifier notifier;
+
+  private MeterRegistry meterRegistry;
+  private Book book;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    book = TestDataBuilder.createTestBookWithId(1L);
+  }
+
+  private ReminderService reminderService(ReminderNotifier notifier, int chunkSize, int maxConcurrency) {
+    return new ReminderService(loanRepository, checkpointRepository, notifier, meterRegistry,
+        true, chunkSize, maxConcurrency);
+  }
+
+  private Loan loan(Long id, Long memberId) {
+    Member member = TestDataBuilder.createTestMemberWithId(memberId);
+    Loan loan = TestDataBuilder.createTestLoanWithId(id, member, book);
+    loan.setDueDate(RUN_DATE.plusDays(1).atTime(12, 0));
+    return loan;
+  }
+
+  private void stubCheckpoint(ReminderCheckpoint checkpoint) {
+    when(checkpointRepository.findById(checkpoint.getId())).thenReturn(Optional.of(checkpoint));
+    lenient().when(checkpointRepository.save(any(ReminderCheckpoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  @DisplayName("sendReminders - Several Loans Per Member - Sends One Message Per Member")
+  void sendReminders_SeveralLoansPerMember_SendsOneMessagePerMember() throws Exception {
+    // Arrange
+    stubCheckpoint(new ReminderCheckpoint(ReminderType.DUE_SOON, RUN_DATE));
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(0L), eq(Limit.of(10)))).thenReturn(List.of(1L, 2L));
+    when(loanRepository.findReminderLoans(eq(List.of(1L, 2L)), any(), any()))
+        .thenReturn(List.of(loan(10L, 1L), loan(11L, 1L), loan(12L, 2L)));
+
+    // Act
+    long sent = reminderService(notifier, 10, 4).sendReminders(ReminderType.DUE_SOON, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isEqualTo(2);
+    ArgumentCaptor<ReminderMessage> captor = ArgumentCaptor.forClass(ReminderMessage.class);
+    verify(notifier, times(2)).send(captor.capture());
+    assertThat(captor.getAllValues())
+        .extracting(message -> message.getLoans().size())
+        .containsExactlyInAnyOrder(2, 1);
+  }
+
+  @Test
+  @DisplayName("sendReminders - Due Soon - Queries Tomorrow's Window")
+  void sendReminders_DueSoon_QueriesTomorrowsWindow() {
+    // Arrange
+    stubCheckpoint(new ReminderCheckpoint(ReminderType.DUE_SOON, RUN_DATE));
+    when(loanRepository.findReminderMemberIds(any(), any(), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    reminderService(notifier, 10, 4).sendReminders(ReminderType.DUE_SOON, RUN_DATE);
+
+    // Assert
+    verify(loanRepository).findReminderMemberIds(
+        eq(LocalDateTime.of(2024, 3, 3, 0, 0)), eq(LocalDateTime.of(2024, 3, 4, 0, 0)), eq(0L), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("sendReminders - Full Chunk - Saves Checkpoint And Continues After Last Member")
+  void sendReminders_FullChunk_SavesCheckpointAndContinuesAfterLastMember() {
+    // Arrange
+    ReminderCheckpoint checkpoint = new ReminderCheckpoint(ReminderType.OVERDUE, RUN_DATE);
+    stubCheckpoint(checkpoint);
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(2L), any(Limit.class))).thenReturn(List.of(3L));
+    when(loanRepository.findReminderLoans(anyList(), any(), any())).thenAnswer(invocation -> {
+      List<Long> ids = invocation.getArgument(0);
+      return ids.stream().map(id -> loan(id * 10, id)).toList();
+    });
+
+    // Act
+    long sent = reminderService(notifier, 2, 4).sendReminders(ReminderType.OVERDUE, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isEqualTo(3);
+    verify(checkpointRepository, times(3)).save(checkpoint);
+    assertThat(checkpoint.getLastMemberId()).isEqualTo(3L);
+    assertThat(checkpoint.getCompletedAt()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("sendReminders - Interrupted Run - Resumes After Checkpointed Member")
+  void sendReminders_InterruptedRun_ResumesAfterCheckpointedMember() {
+    // Arrange
+    ReminderCheckpoint checkpoint = new ReminderCheckpoint(ReminderType.OVERDUE, RUN_DATE);
+    checkpoint.setLastMemberId(42L);
+    checkpoint.setSent(40L);
+    stubCheckpoint(checkpoint);
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(42L), any(Limit.class))).thenReturn(List.of(43L));
+    when(loanRepository.findReminderLoans(eq(List.of(43L)), any(), any())).thenReturn(List.of(loan(430L, 43L)));
+
+    // Act
+    long sent = reminderService(notifier, 10, 4).sendReminders(ReminderType.OVERDUE, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isEqualTo(1);
+    assertThat(checkpoint.getSent()).isEqualTo(41L);
+    verify(loanRepository, never()).findReminderMemberIds(any(), any(), eq(0L), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("sendReminders - Run Already Completed - Sends Nothing")
+  void sendReminders_RunAlreadyCompleted_SendsNothing() {
+    // Arrange
+    ReminderCheckpoint checkpoint = new ReminderCheckpoint(ReminderType.DUE_SOON, RUN_DATE);
+    checkpoint.setCompletedAt(LocalDateTime.now());
+    stubCheckpoint(checkpoint);
+
+    // Act
+    long sent = reminderService(notifier, 10, 4).sendReminders(ReminderType.DUE_SOON, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isZero();
+    verifyNoInteractions(loanRepository, notifier);
+  }
+
+  @Test
+  @DisplayName("sendReminders - Notifier Fails For One Member - Counts Failure And Completes")
+  void sendReminders_NotifierFailsForOneMember_CountsFailureAndCompletes() throws Exception {
+    // Arrange
+    ReminderCheckpoint checkpoint = new ReminderCheckpoint(ReminderType.OVERDUE, RUN_DATE);
+    stubCheckpoint(checkpoint);
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+    when(loanRepository.findReminderLoans(anyList(), any(), any())).thenReturn(List.of(loan(10L, 1L), loan(20L, 2L)));
+    doAnswer(invocation -> {
+      ReminderMessage message = invocation.getArgument(0);
+      if (message.getMemberId() == 1L) {
+        throw new IllegalStateException("mail gateway down");
+      }
+      return null;
+    }).when(notifier).send(any(ReminderMessage.class));
+
+    // Act
+    long sent = reminderService(notifier, 10, 4).sendReminders(ReminderType.OVERDUE, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isEqualTo(1);
+    assertThat(checkpoint.getFailed()).isEqualTo(1L);
+    assertThat(checkpoint.getCompletedAt()).isNotNull();
+    assertThat(meterRegistry.get("library.reminders.failed").tag("type", "OVERDUE").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("sendReminders - Many Members - Never Exceeds Max Concurrency")
+  void sendReminders_ManyMembers_NeverExceedsMaxConcurrency() {
+    // Arrange
+    List<Long> memberIds = LongStream.rangeClosed(1, 20).boxed().toList();
+    stubCheckpoint(new ReminderCheckpoint(ReminderType.OVERDUE, RUN_DATE));
+    when(loanRepository.findReminderMemberIds(any(), any(), eq(0L), any(Limit.class))).thenReturn(memberIds);
+    List<Loan> loans = new ArrayList<>();
+    memberIds.forEach(id -> loans.add(loan(id * 10, id)));
+    when(loanRepository.findReminderLoans(anyList(), any(), any())).thenReturn(loans);
+
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    ReminderNotifier slowNotifier = message -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      Thread.sleep(10);
+      inFlight.decrementAndGet();
+    };
+
+    // Act
+    long sent = reminderService(slowNotifier, 50, 3).sendReminders(ReminderType.OVERDUE, RUN_DATE);
+
+    // Assert
+    assertThat(sent).isEqualTo(20);
+    assertThat(maxInFlight.get()).isBetween(1, 3);
+  }
+}
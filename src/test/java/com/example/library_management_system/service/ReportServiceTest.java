@@ -0,0 +1,215 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.report.ReportJobResponseDTO;
+import com.example.library_management_system.exception.BadRequestException;
+import com.example.library_management_system.exception.ResourceNotFoundException;
+import com.example.library_management_system.mapper.LoanMapper;
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Loan;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.repository.LoanRepository;
+import com.example.library_management_system.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportService Tests")
+class ReportServiceTest {
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @TempDir
+  private Path directory;
+
+  private ReportService reportService;
+
+  @AfterEach
+  void tearDown() {
+    if (reportService != null) {
+      reportService.shutdown();
+    }
+  }
+
+  private ReportService reportService(int pageSize, int maxConcurrentPerType, Duration retention) {
+    reportService = new ReportService(loanRepository, new LoanMapper(), new ObjectMapper().findAndRegisterModules(),
+        new SimpleMeterRegistry(), directory.toString(), pageSize, maxConcurrentPerType, retention);
+    return reportService;
+  }
+
+  private Loan loan(Long id) {
+    Member member = TestDataBuilder.createTestMemberWithId(1L);
+    Book book = TestDataBuilder.createTestBookWithId(1L);
+    return TestDataBuilder.createTestLoanWithId(id, member, book);
+  }
+
+  private ReportJobResponseDTO awaitStatus(String id, String status) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    ReportJobResponseDTO job = reportService.getJob(id);
+    while (!status.equals(job.getStatus()) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      job = reportService.getJob(id);
+    }
+    return job;
+  }
+
+  private List<String> readLines(Path file) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      return reader.lines().toList();
+    }
+  }
+
+  @Test
+  @DisplayName("submit - Active Loans Over Several Pages - Writes Every Loan As Gzipped NDJSON")
+  void submit_ActiveLoansOverSeveralPages_WritesEveryLoanAsGzippedNdjson() throws Exception {
+    // Arrange
+    when(loanRepository.findOpenLoanPage(eq(0L), any(), eq(Limit.of(2)))).thenReturn(List.of(loan(1L), loan(2L)));
+    when(loanRepository.findOpenLoanPage(eq(2L), any(), eq(Limit.of(2)))).thenReturn(List.of(loan(3L)));
+
+    // Act
+    ReportJobResponseDTO submitted = reportService(2, 1, Duration.ofHours(24)).submit("active-loans");
+    ReportJobResponseDTO done = awaitStatus(submitted.getId(), "DONE");
+
+    // Assert
+    assertThat(submitted.getType()).isEqualTo("active-loans");
+    assertThat(done.getStatus()).isEqualTo("DONE");
+    assertThat(done.getRowCount()).isEqualTo(3L);
+    assertThat(done.getCompletedAt()).isNotNull();
+    List<String> lines = readLines(reportService.getResultFile(submitted.getId()));
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(2)).contains("\"id\":3");
+  }
+
+  @Test
+  @DisplayName("submit - Overdue Loans - Uses Submit Time As Due Cutoff")
+  void submit_OverdueLoans_UsesSubmitTimeAsDueCutoff() throws Exception {
+    // Arrange
+    when(loanRepository.findOpenLoanPage(anyLong(), any(), any())).thenReturn(List.of());
+
+    // Act
+    ReportJobResponseDTO submitted = reportService(10, 1, Duration.ofHours(24)).submit("overdue-loans");
+    awaitStatus(submitted.getId(), "DONE");
+
+    // Assert
+    ArgumentCaptor<LocalDateTime> dueBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(loanRepository).findOpenLoanPage(eq(0L), dueBefore.capture(), eq(Limit.of(10)));
+    assertThat(dueBefore.getValue()).isEqualTo(submitted.getCreatedAt());
+  }
+
+  @Test
+  @DisplayName("submit - Unknown Type - Throws BadRequestException")
+  void submit_UnknownType_ThrowsBadRequestException() {
+    // Act & Assert
+    assertThatThrownBy(() -> reportService(10, 1, Duration.ofHours(24)).submit("members"))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid report type");
+    verifyNoInteractions(loanRepository);
+  }
+
+  @Test
+  @DisplayName("submit - Query Fails - Marks Job Failed Without Result")
+  void submit_QueryFails_MarksJobFailedWithoutResult() throws Exception {
+    // Arrange
+    when(loanRepository.findOpenLoanPage(anyLong(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+    // Act
+    ReportJobResponseDTO submitted = reportService(10, 1, Duration.ofHours(24)).submit("active-loans");
+    ReportJobResponseDTO failed = awaitStatus(submitted.getId(), "FAILED");
+
+    // Assert
+    assertThat(failed.getStatus()).isEqualTo("FAILED");
+    assertThat(failed.getError()).isEqualTo("db down");
+    try (var files = Files.list(directory)) {
+      assertThat(files).isEmpty();
+    }
+    assertThatThrownBy(() -> reportService.getResultFile(submitted.getId()))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  @DisplayName("submit - Type At Concurrency Limit - Queues Until A Permit Frees")
+  void submit_TypeAtConcurrencyLimit_QueuesUntilAPermitFrees() throws Exception {
+    // Arrange
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(loanRepository.findOpenLoanPage(anyLong(), any(), any())).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of();
+    });
+    reportService(10, 1, Duration.ofHours(24));
+
+    // Act
+    ReportJobResponseDTO first = reportService.submit("active-loans");
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    ReportJobResponseDTO second = reportService.submit("active-loans");
+    Thread.sleep(50);
+    String secondWhileBlocked = reportService.getJob(second.getId()).getStatus();
+    release.countDown();
+
+    // Assert
+    assertThat(reportService.getJob(first.getId()).getStatus()).isIn("RUNNING", "DONE");
+    assertThat(secondWhileBlocked).isEqualTo("QUEUED");
+    assertThat(awaitStatus(first.getId(), "DONE").getStatus()).isEqualTo("DONE");
+    assertThat(awaitStatus(second.getId(), "DONE").getStatus()).isEqualTo("DONE");
+  }
+
+  @Test
+  @DisplayName("getJob - Unknown Id - Throws ResourceNotFoundException")
+  void getJob_UnknownId_ThrowsResourceNotFoundException() {
+    // Act & Assert
+    assertThatThrownBy(() -> reportService(10, 1, Duration.ofHours(24)).getJob("missing"))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("missing");
+  }
+
+  @Test
+  @DisplayName("purgeExpired - Finished Job Past Retention - Removes Job And File")
+  void purgeExpired_FinishedJobPastRetention_RemovesJobAndFile() throws Exception {
+    // Arrange
+    when(loanRepository.findOpenLoanPage(anyLong(), any(), any())).thenReturn(List.of(loan(1L)));
+    ReportJobResponseDTO submitted = reportService(10, 1, Duration.ZERO).submit("active-loans");
+    awaitStatus(submitted.getId(), "DONE");
+    Path result = reportService.getResultFile(submitted.getId());
+    Path orphan = Files.createFile(directory.resolve("left-over.ndjson.gz"));
+
+    // Act
+    reportService.purgeExpired();
+
+    // Assert
+    assertThat(result).doesNotExist();
+    assertThat(orphan).doesNotExist();
+    assertThatThrownBy(() -> reportService.getJob(submitted.getId()))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
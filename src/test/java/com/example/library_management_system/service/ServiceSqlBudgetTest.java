@@ -0,0 +1,172 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.dto.book.BookCreateRequestDTO;
+import com.example.library_management_system.dto.loan.LoanCreateRequestDTO;
+import com.example.library_management_system.dto.loan.LoanHistoryRequestDTO;
+import com.example.library_management_system.dto.loan.LoanResponseDTO;
+import com.example.library_management_system.dto.loan.LoanReturnRequestDTO;
+import com.example.library_management_system.dto.member.MemberCreateRequestDTO;
+import com.example.library_management_system.dto.user.UserSearchRequestDTO;
+import com.example.library_management_system.model.Book;
+import com.example.library_management_system.model.Member;
+import com.example.library_management_system.model.Role;
+import com.example.library_management_system.model.User;
+import com.example.library_management_system.repository.BookRepository;
+import com.example.library_management_system.repository.MemberRepository;
+import com.example.library_management_system.repository.UserRepository;
+import com.example.library_management_system.util.SqlBudget;
+import com.example.library_management_system.util.SqlBudgetExtension;
+import com.example.library_management_system.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statement budgets for the main service paths, measured against H2. A failure here means a
+ * change added queries to a hot path; raise the budget only if the extra statements are intended.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(SqlBudgetExtension.class)
+@DisplayName("Service SQL Budget Tests")
+class ServiceSqlBudgetTest {
+
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  @Autowired
+  private LoanService loanService;
+
+  @Autowired
+  private BookService bookService;
+
+  @Autowired
+  private MemberService memberService;
+
+  @Autowired
+  private ActiveLoanCounter activeLoanCounter;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private MemberRepository memberRepository;
+
+  private Member member;
+  private Book book;
+
+  @BeforeEach
+  void setUp() {
+    int n = SEQUENCE.incrementAndGet();
+    member = memberRepository.save(TestDataBuilder.createTestMemberWithEmail("budget" + n + "@example.com"));
+    book = bookRepository.save(TestDataBuilder.createTestBookWithISBN("978-00000" + String.format("%05d", n)));
+    // The counter loads every member's count on first use; keep that one-off query out of the budgets
+    activeLoanCounter.activeLoans(member.getId());
+  }
+
+  private LoanCreateRequestDTO borrowRequest() {
+    LoanCreateRequestDTO request = new LoanCreateRequestDTO();
+    request.setMemberId(member.getId());
+    request.setBookId(book.getId());
+    return request;
+  }
+
+  @Test
+  @DisplayName("borrowBook - Available Copy - At Most 6 Statements")
+  void borrowBook_AvailableCopy_AtMost6Statements(SqlBudget budget) {
+    // Act & Assert
+    LoanResponseDTO loan = budget.assertAtMost(6, () -> loanService.borrowBook(borrowRequest()));
+    assertThat(loan.getId()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("returnBook - Active Loan - At Most 5 Statements")
+  void returnBook_ActiveLoan_AtMost5Statements(SqlBudget budget) {
+    // Arrange
+    LoanResponseDTO loan = loanService.borrowBook(borrowRequest());
+
+    // Act & Assert
+    // Includes the read of the book's queue head from the hold table
+    budget.assertAtMost(5, () -> loanService.returnBook(loan.getId(), new LoanReturnRequestDTO()));
+  }
+
+  @Test
+  @DisplayName("renewLoan - Eligible Loan - At Most 3 Statements")
+  void renewLoan_EligibleLoan_AtMost3Statements(SqlBudget budget) {
+    // Arrange
+    LoanResponseDTO loan = loanService.borrowBook(borrowRequest());
+
+    // Act & Assert
+    budget.assertAtMost(3, () -> loanService.renewLoan(loan.getId()));
+  }
+
+  @Test
+  @DisplayName("findAllBooks - Many Books - Single Statement")
+  void findAllBooks_ManyBooks_SingleStatement(SqlBudget budget) {
+    // Arrange
+    bookRepository.save(TestDataBuilder.createTestBookWithISBN("978-10000" + String.format("%05d", SEQUENCE.get())));
+
+    // Act & Assert
+    budget.assertAtMost(1, () -> bookService.findAllBooks());
+    assertThat(budget.last().getRoundTrips()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("createBook - New ISBN - At Most 3 Statements")
+  void createBook_NewIsbn_AtMost3Statements(SqlBudget budget) {
+    // Arrange
+    BookCreateRequestDTO request = TestDataBuilder.createBookCreateRequestDTO();
+    request.setIsbn("978-20000" + String.format("%05d", SEQUENCE.get()));
+
+    // Act & Assert
+    budget.assertAtMost(3, () -> bookService.createBook(request));
+  }
+
+  @Test
+  @DisplayName("createMember - New Email - At Most 2 Statements")
+  void createMember_NewEmail_AtMost2Statements(SqlBudget budget) {
+    // Arrange
+    MemberCreateRequestDTO request = TestDataBuilder.createMemberCreateRequestDTO();
+    request.setEmail("budget-new" + SEQUENCE.get() + "@example.com");
+
+    // Act & Assert
+    budget.assertAtMost(2, () -> memberService.createMember(request));
+  }
+
+  @Test
+  @DisplayName("getMemberLoanHistory - Several Loans - At Most 3 Statements")
+  void getMemberLoanHistory_SeveralLoans_AtMost3Statements(SqlBudget budget) {
+    // Arrange
+    LoanResponseDTO first = loanService.borrowBook(borrowRequest());
+    loanService.returnBook(first.getId(), new LoanReturnRequestDTO());
+    loanService.borrowBook(borrowRequest());
+
+    // Act & Assert
+    budget.assertAtMost(3, () -> memberService.getMemberLoanHistory(member.getId(), new LoanHistoryRequestDTO()));
+  }
+
+  @Test
+  @DisplayName("findUsers - Filtered Page - Single Statement")
+  void findUsers_FilteredPage_SingleStatement(SqlBudget budget) {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      userRepository.save(new User("budget" + SEQUENCE.get() + "_" + i, "hashed-password", Role.MEMBER));
+    }
+
+    // Act & Assert
+    budget.assertAtMost(1, () -> userService.findUsers(new UserSearchRequestDTO("MEMBER", "budget", null, 2)));
+  }
+}
@@ -0,0 +1,208 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.RevokedToken;
+import com.example.library_management_system.repository.RevokedTokenRepository;
+import com.example.library_management_system.security.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+  private RevokedTokenRepository revokedTokenRepository;
+  private UserCredentialsCache userCredentialsCache;
+  private MeterRegistry meterRegistry;
+  private TokenRevocationService service;
+
+  @BeforeEach
+  void setUp() {
+    revokedTokenRepository = mock(RevokedTokenRepository.class);
+    userCredentialsCache = mock(UserCredentialsCache.class);
+    meterRegistry = new SimpleMeterRegistry();
+    service = new TokenRevocationService(revokedTokenRepository, userCredentialsCache,
+        mock(PlatformTransactionManager.class), meterRegistry, true, 1000, 0.01, Duration.ofSeconds(5), Duration.ofMinutes(1), 3600000L);
+  }
+
+  private static VerifiedToken token(String id, String username, Instant issuedAt) {
+    return new VerifiedToken(id, username, "MEMBER", issuedAt, issuedAt.plusSeconds(3600));
+  }
+
+  private static RevokedToken row(long id, String key) {
+    RevokedToken revoked = new RevokedToken(key, LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+    revoked.setId(id);
+    return revoked;
+  }
+
+  private double checks(String result) {
+    return meterRegistry.get("library.auth.revocation.checks").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("isRevoked - Key Not In Filter - Answers Without A Lookup")
+  void isRevoked_KeyNotInFilter_AnswersWithoutALookup() {
+    // Arrange
+    when(revokedTokenRepository.findAfter(eq(0L), any(Limit.class)))
+        .thenReturn(List.of(row(1, "user:someone-else")));
+    service.rebuild();
+
+    // Act
+    boolean revoked = service.isRevoked(token("a", "alice", Instant.now()));
+
+    // Assert
+    assertThat(revoked).isFalse();
+    assertThat(checks("filter")).isEqualTo(1.0);
+    verify(revokedTokenRepository, never()).findLatestRevokedAt(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("isRevoked - Filter Not Built - Falls Back To The Database")
+  void isRevoked_FilterNotBuilt_FallsBackToTheDatabase() {
+    // Act
+    boolean revoked = service.isRevoked(token("a", "alice", Instant.now()));
+
+    // Assert
+    assertThat(revoked).isFalse();
+    verify(revokedTokenRepository).findLatestRevokedAt(eq("jti:a"), any());
+    verify(revokedTokenRepository).findLatestRevokedAt(eq("user:alice"), any());
+  }
+
+  @Test
+  @DisplayName("revokeToken - Revoked Jti - Is Revoked")
+  void revokeToken_RevokedJti_IsRevoked() {
+    // Arrange
+    service.rebuild();
+    VerifiedToken token = token("a", "alice", Instant.now());
+    when(revokedTokenRepository.findLatestRevokedAt(eq("jti:a"), any())).thenReturn(LocalDateTime.now());
+
+    // Act
+    service.revokeToken(token);
+
+    // Assert
+    assertThat(service.isRevoked(token)).isTrue();
+    assertThat(service.isRevoked(token("b", "bob", Instant.now()))).isFalse();
+    verify(revokedTokenRepository).save(any(RevokedToken.class));
+  }
+
+  @Test
+  @DisplayName("revokeUserTokens - Tokens Issued Before And After - Revokes Only Earlier Ones")
+  void revokeUserTokens_TokensIssuedBeforeAndAfter_RevokesOnlyEarlierOnes() {
+    // Arrange
+    service.rebuild();
+    LocalDateTime revokedAt = LocalDateTime.now().withNano(0);
+    Instant revokedInstant = revokedAt.atZone(ZoneId.systemDefault()).toInstant();
+    when(revokedTokenRepository.findLatestRevokedAt(eq("user:alice"), any())).thenReturn(revokedAt);
+
+    // Act
+    service.revokeUserTokens("alice");
+
+    // Assert
+    assertThat(service.isRevoked(token("old", "alice", revokedInstant.minus(1, ChronoUnit.SECONDS)))).isTrue();
+    assertThat(service.isRevoked(token("new", "alice", revokedInstant))).isFalse();
+  }
+
+  @Test
+  @DisplayName("refresh - Row Written By Another Node - Is Picked Up")
+  void refresh_RowWrittenByAnotherNode_IsPickedUp() {
+    // Arrange
+    when(revokedTokenRepository.findAfter(eq(0L), any(Limit.class))).thenReturn(List.of(row(1, "user:bob")));
+    service.rebuild();
+    when(revokedTokenRepository.findRevokedSince(any(), eq(0L), any(Limit.class))).thenReturn(List.of(row(2, "jti:a")));
+    when(revokedTokenRepository.findLatestRevokedAt(eq("jti:a"), any())).thenReturn(LocalDateTime.now());
+
+    // Act
+    service.refresh();
+
+    // Assert
+    assertThat(service.isRevoked(token("a", "alice", Instant.now()))).isTrue();
+  }
+
+  @Test
+  @DisplayName("refresh - User Revoked By Another Node - Drops Cached Credentials")
+  void refresh_UserRevokedByAnotherNode_DropsCachedCredentials() {
+    // Arrange
+    when(revokedTokenRepository.findAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+    service.rebuild();
+    when(revokedTokenRepository.findRevokedSince(any(), eq(0L), any(Limit.class)))
+        .thenReturn(List.of(row(1, "user:Alice"), row(2, "jti:a")));
+
+    // Act
+    service.refresh();
+
+    // Assert
+    verify(userCredentialsCache).invalidate("Alice");
+    verifyNoMoreInteractions(userCredentialsCache);
+  }
+
+  @Test
+  @DisplayName("refresh - Lower Id Committed Late - Is Picked Up By The Next Refresh")
+  void refresh_LowerIdCommittedLate_IsPickedUpByTheNextRefresh() {
+    // Arrange: row 3 is seen first, row 2 commits afterwards
+    when(revokedTokenRepository.findAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+    service.rebuild();
+    when(revokedTokenRepository.findRevokedSince(any(), eq(0L), any(Limit.class)))
+        .thenReturn(List.of(row(3, "jti:b")))
+        .thenReturn(List.of(row(2, "jti:a"), row(3, "jti:b")));
+    when(revokedTokenRepository.findLatestRevokedAt(eq("jti:a"), any())).thenReturn(LocalDateTime.now());
+    service.refresh();
+
+    // Act
+    service.refresh();
+
+    // Assert
+    assertThat(service.isRevoked(token("a", "alice", Instant.now()))).isTrue();
+    ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(revokedTokenRepository, times(2)).findRevokedSince(since.capture(), eq(0L), any(Limit.class));
+    assertThat(since.getAllValues().get(1)).isBefore(LocalDateTime.now().minusSeconds(59));
+  }
+
+  @Test
+  @DisplayName("prune - Nothing Expired - Still Rebuilds The Filter")
+  void prune_NothingExpired_StillRebuildsTheFilter() {
+    // Arrange
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    TokenRevocationService pruning = new TokenRevocationService(revokedTokenRepository, userCredentialsCache,
+        transactionManager, meterRegistry, true, 1000, 0.01, Duration.ofSeconds(5), Duration.ofMinutes(1), 3600000L);
+    when(revokedTokenRepository.deleteExpired(any())).thenReturn(0);
+    when(revokedTokenRepository.findAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    pruning.prune();
+
+    // Assert
+    verify(revokedTokenRepository).findAfter(eq(0L), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("isRevoked - Disabled - Never Looks Up")
+  void isRevoked_Disabled_NeverLooksUp() {
+    // Arrange
+    TokenRevocationService disabled = new TokenRevocationService(revokedTokenRepository, userCredentialsCache,
+        mock(PlatformTransactionManager.class), meterRegistry, false, 1000, 0.01, Duration.ofSeconds(5), Duration.ofMinutes(1), 3600000L);
+
+    // Act
+    boolean revoked = disabled.isRevoked(token("a", "alice", Instant.now()));
+
+    // Assert
+    assertThat(revoked).isFalse();
+    verifyNoInteractions(revokedTokenRepository);
+  }
+}
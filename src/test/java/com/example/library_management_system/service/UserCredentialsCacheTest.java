@@ -0,0 +1,100 @@
+package com.example.library_management_system.service;
+
+import com.example.library_management_system.model.Role;
+import com.example.library_management_system.model.User;
+import com.example.library_management_system.repository.UserRepository;
+import com.example.library_management_system.util.TestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UserCredentialsCache Tests")
+class UserCredentialsCacheTest {
+
+  private UserRepository userRepository;
+  private UserCredentialsCache cache;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    cache = new UserCredentialsCache(userRepository, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+    user = TestDataBuilder.createTestUserWithId(1L, Role.MEMBER);
+    user.setUsername("Alice");
+    user.setHashedPassword("hashed");
+  }
+
+  @Test
+  @DisplayName("find - Any Case - Loads Once And Serves From Memory")
+  void find_AnyCase_LoadsOnceAndServesFromMemory() {
+    // Arrange
+    when(userRepository.findByUsernameIgnoreCase(anyString())).thenReturn(Optional.of(user));
+
+    // Act
+    Optional<UserCredentialsCache.Credentials> first = cache.find("alice");
+    Optional<UserCredentialsCache.Credentials> second = cache.find("ALICE");
+
+    // Assert
+    assertThat(first).isPresent();
+    assertThat(first.get().username()).isEqualTo("Alice");
+    assertThat(first.get().hashedPassword()).isEqualTo("hashed");
+    assertThat(second).containsSame(first.get());
+    verify(userRepository, times(1)).findByUsernameIgnoreCase(anyString());
+  }
+
+  @Test
+  @DisplayName("find - Unknown Username - Is Not Cached")
+  void find_UnknownUsername_IsNotCached() {
+    // Arrange
+    when(userRepository.findByUsernameIgnoreCase("alice")).thenReturn(Optional.empty(), Optional.of(user));
+
+    // Act
+    Optional<UserCredentialsCache.Credentials> missing = cache.find("alice");
+    Optional<UserCredentialsCache.Credentials> registered = cache.find("alice");
+
+    // Assert
+    assertThat(missing).isEmpty();
+    assertThat(registered).isPresent();
+  }
+
+  @Test
+  @DisplayName("invalidate - After Password Change - Reloads Fresh Credentials")
+  void invalidate_AfterPasswordChange_ReloadsFreshCredentials() {
+    // Arrange
+    when(userRepository.findByUsernameIgnoreCase(anyString())).thenReturn(Optional.of(user));
+    cache.find("alice");
+    user.setHashedPassword("new-hash");
+
+    // Act
+    cache.invalidate("Alice");
+    Optional<UserCredentialsCache.Credentials> reloaded = cache.find("alice");
+
+    // Assert
+    assertThat(reloaded.get().hashedPassword()).isEqualTo("new-hash");
+    verify(userRepository, times(2)).findByUsernameIgnoreCase(anyString());
+  }
+
+  @Test
+  @DisplayName("find - Cache Disabled - Loads Every Time")
+  void find_CacheDisabled_LoadsEveryTime() {
+    // Arrange
+    UserCredentialsCache disabled = new UserCredentialsCache(userRepository, new SimpleMeterRegistry(), false, 100,
+        Duration.ofMinutes(5));
+    when(userRepository.findByUsernameIgnoreCase(anyString())).thenReturn(Optional.of(user));
+
+    // Act
+    disabled.find("alice");
+    disabled.find("alice");
+
+    // Assert
+    verify(userRepository, times(2)).findByUsernameIgnoreCase("alice");
+  }
+}
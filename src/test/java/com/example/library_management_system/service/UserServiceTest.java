@@ -1,8 +1,11 @@
 package com.example.library_management_system.service;
 
 import com.example.library_management_system.dto.user.PasswordChangeRequestDTO;
+import com.example.library_management_system.dto.user.UserPageResponseDTO;
 import com.example.library_management_system.dto.user.UserResponseDTO;
+import com.example.library_management_system.dto.user.UserSearchRequestDTO;
 import com.example.library_management_system.dto.user.UserUpdateRequestDTO;
+import com.example.library_management_system.exception.BadRequestException;
 import com.example.library_management_system.exception.DuplicateResourceException;
 import com.example.library_management_system.exception.ResourceNotFoundException;
 import com.example.library_management_system.model.Role;
@@ -16,9 +19,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +43,16 @@ class UserServiceTest {
   private UserRepository userRepository;
 
   @Mock
-  private BCryptPasswordEncoder passwordEncoder;
+  private UserCredentialsCache userCredentialsCache;
+
+  @Mock
+  private PasswordHashingService passwordHashingService;
+
+  @Mock
+  private TokenRevocationService tokenRevocationService;
+
+  @Mock
+  private RefreshTokenService refreshTokenService;
 
   @InjectMocks
   private UserService userService;
@@ -54,25 +70,62 @@ class UserServiceTest {
   }
 
   @Test
-  @DisplayName("findAllUsers - Returns All Users")
-  void findAllUsers_ReturnsAllUsers() {
+  @DisplayName("findUsers - More Rows Than Size - Returns Page With Next Cursor")
+  void findUsers_MoreRowsThanSize_ReturnsPageWithNextCursor() {
     // Arrange
-    User user1 = TestDataBuilder.createTestUserWithId(1L, Role.MEMBER);
-    User user2 = TestDataBuilder.createTestUserWithId(2L, Role.LIBRARIAN);
-    User user3 = TestDataBuilder.createTestUserWithId(3L, Role.ADMIN);
-    List<User> users = Arrays.asList(user1, user2, user3);
+    List<UserResponseDTO> rows = Arrays.asList(
+        new UserResponseDTO(1L, "user1", "MEMBER"),
+        new UserResponseDTO(2L, "user2", "LIBRARIAN"),
+        new UserResponseDTO(3L, "user3", "ADMIN"));
+    when(userRepository.findUserPage(eq(0L), eq(EnumSet.allOf(Role.class)), eq("%"), eq(Limit.of(3))))
+        .thenReturn(rows);
+
+    // Act
+    UserPageResponseDTO result = userService.findUsers(new UserSearchRequestDTO(null, null, null, 2));
 
-    when(userRepository.findAll()).thenReturn(users);
+    // Assert
+    assertThat(result.getUsers()).extracting(UserResponseDTO::getUsername).containsExactly("user1", "user2");
+    assertThat(result.isHasMore()).isTrue();
+    assertThat(result.getNextCursor()).isNotNull();
+    verify(userRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("findUsers - Next Cursor With Role And Prefix - Continues After Last Id")
+  void findUsers_NextCursorWithRoleAndPrefix_ContinuesAfterLastId() {
+    // Arrange
+    when(userRepository.findUserPage(eq(0L), any(), anyString(), any())).thenReturn(Arrays.asList(
+        new UserResponseDTO(7L, "al_one", "MEMBER"), new UserResponseDTO(9L, "al_two", "MEMBER")));
+    String cursor = userService.findUsers(new UserSearchRequestDTO("member", "AL_", null, 1)).getNextCursor();
+    when(userRepository.findUserPage(eq(7L), any(), anyString(), any())).thenReturn(List.of());
 
     // Act
-    List<UserResponseDTO> result = userService.findAllUsers();
+    UserPageResponseDTO result = userService.findUsers(new UserSearchRequestDTO("member", "AL_", cursor, 1));
 
     // Assert
-    assertThat(result).hasSize(3);
-    assertThat(result.get(0).getRole()).isEqualTo("MEMBER");
-    assertThat(result.get(1).getRole()).isEqualTo("LIBRARIAN");
-    assertThat(result.get(2).getRole()).isEqualTo("ADMIN");
-    verify(userRepository).findAll();
+    assertThat(result.getUsers()).isEmpty();
+    assertThat(result.isHasMore()).isFalse();
+    assertThat(result.getNextCursor()).isNull();
+    verify(userRepository).findUserPage(eq(7L), eq(EnumSet.of(Role.MEMBER)), eq("al!_%"), eq(Limit.of(2)));
+  }
+
+  @Test
+  @DisplayName("findUsers - Invalid Cursor - Throws BadRequestException")
+  void findUsers_InvalidCursor_ThrowsBadRequestException() {
+    // Act & Assert
+    assertThatThrownBy(() -> userService.findUsers(new UserSearchRequestDTO(null, null, "not-a-cursor", null)))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid cursor");
+  }
+
+  @Test
+  @DisplayName("findUsers - Invalid Role - Throws BadRequestException")
+  void findUsers_InvalidRole_ThrowsBadRequestException() {
+    // Act & Assert
+    assertThatThrownBy(() -> userService.findUsers(new UserSearchRequestDTO("OWNER", null, null, null)))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid role: OWNER");
+    verifyNoInteractions(userRepository);
   }
 
   @Test
@@ -111,7 +164,7 @@ class UserServiceTest {
   void updateUser_ValidRequest_ReturnsUpdatedUser() {
     // Arrange
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-    when(userRepository.findByUsername("updateduser")).thenReturn(Optional.empty());
+    when(userCredentialsCache.find("updateduser")).thenReturn(Optional.empty());
     when(userRepository.save(testUser)).thenReturn(testUser);
 
     // Act
@@ -122,8 +175,9 @@ class UserServiceTest {
     assertThat(testUser.getUsername()).isEqualTo("updateduser");
     assertThat(testUser.getRole()).isEqualTo(Role.LIBRARIAN);
     verify(userRepository).findById(1L);
-    verify(userRepository).findByUsername("updateduser");
+    verify(userCredentialsCache).find("updateduser");
     verify(userRepository).save(testUser);
+    verify(userCredentialsCache).invalidate("updateduser");
   }
 
   @Test
@@ -134,7 +188,8 @@ class UserServiceTest {
     existingUser.setUsername("updateduser");
 
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-    when(userRepository.findByUsername("updateduser")).thenReturn(Optional.of(existingUser));
+    when(userCredentialsCache.find("updateduser"))
+        .thenReturn(Optional.of(UserCredentialsCache.Credentials.of(existingUser)));
 
     // Act & Assert
     assertThatThrownBy(() -> userService.updateUser(1L, updateRequestDTO))
@@ -142,21 +197,21 @@ class UserServiceTest {
         .hasMessageContaining("Username already exists: updateduser");
 
     verify(userRepository).findById(1L);
-    verify(userRepository).findByUsername("updateduser");
+    verify(userCredentialsCache).find("updateduser");
     verify(userRepository, never()).save(any());
   }
 
   @Test
-  @DisplayName("updateUser - Invalid Role - Throws IllegalArgumentException")
-  void updateUser_InvalidRole_ThrowsIllegalArgumentException() {
+  @DisplayName("updateUser - Invalid Role - Throws BadRequestException")
+  void updateUser_InvalidRole_ThrowsBadRequestException() {
     // Arrange
     updateRequestDTO.setRole("INVALID_ROLE");
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-    when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+    when(userCredentialsCache.find(anyString())).thenReturn(Optional.empty());
 
     // Act & Assert
     assertThatThrownBy(() -> userService.updateUser(1L, updateRequestDTO))
-        .isInstanceOf(IllegalArgumentException.class)
+        .isInstanceOf(BadRequestException.class)
         .hasMessageContaining("Invalid role: INVALID_ROLE");
 
     verify(userRepository).findById(1L);
@@ -181,14 +236,14 @@ class UserServiceTest {
   }
 
   @Test
-  @DisplayName("updateRole - Invalid Role - Throws IllegalArgumentException")
-  void updateRole_InvalidRole_ThrowsIllegalArgumentException() {
+  @DisplayName("updateRole - Invalid Role - Throws BadRequestException")
+  void updateRole_InvalidRole_ThrowsBadRequestException() {
     // Arrange
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
     // Act & Assert
     assertThatThrownBy(() -> userService.updateRole(1L, "INVALID_ROLE"))
-        .isInstanceOf(IllegalArgumentException.class)
+        .isInstanceOf(BadRequestException.class)
         .hasMessageContaining("Invalid role: INVALID_ROLE");
 
     verify(userRepository).findById(1L);
@@ -203,7 +258,7 @@ class UserServiceTest {
     passwordDTO.setNewPassword("newpassword123");
 
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-    when(passwordEncoder.encode("newpassword123")).thenReturn("hashedNewPassword");
+    when(passwordHashingService.encode("newpassword123")).thenReturn("hashedNewPassword");
     when(userRepository.save(testUser)).thenReturn(testUser);
 
     // Act
@@ -212,37 +267,65 @@ class UserServiceTest {
     // Assert
     assertThat(testUser.getHashedPassword()).isEqualTo("hashedNewPassword");
     verify(userRepository).findById(1L);
-    verify(passwordEncoder).encode("newpassword123");
+    verify(passwordHashingService).encode("newpassword123");
     verify(userRepository).save(testUser);
+    verify(tokenRevocationService).revokeUserTokens(testUser.getUsername());
+    verify(refreshTokenService).revokeUser(testUser.getId());
+  }
+
+  @Test
+  @DisplayName("changePassword - Inside Transaction - Drops Cached Credentials Only After Commit")
+  void changePassword_InsideTransaction_DropsCachedCredentialsOnlyAfterCommit() {
+    // Arrange
+    PasswordChangeRequestDTO passwordDTO = new PasswordChangeRequestDTO();
+    passwordDTO.setNewPassword("newpassword123");
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    when(passwordHashingService.encode("newpassword123")).thenReturn("hashedNewPassword");
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      // Act
+      userService.changePassword(1L, passwordDTO);
+
+      // Assert
+      verify(userCredentialsCache, never()).invalidate(anyString());
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+      verify(userCredentialsCache).invalidate(testUser.getUsername());
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
   }
 
   @Test
-  @DisplayName("deleteUser - Existing ID - Deletes User")
-  void deleteUser_ExistingId_DeletesUser() {
+  @DisplayName("deleteUser - Existing ID - Deletes User And Revokes Tokens")
+  void deleteUser_ExistingId_DeletesUserAndRevokesTokens() {
     // Arrange
-    when(userRepository.existsById(1L)).thenReturn(true);
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
     doNothing().when(userRepository).deleteById(1L);
 
     // Act
     userService.deleteUser(1L);
 
     // Assert
-    verify(userRepository).existsById(1L);
+    verify(userRepository).findById(1L);
     verify(userRepository).deleteById(1L);
+    verify(tokenRevocationService).revokeUserTokens(testUser.getUsername());
+    verify(refreshTokenService).revokeUser(1L);
   }
 
   @Test
   @DisplayName("deleteUser - Non-Existing ID - Throws ResourceNotFoundException")
   void deleteUser_NonExistingId_ThrowsResourceNotFoundException() {
     // Arrange
-    when(userRepository.existsById(999L)).thenReturn(false);
+    when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
     // Act & Assert
     assertThatThrownBy(() -> userService.deleteUser(999L))
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("User not found with id: 999");
 
-    verify(userRepository).existsById(999L);
+    verify(userRepository).findById(999L);
     verify(userRepository, never()).deleteById(any());
+    verifyNoInteractions(tokenRevocationService);
   }
 }
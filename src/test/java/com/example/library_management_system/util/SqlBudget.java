@@ -0,0 +1,38 @@
+package com.example.library_management_system.util;
+
+import com.example.library_management_system.config.SqlStats;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Measures the JDBC work of one block and fails the test when it goes over budget.
+// Obtain one as a test method parameter via SqlBudgetExtension.
+public class SqlBudget {
+
+  private SqlStats last;
+
+  public <T> T assertAtMost(int statements, Supplier<T> action) {
+    T result;
+    try (SqlStats stats = SqlStats.open()) {
+      result = action.get();
+      last = stats;
+    }
+    assertThat(last.getStatements())
+        .as("SQL statements (%s)", last)
+        .isLessThanOrEqualTo(statements);
+    return result;
+  }
+
+  public void assertAtMost(int statements, Runnable action) {
+    assertAtMost(statements, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  // Totals of the most recent measured block, for finer assertions on rows or round trips
+  public SqlStats last() {
+    return last;
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.library_management_system.util;
+
+import com.example.library_management_system.config.SqlStatsDataSource;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+
+/**
+ * Resolves {@link SqlBudget} parameters for Spring Boot tests, e.g.
+ * {@code budget.assertAtMost(4, () -> loanService.borrowBook(request))}.
+ * Fails fast when the DataSource is not instrumented, since every budget would then pass trivially.
+ */
+public class SqlBudgetExtension implements ParameterResolver {
+
+  @Override
+  public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    return parameterContext.getParameter().getType() == SqlBudget.class;
+  }
+
+  @Override
+  public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    ApplicationContext context = SpringExtension.getApplicationContext(extensionContext);
+    if (!(context.getBean(DataSource.class) instanceof SqlStatsDataSource)) {
+      throw new ParameterResolutionException(
+          "DataSource is not wrapped by SqlStatsDataSource; is app.sql-stats.enabled=false?");
+    }
+    return new SqlBudget();
+  }
+}
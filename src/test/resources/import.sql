@@ -0,0 +1,9 @@
+-- Run by Hibernate after create-drop builds the H2 schema. H2 has no partial indexes, so the
+-- PostgreSQL uq_loan_active_member_book (db/postgresql/loan_active_unique.sql) is emulated with a
+-- generated column that is NULL once the loan is returned; NULLs never collide in a unique index.
+ALTER TABLE loan ADD COLUMN active_book_id BIGINT GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN book_id END);
+CREATE UNIQUE INDEX uq_loan_active_member_book ON loan (member_id, active_book_id);
+-- uq_users_username_lower (db/postgresql/users_username_unique.sql) is an expression index on
+-- PostgreSQL; H2 gets the same uniqueness from a generated lower-cased column.
+ALTER TABLE users ADD COLUMN username_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(username));
+CREATE UNIQUE INDEX uq_users_username_lower ON users (username_lower);